@@ -7,7 +7,9 @@ import com.github.jorepong.safetycctv.alert.dto.AlertsPerHour;
 import com.github.jorepong.safetycctv.analysis.AnalysisInsightsService;
 import com.github.jorepong.safetycctv.analysis.StageAlertView;
 import com.github.jorepong.safetycctv.analysis.StageSeverity;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
 import com.github.jorepong.safetycctv.camera.CameraService;
+import com.github.jorepong.safetycctv.camera.RegisteredCamera;
 import com.github.jorepong.safetycctv.entity.Camera;
 import com.github.jorepong.safetycctv.repository.SafetyAlertRepository;
 import java.time.LocalDateTime;
@@ -24,13 +26,16 @@ import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class AlertService {
 
     private final SafetyAlertRepository safetyAlertRepository;
     private final CameraService cameraService;
+    private final CameraRegistry cameraRegistry;
     private final AnalysisInsightsService analysisInsightsService;
 
     private static final int TREND_WINDOW_HOURS = 12;
@@ -50,15 +55,18 @@ public class AlertService {
 
     public List<RecentAlertView> getRecentAlerts(int limit) {
         final int normalizedLimit = Math.max(1, Math.min(limit, 30));
-        final List<Camera> cameras = cameraService.fetchAll();
+        final List<RegisteredCamera> cameras = cameraRegistry.entries();
         if (cameras.isEmpty()) {
             return List.of();
         }
 
-        final int perCameraLimit = Math.min(normalizedLimit * 2, 50);
+        final Map<Long, List<StageAlertView>> alertsByCamera = analysisInsightsService.findLatestStageAlerts(
+                cameras.stream().map(RegisteredCamera::id).toList(),
+                normalizedLimit);
         final List<RecentAlertView> collected = new ArrayList<>();
-        for (Camera camera : cameras) {
-            List<StageAlertView> alerts = analysisInsightsService.findStageAlerts(camera.getId(), perCameraLimit);
+        for (RegisteredCamera entry : cameras) {
+            Camera camera = entry.camera();
+            List<StageAlertView> alerts = alertsByCamera.getOrDefault(camera.getId(), List.of());
             for (StageAlertView alert : alerts) {
                 if (alert == null || alert.timestamp() == null) {
                     continue;
@@ -66,7 +74,7 @@ public class AlertService {
                 collected.add(new RecentAlertView(
                         camera.getId(),
                         camera.getName(),
-                        resolveCameraLocation(camera),
+                        entry.location(),
                         alert.title(),
                         alert.message(),
                         alert.severity(),
@@ -88,16 +96,7 @@ public class AlertService {
         if (since == null) {
             return 0L;
         }
-        List<Camera> cameras = cameraService.fetchAll();
-        if (cameras.isEmpty()) {
-            return 0L;
-        }
-        long total = 0L;
-        for (Camera camera : cameras) {
-            List<StageAlertView> alerts = analysisInsightsService.findStageAlertsSince(camera.getId(), since);
-            total += alerts.size();
-        }
-        return total;
+        return safetyAlertRepository.countByTimestampGreaterThanEqual(since);
     }
 
     public AlertHistoryResponse getAlertHistory(AlertHistoryQuery query) {
@@ -111,14 +110,15 @@ public class AlertService {
                 ? cameras.stream().filter(c -> Objects.equals(c.getId(), query.cameraId())).toList()
                 : cameras;
 
+        Map<Long, List<StageAlertView>> alertsByCamera = analysisInsightsService.findStageAlertsSince(
+                targetCameras.stream().filter(Objects::nonNull).map(Camera::getId).toList(),
+                start);
         List<AlertHistoryPayload> records = new ArrayList<>();
         for (Camera camera : targetCameras) {
             if (camera == null) {
                 continue;
             }
-            List<StageAlertView> alerts = analysisInsightsService.findStageAlertsSince(
-                    camera.getId(),
-                    start);
+            List<StageAlertView> alerts = alertsByCamera.getOrDefault(camera.getId(), List.of());
             for (StageAlertView alert : alerts) {
                 if (alert == null || alert.timestamp() == null) {
                     continue;
@@ -164,9 +164,8 @@ public class AlertService {
 
     private AlertTrend buildTrendFromStageAlerts(LocalDateTime cutoff) {
         final Map<Integer, Long> countsByHourMap = new HashMap<>();
-        final List<Camera> cameras = cameraService.fetchAll();
-        for (Camera camera : cameras) {
-            List<StageAlertView> alerts = analysisInsightsService.findStageAlertsSince(camera.getId(), cutoff);
+        final List<Long> cameraIds = cameraService.fetchAll().stream().map(Camera::getId).toList();
+        for (List<StageAlertView> alerts : analysisInsightsService.findStageAlertsSince(cameraIds, cutoff).values()) {
             for (StageAlertView alert : alerts) {
                 if (alert == null || alert.timestamp() == null || alert.timestamp().isBefore(cutoff)) {
                     continue;
@@ -241,17 +240,4 @@ public class AlertService {
             case INFO -> 2;
         };
     }
-
-    private String resolveCameraLocation(Camera camera) {
-        if (camera == null) {
-            return null;
-        }
-        if (camera.getAddress() != null && !camera.getAddress().isBlank()) {
-            return camera.getAddress();
-        }
-        if (camera.getLocationZone() != null && !camera.getLocationZone().isBlank()) {
-            return camera.getLocationZone();
-        }
-        return null;
-    }
 }
@@ -0,0 +1,218 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import com.github.jorepong.safetycctv.analysis.dto.AnalysisIngestResponse;
+import com.github.jorepong.safetycctv.analysis.dto.AnalysisResultPayload;
+import com.github.jorepong.safetycctv.analysis.dto.DetectedObjectPayload;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.entity.IngestBatch;
+import com.github.jorepong.safetycctv.repository.IngestBatchRepository;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stores batches of analysis results sent by the AI server.
+ * Writes bypass JPA: analysis logs go out as one JDBC batch whose generated keys are read back in a single round trip,
+ * and detected objects as JDBC batches without reading keys at all (with {@code rewriteBatchedStatements} MySQL turns
+ * each batch into multi-row INSERTs). Each batch carries an idempotency key that is recorded in the same transaction,
+ * so a retried batch is acknowledged without being stored twice. An {@link AnalysisLogIngestedEvent} is published for
+ * every new log.
+ */
+@Slf4j
+@Service
+public class AnalysisIngestService {
+
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
+    private static final String INSERT_BATCH_SQL = """
+            INSERT INTO ingest_batches (idempotency_key, received_at, analysis_log_count, detected_object_count)
+            VALUES (?, ?, ?, ?)""";
+    private static final String INSERT_LOG_SQL = """
+            INSERT INTO analysis_logs (camera_id, timestamp, analysis_status, density, person_count, density_velocity,
+                density_acceleration, eta, raw_image_path, annotated_image_path)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_OBJECT_SQL = """
+            INSERT INTO detected_objects (analysis_log_id, tracking_id, boxx, boxy, box_width, box_height, confidence)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IngestBatchRepository ingestBatchRepository;
+    private final CameraRegistry cameraRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int jdbcBatchSize;
+    private final int maxResultsPerRequest;
+
+    public AnalysisIngestService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            IngestBatchRepository ingestBatchRepository,
+            CameraRegistry cameraRegistry,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${analysis.ingest.jdbc-batch-size:500}") int jdbcBatchSize,
+            @Value("${analysis.ingest.max-results-per-request:1000}") int maxResultsPerRequest) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ingestBatchRepository = ingestBatchRepository;
+        this.cameraRegistry = cameraRegistry;
+        this.eventPublisher = eventPublisher;
+        this.jdbcBatchSize = Math.max(1, jdbcBatchSize);
+        this.maxResultsPerRequest = maxResultsPerRequest;
+    }
+
+    /**
+     * Stores {@code results} unless {@code idempotencyKey} was accepted before.
+     *
+     * @throws IllegalArgumentException if the key or any result is invalid, e.g. refers to an unknown camera
+     */
+    public AnalysisIngestResponse ingest(String idempotencyKey, List<AnalysisResultPayload> results) {
+        validate(idempotencyKey, results);
+        Optional<IngestBatch> previous = ingestBatchRepository.findById(idempotencyKey);
+        if (previous.isPresent()) {
+            return duplicate(previous.get());
+        }
+        try {
+            return transactionTemplate.execute(status -> store(idempotencyKey, results));
+        } catch (DuplicateKeyException e) {
+            // A concurrent request with the same key committed first.
+            return ingestBatchRepository.findById(idempotencyKey).map(this::duplicate).orElseThrow(() -> e);
+        }
+    }
+
+    private AnalysisIngestResponse store(String idempotencyKey, List<AnalysisResultPayload> results) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+        int objectCount = results.stream().mapToInt(result -> result.detectedObjectsOrEmpty().size()).sum();
+        // Claims the key first: a duplicate fails here before any result is written.
+        jdbcTemplate.update(INSERT_BATCH_SQL, idempotencyKey, receivedAt, results.size(), objectCount);
+
+        List<Long> logIds = insertLogs(results, receivedAt);
+        insertDetectedObjects(logIds, results);
+
+        for (int i = 0; i < results.size(); i++) {
+            AnalysisResultPayload result = results.get(i);
+            eventPublisher.publishEvent(new AnalysisLogIngestedEvent(
+                    logIds.get(i),
+                    result.cameraId(),
+                    timestampOf(result, receivedAt),
+                    result.density(),
+                    result.personCount(),
+                    result.detectedObjectsOrEmpty().size()));
+        }
+        log.debug("분석 결과 {}건과 감지 객체 {}건을 저장했습니다. (키: {})", results.size(), objectCount, idempotencyKey);
+        return new AnalysisIngestResponse(idempotencyKey, false, results.size(), objectCount);
+    }
+
+    /**
+     * Inserts the analysis logs in JDBC batches and returns their generated ids in input order.
+     */
+    private List<Long> insertLogs(List<AnalysisResultPayload> results, LocalDateTime receivedAt) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(results.size());
+            try (PreparedStatement statement =
+                    connection.prepareStatement(INSERT_LOG_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < results.size(); start += jdbcBatchSize) {
+                    for (AnalysisResultPayload result : results.subList(
+                            start, Math.min(results.size(), start + jdbcBatchSize))) {
+                        statement.setLong(1, result.cameraId());
+                        statement.setObject(2, timestampOf(result, receivedAt));
+                        statement.setString(3, result.analysisStatus().name());
+                        statement.setDouble(4, result.density());
+                        statement.setInt(5, result.personCount());
+                        statement.setObject(6, result.densityVelocity());
+                        statement.setObject(7, result.densityAcceleration());
+                        statement.setObject(8, result.eta());
+                        statement.setString(9, result.rawImagePath());
+                        statement.setString(10, result.annotatedImagePath());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            if (ids.size() != results.size()) {
+                throw new IllegalStateException(
+                        "Expected " + results.size() + " generated analysis log ids but got " + ids.size());
+            }
+            return ids;
+        });
+    }
+
+    private void insertDetectedObjects(List<Long> logIds, List<AnalysisResultPayload> results) {
+        List<DetectedObjectRow> rows = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            for (DetectedObjectPayload object : results.get(i).detectedObjectsOrEmpty()) {
+                rows.add(new DetectedObjectRow(logIds.get(i), object));
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_OBJECT_SQL, rows, jdbcBatchSize, (statement, row) -> {
+            DetectedObjectPayload object = row.object();
+            statement.setLong(1, row.analysisLogId());
+            statement.setObject(2, object.trackingId());
+            statement.setInt(3, object.boxX());
+            statement.setInt(4, object.boxY());
+            statement.setInt(5, object.boxWidth());
+            statement.setInt(6, object.boxHeight());
+            statement.setObject(7, object.confidence());
+        });
+    }
+
+    private void validate(String idempotencyKey, List<AnalysisResultPayload> results) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()
+                || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        if (results == null || results.isEmpty() || results.size() > maxResultsPerRequest) {
+            throw new IllegalArgumentException(
+                    "A batch must contain between 1 and " + maxResultsPerRequest + " analysis results");
+        }
+        for (AnalysisResultPayload result : results) {
+            if (result.cameraId() == null || cameraRegistry.find(result.cameraId()).isEmpty()) {
+                throw new IllegalArgumentException("Unknown camera: " + result.cameraId());
+            }
+            if (result.analysisStatus() == null || result.density() == null || result.personCount() == null) {
+                throw new IllegalArgumentException(
+                        "Analysis status, density and person count are required (camera " + result.cameraId() + ")");
+            }
+            for (DetectedObjectPayload object : result.detectedObjectsOrEmpty()) {
+                if (object.boxX() == null || object.boxY() == null || object.boxWidth() == null
+                        || object.boxHeight() == null) {
+                    throw new IllegalArgumentException(
+                            "Detected objects need a complete bounding box (camera " + result.cameraId() + ")");
+                }
+            }
+        }
+    }
+
+    private AnalysisIngestResponse duplicate(IngestBatch batch) {
+        return new AnalysisIngestResponse(
+                batch.getIdempotencyKey(), true, batch.getAnalysisLogCount(), batch.getDetectedObjectCount());
+    }
+
+    private static LocalDateTime timestampOf(AnalysisResultPayload result, LocalDateTime receivedAt) {
+        return result.timestamp() != null ? result.timestamp() : receivedAt;
+    }
+
+    private record DetectedObjectRow(long analysisLogId, DetectedObjectPayload object) {
+    }
+}
@@ -4,7 +4,7 @@ import com.github.jorepong.safetycctv.analysis.dto.AnalysisLogDetailPayload;
 import com.github.jorepong.safetycctv.analysis.dto.CongestionHeatmapPayload;
 import com.github.jorepong.safetycctv.analysis.dto.DensityPointPayload;
 import com.github.jorepong.safetycctv.analysis.dto.StatisticalAnomalyPayload;
-import com.github.jorepong.safetycctv.camera.CameraRepository;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
 import com.github.jorepong.safetycctv.camera.CameraStatisticsPayload;
 import com.github.jorepong.safetycctv.camera.TrainingStatus;
 import com.github.jorepong.safetycctv.dashboard.DashboardCameraView;
@@ -13,15 +13,22 @@ import com.github.jorepong.safetycctv.entity.AnalysisLog;
 import com.github.jorepong.safetycctv.entity.AnalysisStatus;
 import com.github.jorepong.safetycctv.entity.Camera;
 import com.github.jorepong.safetycctv.repository.AnalysisLogRepository;
+import com.github.jorepong.safetycctv.repository.AnalysisLogSample;
+import com.github.jorepong.safetycctv.repository.StageAlertRow;
+import com.github.jorepong.safetycctv.retention.DensityArchive;
 import java.time.DayOfWeek;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.TextStyle;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,57 +38,53 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class AnalysisInsightsService {
 
-    private static final double CAUTION_THRESHOLD = 0.30;
-    private static final double DANGER_THRESHOLD = 0.60;
+    private static final double DANGER_THRESHOLD = CongestionLevel.DANGER_THRESHOLD;
     private static final long ETA_NOTICE_WINDOW_SECONDS = 600;
     private static final int RECENT_SAMPLE_LIMIT = 3;
     private static final int DEFAULT_ALERT_LIMIT = 10;
     private static final int STATS_MIN_DATA_POINTS = 20;
     private static final int STATS_HISTORY_WEEKS = 4;
     private static final int STATS_HOUR_WINDOW = 1;
+    private static final PageRequest RECENT_LOGS = PageRequest.ofSize(60);
 
     private final AnalysisLogRepository analysisLogRepository;
-    private final CameraRepository cameraRepository;
+    private final CameraRegistry cameraRegistry;
     private final com.github.jorepong.safetycctv.repository.SafetyAlertRepository safetyAlertRepository;
+    private final DensityRollupStore densityRollupStore;
+    private final DensityArchive densityArchive;
 
+    /**
+     * Peak density and density standard deviation of every camera over the last {@code days}, read from the hourly
+     * rollups instead of the raw logs.
+     */
     public List<CameraStatisticsPayload> getCameraStatistics(int days) {
-        List<Camera> cameras = cameraRepository.findAll();
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, DensityRollup> rollups = densityRollupStore.summarize(null, now.minusDays(days), now);
 
-        return cameras.parallelStream()
+        return cameraRegistry.cameras().stream()
                 .map(camera -> {
-                    LocalDateTime since = LocalDateTime.now().minusDays(days);
-
-                    List<AnalysisLog> logs = findReadyLogsAsc(camera.getId(), since, null);
-
-                    if (logs.isEmpty()) {
+                    DensityRollup rollup = rollups.get(camera.getId());
+                    if (rollup == null || rollup.sampleCount() == 0) {
                         return null;
                     }
-
-                    List<Double> densities = logs.stream().map(AnalysisLog::getDensity).toList();
-                    double peakDensity = densities.stream().mapToDouble(d -> d).max().orElse(0.0);
-
-                    double sum = densities.stream().mapToDouble(d -> d).sum();
-                    double average = sum / densities.size();
-                    double sumOfSquares = densities.stream().mapToDouble(d -> (d - average) * (d - average)).sum();
-                    double stdDev = Math.sqrt(sumOfSquares / densities.size());
-
-                    return new CameraStatisticsPayload(camera.getId(), camera.getName(), peakDensity, stdDev);
+                    return new CameraStatisticsPayload(camera.getId(), camera.getName(), rollup.densityMax(),
+                            rollup.densityStandardDeviation());
                 })
                 .filter(Objects::nonNull) // Filter out nulls if any
                 .collect(Collectors.toList());
     }
 
     public StatisticalAnomalyPayload getStatisticalAnomaly(Long cameraId) {
-        Optional<AnalysisLog> latestLogOpt = analysisLogRepository
-                .findFirstByCameraIdAndAnalysisStatusOrderByTimestampDesc(
-                        cameraId,
-                        AnalysisStatus.READY);
+        Optional<AnalysisLogSample> latestLogOpt = analysisLogRepository
+                .findLatestSamples(cameraId, AnalysisStatus.READY, PageRequest.ofSize(1))
+                .stream()
+                .findFirst();
         if (latestLogOpt.isEmpty()) {
             return StatisticalAnomalyPayload.notAnalyzable("현재 데이터 없음", null);
         }
-        AnalysisLog latestLog = latestLogOpt.get();
-        double currentDensity = latestLog.getDensity();
-        LocalDateTime now = latestLog.getTimestamp();
+        AnalysisLogSample latestLog = latestLogOpt.get();
+        double currentDensity = latestLog.density();
+        LocalDateTime now = latestLog.timestamp();
 
         int dayOfWeekMysql = (now.getDayOfWeek().getValue() % 7) + 1;
         int currentHour = now.getHour();
@@ -134,29 +137,29 @@ public class AnalysisInsightsService {
             return List.of();
         }
 
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-        List<AnalysisLog> logs = findReadyLogsAsc(cameraId, sevenDaysAgo, null);
+        LocalDateTime now = LocalDateTime.now();
+        List<DensityRollup> buckets = densityRollupStore.findBuckets(cameraId, now.minusDays(7), now);
 
-        Map<DayOfWeek, Map<Integer, DoubleSummaryStatistics>> hourlyStatsByDay = logs.stream()
-                .collect(Collectors.groupingBy(
-                        log -> log.getTimestamp().getDayOfWeek(),
-                        () -> new EnumMap<>(DayOfWeek.class),
-                        Collectors.groupingBy(
-                                log -> log.getTimestamp().getHour(),
-                                Collectors.summarizingDouble(AnalysisLog::getDensity))));
+        // Every bucket lies within one hour, so it adds to exactly one cell of the heatmap.
+        Map<DayOfWeek, Map<Integer, DensityRollup>> hourlyStatsByDay = new EnumMap<>(DayOfWeek.class);
+        for (DensityRollup bucket : buckets) {
+            hourlyStatsByDay
+                    .computeIfAbsent(bucket.bucketStart().getDayOfWeek(), day -> new HashMap<>())
+                    .merge(bucket.bucketStart().getHour(), bucket, DensityRollup::merge);
+        }
 
         List<CongestionHeatmapPayload> heatmap = new ArrayList<>();
         for (DayOfWeek day : DayOfWeek.values()) {
-            Map<Integer, DoubleSummaryStatistics> hourlyStats = hourlyStatsByDay.getOrDefault(day, Map.of());
+            Map<Integer, DensityRollup> hourlyStats = hourlyStatsByDay.getOrDefault(day, Map.of());
 
             List<Double> averageDensities = new ArrayList<>();
             List<Double> maxDensities = new ArrayList<>();
 
             for (int hour = 0; hour < 24; hour++) {
-                DoubleSummaryStatistics stats = hourlyStats.get(hour);
-                if (stats != null && stats.getCount() > 0) {
-                    averageDensities.add(stats.getAverage());
-                    maxDensities.add(stats.getMax());
+                DensityRollup stats = hourlyStats.get(hour);
+                if (stats != null && stats.sampleCount() > 0) {
+                    averageDensities.add(stats.averageDensity());
+                    maxDensities.add(stats.densityMax());
                 } else {
                     averageDensities.add(0.0);
                     maxDensities.add(0.0);
@@ -186,7 +189,7 @@ public class AnalysisInsightsService {
             return Optional.empty();
         }
 
-        List<AnalysisLog> logs = loadRecentLogs(camera);
+        List<AnalysisLogSample> logs = loadRecentLogs(camera);
         if (logs.isEmpty()) {
             log.debug("[Summary] Camera {} has no ready analysis logs. Returning empty summary.", camera.getId());
             return Optional.of(buildEmptySummary(camera));
@@ -195,42 +198,57 @@ public class AnalysisInsightsService {
     }
 
     public List<StageAlertView> findStageAlerts(Long cameraId, int limit) {
-        if (cameraId == null) {
+        if (cameraId == null || limit <= 0) {
             return List.of();
         }
 
-        List<com.github.jorepong.safetycctv.entity.SafetyAlert> alerts = safetyAlertRepository
-                .findTop10ByCameraIdOrderByTimestampDesc(cameraId);
-        return alerts.stream()
+        return safetyAlertRepository
+                .findLatestStageAlerts(cameraId, PageRequest.ofSize(Math.min(limit, DEFAULT_ALERT_LIMIT)))
+                .stream()
                 .map(this::toStageAlertView)
-                .limit(limit)
                 .toList();
     }
 
-    public List<StageAlertView> findStageAlertsSince(Long cameraId, LocalDateTime since) {
-        if (cameraId == null || since == null) {
-            return List.of();
+    /**
+     * The latest {@code limit} alerts over all of {@code cameraIds}, newest first, grouped by camera. One statement
+     * for all cameras.
+     */
+    public Map<Long, List<StageAlertView>> findLatestStageAlerts(Collection<Long> cameraIds, int limit) {
+        if (cameraIds == null || cameraIds.isEmpty() || limit <= 0) {
+            return Map.of();
         }
 
-        List<com.github.jorepong.safetycctv.entity.SafetyAlert> alerts = safetyAlertRepository
-                .findByCameraIdAndTimestampGreaterThanEqualOrderByTimestampDesc(cameraId, since);
-        return alerts.stream()
-                .map(this::toStageAlertView)
-                .toList();
+        return groupByCamera(safetyAlertRepository.findLatestStageAlerts(cameraIds, PageRequest.ofSize(limit)));
+    }
+
+    /**
+     * The alerts of {@code cameraIds} since {@code since}, newest first, grouped by camera. One statement for all
+     * cameras.
+     */
+    public Map<Long, List<StageAlertView>> findStageAlertsSince(Collection<Long> cameraIds, LocalDateTime since) {
+        if (cameraIds == null || cameraIds.isEmpty() || since == null) {
+            return Map.of();
+        }
+
+        return groupByCamera(safetyAlertRepository.findStageAlertsSince(cameraIds, since));
     }
 
-    private StageAlertView toStageAlertView(com.github.jorepong.safetycctv.entity.SafetyAlert alert) {
-        com.github.jorepong.safetycctv.entity.AnalysisLog log = alert.getAnalysisLog();
-        Double density = log != null ? log.getDensity() : 0.0;
+    private Map<Long, List<StageAlertView>> groupByCamera(List<StageAlertRow> rows) {
+        return rows.stream().collect(Collectors.groupingBy(
+                StageAlertRow::cameraId,
+                LinkedHashMap::new,
+                Collectors.mapping(this::toStageAlertView, Collectors.toList())));
+    }
 
+    private StageAlertView toStageAlertView(StageAlertRow alert) {
         return new StageAlertView(
-                alert.getAnalysisLogId(),
-                alert.getAlertType().name(),
-                alert.getAlertType().getDisplayName(),
-                alert.getMessage(),
-                mapToStageSeverity(alert.getAlertLevel()),
-                alert.getTimestamp(),
-                density);
+                alert.analysisLogId(),
+                alert.alertType().name(),
+                alert.alertType().getDisplayName(),
+                alert.message(),
+                mapToStageSeverity(alert.alertLevel()),
+                alert.timestamp(),
+                alert.density() != null ? alert.density() : 0.0);
     }
 
     private StageSeverity mapToStageSeverity(com.github.jorepong.safetycctv.alert.AlertLevel level) {
@@ -276,19 +294,19 @@ public class AnalysisInsightsService {
         static final DangerWindow EMPTY = new DangerWindow(0L, null);
     }
 
-    private CameraAnalyticsSummary buildSummary(Camera camera, List<AnalysisLog> logsDesc) {
-        AnalysisLog latest = logsDesc.get(0);
-        List<AnalysisLog> ascLogs = new ArrayList<>(logsDesc);
+    private CameraAnalyticsSummary buildSummary(Camera camera, List<AnalysisLogSample> logsDesc) {
+        AnalysisLogSample latest = logsDesc.get(0);
+        List<AnalysisLogSample> ascLogs = new ArrayList<>(logsDesc);
         Collections.reverse(ascLogs);
         List<DensitySample> densitySeries = ascLogs.stream()
-                .map(log -> new DensitySample(log.getTimestamp(), log.getDensity(), log.getPersonCount()))
+                .map(log -> new DensitySample(log.timestamp(), log.density(), log.personCount()))
                 .toList();
 
-        Double velocity = convertVelocityToPerMinute(latest.getDensityVelocity());
-        Double acceleration = convertAccelerationToPerMinute2(latest.getDensityAcceleration());
-        EtaResult eta = computeEta(latest.getDensity(), velocity, acceleration);
+        Double velocity = convertVelocityToPerMinute(latest.densityVelocity());
+        Double acceleration = convertAccelerationToPerMinute2(latest.densityAcceleration());
+        EtaResult eta = computeEta(latest.density(), velocity, acceleration);
         DangerWindow dangerWindow = computeDangerWindow(logsDesc);
-        CongestionLevel level = resolveLevel(latest.getDensity());
+        CongestionLevel level = resolveLevel(latest.density());
         List<StageAlertView> stageAlerts = buildStageAlertsTimeline(logsDesc, DEFAULT_ALERT_LIMIT);
 
         return new CameraAnalyticsSummary(
@@ -296,9 +314,9 @@ public class AnalysisInsightsService {
                 camera.getName(),
                 true,
                 level,
-                latest.getDensity(),
-                latest.getPersonCount(),
-                latest.getTimestamp(),
+                latest.density(),
+                latest.personCount(),
+                latest.timestamp(),
                 velocity,
                 acceleration,
                 eta.seconds(),
@@ -336,30 +354,21 @@ public class AnalysisInsightsService {
                 trainingStatus);
     }
 
-    private List<AnalysisLog> loadRecentLogs(Camera camera) {
+    private List<AnalysisLogSample> loadRecentLogs(Camera camera) {
         if (camera == null) {
             return List.of();
         }
-        // Fetch only logs with READY status, up to 60, ordered by timestamp descending
-        return analysisLogRepository.findTop60ByCameraIdAndAnalysisStatusOrderByTimestampDesc(
-                camera.getId(),
-                AnalysisStatus.READY);
-    }
-
-    private List<AnalysisLog> loadLogsSince(Camera camera, LocalDateTime since) {
-        if (camera == null) {
-            return List.of();
-        }
-        if (since == null) {
-            // If 'since' is null, defer to loadRecentLogs which already handles READY
-            // status
-            return loadRecentLogs(camera);
-        }
-        // Directly fetch READY logs since the specified time.
-        return analysisLogRepository.findByCameraIdAndAnalysisStatusAndTimestampGreaterThanEqualOrderByTimestampDesc(
+        // Fetch only logs with READY status, up to 60, ordered by timestamp descending. The last day is searched
+        // first so that a partitioned table only reads its newest partitions; idle cameras fall back to all logs.
+        List<AnalysisLogSample> recent = analysisLogRepository.findLatestSamplesSince(
                 camera.getId(),
                 AnalysisStatus.READY,
-                since);
+                LocalDateTime.now().minusDays(1),
+                RECENT_LOGS);
+        if (recent.size() == RECENT_LOGS.getPageSize()) {
+            return recent;
+        }
+        return analysisLogRepository.findLatestSamples(camera.getId(), AnalysisStatus.READY, RECENT_LOGS);
     }
 
     private Double convertVelocityToPerMinute(Double velocityPerSecond) {
@@ -456,20 +465,20 @@ public class AnalysisInsightsService {
         return Optional.ofNullable(candidate);
     }
 
-    private DangerWindow computeDangerWindow(List<AnalysisLog> logs) {
-        if (logs.isEmpty() || logs.get(0).getDensity() < DANGER_THRESHOLD) {
+    private DangerWindow computeDangerWindow(List<AnalysisLogSample> logs) {
+        if (logs.isEmpty() || logs.get(0).density() < DANGER_THRESHOLD) {
             return DangerWindow.EMPTY;
         }
 
-        LocalDateTime end = logs.get(0).getTimestamp();
+        LocalDateTime end = logs.get(0).timestamp();
         LocalDateTime start = end;
 
         for (int i = 1; i < logs.size(); i++) {
-            AnalysisLog log = logs.get(i);
-            if (log.getDensity() < DANGER_THRESHOLD) {
+            AnalysisLogSample log = logs.get(i);
+            if (log.density() < DANGER_THRESHOLD) {
                 break;
             }
-            start = log.getTimestamp();
+            start = log.timestamp();
         }
 
         long seconds = Duration.between(start, end).getSeconds();
@@ -478,31 +487,22 @@ public class AnalysisInsightsService {
     }
 
     private CongestionLevel resolveLevel(Double density) {
-        if (density == null) {
-            return CongestionLevel.NO_DATA;
-        }
-        if (density >= DANGER_THRESHOLD) {
-            return CongestionLevel.DANGER;
-        }
-        if (density >= CAUTION_THRESHOLD) {
-            return CongestionLevel.CAUTION;
-        }
-        return CongestionLevel.FREE;
+        return CongestionLevel.fromDensity(density);
     }
 
-    private List<StageAlertView> buildStageAlertsTimeline(List<AnalysisLog> logs, int limit) {
+    private List<StageAlertView> buildStageAlertsTimeline(List<AnalysisLogSample> logs, int limit) {
         List<StageAlertView> alerts = new ArrayList<>();
         if (logs.isEmpty() || limit <= 0) {
             return alerts;
         }
 
         for (int i = 0; i < logs.size() && alerts.size() < limit; i++) {
-            AnalysisLog current = logs.get(i);
-            AnalysisLog previous = i + 1 < logs.size() ? logs.get(i + 1) : null;
+            AnalysisLogSample current = logs.get(i);
+            AnalysisLogSample previous = i + 1 < logs.size() ? logs.get(i + 1) : null;
 
-            Double velocity = convertVelocityToPerMinute(current.getDensityVelocity());
-            Double acceleration = convertAccelerationToPerMinute2(current.getDensityAcceleration());
-            EtaResult eta = computeEta(current.getDensity(), velocity, acceleration);
+            Double velocity = convertVelocityToPerMinute(current.densityVelocity());
+            Double acceleration = convertAccelerationToPerMinute2(current.densityAcceleration());
+            EtaResult eta = computeEta(current.density(), velocity, acceleration);
 
             List<StageAlertView> events = buildAlertsForLog(current, previous, velocity, eta);
             for (StageAlertView view : events) {
@@ -517,20 +517,20 @@ public class AnalysisInsightsService {
     }
 
     private List<StageAlertView> buildAlertsForLog(
-            AnalysisLog current,
-            AnalysisLog previous,
+            AnalysisLogSample current,
+            AnalysisLogSample previous,
             Double velocity,
             EtaResult eta) {
         List<StageAlertView> alerts = new ArrayList<>();
-        LocalDateTime timestamp = current.getTimestamp();
-        double density = current.getDensity();
+        LocalDateTime timestamp = current.timestamp();
+        double density = current.density();
 
         if (eta.type() == EtaType.ENTERING_DANGER
                 && eta.seconds() != null
                 && eta.seconds() > 0
                 && eta.seconds() <= ETA_NOTICE_WINDOW_SECONDS) {
             alerts.add(new StageAlertView(
-                    current.getId(),
+                    current.id(),
                     "A1",
                     "위험 임박",
                     "약 " + formatMinutes(eta.seconds()) + " 후 위험 수위 도달 예상",
@@ -541,7 +541,7 @@ public class AnalysisInsightsService {
 
         if (density >= DANGER_THRESHOLD) {
             alerts.add(new StageAlertView(
-                    current.getId(),
+                    current.id(),
                     "A3",
                     "위험 수위 돌파",
                     String.format("밀집도 %.2f가 임계 %.2f를 초과했습니다.", density, DANGER_THRESHOLD),
@@ -551,7 +551,7 @@ public class AnalysisInsightsService {
 
             if (velocity != null && velocity > 0.02) {
                 alerts.add(new StageAlertView(
-                        current.getId(),
+                        current.id(),
                         "A4",
                         "혼잡 심화",
                         String.format("분당 +%.2f포인트 속도로 증가 중", velocity * 100),
@@ -559,9 +559,9 @@ public class AnalysisInsightsService {
                         timestamp,
                         density));
             }
-        } else if (previous != null && previous.getDensity() >= DANGER_THRESHOLD) {
+        } else if (previous != null && previous.density() >= DANGER_THRESHOLD) {
             alerts.add(new StageAlertView(
-                    current.getId(),
+                    current.id(),
                     "A6",
                     "위험 해소",
                     "밀집도가 위험 기준 아래로 감소했습니다.",
@@ -578,40 +578,51 @@ public class AnalysisInsightsService {
         return minutes + "분";
     }
 
-    private List<AnalysisLog> findReadyLogsAsc(Long cameraId, LocalDateTime start, LocalDateTime end) {
-        if (cameraId == null || start == null) {
-            return List.of();
-        }
-        if (end == null) {
-            // "After" query
-            return analysisLogRepository.findByCameraIdAndAnalysisStatusAndTimestampAfterOrderByTimestampAsc(
-                    cameraId,
-                    AnalysisStatus.READY,
-                    start);
-        } else {
-            // "Between" query
-            return analysisLogRepository.findByCameraIdAndAnalysisStatusAndTimestampBetweenOrderByTimestampAsc(
-                    cameraId,
-                    AnalysisStatus.READY,
-                    start,
-                    end);
-        }
-    }
-
     public List<DensityPointPayload> getDensityHistory(Long cameraId, LocalDateTime start, LocalDateTime end) {
+        List<DensityPointPayload> history = new ArrayList<>();
+        streamDensityHistory(cameraId, start, end, history::add);
+        return history;
+    }
+
+    /**
+     * Hands the READY density points of a camera between {@code start} and {@code end} to {@code sink}, oldest first,
+     * without holding the range in memory: archived days are decoded one segment at a time and the rest is read
+     * through a database cursor.
+     */
+    public void streamDensityHistory(
+            Long cameraId,
+            LocalDateTime start,
+            LocalDateTime end,
+            Consumer<DensityPointPayload> sink) {
         if (cameraId == null || start == null || end == null) {
-            return List.of();
+            return;
+        }
+
+        // Days up to the archive watermark are read from the segment files, the rest from the database.
+        LocalDateTime from = start;
+        LocalDate archivedThrough = densityArchive.archivedThrough();
+        if (archivedThrough != null && !start.toLocalDate().isAfter(archivedThrough)) {
+            LocalDateTime firstUnarchived = archivedThrough.plusDays(1).atStartOfDay();
+            for (LocalDate day = start.toLocalDate(); !day.isAfter(archivedThrough) && !day.isAfter(end.toLocalDate());
+                    day = day.plusDays(1)) {
+                LocalDateTime dayEnd = day.plusDays(1).atStartOfDay().minusNanos(1);
+                densityArchive.read(cameraId, day.equals(start.toLocalDate()) ? start : day.atStartOfDay(),
+                        end.isBefore(dayEnd) ? end : dayEnd).forEach(sink);
+            }
+            if (end.isBefore(firstUnarchived)) {
+                return;
+            }
+            from = firstUnarchived;
+        }
+        try (Stream<AnalysisLogSample> samples = analysisLogRepository.streamSamplesBetween(
+                cameraId, AnalysisStatus.READY, from, end)) {
+            samples.map(log -> new DensityPointPayload(
+                            log.timestamp(),
+                            log.density(),
+                            log.personCount(),
+                            log.annotatedImagePath()))
+                    .forEach(sink);
         }
-
-        List<AnalysisLog> logs = findReadyLogsAsc(cameraId, start, end);
-
-        return logs.stream()
-                .map(log -> new DensityPointPayload(
-                        log.getTimestamp(),
-                        log.getDensity(),
-                        log.getPersonCount(),
-                        log.getAnnotatedImagePath()))
-                .toList();
     }
 
     public Optional<AnalysisLogDetailPayload> getLogDetails(Long logId) {
@@ -665,11 +676,8 @@ public class AnalysisInsightsService {
     }
 
     private Double getAverageDensity(Long cameraId, LocalDateTime start, LocalDateTime end) {
-        return analysisLogRepository.findAverageDensityByCameraIdAndAnalysisStatusAndTimestampBetween(
-                cameraId,
-                AnalysisStatus.READY,
-                start,
-                end);
+        DensityRollup rollup = densityRollupStore.summarize(cameraId, start, end).get(cameraId);
+        return rollup != null && rollup.sampleCount() > 0 ? rollup.averageDensity() : null;
     }
 
     private Double calculateChange(Double current, Double past) {
@@ -0,0 +1,17 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published for every analysis log stored through the ingestion API, inside the storing transaction. Listeners that
+ * update caches should use {@code @TransactionalEventListener} so they only see committed logs.
+ */
+public record AnalysisLogIngestedEvent(
+    Long analysisLogId,
+    Long cameraId,
+    LocalDateTime timestamp,
+    double density,
+    int personCount,
+    int detectedObjectCount
+) {
+}
@@ -9,6 +9,9 @@ public enum CongestionLevel {
     CAUTION("주의", "warning"),
     DANGER("위험", "danger");
 
+    public static final double CAUTION_THRESHOLD = 0.30;
+    public static final double DANGER_THRESHOLD = 0.60;
+
     private final String label;
     private final String tone;
 
@@ -24,5 +27,18 @@ public enum CongestionLevel {
     public String tone() {
         return tone;
     }
+
+    public static CongestionLevel fromDensity(Double density) {
+        if (density == null) {
+            return NO_DATA;
+        }
+        if (density >= DANGER_THRESHOLD) {
+            return DANGER;
+        }
+        if (density >= CAUTION_THRESHOLD) {
+            return CAUTION;
+        }
+        return FREE;
+    }
 }
 
@@ -0,0 +1,52 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import java.time.LocalDateTime;
+
+/**
+ * Density statistics of one camera over a time bucket (a row of {@code density_rollups_minute} or
+ * {@code density_rollups_hour}), or over any union of buckets merged with {@link #merge}.
+ *
+ * @param bucketStart start of the bucket; for merged rollups the start of the earliest bucket
+ */
+public record DensityRollup(
+    Long cameraId,
+    LocalDateTime bucketStart,
+    long sampleCount,
+    double densitySum,
+    double densitySumOfSquares,
+    double densityMin,
+    double densityMax,
+    long personCountSum
+) {
+
+    public static DensityRollup of(Long cameraId, LocalDateTime bucketStart, double density, int personCount) {
+        return new DensityRollup(cameraId, bucketStart, 1, density, density * density, density, density, personCount);
+    }
+
+    public DensityRollup merge(DensityRollup other) {
+        return new DensityRollup(
+            cameraId,
+            bucketStart.isBefore(other.bucketStart) ? bucketStart : other.bucketStart,
+            sampleCount + other.sampleCount,
+            densitySum + other.densitySum,
+            densitySumOfSquares + other.densitySumOfSquares,
+            Math.min(densityMin, other.densityMin),
+            Math.max(densityMax, other.densityMax),
+            personCountSum + other.personCountSum);
+    }
+
+    public double averageDensity() {
+        return sampleCount == 0 ? 0.0 : densitySum / sampleCount;
+    }
+
+    /**
+     * Population standard deviation of the density.
+     */
+    public double densityStandardDeviation() {
+        if (sampleCount == 0) {
+            return 0.0;
+        }
+        double average = averageDensity();
+        return Math.sqrt(Math.max(0.0, densitySumOfSquares / sampleCount - average * average));
+    }
+}
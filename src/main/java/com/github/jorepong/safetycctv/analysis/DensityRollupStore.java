@@ -0,0 +1,223 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * JDBC access to the density rollup tables and the watermark of the analysis logs already folded into them.
+ * Reads take a time range at minute resolution and answer it from whole hour buckets plus the minute buckets of the
+ * partial hours at both ends, so their cost depends on the length of the range, not on the number of raw logs.
+ */
+@Component
+@RequiredArgsConstructor
+public class DensityRollupStore {
+
+    static final String WATERMARK = "density";
+
+    private static final String COLUMNS = """
+            camera_id, bucket_start, sample_count, density_sum, density_sum_of_squares, density_min, density_max,
+            person_count_sum""";
+    private static final String UPSERT_SQL = """
+            INSERT INTO %s (%s)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                sample_count = sample_count + VALUES(sample_count),
+                density_sum = density_sum + VALUES(density_sum),
+                density_sum_of_squares = density_sum_of_squares + VALUES(density_sum_of_squares),
+                density_min = LEAST(density_min, VALUES(density_min)),
+                density_max = GREATEST(density_max, VALUES(density_max)),
+                person_count_sum = person_count_sum + VALUES(person_count_sum)""";
+    private static final String SUMMARY_SQL = """
+            SELECT camera_id, MIN(bucket_start) AS bucket_start, SUM(sample_count) AS sample_count,
+                   SUM(density_sum) AS density_sum, SUM(density_sum_of_squares) AS density_sum_of_squares,
+                   MIN(density_min) AS density_min, MAX(density_max) AS density_max,
+                   SUM(person_count_sum) AS person_count_sum
+            FROM %s
+            WHERE bucket_start >= ? AND bucket_start < ?%s
+            GROUP BY camera_id""";
+
+    private static final RowMapper<DensityRollup> ROLLUP_MAPPER = (rs, rowNum) -> new DensityRollup(
+            rs.getLong("camera_id"),
+            rs.getObject("bucket_start", LocalDateTime.class),
+            rs.getLong("sample_count"),
+            rs.getDouble("density_sum"),
+            rs.getDouble("density_sum_of_squares"),
+            rs.getDouble("density_min"),
+            rs.getDouble("density_max"),
+            rs.getLong("person_count_sum"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public enum Resolution {
+        MINUTE("density_rollups_minute", ChronoUnit.MINUTES),
+        HOUR("density_rollups_hour", ChronoUnit.HOURS);
+
+        private final String table;
+        private final ChronoUnit unit;
+
+        Resolution(String table, ChronoUnit unit) {
+            this.table = table;
+            this.unit = unit;
+        }
+
+        public LocalDateTime bucketOf(LocalDateTime timestamp) {
+            return timestamp.truncatedTo(unit);
+        }
+    }
+
+    /**
+     * An analysis log as read by the updater; only READY logs are rolled up.
+     */
+    record LoggedSample(long id, long cameraId, LocalDateTime timestamp, boolean ready, double density,
+            int personCount) {
+    }
+
+    /**
+     * Reads the watermark and locks its row until the surrounding transaction ends, so two updaters never fold the
+     * same logs.
+     */
+    long lockWatermark() {
+        Long lastId = jdbcTemplate.queryForObject(
+                "SELECT last_id FROM rollup_watermarks WHERE name = ? FOR UPDATE", Long.class, WATERMARK);
+        return lastId != null ? lastId : 0L;
+    }
+
+    public long watermark() {
+        Long lastId = jdbcTemplate.queryForObject(
+                "SELECT last_id FROM rollup_watermarks WHERE name = ?", Long.class, WATERMARK);
+        return lastId != null ? lastId : 0L;
+    }
+
+    void advanceWatermark(long lastId) {
+        jdbcTemplate.update("UPDATE rollup_watermarks SET last_id = ?, updated_at = ? WHERE name = ?",
+                lastId, LocalDateTime.now(), WATERMARK);
+    }
+
+    long latestAnalysisLogId() {
+        Long latest = jdbcTemplate.queryForObject("SELECT MAX(id) FROM analysis_logs", Long.class);
+        return latest != null ? latest : 0L;
+    }
+
+    /**
+     * Reads up to {@code limit} analysis logs with {@code afterId < id <= upToId} in id order.
+     */
+    List<LoggedSample> readLogs(long afterId, long upToId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, camera_id, timestamp, analysis_status, density, person_count
+                FROM analysis_logs
+                WHERE id > ? AND id <= ?
+                ORDER BY id
+                LIMIT ?""",
+                (rs, rowNum) -> new LoggedSample(
+                        rs.getLong("id"),
+                        rs.getLong("camera_id"),
+                        rs.getObject("timestamp", LocalDateTime.class),
+                        "READY".equals(rs.getString("analysis_status")),
+                        rs.getDouble("density"),
+                        rs.getInt("person_count")),
+                afterId, upToId, limit);
+    }
+
+    /**
+     * Adds {@code rollups} to the stored buckets, creating the buckets that do not exist yet.
+     */
+    void add(Resolution resolution, Collection<DensityRollup> rollups) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL.formatted(resolution.table, COLUMNS), rollups, rollups.size(),
+                (statement, rollup) -> {
+                    statement.setLong(1, rollup.cameraId());
+                    statement.setObject(2, rollup.bucketStart());
+                    statement.setLong(3, rollup.sampleCount());
+                    statement.setDouble(4, rollup.densitySum());
+                    statement.setDouble(5, rollup.densitySumOfSquares());
+                    statement.setDouble(6, rollup.densityMin());
+                    statement.setDouble(7, rollup.densityMax());
+                    statement.setLong(8, rollup.personCountSum());
+                });
+    }
+
+    /**
+     * Merges each camera's buckets between {@code from} and {@code to} (both inclusive, at minute resolution).
+     *
+     * @param cameraId the camera to summarize, or {@code null} for all cameras
+     */
+    public Map<Long, DensityRollup> summarize(Long cameraId, LocalDateTime from, LocalDateTime to) {
+        Map<Long, DensityRollup> summaries = new HashMap<>();
+        for (BucketRange range : BucketRange.split(from, to)) {
+            String cameraFilter = cameraId != null ? " AND camera_id = ?" : "";
+            Object[] args = cameraId != null
+                    ? new Object[]{range.start(), range.end(), cameraId}
+                    : new Object[]{range.start(), range.end()};
+            jdbcTemplate.query(SUMMARY_SQL.formatted(range.resolution().table, cameraFilter), ROLLUP_MAPPER, args)
+                    .forEach(rollup -> summaries.merge(rollup.cameraId(), rollup, DensityRollup::merge));
+        }
+        return summaries;
+    }
+
+    /**
+     * Returns the camera's buckets between {@code from} and {@code to} (both inclusive, at minute resolution): hour
+     * buckets for the whole hours and minute buckets for the rest.
+     */
+    public List<DensityRollup> findBuckets(long cameraId, LocalDateTime from, LocalDateTime to) {
+        List<DensityRollup> buckets = new ArrayList<>();
+        for (BucketRange range : BucketRange.split(from, to)) {
+            buckets.addAll(jdbcTemplate.query(
+                    "SELECT " + COLUMNS + " FROM " + range.resolution().table
+                            + " WHERE camera_id = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start",
+                    ROLLUP_MAPPER, cameraId, range.start(), range.end()));
+        }
+        return buckets;
+    }
+
+    public void deleteByCameraId(long cameraId) {
+        for (Resolution resolution : Resolution.values()) {
+            jdbcTemplate.update("DELETE FROM " + resolution.table + " WHERE camera_id = ?", cameraId);
+        }
+    }
+
+    int deleteMinuteBucketsBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM " + Resolution.MINUTE.table + " WHERE bucket_start < ?", cutoff);
+    }
+
+    /**
+     * Half-open range {@code [start, end)} of bucket starts in one rollup table.
+     */
+    record BucketRange(Resolution resolution, LocalDateTime start, LocalDateTime end) {
+
+        static List<BucketRange> split(LocalDateTime from, LocalDateTime to) {
+            LocalDateTime start = Resolution.MINUTE.bucketOf(from);
+            LocalDateTime end = Resolution.MINUTE.bucketOf(to).plusMinutes(1);
+            if (!start.isBefore(end)) {
+                return List.of();
+            }
+            LocalDateTime firstHour = Resolution.HOUR.bucketOf(start);
+            if (firstHour.isBefore(start)) {
+                firstHour = firstHour.plusHours(1);
+            }
+            LocalDateTime lastHour = Resolution.HOUR.bucketOf(end);
+            if (!firstHour.isBefore(lastHour)) {
+                return List.of(new BucketRange(Resolution.MINUTE, start, end));
+            }
+            List<BucketRange> ranges = new ArrayList<>(3);
+            if (start.isBefore(firstHour)) {
+                ranges.add(new BucketRange(Resolution.MINUTE, start, firstHour));
+            }
+            ranges.add(new BucketRange(Resolution.HOUR, firstHour, lastHour));
+            if (lastHour.isBefore(end)) {
+                ranges.add(new BucketRange(Resolution.MINUTE, lastHour, end));
+            }
+            return ranges;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import com.github.jorepong.safetycctv.analysis.DensityRollupStore.LoggedSample;
+import com.github.jorepong.safetycctv.analysis.DensityRollupStore.Resolution;
+import com.github.jorepong.safetycctv.capture.ClusterCoordinator;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the minute and hour density rollups up to date with {@code analysis_logs}, whoever writes them (the AI server
+ * or the ingestion API). Each run folds the logs after the stored watermark into the rollups, a chunk of ids per
+ * transaction that also advances the watermark, so a log is counted exactly once and a backfill of the whole table
+ * resumes after a restart. A run only reads ids up to the highest id seen by the previous run: a log inserted by a
+ * transaction that had not committed yet is then still picked up, as long as no insert takes longer than the run
+ * interval. Runs on the cluster leader; minute buckets older than the retention are deleted.
+ */
+@Slf4j
+@Component
+public class DensityRollupUpdater {
+
+    private final DensityRollupStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final int minuteRetentionDays;
+
+    private Long horizon;
+
+    public DensityRollupUpdater(
+            DensityRollupStore store,
+            PlatformTransactionManager transactionManager,
+            ClusterCoordinator clusterCoordinator,
+            @Value("${analysis.rollup.chunk-size:5000}") int chunkSize,
+            @Value("${analysis.rollup.max-chunks-per-run:20}") int maxChunksPerRun,
+            @Value("${analysis.rollup.minute-retention-days:8}") int minuteRetentionDays) {
+        this.store = store;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clusterCoordinator = clusterCoordinator;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxChunksPerRun = Math.max(1, maxChunksPerRun);
+        this.minuteRetentionDays = minuteRetentionDays;
+    }
+
+    @Scheduled(
+            initialDelayString = "${analysis.rollup.interval-millis:5000}",
+            fixedDelayString = "${analysis.rollup.interval-millis:5000}",
+            timeUnit = TimeUnit.MILLISECONDS)
+    public void run() {
+        if (!clusterCoordinator.isLeader()) {
+            horizon = null;
+            return;
+        }
+        try {
+            long latest = store.latestAnalysisLogId();
+            if (horizon != null) {
+                rollUpTo(horizon);
+            }
+            horizon = latest;
+            int deleted = store.deleteMinuteBucketsBefore(LocalDateTime.now().minusDays(minuteRetentionDays));
+            if (deleted > 0) {
+                log.debug("보존 기간이 지난 분 단위 밀집도 집계 {}건을 삭제했습니다.", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("밀집도 집계를 갱신하지 못했습니다. 다음 주기에 이어서 진행합니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Folds the logs up to {@code upToId} into the rollups, at most {@code max-chunks-per-run} chunks at a time.
+     *
+     * @return the number of logs read
+     */
+    public int rollUpTo(long upToId) {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer read = transactionTemplate.execute(status -> rollUpChunk(upToId));
+            if (read == null || read == 0) {
+                break;
+            }
+            total += read;
+        }
+        if (total > 0) {
+            log.debug("분석 로그 {}건을 밀집도 집계에 반영했습니다. (기준 ID: {})", total, store.watermark());
+        }
+        return total;
+    }
+
+    private int rollUpChunk(long upToId) {
+        long watermark = store.lockWatermark();
+        if (watermark >= upToId) {
+            return 0;
+        }
+        List<LoggedSample> samples = store.readLogs(watermark, upToId, chunkSize);
+        Map<BucketKey, DensityRollup> minutes = new HashMap<>();
+        Map<BucketKey, DensityRollup> hours = new HashMap<>();
+        for (LoggedSample sample : samples) {
+            if (sample.ready()) {
+                fold(minutes, Resolution.MINUTE, sample);
+                fold(hours, Resolution.HOUR, sample);
+            }
+        }
+        store.add(Resolution.MINUTE, minutes.values());
+        store.add(Resolution.HOUR, hours.values());
+        // An empty chunk means the remaining ids up to the horizon were never committed.
+        store.advanceWatermark(samples.isEmpty() ? upToId : samples.get(samples.size() - 1).id());
+        return samples.size();
+    }
+
+    private static void fold(Map<BucketKey, DensityRollup> buckets, Resolution resolution, LoggedSample sample) {
+        LocalDateTime bucketStart = resolution.bucketOf(sample.timestamp());
+        buckets.merge(
+                new BucketKey(sample.cameraId(), bucketStart),
+                DensityRollup.of(sample.cameraId(), bucketStart, sample.density(), sample.personCount()),
+                DensityRollup::merge);
+    }
+
+    private record BucketKey(long cameraId, LocalDateTime bucketStart) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.jorepong.safetycctv.analysis.dto;
+
+/**
+ * Result of an ingestion request. {@code duplicate} is true if the idempotency key had already been accepted; the
+ * counts then describe the original batch and nothing was stored again.
+ */
+public record AnalysisIngestResponse(
+    String idempotencyKey,
+    boolean duplicate,
+    int analysisLogs,
+    int detectedObjects
+) {
+}
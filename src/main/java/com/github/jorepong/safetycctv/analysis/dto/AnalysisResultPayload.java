@@ -0,0 +1,27 @@
+package com.github.jorepong.safetycctv.analysis.dto;
+
+import com.github.jorepong.safetycctv.entity.AnalysisStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One analysis result as sent by the AI server, with the objects detected in its frame.
+ */
+public record AnalysisResultPayload(
+    Long cameraId,
+    LocalDateTime timestamp,
+    AnalysisStatus analysisStatus,
+    Double density,
+    Integer personCount,
+    Double densityVelocity,
+    Double densityAcceleration,
+    Double eta,
+    String rawImagePath,
+    String annotatedImagePath,
+    List<DetectedObjectPayload> detectedObjects
+) {
+
+    public List<DetectedObjectPayload> detectedObjectsOrEmpty() {
+        return detectedObjects == null ? List.of() : detectedObjects;
+    }
+}
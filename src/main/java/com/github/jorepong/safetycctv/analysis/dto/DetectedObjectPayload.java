@@ -0,0 +1,11 @@
+package com.github.jorepong.safetycctv.analysis.dto;
+
+public record DetectedObjectPayload(
+    Long trackingId,
+    Integer boxX,
+    Integer boxY,
+    Integer boxWidth,
+    Integer boxHeight,
+    Double confidence
+) {
+}
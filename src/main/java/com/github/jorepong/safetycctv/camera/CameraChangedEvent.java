@@ -0,0 +1,25 @@
+package com.github.jorepong.safetycctv.camera;
+
+import com.github.jorepong.safetycctv.entity.Camera;
+
+/**
+ * Published whenever a camera is saved or deleted so that the {@link CameraRegistry} can update its snapshot once the
+ * change is committed. {@code camera} is null for a deletion.
+ */
+public record CameraChangedEvent(
+    Long cameraId,
+    Camera camera
+) {
+
+    public static CameraChangedEvent saved(Camera camera) {
+        return new CameraChangedEvent(camera.getId(), camera);
+    }
+
+    public static CameraChangedEvent deleted(Long cameraId) {
+        return new CameraChangedEvent(cameraId, null);
+    }
+
+    public boolean isDeletion() {
+        return camera == null;
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.jorepong.safetycctv.camera;
+
+import com.github.jorepong.safetycctv.dashboard.DashboardCameraView;
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory view of all registered cameras, so the scheduler, controllers and services can read cameras without a
+ * database round trip.
+ * <p>
+ * The cameras are loaded once on first access and kept as an immutable snapshot, newest camera first. Changes arrive
+ * as {@link CameraChangedEvent}s after their transaction commits and replace the snapshot as a whole (copy-on-write),
+ * so readers never see a half-applied change and never block. Events only cover this node's changes; in a cluster
+ * the {@link com.github.jorepong.safetycctv.capture.ClusterCoordinator} refreshes the snapshot every heartbeat.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CameraRegistry {
+
+    private static final Comparator<Camera> NEWEST_FIRST = Comparator
+        .comparing(Camera::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+        .thenComparing(Camera::getId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+        .reversed();
+
+    private final CameraRepository cameraRepository;
+
+    private volatile Snapshot snapshot;
+
+    public List<RegisteredCamera> entries() {
+        return snapshot().entries();
+    }
+
+    public List<Camera> cameras() {
+        return snapshot().cameras();
+    }
+
+    public Optional<RegisteredCamera> find(Long cameraId) {
+        return cameraId == null ? Optional.empty() : Optional.ofNullable(snapshot().byId().get(cameraId));
+    }
+
+    public List<DashboardCameraView> dashboardCameras() {
+        return snapshot().dashboardCameras();
+    }
+
+    public List<CameraListView> listViews() {
+        return snapshot().listViews();
+    }
+
+    public CameraSummary summary() {
+        return snapshot().summary();
+    }
+
+    /**
+     * Discards the snapshot and loads every camera from the database again.
+     */
+    public synchronized void reload() {
+        snapshot = Snapshot.of(cameraRepository.findAll());
+        log.info("[CameraRegistry] 카메라 {}대를 불러왔습니다.", snapshot.entries().size());
+    }
+
+    /**
+     * Loads every camera from the database again to pick up changes that did not arrive as events, such as cameras
+     * created or deleted through another node. Unlike {@link #reload()} it only logs when cameras were added or
+     * removed.
+     */
+    public synchronized void refresh() {
+        Set<Long> before = snapshot != null ? snapshot.byId().keySet() : Set.of();
+        snapshot = Snapshot.of(cameraRepository.findAll());
+        if (!before.equals(snapshot.byId().keySet())) {
+            log.info("[CameraRegistry] 카메라 목록이 바뀌어 {}대를 다시 불러왔습니다.", snapshot.entries().size());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onCameraChanged(CameraChangedEvent event) {
+        if (snapshot == null) {
+            return; // Not loaded yet; the first read picks the change up from the database.
+        }
+        Map<Long, Camera> cameras = new LinkedHashMap<>();
+        snapshot.cameras().forEach(camera -> cameras.put(camera.getId(), camera));
+        if (event.isDeletion()) {
+            cameras.remove(event.cameraId());
+        } else {
+            cameras.put(event.cameraId(), event.camera());
+        }
+        snapshot = Snapshot.of(cameras.values());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(
+        List<RegisteredCamera> entries,
+        List<Camera> cameras,
+        Map<Long, RegisteredCamera> byId,
+        List<DashboardCameraView> dashboardCameras,
+        List<CameraListView> listViews,
+        CameraSummary summary
+    ) {
+
+        static Snapshot of(Collection<Camera> cameras) {
+            List<RegisteredCamera> entries = cameras.stream()
+                .filter(Objects::nonNull)
+                .sorted(NEWEST_FIRST)
+                .map(RegisteredCamera::of)
+                .toList();
+            Map<Long, RegisteredCamera> byId = new LinkedHashMap<>();
+            entries.forEach(entry -> byId.put(entry.id(), entry));
+            return new Snapshot(
+                entries,
+                entries.stream().map(RegisteredCamera::camera).toList(),
+                Map.copyOf(byId),
+                entries.stream().map(RegisteredCamera::dashboardView).filter(Objects::nonNull).toList(),
+                entries.stream().map(RegisteredCamera::listView).toList(),
+                new CameraSummary(
+                    entries.size(),
+                    countByStatus(entries, CameraStatus.HEALTHY),
+                    countByStatus(entries, CameraStatus.WARNING),
+                    countByStatus(entries, CameraStatus.OFFLINE))
+            );
+        }
+
+        private static long countByStatus(List<RegisteredCamera> entries, CameraStatus status) {
+            return entries.stream().filter(entry -> entry.camera().getStatus() == status).count();
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package com.github.jorepong.safetycctv.camera;
 
+import com.github.jorepong.safetycctv.analysis.DensityRollupStore;
 import com.github.jorepong.safetycctv.dashboard.DashboardCameraView;
-import com.github.jorepong.safetycctv.entity.AnalysisLog;
 import com.github.jorepong.safetycctv.entity.Camera;
 import com.github.jorepong.safetycctv.repository.AnalysisLogRepository;
 import com.github.jorepong.safetycctv.repository.DetectedObjectRepository;
 import com.github.jorepong.safetycctv.repository.SafetyAlertRepository;
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,18 +23,23 @@ public class CameraService {
     private final AnalysisLogRepository analysisLogRepository;
     private final DetectedObjectRepository detectedObjectRepository;
     private final SafetyAlertRepository safetyAlertRepository;
+    private final DensityRollupStore densityRollupStore;
+    private final CameraRegistry cameraRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Camera> fetchAll() {
-        return cameraRepository.findAllByOrderByCreatedAtDesc();
+        return cameraRegistry.cameras();
     }
 
     public Optional<Camera> findById(Long id) {
-        return id == null ? Optional.empty() : cameraRepository.findById(id);
+        return cameraRegistry.find(id).map(RegisteredCamera::camera);
     }
 
     @Transactional
     public Camera create(CameraForm form) {
-        return cameraRepository.save(form.toEntity());
+        Camera camera = cameraRepository.save(form.toEntity());
+        eventPublisher.publishEvent(CameraChangedEvent.saved(camera));
+        return camera;
     }
 
     @Transactional
@@ -48,39 +54,61 @@ public class CameraService {
         detectedObjectRepository.deleteByAnalysisLogCameraId(cameraId);
         analysisLogRepository.deleteByCameraId(cameraId);
         safetyAlertRepository.deleteByCameraId(cameraId);
+        densityRollupStore.deleteByCameraId(cameraId);
         cameraRepository.deleteById(cameraId);
+        eventPublisher.publishEvent(CameraChangedEvent.deleted(cameraId));
     }
 
-    // New method to update training status
+    /**
+     * Updates the camera's training status right away. The scheduler goes through {@link TrainingStatusWriteBehind}
+     * instead, which coalesces its per-analysis reports.
+     */
     @Transactional
     public void updateTrainingStatus(Long cameraId, TrainingStatus trainingStatus) {
         if (cameraId == null || trainingStatus == null) {
             return;
         }
-        cameraRepository.findById(cameraId).ifPresent(camera -> {
-            camera.setTrainingStatus(trainingStatus);
-            cameraRepository.save(camera);
-        });
+        updateTrainingStatuses(Map.of(cameraId, trainingStatus));
+    }
+
+    /**
+     * Applies several training statuses with one SELECT and, through Hibernate's JDBC batching, one batched UPDATE
+     * for the cameras whose status actually changed. Cameras that no longer exist are skipped.
+     *
+     * @return the number of cameras whose status changed
+     */
+    @Transactional
+    public int updateTrainingStatuses(Map<Long, TrainingStatus> statuses) {
+        List<Long> changedIds = statuses.entrySet().stream()
+            .filter(entry -> cameraRegistry.find(entry.getKey())
+                .map(registered -> registered.camera().getTrainingStatus() != entry.getValue())
+                .orElse(true))
+            .map(Map.Entry::getKey)
+            .toList();
+        if (changedIds.isEmpty()) {
+            return 0;
+        }
+        int changed = 0;
+        for (Camera camera : cameraRepository.findAllById(changedIds)) {
+            TrainingStatus status = statuses.get(camera.getId());
+            if (camera.getTrainingStatus() != status) {
+                camera.setTrainingStatus(status);
+                eventPublisher.publishEvent(CameraChangedEvent.saved(camera));
+                changed++;
+            }
+        }
+        return changed;
     }
 
     public CameraSummary summarize() {
-        long total = cameraRepository.count();
-        long healthy = cameraRepository.countByStatus(CameraStatus.HEALTHY);
-        long warning = cameraRepository.countByStatus(CameraStatus.WARNING);
-        long offline = cameraRepository.countByStatus(CameraStatus.OFFLINE);
-        return new CameraSummary(total, healthy, warning, offline);
+        return cameraRegistry.summary();
     }
 
     public List<DashboardCameraView> fetchYoutubeCameras() {
-        return cameraRepository.findAllByOrderByCreatedAtDesc().stream()
-            .map(DashboardCameraView::from)
-            .flatMap(Optional::stream)
-            .toList();
+        return cameraRegistry.dashboardCameras();
     }
 
     public List<CameraListView> listView() {
-        return cameraRepository.findAllByOrderByCreatedAtDesc().stream()
-            .map(CameraListView::from)
-            .toList();
+        return cameraRegistry.listViews();
     }
 }
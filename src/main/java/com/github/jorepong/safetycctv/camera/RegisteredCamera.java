@@ -0,0 +1,40 @@
+package com.github.jorepong.safetycctv.camera;
+
+import com.github.jorepong.safetycctv.dashboard.DashboardCameraView;
+import com.github.jorepong.safetycctv.entity.Camera;
+
+/**
+ * A camera of the {@link CameraRegistry} together with the views derived from it, computed once per change instead of
+ * on every request. {@code location} is the address, falling back to the location zone; {@code dashboardView} is null
+ * unless the camera streams from a parsable YouTube URL.
+ */
+public record RegisteredCamera(
+    Camera camera,
+    String location,
+    CameraListView listView,
+    DashboardCameraView dashboardView
+) {
+
+    public static RegisteredCamera of(Camera camera) {
+        return new RegisteredCamera(
+            camera,
+            resolveLocation(camera),
+            CameraListView.from(camera),
+            DashboardCameraView.from(camera).orElse(null)
+        );
+    }
+
+    public Long id() {
+        return camera.getId();
+    }
+
+    private static String resolveLocation(Camera camera) {
+        if (camera.getAddress() != null && !camera.getAddress().isBlank()) {
+            return camera.getAddress();
+        }
+        if (camera.getLocationZone() != null && !camera.getLocationZone().isBlank()) {
+            return camera.getLocationZone();
+        }
+        return null;
+    }
+}
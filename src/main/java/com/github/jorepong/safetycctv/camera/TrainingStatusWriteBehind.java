@@ -0,0 +1,106 @@
+package com.github.jorepong.safetycctv.camera;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind buffer for the training status the AI server reports with every analysis.
+ * Reports only record the latest status per camera in memory; a periodic flush writes the statuses that differ from
+ * the {@link CameraRegistry} in one transaction, so a sweep over hundreds of cameras costs at most one SELECT and one
+ * batched UPDATE instead of a round trip per camera. Statuses of cameras deleted in the meantime are dropped. The
+ * buffer is flushed once more on shutdown.
+ * <p>
+ * While a flush is writing, the registry still holds the old statuses of the cameras in its batch, so reports for
+ * those cameras are compared against the batch instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrainingStatusWriteBehind {
+
+    private final CameraService cameraService;
+    private final CameraRegistry cameraRegistry;
+
+    private final Map<Long, TrainingStatus> pending = new ConcurrentHashMap<>();
+    private Map<Long, TrainingStatus> inFlight = Map.of();
+
+    /**
+     * Records the latest reported status of a camera. Reports that match the stored status, or the status a running
+     * flush is writing, are dropped right away, unless they override a different status still waiting to be flushed.
+     */
+    public synchronized void record(Long cameraId, TrainingStatus status) {
+        if (cameraId == null || status == null) {
+            return;
+        }
+        boolean unchanged = inFlight.containsKey(cameraId)
+            ? inFlight.get(cameraId) == status
+            : cameraRegistry.find(cameraId)
+                .map(entry -> entry.camera().getTrainingStatus() == status)
+                .orElse(false);
+        if (unchanged) {
+            pending.remove(cameraId);
+            return;
+        }
+        pending.put(cameraId, status);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(
+        initialDelayString = "${camera.training-status.flush-millis:1000}",
+        fixedDelayString = "${camera.training-status.flush-millis:1000}",
+        timeUnit = TimeUnit.MILLISECONDS)
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, TrainingStatus> batch = takeBatch();
+        if (batch.isEmpty()) {
+            return;
+        }
+        boolean written = false;
+        try {
+            int changed = cameraService.updateTrainingStatuses(batch);
+            written = true;
+            log.debug("카메라 {}대의 학습 상태를 반영했습니다.", changed);
+        } catch (RuntimeException e) {
+            log.warn("카메라 학습 상태를 저장하지 못했습니다. 다음 주기에 다시 시도합니다: {}", e.getMessage());
+        } finally {
+            finishBatch(batch, written);
+        }
+    }
+
+    private synchronized Map<Long, TrainingStatus> takeBatch() {
+        Map<Long, TrainingStatus> batch = new HashMap<>();
+        pending.forEach((cameraId, status) -> {
+            if (cameraRegistry.find(cameraId).isPresent()) {
+                batch.put(cameraId, status);
+            }
+        });
+        pending.clear();
+        inFlight = batch;
+        return batch;
+    }
+
+    private synchronized void finishBatch(Map<Long, TrainingStatus> batch, boolean written) {
+        if (!written) {
+            // A newer report recorded during the flush wins over the batch.
+            batch.forEach(pending::putIfAbsent);
+        }
+        inFlight = Map.of();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
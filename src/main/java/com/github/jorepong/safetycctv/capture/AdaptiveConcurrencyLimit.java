@@ -0,0 +1,77 @@
+package com.github.jorepong.safetycctv.capture;
+
+import java.time.Duration;
+
+/**
+ * Latency-driven limit on the number of in-flight AI analysis requests.
+ * The limit grows additively while the smoothed latency stays close to the best latency observed so far and shrinks
+ * multiplicatively when latency inflates or the AI server signals overload (connection failures, 5xx, timeouts).
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_DRIFT = 0.01;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double OVERLOAD_BACKOFF_RATIO = 0.75;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+
+    private double limit;
+    private double baselineMillis = Double.NaN;
+    private double smoothedMillis = Double.NaN;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double latencyTolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency bounds: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = Math.max(1.0, latencyTolerance);
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * Feeds one completed request into the limit.
+     *
+     * @param latency  time between dispatch and completion
+     * @param overload true if the request failed in a way that indicates the AI server is saturated or unreachable
+     */
+    public synchronized void onSample(Duration latency, boolean overload) {
+        if (overload) {
+            limit = clamp(limit * OVERLOAD_BACKOFF_RATIO);
+            return;
+        }
+        double millis = Math.max(1.0, latency.toNanos() / 1_000_000.0);
+        smoothedMillis = Double.isNaN(smoothedMillis) ? millis : smoothedMillis + SMOOTHING * (millis - smoothedMillis);
+        if (Double.isNaN(baselineMillis) || millis < baselineMillis) {
+            baselineMillis = millis;
+        } else if (smoothedMillis > baselineMillis) {
+            // Let the baseline follow a permanently slower server instead of shrinking forever.
+            baselineMillis += BASELINE_DRIFT * (smoothedMillis - baselineMillis);
+        }
+
+        if (smoothedMillis <= baselineMillis * latencyTolerance) {
+            limit = clamp(limit + 1.0 / limit);
+        } else {
+            limit = clamp(limit * BACKOFF_RATIO);
+        }
+    }
+
+    public synchronized int currentLimit() {
+        return (int) Math.floor(limit);
+    }
+
+    public synchronized double smoothedLatencyMillis() {
+        return Double.isNaN(smoothedMillis) ? 0.0 : smoothedMillis;
+    }
+
+    public synchronized double baselineLatencyMillis() {
+        return Double.isNaN(baselineMillis) ? 0.0 : baselineMillis;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,331 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.AiAnalysisResponse;
+import com.github.jorepong.safetycctv.capture.dto.CameraAnalysisResult;
+import com.github.jorepong.safetycctv.capture.dto.PerspectiveMapTrainingResponse;
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * HTTP client for the AI analysis servers of the {@link AiEndpointPool}.
+ * <p>
+ * Besides the single-camera endpoint, the client can send several camera ids in one request to the batch endpoint and
+ * consume its streamed response (NDJSON or a JSON array of {@link AiAnalysisResponse}) element by element. If the AI
+ * server does not offer the batch endpoint, the client falls back to single-camera requests to that server and only
+ * tries its batch endpoint again after {@code camera.scheduler.batch.renegotiate-minutes}.
+ * <p>
+ * Every request has a deadline ({@code ai.server.request-timeout-millis}, extended per additional camera in a batch), so
+ * a hung inference call cannot hold a concurrency slot forever. Optionally, a request that is still unanswered after
+ * the primary endpoint's p95 latency is hedged: a second request goes to another available endpoint, the first
+ * response wins and the other request is cancelled. Hedges are capped at {@code ai.server.hedging.max-ratio} of all
+ * requests so that an overloaded pool is not flooded with duplicates. Training requests have their own, longer
+ * deadline ({@code ai.server.training-timeout-millis}).
+ * <p>
+ * Every analysis method emits exactly one {@link CameraAnalysisResult} per requested camera, whatever goes wrong.
+ */
+@Component
+@Slf4j
+public class AiAnalysisClient {
+
+    static final String PROCESS_CAMERA_URI = "/api/v1/analysis/process-camera/";
+    static final String PROCESS_CAMERAS_URI = "/api/v1/analysis/process-cameras/";
+    static final String TRAIN_PERSPECTIVE_MAP_URI = "/api/v1/perspective-map/train/";
+
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final AiEndpointPool endpointPool;
+    private final boolean batchEnabled;
+    private final int maxBatchSize;
+    private final Duration renegotiateAfter;
+    private final Duration requestTimeout;
+    private final Duration extraCameraTimeout;
+    private final Duration trainingTimeout;
+    private final boolean hedgingEnabled;
+    private final Duration minHedgeDelay;
+    private final double maxHedgeRatio;
+
+    private final AtomicLong hedgeableRequests = new AtomicLong();
+    private final AtomicLong hedgedRequests = new AtomicLong();
+
+    public AiAnalysisClient(
+            AiEndpointPool endpointPool,
+            @Value("${camera.scheduler.batch.enabled:true}") boolean batchEnabled,
+            @Value("${camera.scheduler.batch.max-size:8}") int maxBatchSize,
+            @Value("${camera.scheduler.batch.renegotiate-minutes:10}") long renegotiateMinutes,
+            @Value("${ai.server.request-timeout-millis:15000}") long requestTimeoutMillis,
+            @Value("${ai.server.request-timeout-per-extra-camera-millis:2000}") long extraCameraTimeoutMillis,
+            @Value("${ai.server.training-timeout-millis:600000}") long trainingTimeoutMillis,
+            @Value("${ai.server.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${ai.server.hedging.min-delay-millis:200}") long minHedgeDelayMillis,
+            @Value("${ai.server.hedging.max-ratio:0.1}") double maxHedgeRatio) {
+        this.endpointPool = endpointPool;
+        this.batchEnabled = batchEnabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.renegotiateAfter = Duration.ofMinutes(renegotiateMinutes);
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.extraCameraTimeout = Duration.ofMillis(extraCameraTimeoutMillis);
+        this.trainingTimeout = Duration.ofMillis(trainingTimeoutMillis);
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelay = Duration.ofMillis(minHedgeDelayMillis);
+        this.maxHedgeRatio = maxHedgeRatio;
+    }
+
+    /**
+     * Number of cameras that should currently be grouped into one request to {@code endpoint}.
+     */
+    public int batchSize(AiEndpoint endpoint) {
+        if (!batchEnabled || !endpoint.isBatchSupported(Instant.now())) {
+            return 1;
+        }
+        return maxBatchSize;
+    }
+
+    /**
+     * Sends a request to the AI server to process a single camera.
+     */
+    public Mono<CameraAnalysisResult> analyze(AiEndpoint endpoint, Camera camera) {
+        return send(endpoint, 1, target -> target.webClient().post()
+                        .uri(PROCESS_CAMERA_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("cameraId", camera.getId()))
+                        .retrieve()
+                        .bodyToFlux(AiAnalysisResponse.class))
+                .next()
+                .map(response -> toResult(camera, response))
+                .defaultIfEmpty(CameraAnalysisResult.failed(
+                        camera, AnalysisOutcome.SERVER_ERROR, AnalysisErrorKind.MISSING_RESULT))
+                .onErrorResume(ex -> Mono.just(classify(camera, ex).toResult(camera)));
+    }
+
+    /**
+     * Analyzes several cameras with one request to the batch endpoint, emitting each camera's result as soon as its
+     * element arrives. Cameras missing from the response are reported as {@link AnalysisOutcome#SERVER_ERROR}.
+     */
+    public Flux<CameraAnalysisResult> analyzeBatch(AiEndpoint endpoint, List<Camera> cameras) {
+        if (cameras.size() == 1 || batchSize(endpoint) == 1) {
+            return Flux.fromIterable(cameras).flatMap(camera -> analyze(endpoint, camera));
+        }
+
+        Map<Long, Camera> pending = new LinkedHashMap<>();
+        cameras.forEach(camera -> pending.put(camera.getId(), camera));
+
+        List<Long> cameraIds = List.copyOf(pending.keySet());
+        return send(endpoint, cameras.size(), target -> target.webClient().post()
+                        .uri(PROCESS_CAMERAS_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("cameraIds", cameraIds))
+                        .retrieve()
+                        .bodyToFlux(AiAnalysisResponse.class))
+                .<CameraAnalysisResult>handle((response, sink) -> {
+                    Camera camera = take(pending, response.getCameraId());
+                    if (camera == null) {
+                        log.warn("일괄 분석 응답에 요청하지 않은 카메라가 포함되어 있습니다: {}", response);
+                        return;
+                    }
+                    sink.next(toResult(camera, response));
+                })
+                .concatWith(Flux.defer(() -> {
+                    List<Camera> missing = drain(pending);
+                    if (!missing.isEmpty()) {
+                        log.warn("일괄 분석 응답에 {}대의 카메라 결과가 누락되었습니다: {}", missing.size(),
+                                missing.stream().map(Camera::getName).toList());
+                    }
+                    return Flux.fromIterable(missing)
+                            .map(camera -> CameraAnalysisResult.failed(
+                                    camera, AnalysisOutcome.SERVER_ERROR, AnalysisErrorKind.MISSING_RESULT));
+                }))
+                .onErrorResume(ex -> {
+                    List<Camera> remaining = drain(pending);
+                    if (isBatchUnsupported(ex)) {
+                        endpoint.markBatchUnsupported(Instant.now().plus(renegotiateAfter));
+                        log.warn("AI 서버 {}가 일괄 분석 엔드포인트를 지원하지 않습니다. {}분 동안 카메라별 요청으로 전환합니다.",
+                                endpoint.baseUrl(), renegotiateAfter.toMinutes());
+                        return Flux.fromIterable(remaining).flatMap(camera -> analyze(endpoint, camera));
+                    }
+                    Failure failure = classify(null, ex);
+                    return Flux.fromIterable(remaining).map(failure::toResult);
+                });
+    }
+
+    /**
+     * Asks an AI server to train perspective maps. An empty body trains every camera it knows. Fails with a
+     * {@link TimeoutException} if the server has not answered within the training deadline.
+     */
+    public Mono<PerspectiveMapTrainingResponse> trainPerspectiveMaps(AiEndpoint endpoint, Map<String, ?> body) {
+        return endpoint.webClient().post()
+                .uri(TRAIN_PERSPECTIVE_MAP_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(PerspectiveMapTrainingResponse.class)
+                .timeout(trainingTimeout);
+    }
+
+    /**
+     * Issues {@code request} against {@code primary} under the request deadline and, if hedging applies, races it
+     * against a delayed copy sent to another endpoint.
+     */
+    private Flux<AiAnalysisResponse> send(
+            AiEndpoint primary,
+            int cameraCount,
+            Function<AiEndpoint, Flux<AiAnalysisResponse>> request) {
+        Duration deadline = requestTimeout.plus(extraCameraTimeout.multipliedBy(cameraCount - 1L));
+        Flux<AiAnalysisResponse> primaryResponse = withDeadline(request.apply(primary), deadline);
+        if (!hedgingEnabled) {
+            return primaryResponse;
+        }
+        hedgeableRequests.incrementAndGet();
+        Optional<Duration> hedgeDelay = primary.perCameraLatencyPercentile(HEDGE_PERCENTILE)
+                .map(p95 -> p95.multipliedBy(cameraCount))
+                .map(delay -> delay.compareTo(minHedgeDelay) < 0 ? minHedgeDelay : delay)
+                .filter(delay -> delay.compareTo(deadline) < 0);
+        Optional<AiEndpoint> hedgeTarget = endpointPool.hedgeTarget(primary);
+        if (hedgeDelay.isEmpty() || hedgeTarget.isEmpty()) {
+            return primaryResponse;
+        }
+
+        AiEndpoint target = hedgeTarget.get();
+        Flux<AiAnalysisResponse> hedgeResponse = Flux.defer(() -> {
+                    if (!tryAcquireHedge()) {
+                        return Flux.<AiAnalysisResponse>empty();
+                    }
+                    log.debug("AI 서버 {}가 {}ms 안에 응답하지 않아 {}에 중복 요청을 보냅니다.", primary.baseUrl(),
+                            hedgeDelay.get().toMillis(), target.baseUrl());
+                    target.onRequestStarted();
+                    return withDeadline(request.apply(target), deadline.minus(hedgeDelay.get()))
+                            .doFinally(signal -> target.onRequestAbandoned());
+                })
+                .delaySubscription(hedgeDelay.get());
+        // The first source to emit wins; the other one is cancelled. Errors only surface if both fail.
+        return Flux.firstWithValue(primaryResponse, hedgeResponse)
+                .onErrorMap(NoSuchElementException.class, AiAnalysisClient::firstRaceError);
+    }
+
+    private boolean tryAcquireHedge() {
+        long issued = hedgedRequests.get();
+        if (issued + 1 > maxHedgeRatio * hedgeableRequests.get()) {
+            return false;
+        }
+        return hedgedRequests.compareAndSet(issued, issued + 1);
+    }
+
+    private CameraAnalysisResult toResult(Camera camera, AiAnalysisResponse response) {
+        log.info("카메라 [{}]에 대한 AI 서버 응답: {}", camera.getName(), response);
+        if ("ERROR".equalsIgnoreCase(response.getStatus())) {
+            return new CameraAnalysisResult(
+                    camera, AnalysisOutcome.CAMERA_ERROR, response, AnalysisErrorKind.EXPLICIT_ERROR);
+        }
+        return new CameraAnalysisResult(camera, AnalysisOutcome.SUCCESS, response, null);
+    }
+
+    /**
+     * Maps a failed request to an outcome. {@code camera} is null for batch requests.
+     */
+    private Failure classify(Camera camera, Throwable ex) {
+        String target = camera != null ? camera.getName() : "일괄 요청";
+        if (ex instanceof WebClientResponseException responseException) {
+            log.error(
+                    "카메라 [{}] 처리 중 AI 서버가 {} 코드를 반환했습니다. 본문: {}",
+                    target,
+                    responseException.getStatusCode(),
+                    responseException.getResponseBodyAsString());
+
+            // Attempt to parse the error body to check for "ERROR" status
+            try {
+                AiAnalysisResponse errorResponse = responseException.getResponseBodyAs(AiAnalysisResponse.class);
+                if (errorResponse != null && "ERROR".equalsIgnoreCase(errorResponse.getStatus())) {
+                    log.warn("카메라 [{}]에서 명시적인 ERROR 상태가 감지되었습니다: {}", target, errorResponse.getMessage());
+                    // Counts against this camera's breaker only
+                    return new Failure(AnalysisOutcome.CAMERA_ERROR, AnalysisErrorKind.EXPLICIT_ERROR);
+                }
+            } catch (Exception parseEx) {
+                log.warn("에러 응답 본문 파싱 실패: {}", parseEx.getMessage());
+            }
+            return new Failure(
+                    responseException.getStatusCode().is5xxServerError()
+                            ? AnalysisOutcome.SERVER_ERROR
+                            : AnalysisOutcome.CAMERA_ERROR,
+                    AnalysisErrorKind.HTTP_ERROR);
+        }
+        if (ex instanceof TimeoutException) {
+            log.error("카메라 [{}] 분석 요청이 제한 시간 안에 끝나지 않았습니다.", target);
+            return new Failure(AnalysisOutcome.SERVER_ERROR, AnalysisErrorKind.TIMEOUT);
+        }
+        if (ex instanceof WebClientRequestException) {
+            log.error("카메라 [{}] 분석을 위해 AI 서버에 연결하지 못했습니다: {}", target, ex.getMessage());
+            return new Failure(AnalysisOutcome.SERVER_UNAVAILABLE, AnalysisErrorKind.CONNECTION_ERROR);
+        }
+        log.error("카메라 [{}]에 대한 분석 요청 중 예기치 않은 오류가 발생했습니다", target, ex);
+        return new Failure(AnalysisOutcome.SERVER_ERROR, AnalysisErrorKind.UNEXPECTED);
+    }
+
+    /**
+     * Fails the response if it has not completed within {@code deadline} of subscription, however it is streamed.
+     */
+    private static <T> Flux<T> withDeadline(Flux<T> response, Duration deadline) {
+        return Flux.defer(() -> {
+            Mono<Long> expiry = Mono.delay(deadline).cache();
+            return response.timeout(expiry, element -> expiry);
+        });
+    }
+
+    private static Throwable firstRaceError(NoSuchElementException ex) {
+        if (ex.getCause() == null) {
+            return ex;
+        }
+        List<Throwable> errors = Exceptions.unwrapMultiple(ex.getCause());
+        return errors.isEmpty() ? ex : errors.get(0);
+    }
+
+    private static boolean isBatchUnsupported(Throwable ex) {
+        if (!(ex instanceof WebClientResponseException responseException)) {
+            return false;
+        }
+        HttpStatus status = HttpStatus.resolve(responseException.getStatusCode().value());
+        return status == HttpStatus.NOT_FOUND
+                || status == HttpStatus.METHOD_NOT_ALLOWED
+                || status == HttpStatus.NOT_IMPLEMENTED;
+    }
+
+    private static Camera take(Map<Long, Camera> pending, Long cameraId) {
+        synchronized (pending) {
+            return cameraId != null ? pending.remove(cameraId) : null;
+        }
+    }
+
+    private static List<Camera> drain(Map<Long, Camera> pending) {
+        synchronized (pending) {
+            List<Camera> remaining = new ArrayList<>(pending.values());
+            pending.clear();
+            return remaining;
+        }
+    }
+
+    private record Failure(AnalysisOutcome outcome, AnalysisErrorKind kind) {
+
+        private CameraAnalysisResult toResult(Camera camera) {
+            return CameraAnalysisResult.failed(camera, outcome, kind);
+        }
+    }
+}
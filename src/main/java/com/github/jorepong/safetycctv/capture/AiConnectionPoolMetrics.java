@@ -0,0 +1,87 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.ConnectionPoolView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.SocketAddress;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Collects the Reactor Netty pool metrics of the AI server connection provider. Reactor Netty creates one pool per
+ * remote address and registers it here; each pool is also published as {@code safetycctv.ai.connections} gauges.
+ */
+@Component
+public class AiConnectionPoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final MeterRegistry registry;
+    private final Map<String, RegisteredPool> pools = new ConcurrentHashMap<>();
+
+    public AiConnectionPoolMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        String address = String.valueOf(remoteAddress);
+        List<Meter> meters = List.of(
+                gauge("acquired", poolName, address, metrics, ConnectionPoolMetrics::acquiredSize),
+                gauge("idle", poolName, address, metrics, ConnectionPoolMetrics::idleSize),
+                gauge("allocated", poolName, address, metrics, ConnectionPoolMetrics::allocatedSize),
+                gauge("pending", poolName, address, metrics, ConnectionPoolMetrics::pendingAcquireSize));
+        pools.put(id, new RegisteredPool(poolName, address, metrics, meters));
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        RegisteredPool pool = pools.remove(id);
+        if (pool != null) {
+            pool.meters().forEach(registry::remove);
+        }
+    }
+
+    public List<ConnectionPoolView> snapshot() {
+        return pools.values().stream()
+                .map(RegisteredPool::toView)
+                .sorted(Comparator.comparing(ConnectionPoolView::remoteAddress))
+                .toList();
+    }
+
+    private Meter gauge(
+            String state,
+            String poolName,
+            String address,
+            ConnectionPoolMetrics metrics,
+            ToDoubleFunction<ConnectionPoolMetrics> value) {
+        return Gauge.builder("safetycctv.ai.connections", metrics, value)
+                .description("Connections to an AI server address by pool state")
+                .tags("pool", poolName, "remote.address", address, "state", state)
+                .register(registry);
+    }
+
+    private record RegisteredPool(
+            String poolName,
+            String remoteAddress,
+            ConnectionPoolMetrics metrics,
+            List<Meter> meters) {
+
+        private ConnectionPoolView toView() {
+            return new ConnectionPoolView(
+                    poolName,
+                    remoteAddress,
+                    metrics.acquiredSize(),
+                    metrics.idleSize(),
+                    metrics.allocatedSize(),
+                    metrics.pendingAcquireSize(),
+                    metrics.maxAllocatedSize(),
+                    metrics.maxPendingAcquireSize());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.AiEndpointView;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Optional;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * One AI analysis server of the {@link AiEndpointPool}.
+ * Tracks outstanding requests for least-outstanding routing, request statistics, and whether the server currently
+ * offers the batch endpoint. Its {@link CircuitBreaker} doubles as passive health check: while the breaker is not
+ * closed the endpoint is ejected from routing.
+ */
+public class AiEndpoint {
+
+    private static final Duration THROUGHPUT_WINDOW = Duration.ofMinutes(1);
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final int LATENCY_RESERVOIR_SIZE = 256;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private final String baseUrl;
+    private final WebClient webClient;
+    private final CircuitBreaker breaker;
+
+    private int outstandingRequests;
+    private long completedRequests;
+    private long failedRequests;
+    private long analyzedCameras;
+    private double smoothedLatencyMillis;
+    private final Deque<Instant> recentCompletions = new ArrayDeque<>();
+    private final double[] perCameraLatencies = new double[LATENCY_RESERVOIR_SIZE];
+    private int latencyCursor;
+    private int latencySamples;
+    private volatile Instant batchUnsupportedUntil = Instant.MIN;
+
+    public AiEndpoint(String baseUrl, WebClient webClient, CircuitBreaker breaker) {
+        this.baseUrl = baseUrl;
+        this.webClient = webClient;
+        this.breaker = breaker;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public WebClient webClient() {
+        return webClient;
+    }
+
+    public CircuitBreaker breaker() {
+        return breaker;
+    }
+
+    /**
+     * Whether new cameras and requests may be routed to this endpoint.
+     */
+    public boolean isAvailable() {
+        return breaker.state() == CircuitBreakerState.CLOSED;
+    }
+
+    public boolean isBatchSupported(Instant now) {
+        return !now.isBefore(batchUnsupportedUntil);
+    }
+
+    public void markBatchUnsupported(Instant until) {
+        batchUnsupportedUntil = until;
+    }
+
+    public synchronized int outstandingRequests() {
+        return outstandingRequests;
+    }
+
+    public synchronized void onRequestStarted() {
+        outstandingRequests++;
+    }
+
+    /**
+     * Releases a request whose result is not attributed to this endpoint, such as a cancelled hedge.
+     */
+    public synchronized void onRequestAbandoned() {
+        outstandingRequests = Math.max(0, outstandingRequests - 1);
+    }
+
+    /**
+     * Records a finished request covering {@code cameraCount} cameras. Overload outcomes count against the endpoint's
+     * breaker; anything else proves the server is alive.
+     */
+    public synchronized void onRequestFinished(
+            AnalysisOutcome outcome,
+            Duration latency,
+            int cameraCount,
+            Instant now) {
+        outstandingRequests = Math.max(0, outstandingRequests - 1);
+        completedRequests++;
+        if (outcome.isOverload()) {
+            failedRequests++;
+            breaker.onFailure(now);
+            return;
+        }
+        breaker.onSuccess();
+        analyzedCameras += cameraCount;
+        double latencyMillis = latency.toNanos() / 1_000_000.0;
+        smoothedLatencyMillis = smoothedLatencyMillis == 0.0
+                ? latencyMillis
+                : smoothedLatencyMillis + LATENCY_SMOOTHING * (latencyMillis - smoothedLatencyMillis);
+        perCameraLatencies[latencyCursor] = latencyMillis / Math.max(1, cameraCount);
+        latencyCursor = (latencyCursor + 1) % LATENCY_RESERVOIR_SIZE;
+        latencySamples = Math.min(latencySamples + 1, LATENCY_RESERVOIR_SIZE);
+        for (int i = 0; i < cameraCount; i++) {
+            recentCompletions.addLast(now);
+        }
+        trimWindow(now);
+    }
+
+    /**
+     * Percentile of the per-camera latency over the most recent successful requests, or empty while there are too few
+     * samples to tell.
+     */
+    public synchronized Optional<Duration> perCameraLatencyPercentile(double percentile) {
+        int count = latencySamples;
+        if (count < MIN_LATENCY_SAMPLES) {
+            return Optional.empty();
+        }
+        double[] sorted = Arrays.copyOf(perCameraLatencies, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(count - 1, Math.ceil(percentile * count) - 1);
+        return Optional.of(Duration.ofNanos((long) (sorted[Math.max(0, index)] * 1_000_000)));
+    }
+
+    public synchronized AiEndpointView toView(int assignedCameras, Instant now) {
+        trimWindow(now);
+        return new AiEndpointView(
+                baseUrl,
+                breaker.state(),
+                isAvailable(),
+                isBatchSupported(now),
+                outstandingRequests,
+                assignedCameras,
+                completedRequests,
+                failedRequests,
+                analyzedCameras,
+                recentCompletions.size(),
+                smoothedLatencyMillis,
+                perCameraLatencyPercentile(0.95).map(p95 -> p95.toNanos() / 1_000_000.0).orElse(null));
+    }
+
+    private void trimWindow(Instant now) {
+        Instant windowStart = now.minus(THROUGHPUT_WINDOW);
+        while (!recentCompletions.isEmpty() && recentCompletions.peekFirst().isBefore(windowStart)) {
+            recentCompletions.pollFirst();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.AiEndpointView;
+import com.github.jorepong.safetycctv.entity.Camera;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Client-side load balancer over the configured AI analysis servers ({@code ai.server.base-urls}).
+ * <p>
+ * Every camera is owned by one endpoint so that its tracking state stays on one node. A camera is assigned when it is
+ * first routed, to the available endpoint with the fewest outstanding requests (ties broken by the fewest assigned
+ * cameras), and only moves when its owner gets ejected. It remembers the endpoint it was moved away from and goes
+ * back there once that endpoint is re-admitted, so an ejection does not leave the survivors overloaded for good.
+ * <p>
+ * Health checking is passive: connection failures and 5xx responses count against the endpoint's circuit breaker,
+ * and an endpoint whose breaker is not closed is ejected. Once the open period expired, a probe request to
+ * {@code ai.server.probe-path} decides whether it is re-admitted.
+ */
+@Component
+@Slf4j
+public class AiEndpointPool {
+
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<AiEndpoint> endpoints;
+    private final String probePath;
+    private final Map<Long, AiEndpoint> owners = new HashMap<>();
+    private final Map<Long, AiEndpoint> displacedFrom = new HashMap<>();
+
+    public AiEndpointPool(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider aiConnectionProvider,
+            @Value("${ai.server.base-urls:${ai.server.base-url}}") List<String> baseUrls,
+            @Value("${ai.server.probe-path:/}") String probePath,
+            @Value("${ai.server.http.connect-timeout-millis:2000}") int connectTimeoutMillis,
+            CaptureCircuitBreakers circuitBreakers) {
+        HttpClient httpClient = HttpClient.create(aiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true);
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+        this.endpoints = baseUrls.stream()
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .distinct()
+                .map(url -> new AiEndpoint(
+                        url,
+                        webClientBuilder.clone().clientConnector(connector).baseUrl(url).build(),
+                        circuitBreakers.forServer(url)))
+                .toList();
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("At least one AI server must be configured in ai.server.base-urls");
+        }
+        this.probePath = probePath;
+    }
+
+    public List<AiEndpoint> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Available endpoint other than {@code primary} with the fewest outstanding requests, to send a hedged request to.
+     */
+    public Optional<AiEndpoint> hedgeTarget(AiEndpoint primary) {
+        return endpoints.stream()
+                .filter(endpoint -> endpoint != primary && endpoint.isAvailable())
+                .min(Comparator.comparingInt(AiEndpoint::outstandingRequests));
+    }
+
+    public boolean hasAvailableEndpoint() {
+        return endpoints.stream().anyMatch(AiEndpoint::isAvailable);
+    }
+
+    /**
+     * Returns the endpoint that owns {@code camera}, assigning or re-assigning it if needed.
+     */
+    public synchronized AiEndpoint route(Camera camera) {
+        AiEndpoint owner = owners.get(camera.getId());
+        AiEndpoint home = displacedFrom.get(camera.getId());
+        if (home != null && home.isAvailable()) {
+            log.info("AI 서버 {}가 다시 투입되어 카메라 [{}]를 되돌립니다.", home.baseUrl(), camera.getName());
+            displacedFrom.remove(camera.getId());
+            owners.put(camera.getId(), home);
+            return home;
+        }
+        if (owner != null && (owner.isAvailable() || !hasAvailableEndpoint())) {
+            return owner;
+        }
+        Map<AiEndpoint, Long> assigned = owners.values().stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        AiEndpoint target = endpoints.stream()
+                .filter(AiEndpoint::isAvailable)
+                .min(Comparator.comparingInt(AiEndpoint::outstandingRequests)
+                        .thenComparingLong(endpoint -> assigned.getOrDefault(endpoint, 0L)))
+                .orElse(endpoints.get(0));
+        if (owner != null && owner != target) {
+            log.warn("AI 서버 {}가 제외되어 카메라 [{}]를 {}로 옮깁니다.", owner.baseUrl(), camera.getName(),
+                    target.baseUrl());
+            displacedFrom.putIfAbsent(camera.getId(), owner);
+        }
+        owners.put(camera.getId(), target);
+        return target;
+    }
+
+    /**
+     * Groups cameras by their owning endpoint, assigning unrouted cameras on the way.
+     */
+    public Map<AiEndpoint, List<Camera>> groupByOwner(Collection<Camera> cameras) {
+        Map<AiEndpoint, List<Camera>> grouped = new LinkedHashMap<>();
+        for (Camera camera : cameras) {
+            grouped.computeIfAbsent(route(camera), endpoint -> new ArrayList<>()).add(camera);
+        }
+        return grouped;
+    }
+
+    /**
+     * Forgets the assignments of cameras that are no longer registered.
+     */
+    public synchronized void retainCameras(Collection<Long> cameraIds) {
+        Set<Long> retained = Set.copyOf(cameraIds);
+        owners.keySet().removeIf(id -> !retained.contains(id));
+        displacedFrom.keySet().removeIf(id -> !retained.contains(id));
+    }
+
+    /**
+     * Sends a probe to every ejected endpoint whose open period expired. Any response below 500 re-admits it.
+     */
+    public void probeEjectedEndpoints(Instant now) {
+        for (AiEndpoint endpoint : endpoints) {
+            if (endpoint.isAvailable() || !endpoint.breaker().tryAcquire(now)) {
+                continue;
+            }
+            endpoint.webClient().get()
+                    .uri(probePath)
+                    .exchangeToMono(response -> Mono.just(!response.statusCode().is5xxServerError()))
+                    .timeout(PROBE_TIMEOUT)
+                    .onErrorReturn(false)
+                    .subscribe(healthy -> {
+                        if (healthy) {
+                            endpoint.breaker().onSuccess();
+                            log.info("AI 서버 {}가 상태 확인에 응답하여 다시 분석 요청을 받습니다.", endpoint.baseUrl());
+                        } else {
+                            endpoint.breaker().onFailure(Instant.now());
+                            log.warn("AI 서버 {}의 상태 확인에 실패했습니다. {}까지 제외합니다.", endpoint.baseUrl(),
+                                    endpoint.breaker().toView().openUntil());
+                        }
+                    });
+        }
+    }
+
+    public synchronized List<AiEndpointView> snapshot(Instant now) {
+        Map<AiEndpoint, Long> assigned = owners.values().stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        return endpoints.stream()
+                .map(endpoint -> endpoint.toView(assigned.getOrDefault(endpoint, 0L).intValue(), now))
+                .toList();
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.jorepong.safetycctv.capture;
+
+/**
+ * Why an analysis result is not a success, as reported in the {@code safetycctv.ai.errors} metric.
+ */
+public enum AnalysisErrorKind {
+    /** The AI server answered with {@code status: ERROR} for the camera. */
+    EXPLICIT_ERROR,
+    /** The AI server answered with an HTTP error status ({@code WebClientResponseException}). */
+    HTTP_ERROR,
+    /** The AI server could not be reached ({@code WebClientRequestException}). */
+    CONNECTION_ERROR,
+    /** The request did not finish within its deadline. */
+    TIMEOUT,
+    /** The response did not contain a result for the camera. */
+    MISSING_RESULT,
+    /** Anything else. */
+    UNEXPECTED;
+
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.jorepong.safetycctv.capture;
+
+/**
+ * Result of a single camera analysis request as seen by the capture scheduler.
+ */
+public enum AnalysisOutcome {
+    SUCCESS,            // The AI server analyzed the frame.
+    CAMERA_ERROR,       // The AI server answered, but reported an ERROR for this camera (e.g. broken stream).
+    SERVER_ERROR,       // The AI server failed with 5xx or returned something unusable.
+    SERVER_UNAVAILABLE; // The AI server could not be reached at all (connection refused, reset, ...).
+
+    public boolean isOverload() {
+        return this == SERVER_ERROR || this == SERVER_UNAVAILABLE;
+    }
+
+    /**
+     * Whether the failure counts against the camera's own circuit breaker. Only the AI server's verdict on the camera
+     * does; 5xx responses, timeouts and cameras missing from a batch response are the server's failures and already
+     * count against its breaker, so they say nothing about the camera.
+     */
+    public boolean isCameraFailure() {
+        return this == CAMERA_ERROR;
+    }
+}
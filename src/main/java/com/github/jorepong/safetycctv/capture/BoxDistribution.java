@@ -0,0 +1,115 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.entity.PerspectiveTrainingWatermark;
+import com.github.jorepong.safetycctv.repository.NewDetectionSummary;
+
+/**
+ * Cheap summary of where detected boxes appear in a camera's frame: sample count plus mean and variance of the box
+ * centre and the box height, in pixels.
+ */
+public record BoxDistribution(
+    long count,
+    double meanCenterX,
+    double meanCenterY,
+    double meanBoxHeight,
+    double varianceCenterX,
+    double varianceCenterY,
+    double varianceBoxHeight
+) {
+
+    /**
+     * Standard deviation floor, so that a baseline of near-identical boxes does not turn pixel jitter into drift.
+     */
+    private static final double MIN_DEVIATION_PIXELS = 1.0;
+
+    public static BoxDistribution of(NewDetectionSummary summary) {
+        return new BoxDistribution(
+            summary.getSampleCount(),
+            summary.getMeanCenterX(),
+            summary.getMeanCenterY(),
+            summary.getMeanBoxHeight(),
+            variance(summary.getMeanCenterX(), summary.getMeanSquareCenterX()),
+            variance(summary.getMeanCenterY(), summary.getMeanSquareCenterY()),
+            variance(summary.getMeanBoxHeight(), summary.getMeanSquareBoxHeight()));
+    }
+
+    public static BoxDistribution of(PerspectiveTrainingWatermark watermark) {
+        return new BoxDistribution(
+            watermark.getSampleCount(),
+            watermark.getMeanCenterX(),
+            watermark.getMeanCenterY(),
+            watermark.getMeanBoxHeight(),
+            watermark.getVarianceCenterX(),
+            watermark.getVarianceCenterY(),
+            watermark.getVarianceBoxHeight());
+    }
+
+    /**
+     * The same distribution with a different sample count, e.g. the part of the baseline that survived pruning.
+     */
+    public BoxDistribution withCount(long newCount) {
+        return new BoxDistribution(newCount, meanCenterX, meanCenterY, meanBoxHeight,
+            varianceCenterX, varianceCenterY, varianceBoxHeight);
+    }
+
+    /**
+     * Pools both distributions as if their samples had been summarized together.
+     */
+    public BoxDistribution merge(BoxDistribution other) {
+        long total = count + other.count;
+        if (total == 0) {
+            return this;
+        }
+        double meanX = pooledMean(meanCenterX, other.meanCenterX, other.count, total);
+        double meanY = pooledMean(meanCenterY, other.meanCenterY, other.count, total);
+        double meanHeight = pooledMean(meanBoxHeight, other.meanBoxHeight, other.count, total);
+        return new BoxDistribution(
+            total,
+            meanX,
+            meanY,
+            meanHeight,
+            pooledVariance(meanCenterX, varianceCenterX, other.meanCenterX, other.varianceCenterX, other.count, total,
+                meanX),
+            pooledVariance(meanCenterY, varianceCenterY, other.meanCenterY, other.varianceCenterY, other.count, total,
+                meanY),
+            pooledVariance(meanBoxHeight, varianceBoxHeight, other.meanBoxHeight, other.varianceBoxHeight, other.count,
+                total, meanHeight));
+    }
+
+    /**
+     * Largest shift of a mean relative to the baseline's standard deviation in that dimension. A drift of 0.5 means
+     * that, say, the average box centre moved by half a standard deviation of the boxes the map was trained on.
+     */
+    public double driftFrom(BoxDistribution baseline) {
+        return Math.max(
+            shift(meanCenterX, baseline.meanCenterX, baseline.varianceCenterX),
+            Math.max(
+                shift(meanCenterY, baseline.meanCenterY, baseline.varianceCenterY),
+                shift(meanBoxHeight, baseline.meanBoxHeight, baseline.varianceBoxHeight)));
+    }
+
+    private double pooledMean(double mean, double otherMean, long otherCount, long total) {
+        return (count * mean + otherCount * otherMean) / total;
+    }
+
+    private double pooledVariance(
+            double mean,
+            double variance,
+            double otherMean,
+            double otherVariance,
+            long otherCount,
+            long total,
+            double pooledMean) {
+        double secondMoment = (count * (variance + mean * mean) + otherCount * (otherVariance + otherMean * otherMean))
+            / total;
+        return Math.max(0.0, secondMoment - pooledMean * pooledMean);
+    }
+
+    private static double shift(double mean, double baselineMean, double baselineVariance) {
+        return Math.abs(mean - baselineMean) / Math.max(MIN_DEVIATION_PIXELS, Math.sqrt(baselineVariance));
+    }
+
+    private static double variance(Double mean, Double meanSquare) {
+        return Math.max(0.0, meanSquare - mean * mean);
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.jorepong.safetycctv.capture;
+
+import java.time.Instant;
+
+/**
+ * Persistable state of a {@link CircuitBreaker}; {@code openUntil} is null unless the breaker is open.
+ */
+public record BreakerCheckpoint(
+    CircuitBreakerState state,
+    int consecutiveFailures,
+    int consecutiveOpens,
+    Instant openUntil
+) {
+}
@@ -0,0 +1,16 @@
+package com.github.jorepong.safetycctv.capture;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Timing of one camera in the {@link CaptureDispatchEngine}, persisted so that a restart resumes the schedule instead
+ * of treating every camera as new. {@code lastAnalyzedAt} is null for a camera that was never analyzed successfully.
+ */
+public record CameraCheckpoint(
+    Long cameraId,
+    Instant lastAnalyzedAt,
+    Instant nextDueAt,
+    Duration interval
+) {
+}
@@ -0,0 +1,74 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.CameraTrainingView;
+import java.time.LocalDateTime;
+
+/**
+ * Mutable progress of one camera's training, owned by the {@link PerspectiveTrainingOrchestrator}.
+ */
+class CameraTrainingProgress {
+
+    private final PerspectiveTrainingCandidate candidate;
+    private final LocalDateTime queuedAt;
+
+    private TrainingState state = TrainingState.QUEUED;
+    private Integer samplesUsed;
+    private Integer samplesAvailable;
+    private String message;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    CameraTrainingProgress(PerspectiveTrainingCandidate candidate, LocalDateTime queuedAt) {
+        this.candidate = candidate;
+        this.queuedAt = queuedAt;
+    }
+
+    synchronized boolean isActive() {
+        return state == TrainingState.QUEUED || state == TrainingState.RUNNING;
+    }
+
+    synchronized TrainingState state() {
+        return state;
+    }
+
+    synchronized void onStarted(LocalDateTime now) {
+        state = TrainingState.RUNNING;
+        startedAt = now;
+    }
+
+    synchronized void onTrained(Integer samplesUsed, LocalDateTime now) {
+        finish(TrainingState.DONE, now);
+        this.samplesUsed = samplesUsed;
+    }
+
+    synchronized void onSkipped(String reason, Integer samplesAvailable, LocalDateTime now) {
+        finish(TrainingState.SKIPPED, now);
+        this.message = reason;
+        this.samplesAvailable = samplesAvailable;
+    }
+
+    synchronized void onFailed(String error, LocalDateTime now) {
+        finish(TrainingState.FAILED, now);
+        this.message = error;
+    }
+
+    synchronized CameraTrainingView toView() {
+        return new CameraTrainingView(
+                candidate.camera().getId(),
+                candidate.camera().getName(),
+                state,
+                candidate.reason(),
+                candidate.newSamples(),
+                samplesUsed,
+                samplesAvailable,
+                message,
+                queuedAt,
+                startedAt,
+                finishedAt);
+    }
+
+    private void finish(TrainingState finalState, LocalDateTime now) {
+        state = finalState;
+        finishedAt = now;
+    }
+}
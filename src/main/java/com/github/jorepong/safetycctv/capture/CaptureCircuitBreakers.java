@@ -0,0 +1,83 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.CircuitBreakerStatusPayload;
+import com.github.jorepong.safetycctv.capture.dto.CircuitBreakerView;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds one circuit breaker per camera and one per AI server.
+ * A broken camera stream only opens its own breaker, so healthy cameras keep being analyzed at full rate. A server's
+ * breaker trips on connection failures and 5xx storms and ejects only that server from the {@link AiEndpointPool};
+ * its cameras move to the remaining servers until a probe succeeds.
+ */
+@Component
+public class CaptureCircuitBreakers {
+
+    private final int cameraFailureThreshold;
+    private final Duration cameraOpenDuration;
+    private final Duration cameraMaxOpenDuration;
+    private final int serverFailureThreshold;
+    private final Duration serverOpenDuration;
+    private final Duration serverMaxOpenDuration;
+
+    private final Map<Long, CircuitBreaker> cameraBreakers = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> serverBreakers = new ConcurrentHashMap<>();
+
+    public CaptureCircuitBreakers(
+            @Value("${camera.scheduler.breaker.camera.failure-threshold:3}") int cameraFailureThreshold,
+            @Value("${camera.scheduler.breaker.camera.open-seconds:30}") long cameraOpenSeconds,
+            @Value("${camera.scheduler.breaker.camera.max-open-seconds:600}") long cameraMaxOpenSeconds,
+            @Value("${camera.scheduler.breaker.server.failure-threshold:5}") int serverFailureThreshold,
+            @Value("${camera.scheduler.breaker.server.open-seconds:10}") long serverOpenSeconds,
+            @Value("${camera.scheduler.breaker.server.max-open-seconds:120}") long serverMaxOpenSeconds) {
+        this.cameraFailureThreshold = cameraFailureThreshold;
+        this.cameraOpenDuration = Duration.ofSeconds(cameraOpenSeconds);
+        this.cameraMaxOpenDuration = Duration.ofSeconds(cameraMaxOpenSeconds);
+        this.serverFailureThreshold = serverFailureThreshold;
+        this.serverOpenDuration = Duration.ofSeconds(serverOpenSeconds);
+        this.serverMaxOpenDuration = Duration.ofSeconds(serverMaxOpenSeconds);
+    }
+
+    public CircuitBreaker forCamera(Long cameraId) {
+        return cameraBreakers.computeIfAbsent(cameraId, id -> new CircuitBreaker(
+                "camera-" + id, cameraFailureThreshold, cameraOpenDuration, cameraMaxOpenDuration));
+    }
+
+    public CircuitBreaker forServer(String serverName) {
+        return serverBreakers.computeIfAbsent(serverName, name -> new CircuitBreaker(
+                name, serverFailureThreshold, serverOpenDuration, serverMaxOpenDuration));
+    }
+
+    /**
+     * Forgets the breakers of cameras that are no longer registered.
+     */
+    public void retainCameras(Collection<Long> cameraIds) {
+        Set<Long> retained = Set.copyOf(cameraIds);
+        cameraBreakers.keySet().removeIf(id -> !retained.contains(id));
+    }
+
+    public CircuitBreakerStatusPayload snapshot() {
+        List<CircuitBreakerView> servers = serverBreakers.values().stream()
+                .map(CircuitBreaker::toView)
+                .sorted(Comparator.comparing(CircuitBreakerView::name))
+                .toList();
+        List<Long> skipped = cameraBreakers.entrySet().stream()
+                .filter(entry -> entry.getValue().state() != CircuitBreakerState.CLOSED)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        List<CircuitBreakerView> cameras = cameraBreakers.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().toView())
+                .toList();
+        return new CircuitBreakerStatusPayload(servers, skipped, cameras);
+    }
+}
@@ -0,0 +1,346 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.CameraScheduleView;
+import com.github.jorepong.safetycctv.capture.dto.CaptureScheduleStatusPayload;
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Time-driven core of the capture scheduler.
+ * Every camera has a next-due time; due cameras are handed out earliest deadline first while the number of in-flight
+ * requests stays below the {@link AdaptiveConcurrencyLimit}. A camera is never handed out again before its previous
+ * request completed. The interval until a camera's next analysis is decided per completion by the caller, typically
+ * through a {@link SamplingCadencePolicy}. Cameras whose circuit breaker is open are skipped until it lets a trial
+ * request through. The health of the AI servers is not the engine's concern: the caller routes around ejected
+ * servers and stops polling while none is available (see {@link AiEndpointPool}).
+ * <p>
+ * The engine performs no I/O and never reads the wall clock: callers pass {@code now} explicitly, which keeps the
+ * policy deterministic and testable.
+ */
+public class CaptureDispatchEngine {
+
+    private static final Comparator<CameraSlot> BY_DUE_TIME = Comparator
+            .comparing((CameraSlot slot) -> slot.nextDueAt)
+            .thenComparing(slot -> slot.cameraId);
+
+    private static final Object SINGLE_ROUTE = new Object();
+
+    private final Duration defaultInterval;
+    private final CaptureCircuitBreakers circuitBreakers;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final String cadencePolicyName;
+
+    private final Map<Long, CameraSlot> slots = new HashMap<>();
+    private final PriorityQueue<CameraSlot> dueQueue = new PriorityQueue<>(BY_DUE_TIME);
+    private final Map<Long, CameraCheckpoint> restoredCheckpoints = new HashMap<>();
+    private int inFlightRequests;
+
+    public CaptureDispatchEngine(
+            Duration defaultInterval,
+            CaptureCircuitBreakers circuitBreakers,
+            AdaptiveConcurrencyLimit concurrencyLimit,
+            String cadencePolicyName) {
+        this.defaultInterval = defaultInterval;
+        this.circuitBreakers = circuitBreakers;
+        this.concurrencyLimit = concurrencyLimit;
+        this.cadencePolicyName = cadencePolicyName;
+    }
+
+    /**
+     * Aligns the engine with the currently registered cameras. New cameras become due immediately, unless a
+     * {@link #restore restored} checkpoint says otherwise; cameras that disappeared are dropped (an in-flight request
+     * for them is still accounted for when it completes).
+     */
+    public synchronized void syncCameras(Collection<Camera> cameras, Instant now) {
+        Set<Long> seen = new HashSet<>();
+        for (Camera camera : cameras) {
+            if (camera == null || camera.getId() == null) {
+                continue;
+            }
+            seen.add(camera.getId());
+            CameraSlot slot = slots.get(camera.getId());
+            if (slot == null) {
+                slot = new CameraSlot(camera, now);
+                CameraCheckpoint checkpoint = restoredCheckpoints.get(camera.getId());
+                if (checkpoint != null) {
+                    slot.restore(checkpoint);
+                }
+                slots.put(camera.getId(), slot);
+                dueQueue.add(slot);
+            } else {
+                slot.camera = camera;
+            }
+        }
+        if (seen.size() != slots.size()) {
+            slots.keySet().removeIf(id -> !seen.contains(id));
+            dueQueue.removeIf(slot -> !seen.contains(slot.cameraId));
+        }
+        circuitBreakers.retainCameras(seen);
+        restoredCheckpoints.clear();
+    }
+
+    /**
+     * Seeds the timing of cameras from a previous run. Checkpoints apply to cameras that the next
+     * {@link #syncCameras} sees for the first time; overdue cameras keep their old due time, so the cameras that have
+     * waited longest are dispatched first.
+     */
+    public synchronized void restore(Collection<CameraCheckpoint> checkpoints) {
+        checkpoints.forEach(checkpoint -> restoredCheckpoints.put(checkpoint.cameraId(), checkpoint));
+    }
+
+    /**
+     * Current timing of every camera, for persisting across restarts.
+     */
+    public synchronized List<CameraCheckpoint> checkpoints() {
+        return slots.values().stream()
+                .map(slot -> new CameraCheckpoint(slot.cameraId, slot.lastAnalyzedAt, slot.expectedBy(), slot.interval))
+                .toList();
+    }
+
+    /**
+     * Hands out every camera that is due at {@code now}, earliest deadline first, until the concurrency limit is
+     * reached. The returned cameras are marked in flight and must be reported back via {@link #complete}.
+     */
+    public synchronized List<Camera> pollDue(Instant now) {
+        return pollDueBatches(now, 1).stream().map(batch -> batch.get(0)).toList();
+    }
+
+    /**
+     * Like {@link #pollDue}, but groups up to {@code maxBatchSize} due cameras into one request. Each batch takes a
+     * single slot of the concurrency limit; every camera in it must be reported via {@link #completeCamera} and the
+     * batch itself via {@link #completeRequest}.
+     */
+    public synchronized List<List<Camera>> pollDueBatches(Instant now, int maxBatchSize) {
+        return pollDueBatches(now, camera -> SINGLE_ROUTE, route -> maxBatchSize).stream()
+                .map(DispatchBatch::cameras)
+                .toList();
+    }
+
+    /**
+     * Like {@link #pollDueBatches(Instant, int)}, but only groups cameras that {@code router} sends to the same
+     * route (e.g. the AI server owning them), with a batch size limit per route.
+     */
+    public synchronized <R> List<DispatchBatch<R>> pollDueBatches(
+            Instant now,
+            Function<Camera, R> router,
+            ToIntFunction<R> maxBatchSize) {
+        List<DispatchBatch<R>> batches = new ArrayList<>();
+        Map<R, List<Camera>> openBatches = new HashMap<>();
+        int limit = concurrencyLimit.currentLimit();
+        while (hasPermittedDueCamera(now)) {
+            CameraSlot slot = dueQueue.peek();
+            R route = router.apply(slot.camera);
+            List<Camera> batch = openBatches.get(route);
+            if (batch == null || batch.size() >= Math.max(1, maxBatchSize.applyAsInt(route))) {
+                if (inFlightRequests >= limit) {
+                    break;
+                }
+                batch = new ArrayList<>();
+                openBatches.put(route, batch);
+                batches.add(new DispatchBatch<>(route, batch));
+                inFlightRequests++;
+            }
+            dueQueue.poll();
+            circuitBreakers.forCamera(slot.cameraId).tryAcquire(now);
+            slot.inFlight = true;
+            slot.dispatchedAt = now;
+            batch.add(slot.camera);
+        }
+        return batches;
+    }
+
+    /**
+     * Records the completion of a single-camera request handed out by {@link #pollDue} and schedules the camera's
+     * next analysis {@code nextInterval} after the request was dispatched.
+     */
+    public synchronized void complete(
+            Long cameraId,
+            AnalysisOutcome outcome,
+            Duration latency,
+            Duration nextInterval,
+            Instant now) {
+        completeRequest(outcome, latency, now);
+        completeCamera(cameraId, outcome, nextInterval, now);
+    }
+
+    /**
+     * Releases the concurrency slot of a finished request and feeds its latency and overload signal to the
+     * concurrency limit.
+     */
+    public synchronized void completeRequest(AnalysisOutcome outcome, Duration latency, Instant now) {
+        inFlightRequests = Math.max(0, inFlightRequests - 1);
+        concurrencyLimit.onSample(latency, outcome.isOverload());
+    }
+
+    /**
+     * Records one camera's result and schedules its next analysis {@code nextInterval} after it was dispatched.
+     */
+    public synchronized void completeCamera(Long cameraId, AnalysisOutcome outcome, Duration nextInterval, Instant now) {
+        CameraSlot slot = slots.get(cameraId);
+        if (slot == null || !slot.inFlight) {
+            return; // Camera was removed while its request was running.
+        }
+        CircuitBreaker cameraBreaker = circuitBreakers.forCamera(cameraId);
+        if (outcome.isOverload()) {
+            cameraBreaker.release(); // Not the camera's fault; neither close nor re-open its breaker.
+        } else {
+            recordOutcome(cameraBreaker, outcome.isCameraFailure(), now);
+        }
+        slot.inFlight = false;
+        if (outcome == AnalysisOutcome.SUCCESS) {
+            slot.lastAnalyzedAt = now;
+        }
+        if (nextInterval != null) {
+            slot.interval = nextInterval;
+        }
+
+        // When we are already behind, become due right away instead of trying to catch up with a burst.
+        Instant next = laterOf(slot.dispatchedAt.plus(slot.interval), now);
+        slot.nextDueAt = laterOf(cameraBreaker.retryAt(), next);
+        dueQueue.add(slot);
+    }
+
+    public synchronized Optional<Instant> nextDueAt() {
+        return Optional.ofNullable(dueQueue.peek()).map(slot -> slot.nextDueAt);
+    }
+
+    public synchronized int inFlightRequests() {
+        return inFlightRequests;
+    }
+
+    public synchronized int concurrencyLimit() {
+        return concurrencyLimit.currentLimit();
+    }
+
+    /**
+     * Time since the camera's last successful analysis, or empty if it is unknown or was never analyzed.
+     */
+    public synchronized Optional<Duration> staleness(Long cameraId, Instant now) {
+        CameraSlot slot = slots.get(cameraId);
+        if (slot == null || slot.lastAnalyzedAt == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.between(slot.lastAnalyzedAt, now));
+    }
+
+    public synchronized boolean tracks(Long cameraId) {
+        return slots.containsKey(cameraId);
+    }
+
+    public synchronized int cameraCount() {
+        return slots.size();
+    }
+
+    public synchronized CaptureScheduleStatusPayload snapshot(Instant now) {
+        List<CameraScheduleView> cameras = slots.values().stream()
+                .sorted(BY_DUE_TIME)
+                .map(slot -> slot.toView(now))
+                .toList();
+        long maxBehind = cameras.stream().mapToLong(CameraScheduleView::behindMillis).max().orElse(0L);
+        return new CaptureScheduleStatusPayload(
+                cadencePolicyName,
+                concurrencyLimit.currentLimit(),
+                inFlightRequests,
+                concurrencyLimit.smoothedLatencyMillis(),
+                concurrencyLimit.baselineLatencyMillis(),
+                maxBehind,
+                cameras);
+    }
+
+    private final class CameraSlot {
+        private final Long cameraId;
+        private Camera camera;
+        private Duration interval;
+        private Instant nextDueAt;
+        private Instant dispatchedAt;
+        private Instant lastAnalyzedAt;
+        private boolean inFlight;
+
+        private CameraSlot(Camera camera, Instant now) {
+            this.cameraId = camera.getId();
+            this.camera = camera;
+            this.interval = defaultInterval;
+            this.nextDueAt = now;
+        }
+
+        private void restore(CameraCheckpoint checkpoint) {
+            lastAnalyzedAt = checkpoint.lastAnalyzedAt();
+            if (checkpoint.interval() != null) {
+                interval = checkpoint.interval();
+            }
+            if (checkpoint.nextDueAt() != null) {
+                nextDueAt = checkpoint.nextDueAt();
+            }
+        }
+
+        /**
+         * While a request is running the camera is "due" again one interval after it was dispatched.
+         */
+        private Instant expectedBy() {
+            return inFlight ? dispatchedAt.plus(interval) : nextDueAt;
+        }
+
+        private CameraScheduleView toView(Instant now) {
+            long behind = Math.max(0L, Duration.between(expectedBy(), now).toMillis());
+            Long staleness = lastAnalyzedAt != null ? Duration.between(lastAnalyzedAt, now).toMillis() : null;
+            return new CameraScheduleView(
+                    cameraId,
+                    camera.getName(),
+                    interval.toMillis(),
+                    toLocal(lastAnalyzedAt),
+                    toLocal(nextDueAt),
+                    inFlight,
+                    behind,
+                    staleness);
+        }
+    }
+
+    /**
+     * Moves due cameras whose breaker is open back in time order, then reports whether the head of the queue is a
+     * due camera that may be dispatched.
+     */
+    private boolean hasPermittedDueCamera(Instant now) {
+        while (!dueQueue.isEmpty() && !dueQueue.peek().nextDueAt.isAfter(now)) {
+            CameraSlot slot = dueQueue.peek();
+            CircuitBreaker cameraBreaker = circuitBreakers.forCamera(slot.cameraId);
+            if (cameraBreaker.isCallPermitted(now)) {
+                return true;
+            }
+            dueQueue.poll();
+            slot.nextDueAt = laterOf(cameraBreaker.retryAt(), now.plus(slot.interval));
+            dueQueue.add(slot);
+        }
+        return false;
+    }
+
+    private static void recordOutcome(CircuitBreaker breaker, boolean failure, Instant now) {
+        if (failure) {
+            breaker.onFailure(now);
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    private static Instant laterOf(Instant candidate, Instant fallback) {
+        return candidate != null && candidate.isAfter(fallback) ? candidate : fallback;
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.CameraAnalysisResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer instrumentation of the capture pipeline.
+ * <ul>
+ *     <li>{@code safetycctv.ai.request}: latency of each AI request per endpoint, mode (single/batch) and outcome,
+ *     with a percentile histogram.</li>
+ *     <li>{@code safetycctv.ai.camera.latency}: time until each camera's result arrived, per camera and endpoint.</li>
+ *     <li>{@code safetycctv.ai.errors}: failed camera analyses per endpoint and {@link AnalysisErrorKind}.</li>
+ *     <li>{@code safetycctv.ai.requests.in-flight}, {@code safetycctv.ai.concurrency.limit} and
+ *     {@code safetycctv.ai.endpoint.outstanding}: current load.</li>
+ *     <li>{@code safetycctv.capture.sweep}: time until every registered camera was analyzed successfully once.</li>
+ *     <li>{@code safetycctv.camera.staleness}: seconds since each camera's last successful analysis.</li>
+ *     <li>{@code safetycctv.perspective.training}: duration of perspective-map training per endpoint and outcome.</li>
+ *     <li>{@code safetycctv.perspective.pruning.deleted} and {@code safetycctv.perspective.pruning.chunks}: detected
+ *     objects deleted by the background pruning of perspective training data, and the chunks they were deleted in.</li>
+ * </ul>
+ */
+@Component
+public class CaptureMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer sweepTimer;
+    private final MultiGauge stalenessGauge;
+
+    private CaptureDispatchEngine dispatchEngine;
+    private Set<Long> registeredCameras = Set.of();
+    private final Set<Long> sweepPending = new HashSet<>();
+    private Instant sweepStartedAt;
+
+    public CaptureMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.sweepTimer = Timer.builder("safetycctv.capture.sweep")
+                .description("Time until every registered camera was analyzed successfully once")
+                .register(registry);
+        this.stalenessGauge = MultiGauge.builder("safetycctv.camera.staleness")
+                .description("Seconds since the camera's last successful analysis")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Registers the gauges that read the scheduler's current state.
+     */
+    public void bind(CaptureDispatchEngine engine, AiEndpointPool endpointPool) {
+        this.dispatchEngine = engine;
+        Gauge.builder("safetycctv.ai.requests.in-flight", engine, CaptureDispatchEngine::inFlightRequests)
+                .description("AI analysis requests currently in flight")
+                .register(registry);
+        Gauge.builder("safetycctv.ai.concurrency.limit", engine, CaptureDispatchEngine::concurrencyLimit)
+                .description("Current adaptive limit for concurrent AI analysis requests")
+                .register(registry);
+        for (AiEndpoint endpoint : endpointPool.endpoints()) {
+            Gauge.builder("safetycctv.ai.endpoint.outstanding", endpoint, AiEndpoint::outstandingRequests)
+                    .tag("endpoint", endpoint.baseUrl())
+                    .description("Outstanding requests per AI server")
+                    .register(registry);
+        }
+    }
+
+    public void recordRequest(AiEndpoint endpoint, int cameraCount, AnalysisOutcome outcome, Duration elapsed) {
+        Timer.builder("safetycctv.ai.request")
+                .description("Latency of AI analysis requests")
+                .tags("endpoint", endpoint.baseUrl(),
+                        "mode", cameraCount > 1 ? "batch" : "single",
+                        "outcome", outcome.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsed);
+    }
+
+    /**
+     * Records one camera's result that arrived {@code latency} after its request was sent.
+     */
+    public void recordCameraResult(AiEndpoint endpoint, CameraAnalysisResult result, Duration latency, Instant now) {
+        Long cameraId = result.camera().getId();
+        Timer.builder("safetycctv.ai.camera.latency")
+                .description("Time until a camera's analysis result arrived")
+                .tags("camera", String.valueOf(cameraId),
+                        "endpoint", endpoint.baseUrl(),
+                        "outcome", result.outcome().name().toLowerCase())
+                .register(registry)
+                .record(latency);
+        if (result.errorKind() != null) {
+            Counter.builder("safetycctv.ai.errors")
+                    .description("Failed camera analyses by kind of error")
+                    .tags("endpoint", endpoint.baseUrl(), "kind", result.errorKind().tagValue())
+                    .register(registry)
+                    .increment();
+        }
+        if (result.outcome() == AnalysisOutcome.SUCCESS) {
+            onCameraAnalyzed(cameraId, now);
+        }
+    }
+
+    public void recordTraining(String endpoint, String outcome, Duration elapsed) {
+        Timer.builder("safetycctv.perspective.training")
+                .description("Duration of perspective-map training requests")
+                .tags("endpoint", endpoint, "outcome", outcome)
+                .register(registry)
+                .record(elapsed);
+    }
+
+    public void recordPruningChunk(int deletedObjects) {
+        Counter.builder("safetycctv.perspective.pruning.chunks")
+                .description("Chunks deleted by the perspective training data pruning")
+                .register(registry)
+                .increment();
+        Counter.builder("safetycctv.perspective.pruning.deleted")
+                .description("Detected objects deleted by the perspective training data pruning")
+                .register(registry)
+                .increment(deletedObjects);
+    }
+
+    /**
+     * Aligns sweep tracking and the per-camera staleness gauge with the currently registered cameras.
+     */
+    public synchronized void onCamerasSynced(Collection<Long> cameraIds, Instant now) {
+        registeredCameras = Set.copyOf(cameraIds);
+        sweepPending.retainAll(registeredCameras);
+        if (sweepStartedAt == null || sweepPending.isEmpty()) {
+            startSweep(now);
+        }
+        if (dispatchEngine != null) {
+            CaptureDispatchEngine engine = dispatchEngine;
+            stalenessGauge.register(registeredCameras.stream()
+                    .map(id -> MultiGauge.Row.of(Tags.of("camera", String.valueOf(id)), id,
+                            cameraId -> engine.staleness(cameraId, Instant.now())
+                                    .map(staleness -> staleness.toMillis() / 1000.0)
+                                    .orElse(Double.NaN)))
+                    .toList(), true);
+        }
+    }
+
+    private synchronized void onCameraAnalyzed(Long cameraId, Instant now) {
+        if (sweepPending.remove(cameraId) && sweepPending.isEmpty()) {
+            sweepTimer.record(Duration.between(sweepStartedAt, now).toNanos(), TimeUnit.NANOSECONDS);
+            startSweep(now);
+        }
+    }
+
+    private void startSweep(Instant now) {
+        sweepStartedAt = now;
+        sweepPending.clear();
+        sweepPending.addAll(registeredCameras);
+    }
+}
@@ -2,130 +2,337 @@ package com.github.jorepong.safetycctv.capture;
 
 import com.github.jorepong.safetycctv.camera.CameraService;
 import com.github.jorepong.safetycctv.camera.TrainingStatus;
-import com.github.jorepong.safetycctv.capture.dto.AiAnalysisResponse;
-import com.github.jorepong.safetycctv.capture.dto.PerspectiveMapTrainingResponse;
+import com.github.jorepong.safetycctv.camera.TrainingStatusWriteBehind;
+import com.github.jorepong.safetycctv.capture.dto.AiEndpointView;
+import com.github.jorepong.safetycctv.capture.dto.CameraAnalysisResult;
+import com.github.jorepong.safetycctv.capture.dto.CaptureScheduleStatusPayload;
+import com.github.jorepong.safetycctv.capture.dto.CircuitBreakerStatusPayload;
 import com.github.jorepong.safetycctv.entity.Camera;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientRequestException;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Component
 @Slf4j
 public class CaptureScheduler {
 
     private final CameraService cameraService;
-    private final WebClient webClient;
+    private final TrainingStatusWriteBehind trainingStatusWriteBehind;
+    private final AiAnalysisClient aiAnalysisClient;
+    private final AiEndpointPool endpointPool;
     private final TrainingScheduleTracker trainingScheduleTracker;
-    private final PerspectiveTrainingDataPruner perspectiveTrainingDataPruner;
+    private final PerspectiveTrainingOrchestrator trainingOrchestrator;
+    private final SamplingCadencePolicy cadencePolicy;
+    private final CaptureCircuitBreakers circuitBreakers;
+    private final CaptureDispatchEngine dispatchEngine;
+    private final CaptureMetrics captureMetrics;
+    private final SchedulerStateStore stateStore;
+    private final ClusterCoordinator clusterCoordinator;
 
-    private final int groupSize;
-    private final int groupIntervalSeconds;
+    private final Duration targetInterval;
+    private final long dispatchTickMillis;
+    private final Duration cameraRefreshInterval;
+    private final Duration trainingInterval;
 
-    private final AtomicInteger lastProcessedIndex = new AtomicInteger(-1);
+    private volatile Instant lastCameraRefresh = Instant.EPOCH;
+    private long syncedOwnershipVersion;
     private ScheduledExecutorService executorService;
 
     public CaptureScheduler(
             CameraService cameraService,
-            WebClient.Builder webClientBuilder,
-            @Value("${ai.server.base-url}") String aiServerBaseUrl,
+            TrainingStatusWriteBehind trainingStatusWriteBehind,
+            AiAnalysisClient aiAnalysisClient,
+            AiEndpointPool endpointPool,
             TrainingScheduleTracker trainingScheduleTracker,
-            PerspectiveTrainingDataPruner perspectiveTrainingDataPruner,
-            @Value("${camera.scheduler.group-size}") int groupSize,
-            @Value("${camera.scheduler.group-interval-seconds}") int groupIntervalSeconds) {
+            PerspectiveTrainingOrchestrator trainingOrchestrator,
+            SamplingCadencePolicy cadencePolicy,
+            CaptureCircuitBreakers circuitBreakers,
+            CaptureMetrics captureMetrics,
+            SchedulerStateStore stateStore,
+            ClusterCoordinator clusterCoordinator,
+            @Value("${camera.scheduler.target-interval-seconds:5}") long targetIntervalSeconds,
+            @Value("${camera.scheduler.min-concurrency:1}") int minConcurrency,
+            @Value("${camera.scheduler.max-concurrency:8}") int maxConcurrency,
+            @Value("${camera.scheduler.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${camera.scheduler.dispatch-tick-millis:100}") long dispatchTickMillis,
+            @Value("${camera.scheduler.camera-refresh-seconds:10}") long cameraRefreshSeconds,
+            @Value("${camera.scheduler.training.interval-minutes:60}") long trainingIntervalMinutes) {
         this.cameraService = cameraService;
-        this.webClient = webClientBuilder.baseUrl(aiServerBaseUrl).build();
+        this.trainingStatusWriteBehind = trainingStatusWriteBehind;
+        this.aiAnalysisClient = aiAnalysisClient;
+        this.endpointPool = endpointPool;
         this.trainingScheduleTracker = trainingScheduleTracker;
-        this.perspectiveTrainingDataPruner = perspectiveTrainingDataPruner;
-        this.groupSize = groupSize;
-        this.groupIntervalSeconds = groupIntervalSeconds;
+        this.trainingOrchestrator = trainingOrchestrator;
+        this.cadencePolicy = cadencePolicy;
+        this.circuitBreakers = circuitBreakers;
+        this.targetInterval = Duration.ofSeconds(targetIntervalSeconds);
+        this.dispatchTickMillis = dispatchTickMillis;
+        this.cameraRefreshInterval = Duration.ofSeconds(cameraRefreshSeconds);
+        this.trainingInterval = Duration.ofMinutes(trainingIntervalMinutes);
+        this.dispatchEngine = new CaptureDispatchEngine(
+                targetInterval,
+                circuitBreakers,
+                new AdaptiveConcurrencyLimit(minConcurrency, minConcurrency, maxConcurrency, latencyTolerance),
+                cadencePolicy.name());
+        this.captureMetrics = captureMetrics;
+        this.stateStore = stateStore;
+        this.clusterCoordinator = clusterCoordinator;
+        captureMetrics.bind(dispatchEngine, endpointPool);
     }
 
     @PostConstruct
     public void initialize() {
-        log.info("그룹 분석 스케줄러를 초기화합니다. 그룹 크기: {}, 그룹 간격: {}초", groupSize, groupIntervalSeconds);
-        // A single-threaded scheduler is sufficient to run our sequential-group logic.
+        log.info("분석 스케줄러를 초기화합니다. 기본 분석 주기: {}초, 주기 정책: {}, AI 서버: {}", targetInterval.toSeconds(),
+                cadencePolicy.name(), endpointPool.endpoints().stream().map(AiEndpoint::baseUrl).toList());
+        restoreState();
+        // A single dispatcher thread decides what to send (ticks and completions are serialized on it);
+        // the requests themselves run on Reactor Netty threads.
         this.executorService = Executors.newSingleThreadScheduledExecutor();
-        // Schedule the first run of the task with an initial delay.
-        this.executorService.schedule(this::executeAnalysisGroup, 10, TimeUnit.SECONDS);
+        this.executorService.scheduleWithFixedDelay(this::dispatchDueCameras, dispatchTickMillis, dispatchTickMillis,
+                TimeUnit.MILLISECONDS);
     }
 
-    private void executeAnalysisGroup() {
-        // Default delay is the configured group interval
-        long nextDelaySeconds = groupIntervalSeconds;
+    /**
+     * Resumes the camera schedule, the camera breakers and the training schedule of the previous run. Without
+     * persisted state every camera starts due and training starts after the initial delay, as on a first start.
+     */
+    private void restoreState() {
+        try {
+            stateStore.restore(dispatchEngine, circuitBreakers);
+            stateStore.checkpoint(SchedulerStateStore.PERSPECTIVE_TRAINING).ifPresent(lastRun -> {
+                LocalDateTime nextRun = LocalDateTime.ofInstant(lastRun.plus(trainingInterval), ZoneId.systemDefault());
+                trainingScheduleTracker.updateNextTrainingTime(nextRun);
+                log.info("마지막 원근 맵 학습 기준으로 다음 학습을 {}에 실행합니다.", nextRun);
+            });
+        } catch (RuntimeException e) {
+            log.warn("저장된 스케줄러 상태를 복원하지 못했습니다. 처음부터 시작합니다: {}", e.getMessage());
+        }
+    }
 
+    /**
+     * Persists every camera's timing and breaker so that the next start can resume from it.
+     */
+    @Scheduled(
+            initialDelayString = "${camera.scheduler.state.persist-seconds:30}",
+            fixedDelayString = "${camera.scheduler.state.persist-seconds:30}",
+            timeUnit = TimeUnit.SECONDS)
+    public void persistState() {
         try {
-            List<Camera> allCameras = cameraService.fetchAll();
-            if (allCameras.isEmpty()) {
-                log.info("등록된 카메라가 없어 그룹 분석 작업을 건너뜁니다.");
-                return;
-            }
+            stateStore.save(dispatchEngine.checkpoints(), circuitBreakers, Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("스케줄러 상태를 저장하지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the current dispatch state of every camera, including how far each one is behind its target cadence.
+     */
+    public CaptureScheduleStatusPayload scheduleStatus() {
+        return dispatchEngine.snapshot(Instant.now());
+    }
+
+    /**
+     * Returns the state of the per-camera and per-server circuit breakers, including the cameras being skipped.
+     */
+    public CircuitBreakerStatusPayload circuitBreakerStatus() {
+        return circuitBreakers.snapshot();
+    }
 
-            int totalCameras = allCameras.size();
-            int startIndex = (lastProcessedIndex.get() + 1) % totalCameras;
+    /**
+     * Returns routing state, throughput and latency of every configured AI server.
+     */
+    public List<AiEndpointView> endpointStatus() {
+        return endpointPool.snapshot(Instant.now());
+    }
 
-            List<Camera> groupToProcess = new java.util.ArrayList<>();
-            for (int i = 0; i < groupSize; i++) {
-                int cameraIndex = (startIndex + i) % totalCameras;
-                groupToProcess.add(allCameras.get(cameraIndex));
+    private void dispatchDueCameras() {
+        try {
+            Instant now = Instant.now();
+            refreshCamerasIfNeeded(now);
+            endpointPool.probeEjectedEndpoints(now);
+            if (!endpointPool.hasAvailableEndpoint()) {
+                return; // Every AI server is ejected; wait for a probe to re-admit one.
             }
 
-            int lastIndexInGroup = (startIndex + groupSize - 1) % totalCameras;
-            lastProcessedIndex.set(lastIndexInGroup);
-
-            List<String> cameraNames = groupToProcess.stream().map(Camera::getName).toList();
-            log.info("[스케줄러] 전체 {}대의 카메라를 찾았습니다. 그룹(크기: {}/{}) 분석을 {}번 인덱스부터 시작합니다: {}",
-                    totalCameras,
-                    groupToProcess.size(),
-                    groupSize,
-                    startIndex,
-                    cameraNames);
-
-            // Trigger analysis for the selected group and wait for all to complete.
-            // Check if any analysis returned an ERROR status
-            Boolean hasError = Flux.fromIterable(groupToProcess)
-                    .flatMap(this::requestAnalysis)
-                    .reduce(false, (acc, isError) -> acc || isError) // Combine results: true if any is true
-                    .block(); // Block until done
-
-            if (Boolean.TRUE.equals(hasError)) {
-                log.warn("분석 중 ERROR 상태가 감지되었습니다. 다음 분석까지 5분 대기합니다.");
-                nextDelaySeconds = 300; // 5 minutes
+            List<DispatchBatch<AiEndpoint>> batches = dispatchEngine.pollDueBatches(
+                    now, endpointPool::route, aiAnalysisClient::batchSize);
+            for (DispatchBatch<AiEndpoint> batch : batches) {
+                log.debug("[스케줄러] AI 서버 {}에 {}대의 카메라 분석을 요청합니다: {}", batch.route().baseUrl(),
+                        batch.cameras().size(), batch.cameras().stream().map(Camera::getName).toList());
+                dispatch(batch.route(), batch.cameras());
+            }
+        } catch (Exception e) {
+            log.error("분석 스케줄러 작업 중 예기치 않은 오류가 발생했습니다", e);
+        }
+    }
+
+    private void refreshCamerasIfNeeded(Instant now) {
+        long ownershipVersion = clusterCoordinator.ownershipVersion();
+        boolean ownershipChanged = ownershipVersion != syncedOwnershipVersion;
+        if (!ownershipChanged && Duration.between(lastCameraRefresh, now).compareTo(cameraRefreshInterval) < 0) {
+            return;
+        }
+        List<Camera> cameras = cameraService.fetchAll().stream()
+                .filter(camera -> clusterCoordinator.ownsCamera(camera.getId()))
+                .toList();
+        if (ownershipChanged) {
+            takeOverCameras(cameras);
+            syncedOwnershipVersion = ownershipVersion;
+        }
+        dispatchEngine.syncCameras(cameras, now);
+        List<Long> cameraIds = cameras.stream().map(Camera::getId).toList();
+        endpointPool.retainCameras(cameraIds);
+        captureMetrics.onCamerasSynced(cameraIds, now);
+        lastCameraRefresh = now;
+        if (cameras.isEmpty()) {
+            log.info("등록된 카메라가 없어 분석 작업을 건너뜁니다.");
+        }
+    }
+
+    /**
+     * Persists the state of the cameras this node is about to hand over and resumes the cameras it takes over from the
+     * state their previous owner persisted.
+     */
+    private void takeOverCameras(List<Camera> ownedCameras) {
+        persistState();
+        List<Long> newCameraIds = ownedCameras.stream()
+                .map(Camera::getId)
+                .filter(id -> !dispatchEngine.tracks(id))
+                .toList();
+        if (newCameraIds.isEmpty()) {
+            return;
+        }
+        try {
+            stateStore.restore(dispatchEngine, circuitBreakers, newCameraIds);
+        } catch (RuntimeException e) {
+            log.warn("넘겨받은 카메라의 스케줄 상태를 복원하지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends one request for the given cameras and handles each camera's result as soon as it arrives. The request's
+     * concurrency slot is released once the whole response has been consumed.
+     */
+    private void dispatch(AiEndpoint endpoint, List<Camera> batch) {
+        long startedAt = System.nanoTime();
+        endpoint.onRequestStarted();
+        Map<Long, Camera> pending = new ConcurrentHashMap<>();
+        batch.forEach(camera -> pending.put(camera.getId(), camera));
+        AtomicReference<AnalysisOutcome> requestOutcome = new AtomicReference<>(AnalysisOutcome.SUCCESS);
+
+        aiAnalysisClient.analyzeBatch(endpoint, batch)
+                // Training status updates and the cadence policy hit the database; keep them off the Netty event loop.
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        result -> {
+                            if (pending.remove(result.camera().getId()) != null) {
+                                handleResult(endpoint, result, startedAt);
+                                if (result.outcome().isOverload()) {
+                                    requestOutcome.compareAndSet(AnalysisOutcome.SUCCESS, result.outcome());
+                                }
+                            }
+                        },
+                        error -> {
+                            log.error("분석 요청 처리 중 예기치 않은 오류가 발생했습니다", error);
+                            requestOutcome.set(AnalysisOutcome.SERVER_ERROR);
+                            finishRequest(endpoint, batch.size(), pending, requestOutcome.get(), startedAt);
+                        },
+                        () -> finishRequest(endpoint, batch.size(), pending, requestOutcome.get(), startedAt));
+    }
+
+    private void handleResult(AiEndpoint endpoint, CameraAnalysisResult result, long startedAt) {
+        Camera camera = result.camera();
+        Instant now = Instant.now();
+        captureMetrics.recordCameraResult(endpoint, result, Duration.ofNanos(System.nanoTime() - startedAt), now);
+        if (result.response() != null && result.response().getTrainingStatus() != null) {
+            applyTrainingStatus(camera, result.response().getTrainingStatus());
+        }
+        Duration nextInterval = null;
+        if (result.outcome() == AnalysisOutcome.SUCCESS) {
+            nextInterval = resolveNextInterval(camera);
+        }
+        CircuitBreaker cameraBreaker = circuitBreakers.forCamera(camera.getId());
+        CircuitBreakerState before = cameraBreaker.state();
+        dispatchEngine.completeCamera(camera.getId(), result.outcome(), nextInterval, now);
+        if (cameraBreaker.state() != before) {
+            if (cameraBreaker.state() == CircuitBreakerState.OPEN) {
+                log.warn("카메라 [{}]의 회로 차단기가 열렸습니다. {}까지 이 카메라의 분석을 건너뜁니다.", camera.getName(),
+                        cameraBreaker.toView().openUntil());
             } else {
-                log.info("그룹 분석 완료: {}", cameraNames);
+                log.info("카메라 [{}]의 회로 차단기가 {} 상태가 되었습니다.", camera.getName(), cameraBreaker.state());
             }
+        }
+    }
+
+    private void finishRequest(
+            AiEndpoint endpoint,
+            int batchSize,
+            Map<Long, Camera> pending,
+            AnalysisOutcome outcome,
+            long startedAt) {
+        // The client reports every camera; this only guards against a request that died unexpectedly.
+        pending.values().forEach(camera ->
+                handleResult(endpoint, CameraAnalysisResult.failed(
+                        camera, AnalysisOutcome.SERVER_ERROR, AnalysisErrorKind.UNEXPECTED), startedAt));
+        pending.clear();
+
+        Instant now = Instant.now();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        CircuitBreakerState endpointBefore = endpoint.breaker().state();
+        endpoint.onRequestFinished(outcome, elapsed, batchSize, now);
+        captureMetrics.recordRequest(endpoint, batchSize, outcome, elapsed);
+        if (endpoint.breaker().state() == CircuitBreakerState.OPEN && endpointBefore != CircuitBreakerState.OPEN) {
+            log.warn("AI 서버 {}를 분석 대상에서 제외합니다. {} 이후 상태를 확인합니다.", endpoint.baseUrl(),
+                    endpoint.breaker().toView().openUntil());
+        }
+
+        // Normalize to per-camera latency so that changing the batch size does not look like a slowdown.
+        Duration latency = elapsed.dividedBy(batchSize);
+        dispatchEngine.completeRequest(outcome, latency, now);
+        // A slot was freed; pick up the next due cameras without waiting for the next tick.
+        if (executorService != null && !executorService.isShutdown()) {
+            executorService.execute(this::dispatchDueCameras);
+        }
+    }
 
+    private void applyTrainingStatus(Camera camera, String trainingStatus) {
+        TrainingStatus status;
+        try {
+            status = TrainingStatus.valueOf(trainingStatus);
+        } catch (IllegalArgumentException e) {
+            log.warn("카메라 [{}]로부터 알 수 없는 학습 상태를 받았습니다: {}", camera.getName(), trainingStatus);
+            status = TrainingStatus.UNKNOWN;
+        }
+        trainingStatusWriteBehind.record(camera.getId(), status);
+    }
+
+    private Duration resolveNextInterval(Camera camera) {
+        try {
+            return cadencePolicy.nextInterval(camera);
         } catch (Exception e) {
-            log.error("그룹 분석 스케줄러 작업 중 예기치 않은 오류가 발생했습니다", e);
-        } finally {
-            // Schedule the next run after the interval.
-            // This creates the sequential, correctly-paced loop.
-            if (executorService != null && !executorService.isShutdown()) {
-                executorService.schedule(this::executeAnalysisGroup, nextDelaySeconds, TimeUnit.SECONDS);
-            }
+            log.warn("카메라 [{}]의 분석 주기를 계산하지 못해 기본 주기를 사용합니다: {}", camera.getName(), e.getMessage());
+            return targetInterval;
         }
     }
 
     @PreDestroy
     public void shutdown() {
-        log.info("그룹 분석 스케줄러의 Executor 서비스를 종료합니다.");
+        log.info("분석 스케줄러의 Executor 서비스를 종료합니다.");
         if (executorService != null) {
             executorService.shutdown();
             try {
@@ -139,117 +346,45 @@ public class CaptureScheduler {
                 Thread.currentThread().interrupt();
             }
         }
+        persistState();
     }
 
     /**
-     * Periodically triggers the AI server to train perspective maps for all
-     * cameras.
-     * Runs every hour.
+     * Checks every minute whether the training interval has passed since the last run, so that the schedule survives
+     * restarts instead of restarting its timer with the process.
      */
-    @Scheduled(initialDelay = 600000, fixedRate = 3600000) // 10-min delay, 1-hour rate
-    public void triggerPerspectiveMapTraining() {
-        log.info("--- 원근 맵 학습 스케줄링 작업을 시작합니다 ---");
-        // Set the next training time as soon as the task starts
-        trainingScheduleTracker.updateNextTrainingTime(LocalDateTime.now().plusHours(1));
-        perspectiveTrainingDataPruner.pruneAllCameras();
-
-        webClient.post()
-                .uri("/api/v1/perspective-map/train/")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(Collections.emptyMap()) // Empty body to train all cameras
-                .retrieve()
-                .bodyToMono(PerspectiveMapTrainingResponse.class)
-                .doOnSuccess(response -> {
-                    if ("SUCCESS".equals(response.getStatus())) {
-                        log.info("원근 맵 학습이 완료되었습니다. {}", response.getMessage());
-                        response.getTrainedCameras().forEach(cam -> log.info("  - 학습 완료: {} ({}개 샘플 사용)",
-                                cam.getCameraName(), cam.getSamplesUsed()));
-                        response.getSkippedCameras()
-                                .forEach(cam -> log.warn("  - 건너뜀: 카메라 ID {} (사유: {}, 사용 가능 샘플: {})", cam.getCameraId(),
-                                        cam.getReason(), cam.getSamplesAvailable()));
-                    } else {
-                        log.error("원근 맵 학습에 실패했습니다. 응답: {}", response);
-                    }
-                })
-                .onErrorResume(WebClientResponseException.class, ex -> {
-                    log.error(
-                            "원근 맵 학습 중 AI 서버가 {} 코드를 반환했습니다. 본문: {}",
-                            ex.getStatusCode(),
-                            ex.getResponseBodyAsString());
-                    return Mono.empty();
-                })
-                .onErrorResume(WebClientRequestException.class, ex -> {
-                    log.error("원근 맵 학습을 위해 AI 서버에 연결하지 못했습니다: {}", ex.getMessage());
-                    return Mono.empty();
-                })
-                .onErrorResume(ex -> {
-                    log.error("원근 맵 학습 중 예기치 않은 오류가 발생했습니다", ex);
-                    return Mono.empty();
-                })
-                .subscribe();
+    @Scheduled(initialDelay = 60, fixedDelay = 60, timeUnit = TimeUnit.SECONDS)
+    public void triggerPerspectiveMapTrainingIfDue() {
+        if (!clusterCoordinator.isLeader()) {
+            return; // Training and pruning run once per cluster, on the leader.
+        }
+        if (clusterCoordinator.isEnabled()) {
+            // Leadership may have moved since startup; follow the run recorded by whichever node trained last.
+            stateStore.checkpoint(SchedulerStateStore.PERSPECTIVE_TRAINING).ifPresent(lastRun ->
+                    trainingScheduleTracker.updateNextTrainingTime(
+                            LocalDateTime.ofInstant(lastRun.plus(trainingInterval), ZoneId.systemDefault())));
+        }
+        if (LocalDateTime.now().isBefore(trainingScheduleTracker.getNextTrainingTime())) {
+            return;
+        }
+        triggerPerspectiveMapTraining();
     }
 
     /**
-     * Sends a request to the AI server to process a single camera.
-     *
-     * @param camera The camera to be processed.
-     * @return A Mono emitting true if the status was ERROR, false otherwise.
+     * Retrains the perspective maps of the cameras that gathered meaningful new data since their last training (see
+     * {@link PerspectiveTrainingOrchestrator}) and schedules the next run one training interval later.
      */
-    private Mono<Boolean> requestAnalysis(Camera camera) {
-        return webClient.post()
-                .uri("/api/v1/analysis/process-camera/")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(Map.of("cameraId", camera.getId()))
-                .retrieve()
-                .bodyToMono(AiAnalysisResponse.class)
-                .map(response -> {
-                    log.info("카메라 [{}]에 대한 AI 서버 응답: {}", camera.getName(), response);
-
-                    boolean isError = "ERROR".equalsIgnoreCase(response.getStatus());
-
-                    if (response.getTrainingStatus() != null) {
-                        try {
-                            TrainingStatus status = TrainingStatus.valueOf(response.getTrainingStatus());
-                            cameraService.updateTrainingStatus(camera.getId(), status);
-                        } catch (IllegalArgumentException e) {
-                            log.warn("카메라 [{}]로부터 알 수 없는 학습 상태를 받았습니다: {}", camera.getName(),
-                                    response.getTrainingStatus());
-                            cameraService.updateTrainingStatus(camera.getId(), TrainingStatus.UNKNOWN);
-                        } catch (EntityNotFoundException e) {
-                            log.warn("분석 중 카메라 '{}'(ID: {})가 삭제되었습니다. 상태 업데이트를 건너뜁니다.", camera.getName(),
-                                    camera.getId());
-                        }
-                    }
-                    return isError;
-                })
-                .onErrorResume(WebClientResponseException.class, ex -> {
-                    log.error(
-                            "카메라 [{}] 처리 중 AI 서버가 {} 코드를 반환했습니다. 본문: {}",
-                            ex.getStatusCode(),
-                            camera.getName(),
-                            ex.getResponseBodyAsString());
-
-                    // Attempt to parse the error body to check for "ERROR" status
-                    try {
-                        AiAnalysisResponse errorResponse = ex.getResponseBodyAs(AiAnalysisResponse.class);
-                        if (errorResponse != null && "ERROR".equalsIgnoreCase(errorResponse.getStatus())) {
-                            log.warn("카메라 [{}]에서 명시적인 ERROR 상태가 감지되었습니다: {}", camera.getName(),
-                                    errorResponse.getMessage());
-                            return Mono.just(true); // Trigger 5-minute delay
-                        }
-                    } catch (Exception parseEx) {
-                        log.warn("에러 응답 본문 파싱 실패: {}", parseEx.getMessage());
-                    }
-
-                    return Mono.just(false); // Network error is not an explicit "ERROR" status from logic
-                })
-                .onErrorResume(WebClientRequestException.class, ex -> {
-                    log.error("카메라 [{}] 분석을 위해 AI 서버에 연결하지 못했습니다: {}", camera.getName(), ex.getMessage());
-                    return Mono.just(false);
-                })
-                .onErrorResume(ex -> {
-                    log.error("카메라 [{}]에 대한 분석 요청 중 예기치 않은 오류가 발생했습니다", camera.getName(), ex);
-                    return Mono.just(false);
-                });
+    public void triggerPerspectiveMapTraining() {
+        log.info("--- 원근 맵 학습 스케줄링 작업을 시작합니다 ---");
+        Instant now = Instant.now();
+        // Set the next training time as soon as the task starts
+        trainingScheduleTracker.updateNextTrainingTime(
+                LocalDateTime.ofInstant(now.plus(trainingInterval), ZoneId.systemDefault()));
+        try {
+            stateStore.recordCheckpoint(SchedulerStateStore.PERSPECTIVE_TRAINING, now);
+        } catch (RuntimeException e) {
+            log.warn("원근 맵 학습 시각을 저장하지 못했습니다: {}", e.getMessage());
+        }
+        trainingOrchestrator.startRun();
     }
 }
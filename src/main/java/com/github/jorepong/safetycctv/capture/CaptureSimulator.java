@@ -0,0 +1,344 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.SimulationReport;
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.stream.LongStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Discrete-event simulation of the capture pipeline for capacity planning.
+ * Runs the real {@link CaptureDispatchEngine}, {@link AdaptiveConcurrencyLimit} and {@link CaptureCircuitBreakers},
+ * configured from the same {@code camera.scheduler.*} and {@code ai.server.*} properties as the
+ * {@link CaptureScheduler}, against simulated AI servers on a virtual clock, so hours of operation take seconds.
+ * <p>
+ * The model mirrors the scheduler's dispatch loop: a dispatch tick every {@code dispatch-tick-millis}, an immediate
+ * dispatch whenever a request completes, cameras routed to a fixed AI server, results streamed per camera and
+ * requests failed at their deadline. Cameras are analyzed at the fixed target interval, since the density-adaptive
+ * cadence depends on live data; per-server ejection and hedging are not modeled.
+ */
+@Slf4j
+@Component
+public class CaptureSimulator {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final long HISTOGRAM_RESOLUTION_MILLIS = 10;
+    private static final int HISTOGRAM_BUCKETS = 60_000;
+
+    private final Duration targetInterval;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final double latencyTolerance;
+    private final Duration dispatchTick;
+    private final int maxBatchSize;
+    private final Duration requestTimeout;
+    private final Duration extraCameraTimeout;
+    private final int cameraFailureThreshold;
+    private final long cameraOpenSeconds;
+    private final long cameraMaxOpenSeconds;
+    private final int serverFailureThreshold;
+    private final long serverOpenSeconds;
+    private final long serverMaxOpenSeconds;
+
+    public CaptureSimulator(
+            @Value("${camera.scheduler.target-interval-seconds:5}") long targetIntervalSeconds,
+            @Value("${camera.scheduler.min-concurrency:1}") int minConcurrency,
+            @Value("${camera.scheduler.max-concurrency:8}") int maxConcurrency,
+            @Value("${camera.scheduler.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${camera.scheduler.dispatch-tick-millis:100}") long dispatchTickMillis,
+            @Value("${camera.scheduler.batch.enabled:true}") boolean batchEnabled,
+            @Value("${camera.scheduler.batch.max-size:8}") int maxBatchSize,
+            @Value("${ai.server.request-timeout-millis:15000}") long requestTimeoutMillis,
+            @Value("${ai.server.request-timeout-per-extra-camera-millis:2000}") long extraCameraTimeoutMillis,
+            @Value("${camera.scheduler.breaker.camera.failure-threshold:3}") int cameraFailureThreshold,
+            @Value("${camera.scheduler.breaker.camera.open-seconds:30}") long cameraOpenSeconds,
+            @Value("${camera.scheduler.breaker.camera.max-open-seconds:600}") long cameraMaxOpenSeconds,
+            @Value("${camera.scheduler.breaker.server.failure-threshold:5}") int serverFailureThreshold,
+            @Value("${camera.scheduler.breaker.server.open-seconds:10}") long serverOpenSeconds,
+            @Value("${camera.scheduler.breaker.server.max-open-seconds:120}") long serverMaxOpenSeconds) {
+        this.targetInterval = Duration.ofSeconds(targetIntervalSeconds);
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.latencyTolerance = latencyTolerance;
+        this.dispatchTick = Duration.ofMillis(Math.max(1, dispatchTickMillis));
+        this.maxBatchSize = batchEnabled ? Math.max(1, maxBatchSize) : 1;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.extraCameraTimeout = Duration.ofMillis(extraCameraTimeoutMillis);
+        this.cameraFailureThreshold = cameraFailureThreshold;
+        this.cameraOpenSeconds = cameraOpenSeconds;
+        this.cameraMaxOpenSeconds = cameraMaxOpenSeconds;
+        this.serverFailureThreshold = serverFailureThreshold;
+        this.serverOpenSeconds = serverOpenSeconds;
+        this.serverMaxOpenSeconds = serverMaxOpenSeconds;
+    }
+
+    public SimulationReport run(SimulationScenario scenario) {
+        long startedAt = System.nanoTime();
+        Run run = new Run(scenario);
+        run.execute();
+        SimulationReport report = run.report(Duration.ofNanos(System.nanoTime() - startedAt));
+        log.info("카메라 {}대, {}분 분량의 분석 시뮬레이션을 {}ms 만에 마쳤습니다. 달성 가능한 분석 주기: {}ms, 최악 지연: {}ms",
+                scenario.cameraCount(), scenario.duration().toMinutes(), report.wallClockMillis(),
+                report.achievableRefreshIntervalMillis(), report.worstStalenessMillis());
+        return report;
+    }
+
+    private record Event(Instant at, long sequence, Runnable action) {
+    }
+
+    /**
+     * A request in flight from the scheduler's point of view. The server keeps working on it after its deadline.
+     */
+    private static final class SimulatedRequest {
+
+        private final Map<Long, Camera> pending = new LinkedHashMap<>();
+        private final int size;
+        private final Instant sentAt;
+        private boolean finished;
+
+        private SimulatedRequest(List<Camera> cameras, Instant sentAt) {
+            cameras.forEach(camera -> pending.put(camera.getId(), camera));
+            this.size = cameras.size();
+            this.sentAt = sentAt;
+        }
+    }
+
+    private static final class SimulatedServer {
+
+        private final Deque<SimulatedRequest> queue = new ArrayDeque<>();
+        private int busyWorkers;
+    }
+
+    /**
+     * State of a single simulation: the engine, the event queue and the statistics.
+     */
+    private final class Run {
+
+        private final SimulationScenario scenario;
+        private final Random random;
+        private final CaptureDispatchEngine engine;
+        private final List<SimulatedServer> servers = new ArrayList<>();
+        private final PriorityQueue<Event> events = new PriorityQueue<>(
+                Comparator.comparing(Event::at).thenComparingLong(Event::sequence));
+        private final Instant end;
+        private long sequence;
+
+        private final Instant[] lastSuccess;
+        private final long[] gapHistogram = new long[HISTOGRAM_BUCKETS];
+        private int unanalyzedCameras;
+        private Instant initialSweepAt;
+        private long gaps;
+        private long maxGapMillis;
+        private long successes;
+        private long requests;
+        private long timedOutRequests;
+        private long cameraErrors;
+        private long serverErrors;
+        private double limitSum;
+        private long limitSamples;
+
+        private Run(SimulationScenario scenario) {
+            this.scenario = scenario;
+            this.random = new Random(scenario.seed());
+            this.engine = new CaptureDispatchEngine(
+                    targetInterval,
+                    new CaptureCircuitBreakers(cameraFailureThreshold, cameraOpenSeconds, cameraMaxOpenSeconds,
+                            serverFailureThreshold, serverOpenSeconds, serverMaxOpenSeconds),
+                    new AdaptiveConcurrencyLimit(minConcurrency, minConcurrency, maxConcurrency, latencyTolerance),
+                    "fixed");
+            for (int i = 0; i < scenario.serverCount(); i++) {
+                servers.add(new SimulatedServer());
+            }
+            this.end = START.plus(scenario.duration());
+            this.lastSuccess = new Instant[scenario.cameraCount()];
+            this.unanalyzedCameras = scenario.cameraCount();
+        }
+
+        private void execute() {
+            List<Camera> cameras = LongStream.rangeClosed(1, scenario.cameraCount())
+                    .mapToObj(id -> Camera.builder().id(id).name("camera-" + id).build())
+                    .toList();
+            engine.syncCameras(cameras, START);
+            schedule(START, () -> tick(START));
+            while (!events.isEmpty() && !events.peek().at().isAfter(end)) {
+                events.poll().action().run();
+            }
+        }
+
+        private void schedule(Instant at, Runnable action) {
+            events.add(new Event(at, sequence++, action));
+        }
+
+        private void tick(Instant now) {
+            limitSum += engine.concurrencyLimit();
+            limitSamples++;
+            dispatch(now);
+            Instant next = now.plus(dispatchTick);
+            schedule(next, () -> tick(next));
+        }
+
+        private void dispatch(Instant now) {
+            List<DispatchBatch<SimulatedServer>> batches = engine.pollDueBatches(
+                    now, camera -> servers.get((int) ((camera.getId() - 1) % servers.size())), server -> maxBatchSize);
+            for (DispatchBatch<SimulatedServer> batch : batches) {
+                requests++;
+                SimulatedRequest request = new SimulatedRequest(batch.cameras(), now);
+                Instant deadline = now.plus(requestTimeout)
+                        .plus(extraCameraTimeout.multipliedBy(batch.cameras().size() - 1L));
+                schedule(deadline, () -> timeOut(request, deadline));
+                SimulatedServer server = batch.route();
+                if (server.busyWorkers < scenario.serverParallelism()) {
+                    startProcessing(server, request, now);
+                } else {
+                    server.queue.addLast(request);
+                }
+            }
+        }
+
+        /**
+         * Occupies one worker of {@code server} for the request overhead plus every camera's processing time and
+         * schedules each camera's result as it would be streamed back.
+         */
+        private void startProcessing(SimulatedServer server, SimulatedRequest request, Instant now) {
+            server.busyWorkers++;
+            Instant at = now.plus(scenario.requestOverhead());
+            if (random.nextDouble() < scenario.requestErrorRate()) {
+                Instant failedAt = at;
+                schedule(failedAt, () -> finish(request, AnalysisOutcome.SERVER_ERROR, failedAt));
+            } else {
+                for (Camera camera : List.copyOf(request.pending.values())) {
+                    at = at.plus(scenario.perCameraLatency().sample(random));
+                    AnalysisOutcome outcome = random.nextDouble() < scenario.cameraErrorRate()
+                            ? AnalysisOutcome.CAMERA_ERROR
+                            : AnalysisOutcome.SUCCESS;
+                    Instant resultAt = at;
+                    schedule(resultAt, () -> deliver(request, camera.getId(), outcome, resultAt));
+                }
+                Instant doneAt = at;
+                schedule(doneAt, () -> finish(request, AnalysisOutcome.SUCCESS, doneAt));
+            }
+            Instant freeAt = at;
+            schedule(freeAt, () -> release(server, freeAt));
+        }
+
+        private void release(SimulatedServer server, Instant now) {
+            server.busyWorkers--;
+            SimulatedRequest next = server.queue.pollFirst();
+            if (next != null) {
+                startProcessing(server, next, now);
+            }
+        }
+
+        private void deliver(SimulatedRequest request, Long cameraId, AnalysisOutcome outcome, Instant now) {
+            if (!request.finished && request.pending.remove(cameraId) != null) {
+                completeCamera(cameraId, outcome, now);
+            }
+        }
+
+        private void timeOut(SimulatedRequest request, Instant now) {
+            if (!request.finished) {
+                timedOutRequests++;
+                finish(request, AnalysisOutcome.SERVER_ERROR, now);
+            }
+        }
+
+        private void finish(SimulatedRequest request, AnalysisOutcome outcome, Instant now) {
+            if (request.finished) {
+                return;
+            }
+            request.finished = true;
+            for (Long cameraId : request.pending.keySet()) {
+                completeCamera(cameraId, AnalysisOutcome.SERVER_ERROR, now);
+            }
+            request.pending.clear();
+            // Per-camera latency, as the scheduler reports it.
+            Duration elapsed = Duration.between(request.sentAt, now);
+            engine.completeRequest(outcome, elapsed.dividedBy(request.size), now);
+            dispatch(now);
+        }
+
+        private void completeCamera(Long cameraId, AnalysisOutcome outcome, Instant now) {
+            engine.completeCamera(cameraId, outcome, outcome == AnalysisOutcome.SUCCESS ? targetInterval : null, now);
+            switch (outcome) {
+                case SUCCESS -> recordSuccess(cameraId, now);
+                case CAMERA_ERROR -> cameraErrors++;
+                default -> serverErrors++;
+            }
+        }
+
+        private void recordSuccess(Long cameraId, Instant now) {
+            successes++;
+            int index = (int) (cameraId - 1);
+            Instant previous = lastSuccess[index];
+            if (previous == null) {
+                if (--unanalyzedCameras == 0) {
+                    initialSweepAt = now;
+                }
+            } else {
+                long gapMillis = Duration.between(previous, now).toMillis();
+                gapHistogram[(int) Math.min(HISTOGRAM_BUCKETS - 1, gapMillis / HISTOGRAM_RESOLUTION_MILLIS)]++;
+                gaps++;
+                maxGapMillis = Math.max(maxGapMillis, gapMillis);
+            }
+            lastSuccess[index] = now;
+        }
+
+        private SimulationReport report(Duration wallClock) {
+            long simulatedMillis = scenario.duration().toMillis();
+            long worstStaleness = maxGapMillis;
+            for (Instant analyzedAt : lastSuccess) {
+                long staleness = analyzedAt == null ? simulatedMillis : Duration.between(analyzedAt, end).toMillis();
+                worstStaleness = Math.max(worstStaleness, staleness);
+            }
+            double analysesPerSecond = successes * 1000.0 / simulatedMillis;
+            long achievableInterval = analysesPerSecond > 0
+                    ? Math.max(targetInterval.toMillis(), Math.round(scenario.cameraCount() * 1000.0 / analysesPerSecond))
+                    : simulatedMillis;
+            return new SimulationReport(
+                    scenario.cameraCount(),
+                    scenario.duration().toSeconds(),
+                    targetInterval.toMillis(),
+                    scenario.cameraCount() * 1000.0 / targetInterval.toMillis(),
+                    analysesPerSecond,
+                    achievableInterval,
+                    gapPercentile(0.50),
+                    gapPercentile(0.95),
+                    gapPercentile(0.99),
+                    worstStaleness,
+                    initialSweepAt == null ? null : Duration.between(START, initialSweepAt).toMillis(),
+                    requests,
+                    timedOutRequests,
+                    cameraErrors,
+                    serverErrors,
+                    limitSamples == 0 ? 0.0 : limitSum / limitSamples,
+                    wallClock.toMillis());
+        }
+
+        private long gapPercentile(double percentile) {
+            if (gaps == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile * gaps);
+            long seen = 0;
+            for (int bucket = 0; bucket < HISTOGRAM_BUCKETS; bucket++) {
+                seen += gapHistogram[bucket];
+                if (seen >= rank) {
+                    return Math.min(maxGapMillis, (bucket + 1) * HISTOGRAM_RESOLUTION_MILLIS);
+                }
+            }
+            return maxGapMillis;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.CircuitBreakerView;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Closed/open/half-open circuit breaker with exponential backoff.
+ * The breaker opens after {@code failureThreshold} consecutive failures. Each time a half-open trial fails, the open
+ * period doubles up to {@code maxOpenDuration}; a successful trial closes the breaker and resets the backoff.
+ * Like {@link CaptureDispatchEngine}, it never reads the wall clock itself.
+ */
+public class CircuitBreaker {
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration baseOpenDuration;
+    private final Duration maxOpenDuration;
+
+    private CircuitBreakerState state = CircuitBreakerState.CLOSED;
+    private int consecutiveFailures;
+    private int consecutiveOpens;
+    private Instant openUntil;
+    private boolean trialInFlight;
+    private final Map<CircuitBreakerState, Long> transitions = new EnumMap<>(CircuitBreakerState.class);
+
+    public CircuitBreaker(String name, int failureThreshold, Duration baseOpenDuration, Duration maxOpenDuration) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.baseOpenDuration = baseOpenDuration;
+        this.maxOpenDuration = maxOpenDuration;
+    }
+
+    /**
+     * Checks, without side effects, whether {@link #tryAcquire} would currently let a request through.
+     */
+    public synchronized boolean isCallPermitted(Instant now) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> !now.isBefore(openUntil);
+            case HALF_OPEN -> !trialInFlight;
+        };
+    }
+
+    /**
+     * Lets a request through if the breaker is closed, or claims the single trial request once the open period
+     * expired. The caller must report the result through {@link #onSuccess} or {@link #onFailure}.
+     */
+    public synchronized boolean tryAcquire(Instant now) {
+        if (state == CircuitBreakerState.OPEN && !now.isBefore(openUntil)) {
+            transitionTo(CircuitBreakerState.HALF_OPEN);
+        }
+        if (state == CircuitBreakerState.CLOSED) {
+            return true;
+        }
+        if (state == CircuitBreakerState.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != CircuitBreakerState.CLOSED) {
+            consecutiveOpens = 0;
+            trialInFlight = false;
+            openUntil = null;
+            transitionTo(CircuitBreakerState.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure(Instant now) {
+        consecutiveFailures++;
+        if (state == CircuitBreakerState.HALF_OPEN
+                || (state == CircuitBreakerState.CLOSED && consecutiveFailures >= failureThreshold)) {
+            open(now);
+        }
+    }
+
+    /**
+     * Gives back a trial request whose result says nothing about the protected resource.
+     */
+    public synchronized void release() {
+        trialInFlight = false;
+    }
+
+    /**
+     * Earliest time at which the breaker lets a request through again, or {@code null} if it does right now.
+     */
+    public synchronized Instant retryAt() {
+        return state == CircuitBreakerState.OPEN ? openUntil : null;
+    }
+
+    public synchronized CircuitBreakerState state() {
+        return state;
+    }
+
+    public synchronized BreakerCheckpoint checkpoint() {
+        return new BreakerCheckpoint(state, consecutiveFailures, consecutiveOpens, openUntil);
+    }
+
+    /**
+     * Resumes from a persisted state. A half-open breaker lost its trial request with the previous process, so it is
+     * restored as open with an expired open period: the next request becomes the new trial.
+     */
+    public synchronized void restore(BreakerCheckpoint checkpoint) {
+        consecutiveFailures = checkpoint.consecutiveFailures();
+        consecutiveOpens = checkpoint.consecutiveOpens();
+        trialInFlight = false;
+        if (checkpoint.state() == CircuitBreakerState.CLOSED) {
+            state = CircuitBreakerState.CLOSED;
+            openUntil = null;
+            return;
+        }
+        state = CircuitBreakerState.OPEN;
+        openUntil = checkpoint.state() == CircuitBreakerState.OPEN && checkpoint.openUntil() != null
+                ? checkpoint.openUntil()
+                : Instant.EPOCH;
+    }
+
+    public synchronized CircuitBreakerView toView() {
+        Map<CircuitBreakerState, Long> counts = new EnumMap<>(CircuitBreakerState.class);
+        counts.putAll(transitions);
+        return new CircuitBreakerView(
+                name,
+                state,
+                consecutiveFailures,
+                openUntil != null ? LocalDateTime.ofInstant(openUntil, ZoneId.systemDefault()) : null,
+                counts);
+    }
+
+    private void open(Instant now) {
+        consecutiveOpens++;
+        long factor = 1L << Math.min(consecutiveOpens - 1, 20);
+        Duration backoff = baseOpenDuration.multipliedBy(factor);
+        openUntil = now.plus(backoff.compareTo(maxOpenDuration) > 0 ? maxOpenDuration : backoff);
+        trialInFlight = false;
+        transitionTo(CircuitBreakerState.OPEN);
+    }
+
+    private void transitionTo(CircuitBreakerState next) {
+        state = next;
+        transitions.merge(next, 1L, Long::sum);
+    }
+}
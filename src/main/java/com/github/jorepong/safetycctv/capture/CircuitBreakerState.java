@@ -0,0 +1,7 @@
+package com.github.jorepong.safetycctv.capture;
+
+public enum CircuitBreakerState {
+    CLOSED,    // Requests flow normally.
+    OPEN,      // Requests are skipped until the backoff expires.
+    HALF_OPEN  // A single trial request decides whether to close or re-open.
+}
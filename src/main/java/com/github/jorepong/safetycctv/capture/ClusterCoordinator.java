@@ -0,0 +1,274 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.capture.dto.ClusterStatusPayload;
+import com.github.jorepong.safetycctv.entity.ClusterLease;
+import com.github.jorepong.safetycctv.entity.ClusterNode;
+import com.github.jorepong.safetycctv.repository.ClusterLeaseRepository;
+import com.github.jorepong.safetycctv.repository.ClusterNodeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets several application nodes share the capture work through the application database, without double-analyzing
+ * cameras or running singleton jobs twice.
+ * <p>
+ * Cameras are split into {@code shardCount} shards by {@code cameraId % shardCount}. Every heartbeat a node records
+ * itself in {@code cluster_nodes}, works out its share of the shards from the sorted list of live nodes, and claims
+ * those shards in {@code cluster_leases} while releasing the ones that now belong to another node. A shard only
+ * changes hands once its previous owner released it or the lease expired, so two nodes never dispatch the same
+ * camera at the same time; when a node dies, its shards move after at most one lease duration. The same kind of
+ * lease elects the leader that runs singleton jobs such as perspective-map training and pruning. Each heartbeat also
+ * reloads the {@link CameraRegistry}, so cameras changed through another node are picked up here.
+ * <p>
+ * Leases compare wall-clock times of different nodes, so node clocks must be synchronized well within the lease
+ * duration. A node stops using its leases one heartbeat before they expire in case renewing them fails.
+ * With clustering disabled the node owns every camera and is always the leader.
+ */
+@Slf4j
+@Component
+public class ClusterCoordinator {
+
+    private static final String LEADER_LEASE = "leader";
+
+    private final ClusterNodeRepository nodeRepository;
+    private final ClusterLeaseRepository leaseRepository;
+    private final CameraRegistry cameraRegistry;
+    private final Clock clock;
+    private final boolean enabled;
+    private final String nodeId;
+    private final int shardCount;
+    private final Duration leaseDuration;
+    private final Duration heartbeatInterval;
+
+    private final Set<String> knownLeases = ConcurrentHashMap.newKeySet();
+    private volatile Set<Integer> ownedShards = Set.of();
+    private volatile boolean leader;
+    private volatile Instant leasesValidUntil = Instant.EPOCH;
+    private volatile List<String> liveNodes = List.of();
+    private volatile long ownershipVersion;
+    private ScheduledExecutorService heartbeatExecutor;
+
+    @Autowired
+    public ClusterCoordinator(
+            ClusterNodeRepository nodeRepository,
+            ClusterLeaseRepository leaseRepository,
+            CameraRegistry cameraRegistry,
+            @Value("${camera.scheduler.cluster.enabled:false}") boolean enabled,
+            @Value("${camera.scheduler.cluster.node-id:}") String nodeId,
+            @Value("${camera.scheduler.cluster.shard-count:16}") int shardCount,
+            @Value("${camera.scheduler.cluster.lease-seconds:30}") long leaseSeconds,
+            @Value("${camera.scheduler.cluster.heartbeat-seconds:10}") long heartbeatSeconds) {
+        this(nodeRepository, leaseRepository, cameraRegistry, enabled, nodeId, shardCount, leaseSeconds,
+                heartbeatSeconds, Clock.systemUTC());
+    }
+
+    ClusterCoordinator(
+            ClusterNodeRepository nodeRepository,
+            ClusterLeaseRepository leaseRepository,
+            CameraRegistry cameraRegistry,
+            boolean enabled,
+            String nodeId,
+            int shardCount,
+            long leaseSeconds,
+            long heartbeatSeconds,
+            Clock clock) {
+        this.nodeRepository = nodeRepository;
+        this.leaseRepository = leaseRepository;
+        this.cameraRegistry = cameraRegistry;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.shardCount = Math.max(1, shardCount);
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.heartbeatInterval = Duration.ofSeconds(Math.min(heartbeatSeconds, Math.max(1, leaseSeconds / 2)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether this node may dispatch the camera right now.
+     */
+    public boolean ownsCamera(Long cameraId) {
+        if (!enabled) {
+            return true;
+        }
+        return cameraId != null && leasesValid() && ownedShards.contains(shardOf(cameraId));
+    }
+
+    /**
+     * Whether this node should run singleton jobs right now.
+     */
+    public boolean isLeader() {
+        return !enabled || (leader && leasesValid());
+    }
+
+    /**
+     * Changes whenever the set of owned shards changes, so callers can cheaply tell when to re-sync their cameras.
+     */
+    public long ownershipVersion() {
+        return ownershipVersion;
+    }
+
+    /**
+     * Starts the heartbeat on a thread of its own: on Spring's shared scheduler thread a long archive or partition run
+     * could hold it back until the leases expire and the cameras move to another node.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Instant now = clock.instant();
+            nodeRepository.save(new ClusterNode(nodeId, now));
+            List<String> nodes = nodeRepository.findByHeartbeatAtAfterOrderByNodeIdAsc(now.minus(leaseDuration))
+                    .stream()
+                    .map(ClusterNode::getNodeId)
+                    .toList();
+            int position = Math.max(0, nodes.indexOf(nodeId));
+            int nodeCount = Math.max(1, nodes.size());
+
+            Instant expiresAt = now.plus(leaseDuration);
+            Set<Integer> acquired = new TreeSet<>();
+            for (int shard = 0; shard < shardCount; shard++) {
+                String lease = shardLease(shard);
+                if (shard % nodeCount == position) {
+                    if (tryAcquire(lease, now, expiresAt)) {
+                        acquired.add(shard);
+                    }
+                } else if (ownedShards.contains(shard)) {
+                    leaseRepository.release(lease, nodeId, now);
+                }
+            }
+            boolean wasLeader = leader;
+            leader = tryAcquire(LEADER_LEASE, now, expiresAt);
+            leasesValidUntil = expiresAt.minus(heartbeatInterval);
+            liveNodes = nodes;
+            updateOwnedShards(acquired);
+            if (leader != wasLeader) {
+                log.info("[Cluster] 노드 {}의 리더 역할이 {}되었습니다.", nodeId, leader ? "획득" : "해제");
+            }
+            nodeRepository.deleteByHeartbeatAtBefore(now.minus(leaseDuration.multipliedBy(10)));
+        } catch (RuntimeException e) {
+            log.warn("[Cluster] 노드 {}의 하트비트에 실패했습니다: {}", nodeId, e.getMessage());
+            if (!leasesValid()) {
+                leader = false;
+                updateOwnedShards(Set.of()); // Other nodes may take the shards over once the leases expire.
+            }
+        }
+        refreshCameras();
+    }
+
+    /**
+     * Cameras created, changed or deleted through another node only reach this node's registry from the database, so
+     * it is reloaded every heartbeat; the shards are then computed over the same cameras on every node.
+     */
+    private void refreshCameras() {
+        try {
+            cameraRegistry.refresh();
+        } catch (RuntimeException e) {
+            log.warn("[Cluster] 노드 {}가 카메라 목록을 다시 읽지 못했습니다: {}", nodeId, e.getMessage());
+        }
+    }
+
+    public ClusterStatusPayload status() {
+        return new ClusterStatusPayload(
+                enabled,
+                nodeId,
+                isLeader(),
+                enabled ? liveNodes : List.of(nodeId),
+                shardCount,
+                enabled
+                        ? List.copyOf(new TreeSet<>(ownedShards))
+                        : IntStream.range(0, shardCount).boxed().toList(),
+                enabled ? LocalDateTime.ofInstant(leasesValidUntil, ZoneId.systemDefault()) : null);
+    }
+
+    /**
+     * Hands all leases back on shutdown so other nodes can take over right away instead of waiting for expiry.
+     */
+    @PreDestroy
+    public void releaseLeases() {
+        if (!enabled) {
+            return;
+        }
+        if (heartbeatExecutor != null) {
+            heartbeatExecutor.shutdownNow();
+        }
+        try {
+            Instant now = clock.instant();
+            ownedShards.forEach(shard -> leaseRepository.release(shardLease(shard), nodeId, now));
+            leaseRepository.release(LEADER_LEASE, nodeId, now);
+            nodeRepository.deleteById(nodeId);
+            log.info("[Cluster] 노드 {}가 보유한 임대를 반납했습니다.", nodeId);
+        } catch (RuntimeException e) {
+            log.warn("[Cluster] 노드 {}의 임대를 반납하지 못했습니다: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private boolean tryAcquire(String lease, Instant now, Instant expiresAt) {
+        if (knownLeases.add(lease) && !leaseRepository.existsById(lease)) {
+            try {
+                leaseRepository.saveAndFlush(new ClusterLease(lease, null, Instant.EPOCH));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row concurrently.
+            }
+        }
+        return leaseRepository.tryAcquire(lease, nodeId, now, expiresAt) == 1;
+    }
+
+    private void updateOwnedShards(Set<Integer> acquired) {
+        if (!acquired.equals(ownedShards)) {
+            log.info("[Cluster] 노드 {}의 담당 샤드: {} (전체 {}개)", nodeId, acquired, shardCount);
+            ownedShards = Set.copyOf(acquired);
+            ownershipVersion++;
+        }
+    }
+
+    private boolean leasesValid() {
+        return clock.instant().isBefore(leasesValidUntil);
+    }
+
+    private int shardOf(Long cameraId) {
+        return (int) Math.floorMod(cameraId, (long) shardCount);
+    }
+
+    private static String shardLease(int shard) {
+        return "shard-" + shard;
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.analysis.CongestionLevel;
+import com.github.jorepong.safetycctv.entity.AnalysisLog;
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Spends AI capacity where congestion is high or rising, based on the camera's latest {@link AnalysisLog}.
+ * <ul>
+ *     <li>DANGER, or CAUTION while rising: {@code fastInterval}</li>
+ *     <li>CAUTION, or FREE while rising: {@code normalInterval}</li>
+ *     <li>FREE and not rising: between {@code quietInterval} (density 0) and {@code normalInterval}
+ *     (density at the caution threshold)</li>
+ * </ul>
+ * Cameras without a recent log are analyzed at {@code normalInterval} so that they get a fresh reading quickly.
+ */
+public class DensityAdaptiveCadencePolicy implements SamplingCadencePolicy {
+
+    private final Duration fastInterval;
+    private final Duration normalInterval;
+    private final Duration quietInterval;
+    private final double risingVelocityPerSecond;
+    private final Function<Long, Optional<AnalysisLog>> latestLogLookup;
+    private final Clock clock;
+
+    public DensityAdaptiveCadencePolicy(
+            Duration fastInterval,
+            Duration normalInterval,
+            Duration quietInterval,
+            double risingVelocityPerMinute,
+            Function<Long, Optional<AnalysisLog>> latestLogLookup,
+            Clock clock) {
+        this.fastInterval = fastInterval;
+        this.normalInterval = normalInterval;
+        this.quietInterval = quietInterval;
+        this.risingVelocityPerSecond = risingVelocityPerMinute / 60d;
+        this.latestLogLookup = latestLogLookup;
+        this.clock = clock;
+    }
+
+    @Override
+    public Duration nextInterval(Camera camera) {
+        if (camera == null || camera.getId() == null) {
+            return normalInterval;
+        }
+        return latestLogLookup.apply(camera.getId())
+                .filter(this::isRecent)
+                .map(this::intervalFor)
+                .orElse(normalInterval);
+    }
+
+    Duration intervalFor(AnalysisLog latest) {
+        CongestionLevel level = CongestionLevel.fromDensity(latest.getDensity());
+        boolean rising = latest.getDensityVelocity() != null && latest.getDensityVelocity() > risingVelocityPerSecond;
+
+        if (level == CongestionLevel.DANGER || (level == CongestionLevel.CAUTION && rising)) {
+            return fastInterval;
+        }
+        if (level == CongestionLevel.CAUTION || rising) {
+            return normalInterval;
+        }
+        double calmness = 1.0 - Math.max(0.0, latest.getDensity()) / CongestionLevel.CAUTION_THRESHOLD;
+        long extraMillis = (long) ((quietInterval.toMillis() - normalInterval.toMillis()) * calmness);
+        return normalInterval.plusMillis(Math.max(0L, extraMillis));
+    }
+
+    @Override
+    public String name() {
+        return "density-adaptive";
+    }
+
+    private boolean isRecent(AnalysisLog latest) {
+        // A reading older than the slowest cadence says nothing about the camera's current state.
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(quietInterval.multipliedBy(2));
+        return latest.getTimestamp() != null && latest.getTimestamp().isAfter(cutoff) && latest.getDensity() != null;
+    }
+}
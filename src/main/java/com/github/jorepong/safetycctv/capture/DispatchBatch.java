@@ -0,0 +1,10 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.util.List;
+
+/**
+ * Cameras handed out together by {@link CaptureDispatchEngine} to be analyzed with one request on {@code route}.
+ */
+public record DispatchBatch<R>(R route, List<Camera> cameras) {
+}
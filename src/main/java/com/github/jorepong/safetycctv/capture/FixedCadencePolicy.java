@@ -0,0 +1,26 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Duration;
+
+/**
+ * Analyzes every camera at the same interval, regardless of its congestion state.
+ */
+public class FixedCadencePolicy implements SamplingCadencePolicy {
+
+    private final Duration interval;
+
+    public FixedCadencePolicy(Duration interval) {
+        this.interval = interval;
+    }
+
+    @Override
+    public Duration nextInterval(Camera camera) {
+        return interval;
+    }
+
+    @Override
+    public String name() {
+        return "fixed";
+    }
+}
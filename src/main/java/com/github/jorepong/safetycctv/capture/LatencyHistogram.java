@@ -0,0 +1,96 @@
+package com.github.jorepong.safetycctv.capture;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Empirical latency distribution given as buckets of upper bound and relative weight, e.g. read off the
+ * {@code safetycctv.ai.camera.latency} histogram. A sample picks a bucket by weight and is uniform between the
+ * previous bucket's upper bound and its own.
+ */
+public final class LatencyHistogram {
+
+    private final long[] upperBoundsNanos;
+    private final double[] cumulativeWeights;
+
+    private LatencyHistogram(long[] upperBoundsNanos, double[] cumulativeWeights) {
+        this.upperBoundsNanos = upperBoundsNanos;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    public static LatencyHistogram fixed(Duration latency) {
+        return new LatencyHistogram(new long[]{latency.toNanos(), latency.toNanos()}, new double[]{0.0, 1.0});
+    }
+
+    /**
+     * @param weightsByUpperBound relative weight of each bucket by its upper bound; weights need not sum to one
+     */
+    public static LatencyHistogram of(Map<Duration, Double> weightsByUpperBound) {
+        TreeMap<Duration, Double> buckets = new TreeMap<>(weightsByUpperBound);
+        if (buckets.isEmpty() || buckets.firstKey().isNegative()) {
+            throw new IllegalArgumentException("Latency histogram needs at least one non-negative bucket");
+        }
+        long[] bounds = new long[buckets.size() + 1];
+        double[] cumulative = new double[buckets.size() + 1];
+        int index = 1;
+        double total = 0.0;
+        for (Map.Entry<Duration, Double> bucket : buckets.entrySet()) {
+            if (bucket.getValue() == null || bucket.getValue() < 0.0) {
+                throw new IllegalArgumentException("Negative weight for latency bucket " + bucket.getKey());
+            }
+            total += bucket.getValue();
+            bounds[index] = bucket.getKey().toNanos();
+            cumulative[index] = total;
+            index++;
+        }
+        if (total <= 0.0) {
+            throw new IllegalArgumentException("Latency histogram weights sum to zero");
+        }
+        for (int i = 1; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return new LatencyHistogram(bounds, cumulative);
+    }
+
+    /**
+     * Parses {@code upperBoundMillis:weight} pairs separated by commas, e.g. {@code 20:0.2,50:0.6,200:0.2}.
+     */
+    public static LatencyHistogram parse(String spec) {
+        Map<Duration, Double> buckets = new TreeMap<>();
+        for (String bucket : spec.split(",")) {
+            String[] parts = bucket.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid latency bucket: " + bucket);
+            }
+            try {
+                buckets.merge(Duration.ofMillis(Long.parseLong(parts[0].trim())), Double.parseDouble(parts[1].trim()),
+                        Double::sum);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid latency bucket: " + bucket, e);
+            }
+        }
+        return of(buckets);
+    }
+
+    public Duration sample(Random random) {
+        double roll = random.nextDouble();
+        int bucket = 1;
+        while (bucket < cumulativeWeights.length - 1 && roll >= cumulativeWeights[bucket]) {
+            bucket++;
+        }
+        long lower = upperBoundsNanos[bucket - 1];
+        long upper = upperBoundsNanos[bucket];
+        return Duration.ofNanos(lower + (long) (random.nextDouble() * (upper - lower)));
+    }
+
+    public Duration mean() {
+        double nanos = 0.0;
+        for (int i = 1; i < upperBoundsNanos.length; i++) {
+            double weight = cumulativeWeights[i] - cumulativeWeights[i - 1];
+            nanos += weight * (upperBoundsNanos[i - 1] + upperBoundsNanos[i]) / 2.0;
+        }
+        return Duration.ofNanos((long) nanos);
+    }
+}
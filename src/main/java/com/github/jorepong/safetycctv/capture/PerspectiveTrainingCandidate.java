@@ -0,0 +1,38 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.LocalDateTime;
+
+/**
+ * A camera whose perspective map should be retrained, together with what it would be trained on.
+ *
+ * @param samplesAtLastTraining samples retained when the camera was last trained, 0 if it never was
+ * @param newSamples            detected objects recorded since then
+ * @param highWaterObjectId     largest detected-object id covered by this training
+ * @param highWaterLogTimestamp timestamp of the newest log covered by this training
+ * @param trainedDistribution   distribution the current map was trained on, null if it never was
+ * @param drift                 shift of the new samples from {@code trainedDistribution}, see
+ *                              {@link BoxDistribution#driftFrom(BoxDistribution)}
+ */
+public record PerspectiveTrainingCandidate(
+    Camera camera,
+    long samplesAtLastTraining,
+    long newSamples,
+    long highWaterObjectId,
+    LocalDateTime highWaterLogTimestamp,
+    BoxDistribution newSampleDistribution,
+    BoxDistribution trainedDistribution,
+    double drift,
+    Reason reason
+) {
+
+    public enum Reason {
+        FIRST_TRAINING,
+        NEW_SAMPLES,
+        DISTRIBUTION_DRIFT
+    }
+
+    public long estimatedSamples() {
+        return samplesAtLastTraining + newSamples;
+    }
+}
@@ -1,60 +1,292 @@
 package com.github.jorepong.safetycctv.capture;
 
-import com.github.jorepong.safetycctv.camera.CameraRepository;
-import com.github.jorepong.safetycctv.entity.Camera;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.camera.RegisteredCamera;
+import com.github.jorepong.safetycctv.capture.dto.CameraPruningView;
+import com.github.jorepong.safetycctv.capture.dto.PruningStatusPayload;
+import com.github.jorepong.safetycctv.entity.PerspectivePruningWatermark;
+import com.github.jorepong.safetycctv.repository.DetectedObjectKey;
 import com.github.jorepong.safetycctv.repository.DetectedObjectRepository;
+import com.github.jorepong.safetycctv.repository.PerspectivePruningWatermarkRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
- * Ensures that each camera keeps only a bounded number of data points that are used for perspective-map training.
- * Older detected objects beyond the configured limit are deleted before a new training run so that data storage does not grow indefinitely.
+ * Ensures that each camera keeps only a bounded number of data points that are used for perspective-map training,
+ * so that data storage does not grow indefinitely.
+ * <p>
+ * Pruning runs in the background instead of right before a training run. Each camera has a
+ * {@link PerspectivePruningWatermark} whose cutoff is its {@code maxDataPoints}-th newest detected object; the objects
+ * before the cutoff are deleted in keyset order, one chunk of {@code chunkSize} per short transaction and one chunk
+ * per tick, so {@code detected_objects} is never locked for long. Cameras are visited in turn and a camera gets a new
+ * cutoff once its pass is complete. The new cutoff is found from the previous one: the objects from the old cutoff on
+ * are counted and paged through by key, so a pass reads the camera's newer objects rather than its whole history.
+ * A camera whose pass completed, or that has nothing to prune, rests for {@code idleRecheckMinutes} before it is
+ * visited again. Chunks are only deleted on the cluster leader and inside the off-peak window.
  */
-@Service
 @Slf4j
-@RequiredArgsConstructor
+@Component
 public class PerspectiveTrainingDataPruner {
 
-    private static final int MAX_DATA_POINTS_PER_CAMERA = 20_000;
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int CUTOFF_PAGE_SIZE = 10_000;
 
-    private final CameraRepository cameraRepository;
     private final DetectedObjectRepository detectedObjectRepository;
+    private final PerspectivePruningWatermarkRepository watermarkRepository;
+    private final CameraRegistry cameraRegistry;
+    private final ClusterCoordinator clusterCoordinator;
+    private final CaptureMetrics captureMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxDataPoints;
+    private final int chunkSize;
+    private final int offPeakStartHour;
+    private final int offPeakEndHour;
+    private final Duration idleRecheck;
+    private final Clock clock;
+
+    private final Deque<Long> pendingCameras = new ArrayDeque<>();
+    private final Map<Long, Instant> idleUntil = new HashMap<>();
+
+    @Autowired
+    public PerspectiveTrainingDataPruner(
+            DetectedObjectRepository detectedObjectRepository,
+            PerspectivePruningWatermarkRepository watermarkRepository,
+            CameraRegistry cameraRegistry,
+            ClusterCoordinator clusterCoordinator,
+            CaptureMetrics captureMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${camera.scheduler.pruning.max-data-points:20000}") int maxDataPoints,
+            @Value("${camera.scheduler.pruning.chunk-size:500}") int chunkSize,
+            @Value("${camera.scheduler.pruning.off-peak-start-hour:1}") int offPeakStartHour,
+            @Value("${camera.scheduler.pruning.off-peak-end-hour:6}") int offPeakEndHour,
+            @Value("${camera.scheduler.pruning.idle-recheck-minutes:10}") long idleRecheckMinutes) {
+        this(detectedObjectRepository, watermarkRepository, cameraRegistry, clusterCoordinator, captureMetrics,
+                transactionManager, maxDataPoints, chunkSize, offPeakStartHour, offPeakEndHour, idleRecheckMinutes,
+                Clock.systemDefaultZone());
+    }
+
+    PerspectiveTrainingDataPruner(
+            DetectedObjectRepository detectedObjectRepository,
+            PerspectivePruningWatermarkRepository watermarkRepository,
+            CameraRegistry cameraRegistry,
+            ClusterCoordinator clusterCoordinator,
+            CaptureMetrics captureMetrics,
+            PlatformTransactionManager transactionManager,
+            int maxDataPoints,
+            int chunkSize,
+            int offPeakStartHour,
+            int offPeakEndHour,
+            long idleRecheckMinutes,
+            Clock clock) {
+        this.detectedObjectRepository = detectedObjectRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.cameraRegistry = cameraRegistry;
+        this.clusterCoordinator = clusterCoordinator;
+        this.captureMetrics = captureMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxDataPoints = Math.max(1, maxDataPoints);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.offPeakStartHour = offPeakStartHour;
+        this.offPeakEndHour = offPeakEndHour;
+        this.idleRecheck = Duration.ofMinutes(Math.max(0, idleRecheckMinutes));
+        this.clock = clock;
+    }
 
     /**
-     * Removes old analysis logs for every camera so that only the most recent {@value #MAX_DATA_POINTS_PER_CAMERA}
-     * entries remain per camera. This method should be invoked right before triggering perspective-map training.
+     * Deletes at most one chunk. The delay between ticks throttles the pruning.
      */
-    @Transactional
-    public void pruneAllCameras() {
-        List<Camera> cameras = cameraRepository.findAll();
-        if (cameras.isEmpty()) {
-            log.debug("[PerspectivePrune] No cameras registered. Skipping pruning step.");
+    @Scheduled(
+            initialDelayString = "${camera.scheduler.pruning.pause-millis:200}",
+            fixedDelayString = "${camera.scheduler.pruning.pause-millis:200}",
+            timeUnit = TimeUnit.MILLISECONDS)
+    public void run() {
+        if (!isActive()) {
             return;
         }
+        try {
+            pruneNextChunk();
+        } catch (RuntimeException e) {
+            log.warn("[PerspectivePrune] 학습 데이터 정리 중 오류가 발생했습니다. 다음 주기에 이어서 진행합니다: {}",
+                    e.getMessage());
+        }
+    }
 
-        cameras.forEach(camera -> pruneSingleCamera(camera.getId(), camera.getName()));
+    /**
+     * Samples the camera keeps once it is pruned, for a camera with {@code knownSamples} samples.
+     */
+    public long retainedSamples(long knownSamples) {
+        return Math.min(knownSamples, maxDataPoints);
     }
 
-    private void pruneSingleCamera(Long cameraId, String cameraName) {
+    /**
+     * Does the next unit of work for the camera whose turn it is: starts a new pass or deletes one chunk.
+     *
+     * @return the number of detected objects deleted
+     */
+    public synchronized int pruneNextChunk() {
+        Long cameraId = nextCamera();
         if (cameraId == null) {
-            return;
+            return 0;
         }
-        long totalSamples = detectedObjectRepository.countByAnalysisLogCameraId(cameraId);
-        if (totalSamples <= MAX_DATA_POINTS_PER_CAMERA) {
+        Integer deleted = transactionTemplate.execute(status -> pruneChunk(cameraId));
+        return deleted != null ? deleted : 0;
+    }
+
+    public PruningStatusPayload status() {
+        List<PerspectivePruningWatermark> watermarks = watermarkRepository.findAll();
+        List<CameraPruningView> cameras = watermarks.stream()
+                .sorted(Comparator.comparing(PerspectivePruningWatermark::getCameraId))
+                .map(mark -> new CameraPruningView(mark.getCameraId(), mark.getCutoffTimestamp(),
+                        mark.getPrunedThrough(), mark.isPassComplete(), mark.getDeletedObjects(),
+                        mark.getUpdatedAt()))
+                .toList();
+        return new PruningStatusPayload(
+                isActive(),
+                offPeakStartHour,
+                offPeakEndHour,
+                maxDataPoints,
+                chunkSize,
+                cameras.stream().mapToLong(CameraPruningView::deletedObjects).sum(),
+                cameras);
+    }
+
+    /**
+     * The camera whose turn it is. When every camera had its turn, the round starts over with the cameras that are not
+     * resting; returns null if all of them are.
+     */
+    private Long nextCamera() {
+        if (pendingCameras.isEmpty()) {
+            Instant now = clock.instant();
+            Set<Long> cameraIds = cameraRegistry.entries().stream()
+                    .map(RegisteredCamera::id)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            idleUntil.keySet().retainAll(cameraIds);
+            cameraIds.stream()
+                    .filter(cameraId -> !idleUntil.containsKey(cameraId) || !now.isBefore(idleUntil.get(cameraId)))
+                    .forEach(pendingCameras::add);
+        }
+        return pendingCameras.peekFirst();
+    }
+
+    /**
+     * Ends the camera's turn and lets it rest, so that cameras with nothing left to prune are not queried every tick.
+     */
+    private void finishTurn(Long cameraId) {
+        pendingCameras.pollFirst();
+        idleUntil.put(cameraId, clock.instant().plus(idleRecheck));
+    }
+
+    private int pruneChunk(Long cameraId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        PerspectivePruningWatermark watermark = watermarkRepository.findById(cameraId).orElse(null);
+        if (watermark == null || watermark.isPassComplete()) {
+            startPass(cameraId, watermark, now);
+            return 0;
+        }
+
+        LocalDateTime from = watermark.getPrunedThrough() != null ? watermark.getPrunedThrough() : BEGINNING;
+        List<DetectedObjectKey> chunk = detectedObjectRepository.findKeysBeforeCutoff(
+                cameraId, from, watermark.getCutoffTimestamp(), watermark.getCutoffObjectId(), chunkSize);
+        if (!chunk.isEmpty()) {
+            detectedObjectRepository.deleteAllByIdInBatch(chunk.stream().map(DetectedObjectKey::getId).toList());
+            watermark.setPrunedThrough(chunk.get(chunk.size() - 1).getTimestamp());
+            watermark.setDeletedObjects(watermark.getDeletedObjects() + chunk.size());
+            captureMetrics.recordPruningChunk(chunk.size());
+        }
+        if (chunk.size() < chunkSize) {
+            watermark.setPassComplete(true);
+            finishTurn(cameraId);
+            log.info("[PerspectivePrune] Camera {} pruned up to {} (total deleted={}, limit={}).", cameraId,
+                    watermark.getCutoffTimestamp(), watermark.getDeletedObjects(), maxDataPoints);
+        }
+        watermark.setUpdatedAt(now);
+        watermarkRepository.save(watermark);
+        return chunk.size();
+    }
+
+    /**
+     * Moves the cutoff to the camera's current {@code maxDataPoints}-th newest object. The objects from the previous
+     * cutoff on (from the beginning on the first pass) are counted, and the new cutoff is found by paging past the
+     * surplus from there. A camera within the limit is done for this round.
+     */
+    private void startPass(Long cameraId, PerspectivePruningWatermark watermark, LocalDateTime now) {
+        LocalDateTime fromTimestamp = watermark != null ? watermark.getCutoffTimestamp() : BEGINNING;
+        long fromObjectId = watermark != null ? watermark.getCutoffObjectId() : 0L;
+        long surplus = detectedObjectRepository.countKeysFrom(cameraId, fromTimestamp, fromObjectId) - maxDataPoints;
+        Optional<DetectedObjectKey> cutoff = surplus > 0
+                ? findKeyAfter(cameraId, fromTimestamp, fromObjectId, surplus)
+                : Optional.empty();
+        if (cutoff.isEmpty()) {
+            finishTurn(cameraId);
             return;
         }
+        PerspectivePruningWatermark next = watermark != null ? watermark : PerspectivePruningWatermark.builder()
+                .cameraId(cameraId)
+                .deletedObjects(0L)
+                .build();
+        next.setCutoffTimestamp(cutoff.get().getTimestamp());
+        next.setCutoffObjectId(cutoff.get().getId());
+        next.setPassComplete(false);
+        next.setUpdatedAt(now);
+        watermarkRepository.save(next);
+    }
+
+    /**
+     * Skips {@code skip} of the camera's objects from the key ({@code fromTimestamp}, {@code fromObjectId}) on and
+     * returns the next one, paging by key instead of using an offset.
+     */
+    private Optional<DetectedObjectKey> findKeyAfter(
+            Long cameraId, LocalDateTime fromTimestamp, long fromObjectId, long skip) {
+        LocalDateTime timestamp = fromTimestamp;
+        long objectId = fromObjectId;
+        long remaining = skip;
+        while (true) {
+            int limit = (int) Math.min(remaining + 1, CUTOFF_PAGE_SIZE);
+            List<DetectedObjectKey> page = detectedObjectRepository.findKeysFrom(cameraId, timestamp, objectId, limit);
+            if (page.size() > remaining) {
+                return Optional.of(page.get((int) remaining));
+            }
+            if (page.size() < limit) {
+                return Optional.empty(); // Objects were deleted since they were counted.
+            }
+            remaining -= page.size();
+            DetectedObjectKey last = page.get(page.size() - 1);
+            timestamp = last.getTimestamp();
+            objectId = last.getId() + 1;
+        }
+    }
+
+    private boolean isActive() {
+        return clusterCoordinator.isLeader() && isOffPeak(LocalDateTime.now(clock).getHour());
+    }
 
-        int deletedRows = detectedObjectRepository.deleteOlderThanLimit(cameraId, MAX_DATA_POINTS_PER_CAMERA);
-        log.info(
-            "[PerspectivePrune] Camera {}({}) removed {} stale detected objects (before={}, limit={}).",
-            cameraId,
-            cameraName,
-            deletedRows,
-            totalSamples,
-            MAX_DATA_POINTS_PER_CAMERA
-        );
+    boolean isOffPeak(int hour) {
+        if (offPeakStartHour == offPeakEndHour) {
+            return true;
+        }
+        if (offPeakStartHour < offPeakEndHour) {
+            return hour >= offPeakStartHour && hour < offPeakEndHour;
+        }
+        return hour >= offPeakStartHour || hour < offPeakEndHour;
     }
 }
@@ -0,0 +1,222 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.capture.dto.CameraTrainingView;
+import com.github.jorepong.safetycctv.capture.dto.PerspectiveMapTrainingResponse;
+import com.github.jorepong.safetycctv.capture.dto.SkippedCameraInfo;
+import com.github.jorepong.safetycctv.capture.dto.TrainedCameraInfo;
+import com.github.jorepong.safetycctv.capture.dto.TrainingStatusPayload;
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs perspective-map training as one small request per camera instead of one request for every camera, so a long
+ * training never occupies an AI server for minutes at a time.
+ * <p>
+ * A run trains the cameras chosen by the {@link PerspectiveTrainingPlanner}, at most {@code maxConcurrency} at once.
+ * A camera that is still queued or running is left out of later runs, so overlapping triggers never train the same
+ * camera twice; the training deadline of the {@link AiAnalysisClient} makes sure a hung request ends as FAILED. The
+ * latest progress of every camera is kept for the status API.
+ */
+@Slf4j
+@Component
+public class PerspectiveTrainingOrchestrator {
+
+    private final PerspectiveTrainingPlanner planner;
+    private final PerspectiveTrainingDataPruner pruner;
+    private final AiAnalysisClient aiAnalysisClient;
+    private final AiEndpointPool endpointPool;
+    private final TrainingScheduleTracker trainingScheduleTracker;
+    private final CaptureMetrics captureMetrics;
+    private final int maxConcurrency;
+
+    private final Map<Long, CameraTrainingProgress> progress = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastRunStartedAt;
+
+    public PerspectiveTrainingOrchestrator(
+            PerspectiveTrainingPlanner planner,
+            PerspectiveTrainingDataPruner pruner,
+            AiAnalysisClient aiAnalysisClient,
+            AiEndpointPool endpointPool,
+            TrainingScheduleTracker trainingScheduleTracker,
+            CaptureMetrics captureMetrics,
+            @Value("${camera.scheduler.training.max-concurrency:2}") int maxConcurrency) {
+        this.planner = planner;
+        this.pruner = pruner;
+        this.aiAnalysisClient = aiAnalysisClient;
+        this.endpointPool = endpointPool;
+        this.trainingScheduleTracker = trainingScheduleTracker;
+        this.captureMetrics = captureMetrics;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * Plans a run and starts training its cameras in the background.
+     *
+     * @return the number of cameras queued; cameras already in training are not counted
+     */
+    public synchronized int startRun() {
+        List<PerspectiveTrainingCandidate> queued = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (PerspectiveTrainingCandidate candidate : planner.findCamerasToRetrain()) {
+            Camera camera = candidate.camera();
+            CameraTrainingProgress current = progress.get(camera.getId());
+            if (current != null && current.isActive()) {
+                log.info("  - {} (ID {}): 이미 학습 중이라 이번 실행에서 제외합니다.", camera.getName(), camera.getId());
+                continue;
+            }
+            progress.put(camera.getId(), new CameraTrainingProgress(candidate, now));
+            queued.add(candidate);
+        }
+        if (queued.isEmpty()) {
+            log.info("새 데이터가 충분한 카메라가 없어 원근 맵 재학습을 건너뜁니다.");
+            return 0;
+        }
+
+        lastRunStartedAt = now;
+        log.info("원근 맵 재학습 대상 카메라: {}대 (동시 학습 최대 {}대)", queued.size(), maxConcurrency);
+        Flux.fromIterable(queued)
+                .flatMap(this::train, maxConcurrency)
+                .subscribe();
+        return queued.size();
+    }
+
+    public TrainingStatusPayload status() {
+        List<CameraTrainingView> cameras = progress.values().stream()
+                .map(CameraTrainingProgress::toView)
+                .sorted(Comparator.comparing(CameraTrainingView::queuedAt).reversed()
+                        .thenComparing(CameraTrainingView::cameraId))
+                .toList();
+        return new TrainingStatusPayload(
+                trainingScheduleTracker.getNextTrainingTime(),
+                lastRunStartedAt,
+                maxConcurrency,
+                cameras.stream().filter(view -> view.state() == TrainingState.QUEUED).count(),
+                cameras.stream().filter(view -> view.state() == TrainingState.RUNNING).count(),
+                cameras);
+    }
+
+    private Mono<Void> train(PerspectiveTrainingCandidate candidate) {
+        Camera camera = candidate.camera();
+        CameraTrainingProgress entry = progress.get(camera.getId());
+        return Mono.fromCallable(() -> {
+                    entry.onStarted(LocalDateTime.now());
+                    log.info("  - {} (ID {}) 학습 시작: 사유 {}, 새 샘플 {}개, 분포 변화 {}", camera.getName(),
+                            camera.getId(), candidate.reason(), candidate.newSamples(),
+                            String.format("%.2f", candidate.drift()));
+                    return pruner.retainedSamples(candidate.estimatedSamples());
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(retainedSamples -> request(endpointPool.route(camera), candidate, entry, retainedSamples))
+                .onErrorResume(ex -> {
+                    entry.onFailed(ex.getMessage(), LocalDateTime.now());
+                    log.error("카메라 {}의 원근 맵 학습 준비 중 오류가 발생했습니다", camera.getId(), ex);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> request(
+            AiEndpoint endpoint,
+            PerspectiveTrainingCandidate candidate,
+            CameraTrainingProgress entry,
+            long retainedSamples) {
+        Long cameraId = candidate.camera().getId();
+        long startedAt = System.nanoTime();
+        return aiAnalysisClient.trainPerspectiveMaps(endpoint, Map.of("cameraIds", List.of(cameraId)))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnSuccess(response -> onResponse(endpoint, candidate, entry, retainedSamples, response, startedAt))
+                .onErrorResume(WebClientResponseException.class, ex -> {
+                    recordTraining(endpoint, "http_error", startedAt);
+                    entry.onFailed("HTTP " + ex.getStatusCode().value(), LocalDateTime.now());
+                    log.error(
+                            "카메라 {}의 원근 맵 학습 중 AI 서버 {}가 {} 코드를 반환했습니다. 본문: {}",
+                            cameraId,
+                            endpoint.baseUrl(),
+                            ex.getStatusCode(),
+                            ex.getResponseBodyAsString());
+                    return Mono.empty();
+                })
+                .onErrorResume(TimeoutException.class, ex -> {
+                    recordTraining(endpoint, "timeout", startedAt);
+                    entry.onFailed("제한 시간 안에 응답이 없습니다", LocalDateTime.now());
+                    log.error("카메라 {}의 원근 맵 학습이 AI 서버 {}에서 제한 시간 안에 끝나지 않았습니다.", cameraId,
+                            endpoint.baseUrl());
+                    return Mono.empty();
+                })
+                .onErrorResume(WebClientRequestException.class, ex -> {
+                    recordTraining(endpoint, "connection_error", startedAt);
+                    entry.onFailed(ex.getMessage(), LocalDateTime.now());
+                    log.error("원근 맵 학습을 위해 AI 서버 {}에 연결하지 못했습니다: {}", endpoint.baseUrl(), ex.getMessage());
+                    return Mono.empty();
+                })
+                .onErrorResume(ex -> {
+                    recordTraining(endpoint, "error", startedAt);
+                    entry.onFailed(ex.getMessage(), LocalDateTime.now());
+                    log.error("카메라 {}의 원근 맵 학습 중 예기치 않은 오류가 발생했습니다", cameraId, ex);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void onResponse(
+            AiEndpoint endpoint,
+            PerspectiveTrainingCandidate candidate,
+            CameraTrainingProgress entry,
+            long retainedSamples,
+            PerspectiveMapTrainingResponse response,
+            long startedAt) {
+        Long cameraId = candidate.camera().getId();
+        LocalDateTime now = LocalDateTime.now();
+        if (response == null || !"SUCCESS".equals(response.getStatus())) {
+            recordTraining(endpoint, "failed", startedAt);
+            entry.onFailed(response != null ? response.getMessage() : "빈 응답", now);
+            log.error("AI 서버 {}의 카메라 {} 원근 맵 학습에 실패했습니다. 응답: {}", endpoint.baseUrl(), cameraId, response);
+            return;
+        }
+
+        Optional<TrainedCameraInfo> trained = Optional.ofNullable(response.getTrainedCameras()).orElse(List.of())
+                .stream()
+                .filter(info -> Objects.equals(info.getCameraId(), cameraId))
+                .findFirst();
+        if (trained.isPresent()) {
+            planner.markTrained(candidate, retainedSamples, now);
+            recordTraining(endpoint, "success", startedAt);
+            entry.onTrained(trained.get().getSamplesUsed(), now);
+            log.info("  - 학습 완료: {} ({}개 샘플 사용)", trained.get().getCameraName(), trained.get().getSamplesUsed());
+            return;
+        }
+
+        Optional<SkippedCameraInfo> skipped = Optional.ofNullable(response.getSkippedCameras()).orElse(List.of())
+                .stream()
+                .filter(info -> Objects.equals(info.getCameraId(), cameraId))
+                .findFirst();
+        recordTraining(endpoint, "skipped", startedAt);
+        entry.onSkipped(
+                skipped.map(SkippedCameraInfo::getReason).orElse("응답에 카메라가 없습니다"),
+                skipped.map(SkippedCameraInfo::getSamplesAvailable).orElse(null),
+                now);
+        log.warn("  - 건너뜀: 카메라 ID {} (사유: {}, 사용 가능 샘플: {})", cameraId,
+                skipped.map(SkippedCameraInfo::getReason).orElse(null),
+                skipped.map(SkippedCameraInfo::getSamplesAvailable).orElse(null));
+    }
+
+    private void recordTraining(AiEndpoint endpoint, String outcome, long startedAt) {
+        captureMetrics.recordTraining(endpoint.baseUrl(), outcome, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+}
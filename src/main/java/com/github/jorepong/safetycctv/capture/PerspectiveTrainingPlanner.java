@@ -0,0 +1,154 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.camera.RegisteredCamera;
+import com.github.jorepong.safetycctv.capture.PerspectiveTrainingCandidate.Reason;
+import com.github.jorepong.safetycctv.entity.Camera;
+import com.github.jorepong.safetycctv.entity.PerspectiveTrainingWatermark;
+import com.github.jorepong.safetycctv.repository.DetectedObjectRepository;
+import com.github.jorepong.safetycctv.repository.NewDetectionSummary;
+import com.github.jorepong.safetycctv.repository.PerspectiveTrainingWatermarkRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Decides which cameras need their perspective map retrained.
+ * <p>
+ * Every camera has a {@link PerspectiveTrainingWatermark} of what it was last trained on. One query per camera
+ * summarizes the detected objects recorded above its own watermark, reading only the camera's logs since its last
+ * training, so new or idle cameras do not make the plan scan all detections. A camera is only retrained when it has
+ * at least {@code minNewSamples} new samples and either
+ * <ul>
+ *     <li>the new samples amount to {@code newSampleRatio} of the samples it was trained on, or</li>
+ *     <li>the new boxes drifted by {@code driftThreshold} from the trained distribution.</li>
+ * </ul>
+ * Cameras that were never trained only need the minimum number of samples.
+ */
+@Slf4j
+@Service
+public class PerspectiveTrainingPlanner {
+
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Duration LATE_LOG_GRACE = Duration.ofMinutes(10);
+
+    private final CameraRegistry cameraRegistry;
+    private final DetectedObjectRepository detectedObjectRepository;
+    private final PerspectiveTrainingWatermarkRepository watermarkRepository;
+    private final long minNewSamples;
+    private final double newSampleRatio;
+    private final double driftThreshold;
+
+    public PerspectiveTrainingPlanner(
+            CameraRegistry cameraRegistry,
+            DetectedObjectRepository detectedObjectRepository,
+            PerspectiveTrainingWatermarkRepository watermarkRepository,
+            @Value("${camera.scheduler.training.min-new-samples:500}") long minNewSamples,
+            @Value("${camera.scheduler.training.new-sample-ratio:0.2}") double newSampleRatio,
+            @Value("${camera.scheduler.training.drift-threshold:0.5}") double driftThreshold) {
+        this.cameraRegistry = cameraRegistry;
+        this.detectedObjectRepository = detectedObjectRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.minNewSamples = Math.max(1, minNewSamples);
+        this.newSampleRatio = newSampleRatio;
+        this.driftThreshold = driftThreshold;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PerspectiveTrainingCandidate> findCamerasToRetrain() {
+        Map<Long, Camera> cameras = cameraRegistry.entries().stream()
+            .collect(Collectors.toMap(RegisteredCamera::id, RegisteredCamera::camera));
+        if (cameras.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PerspectiveTrainingWatermark> watermarks = watermarkRepository.findAllById(cameras.keySet()).stream()
+            .collect(Collectors.toMap(PerspectiveTrainingWatermark::getCameraId, Function.identity()));
+
+        List<PerspectiveTrainingCandidate> candidates = new ArrayList<>();
+        for (Camera camera : cameras.values()) {
+            PerspectiveTrainingWatermark watermark = watermarks.get(camera.getId());
+            detectedObjectRepository.summarizeDetectionsAfterWatermark(camera.getId(), readFrom(watermark),
+                    watermark != null ? watermark.getLastDetectedObjectId() : 0L)
+                .flatMap(summary -> evaluate(camera, watermark, summary))
+                .ifPresent(candidates::add);
+        }
+        return candidates;
+    }
+
+    /**
+     * Moves the camera's watermark past the samples it was just trained on.
+     *
+     * @param retainedSamples samples left for the camera after pruning
+     */
+    @Transactional
+    public void markTrained(PerspectiveTrainingCandidate candidate, long retainedSamples, LocalDateTime trainedAt) {
+        BoxDistribution trained = candidate.newSampleDistribution();
+        if (candidate.trainedDistribution() != null) {
+            long retainedOldSamples = Math.max(0, retainedSamples - candidate.newSamples());
+            trained = candidate.trainedDistribution().withCount(retainedOldSamples).merge(trained);
+        }
+        watermarkRepository.save(PerspectiveTrainingWatermark.builder()
+            .cameraId(candidate.camera().getId())
+            .trainedAt(trainedAt)
+            .lastDetectedObjectId(candidate.highWaterObjectId())
+            .lastLogTimestamp(candidate.highWaterLogTimestamp())
+            .sampleCount(retainedSamples)
+            .meanCenterX(trained.meanCenterX())
+            .meanCenterY(trained.meanCenterY())
+            .meanBoxHeight(trained.meanBoxHeight())
+            .varianceCenterX(trained.varianceCenterX())
+            .varianceCenterY(trained.varianceCenterY())
+            .varianceBoxHeight(trained.varianceBoxHeight())
+            .build());
+    }
+
+    /**
+     * Where to start reading the camera's logs: a little before the newest log it was trained on, so that a log
+     * committed late with an earlier timestamp is still seen, or its whole history if that log is unknown.
+     */
+    private static LocalDateTime readFrom(PerspectiveTrainingWatermark watermark) {
+        if (watermark == null || watermark.getLastLogTimestamp() == null) {
+            return HISTORY_START;
+        }
+        return watermark.getLastLogTimestamp().minus(LATE_LOG_GRACE);
+    }
+
+    private Optional<PerspectiveTrainingCandidate> evaluate(
+            Camera camera,
+            PerspectiveTrainingWatermark watermark,
+            NewDetectionSummary summary) {
+        long newSamples = summary.getSampleCount();
+        if (newSamples < minNewSamples) {
+            return Optional.empty();
+        }
+        BoxDistribution newDistribution = BoxDistribution.of(summary);
+        if (watermark == null) {
+            return Optional.of(new PerspectiveTrainingCandidate(camera, 0, newSamples, summary.getMaxObjectId(),
+                summary.getMaxLogTimestamp(), newDistribution, null, 0.0, Reason.FIRST_TRAINING));
+        }
+
+        BoxDistribution trainedDistribution = BoxDistribution.of(watermark);
+        double drift = newDistribution.driftFrom(trainedDistribution);
+        Reason reason;
+        if (newSamples >= newSampleRatio * watermark.getSampleCount()) {
+            reason = Reason.NEW_SAMPLES;
+        } else if (drift >= driftThreshold) {
+            reason = Reason.DISTRIBUTION_DRIFT;
+        } else {
+            log.debug("[PerspectivePlan] Camera {} has {} new samples (drift {}); retraining not needed.",
+                camera.getId(), newSamples, String.format("%.2f", drift));
+            return Optional.empty();
+        }
+        return Optional.of(new PerspectiveTrainingCandidate(camera, watermark.getSampleCount(), newSamples,
+            summary.getMaxObjectId(), summary.getMaxLogTimestamp(), newDistribution, trainedDistribution, drift, reason));
+    }
+}
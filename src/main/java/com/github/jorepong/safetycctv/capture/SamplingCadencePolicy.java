@@ -0,0 +1,22 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Duration;
+
+/**
+ * Decides how long the capture scheduler waits before analyzing a camera again.
+ * The policy in use is chosen only through {@code camera.scheduler.cadence.policy}.
+ */
+public interface SamplingCadencePolicy {
+
+    /**
+     * @param camera the camera whose analysis just completed
+     * @return the interval until the camera's next analysis
+     */
+    Duration nextInterval(Camera camera);
+
+    /**
+     * Short identifier shown in the schedule API.
+     */
+    String name();
+}
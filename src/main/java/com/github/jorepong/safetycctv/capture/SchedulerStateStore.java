@@ -0,0 +1,130 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.entity.Camera;
+import com.github.jorepong.safetycctv.entity.CameraScheduleState;
+import com.github.jorepong.safetycctv.entity.SchedulerCheckpoint;
+import com.github.jorepong.safetycctv.repository.CameraScheduleStateRepository;
+import com.github.jorepong.safetycctv.repository.SchedulerCheckpointRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Persists the capture scheduler's state so that a restart resumes where the fleet actually is: each camera's last
+ * analysis, next due time, cadence interval and circuit breaker, plus named checkpoints such as the last training run.
+ * <p>
+ * Saving loads the existing rows with one query and lets dirty checking write only the rows that changed; an unchanged
+ * row keeps its {@code savedAt}, which therefore tells when the camera's state last changed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulerStateStore {
+
+    public static final String PERSPECTIVE_TRAINING = "perspective-training";
+
+    private final CameraScheduleStateRepository cameraStateRepository;
+    private final CameraRegistry cameraRegistry;
+    private final SchedulerCheckpointRepository checkpointRepository;
+
+    /**
+     * Restores the persisted camera timing into {@code engine} and the camera breakers into {@code circuitBreakers}.
+     */
+    @Transactional(readOnly = true)
+    public void restore(CaptureDispatchEngine engine, CaptureCircuitBreakers circuitBreakers) {
+        apply(engine, circuitBreakers, cameraStateRepository.findAll());
+    }
+
+    /**
+     * Like {@link #restore(CaptureDispatchEngine, CaptureCircuitBreakers)}, limited to the given cameras, e.g. the
+     * ones this node just took over from another node.
+     */
+    @Transactional(readOnly = true)
+    public void restore(CaptureDispatchEngine engine, CaptureCircuitBreakers circuitBreakers, List<Long> cameraIds) {
+        apply(engine, circuitBreakers, cameraStateRepository.findAllById(cameraIds));
+    }
+
+    private void apply(
+            CaptureDispatchEngine engine,
+            CaptureCircuitBreakers circuitBreakers,
+            List<CameraScheduleState> states) {
+        engine.restore(states.stream()
+                .map(state -> new CameraCheckpoint(
+                        state.getCameraId(),
+                        state.getLastAnalyzedAt(),
+                        state.getNextDueAt(),
+                        Duration.ofMillis(state.getIntervalMillis())))
+                .toList());
+        states.forEach(state -> circuitBreakers.forCamera(state.getCameraId()).restore(new BreakerCheckpoint(
+                state.getBreakerState(),
+                state.getBreakerConsecutiveFailures(),
+                state.getBreakerConsecutiveOpens(),
+                state.getBreakerOpenUntil())));
+        log.info("[SchedulerState] 카메라 {}대의 스케줄 상태를 복원했습니다.", states.size());
+    }
+
+    @Transactional
+    public void save(List<CameraCheckpoint> checkpoints, CaptureCircuitBreakers circuitBreakers, Instant now) {
+        if (checkpoints.isEmpty()) {
+            return;
+        }
+        Set<Long> cameraIds = checkpoints.stream().map(CameraCheckpoint::cameraId).collect(Collectors.toSet());
+        Map<Long, CameraScheduleState> existing = cameraStateRepository.findAllById(cameraIds).stream()
+                .collect(Collectors.toMap(CameraScheduleState::getCameraId, Function.identity()));
+        for (CameraCheckpoint checkpoint : checkpoints) {
+            BreakerCheckpoint breaker = circuitBreakers.forCamera(checkpoint.cameraId()).checkpoint();
+            CameraScheduleState state = existing.get(checkpoint.cameraId());
+            boolean isNew = state == null;
+            if (isNew) {
+                state = new CameraScheduleState();
+                state.setCameraId(checkpoint.cameraId());
+            } else if (matches(state, checkpoint, breaker)) {
+                continue;
+            }
+            state.setLastAnalyzedAt(checkpoint.lastAnalyzedAt());
+            state.setNextDueAt(checkpoint.nextDueAt());
+            state.setIntervalMillis(checkpoint.interval().toMillis());
+            state.setBreakerState(breaker.state());
+            state.setBreakerConsecutiveFailures(breaker.consecutiveFailures());
+            state.setBreakerConsecutiveOpens(breaker.consecutiveOpens());
+            state.setBreakerOpenUntil(breaker.openUntil());
+            state.setSavedAt(now);
+            if (isNew) {
+                cameraStateRepository.save(state);
+            }
+        }
+        // Other nodes persist the cameras they own; only the rows of deleted cameras are dropped.
+        cameraStateRepository.deleteByCameraIdNotIn(cameraRegistry.cameras().stream().map(Camera::getId).toList());
+    }
+
+    private static boolean matches(CameraScheduleState state, CameraCheckpoint checkpoint, BreakerCheckpoint breaker) {
+        return Objects.equals(state.getLastAnalyzedAt(), checkpoint.lastAnalyzedAt())
+                && Objects.equals(state.getNextDueAt(), checkpoint.nextDueAt())
+                && state.getIntervalMillis() == checkpoint.interval().toMillis()
+                && state.getBreakerState() == breaker.state()
+                && state.getBreakerConsecutiveFailures() == breaker.consecutiveFailures()
+                && state.getBreakerConsecutiveOpens() == breaker.consecutiveOpens()
+                && Objects.equals(state.getBreakerOpenUntil(), breaker.openUntil());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Instant> checkpoint(String name) {
+        return checkpointRepository.findById(name).map(SchedulerCheckpoint::getOccurredAt);
+    }
+
+    @Transactional
+    public void recordCheckpoint(String name, Instant occurredAt) {
+        checkpointRepository.save(new SchedulerCheckpoint(name, occurredAt));
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.jorepong.safetycctv.capture;
+
+import java.time.Duration;
+
+/**
+ * Workload and AI server model of one {@link CaptureSimulator} run.
+ *
+ * @param serverCount       number of AI servers; cameras are spread evenly across them
+ * @param serverParallelism requests one AI server processes at the same time; further requests queue on the server
+ * @param requestOverhead   fixed cost of every request, paid before the first camera is processed
+ * @param perCameraLatency  processing time of each camera in a request; cameras of a batch are processed one by one
+ * @param requestErrorRate  fraction of requests that fail with a server error after the request overhead
+ * @param cameraErrorRate   fraction of cameras answered with an {@code ERROR} status
+ * @param seed              seed of every random decision, so a scenario always yields the same report
+ */
+public record SimulationScenario(
+    int cameraCount,
+    Duration duration,
+    int serverCount,
+    int serverParallelism,
+    Duration requestOverhead,
+    LatencyHistogram perCameraLatency,
+    double requestErrorRate,
+    double cameraErrorRate,
+    long seed
+) {
+
+    public SimulationScenario {
+        if (cameraCount < 1 || serverCount < 1 || serverParallelism < 1) {
+            throw new IllegalArgumentException("Camera count, server count and server parallelism must be positive");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Simulated duration must be positive");
+        }
+        if (requestErrorRate < 0.0 || requestErrorRate > 1.0 || cameraErrorRate < 0.0 || cameraErrorRate > 1.0) {
+            throw new IllegalArgumentException("Error rates must be between 0 and 1");
+        }
+    }
+}
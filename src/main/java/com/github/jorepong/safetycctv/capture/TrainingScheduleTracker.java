@@ -11,7 +11,7 @@ public class TrainingScheduleTracker {
     private LocalDateTime nextTrainingTime;
 
     public TrainingScheduleTracker() {
-        // Initialize with the initial delay of the scheduler (10 minutes)
+        // First start without a persisted training run: train after an initial delay of 10 minutes
         this.nextTrainingTime = LocalDateTime.now().plusMinutes(10);
     }
 
@@ -0,0 +1,9 @@
+package com.github.jorepong.safetycctv.capture;
+
+public enum TrainingState {
+    QUEUED,   // Waiting for a free training slot.
+    RUNNING,  // The training request was sent.
+    DONE,     // The AI server trained the camera's perspective map.
+    SKIPPED,  // The AI server declined, e.g. not enough usable samples.
+    FAILED    // The request failed; the camera is picked up again by the next run.
+}
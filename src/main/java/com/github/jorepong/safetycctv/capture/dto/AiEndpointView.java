@@ -0,0 +1,23 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import com.github.jorepong.safetycctv.capture.CircuitBreakerState;
+
+/**
+ * Routing state and statistics of one AI analysis server. The smoothed latency is per request; the p95 is per camera
+ * and stays null until enough requests succeeded.
+ */
+public record AiEndpointView(
+    String baseUrl,
+    CircuitBreakerState state,
+    boolean available,
+    boolean batchSupported,
+    int outstandingRequests,
+    int assignedCameras,
+    long completedRequests,
+    long failedRequests,
+    long analyzedCameras,
+    int camerasLastMinute,
+    double smoothedLatencyMillis,
+    Double p95PerCameraLatencyMillis
+) {
+}
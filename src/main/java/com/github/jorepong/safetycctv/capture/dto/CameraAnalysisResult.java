@@ -0,0 +1,21 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import com.github.jorepong.safetycctv.capture.AnalysisErrorKind;
+import com.github.jorepong.safetycctv.capture.AnalysisOutcome;
+import com.github.jorepong.safetycctv.entity.Camera;
+
+/**
+ * Outcome of analyzing one camera, with the AI server's response if there was one and the kind of error if the
+ * analysis did not succeed.
+ */
+public record CameraAnalysisResult(
+    Camera camera,
+    AnalysisOutcome outcome,
+    AiAnalysisResponse response,
+    AnalysisErrorKind errorKind
+) {
+
+    public static CameraAnalysisResult failed(Camera camera, AnalysisOutcome outcome, AnalysisErrorKind errorKind) {
+        return new CameraAnalysisResult(camera, outcome, null, errorKind);
+    }
+}
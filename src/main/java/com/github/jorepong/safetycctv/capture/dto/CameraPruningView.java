@@ -0,0 +1,17 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pruning progress of one camera's perspective training data: objects before the cutoff are being deleted and the
+ * current pass has reached {@code prunedThrough}.
+ */
+public record CameraPruningView(
+    Long cameraId,
+    LocalDateTime cutoffTimestamp,
+    LocalDateTime prunedThrough,
+    boolean passComplete,
+    long deletedObjects,
+    LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,18 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dispatch state of one camera, including how far it is behind its target cadence.
+ */
+public record CameraScheduleView(
+    Long cameraId,
+    String cameraName,
+    long targetIntervalMillis,
+    LocalDateTime lastAnalyzedAt,
+    LocalDateTime nextDueAt,
+    boolean inFlight,
+    long behindMillis,
+    Long stalenessMillis
+) {
+}
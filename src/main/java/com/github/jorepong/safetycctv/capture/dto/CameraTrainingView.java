@@ -0,0 +1,24 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import com.github.jorepong.safetycctv.capture.PerspectiveTrainingCandidate;
+import com.github.jorepong.safetycctv.capture.TrainingState;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a camera's latest perspective-map training. {@code samplesUsed} is reported by the AI server for trained
+ * cameras, {@code samplesAvailable} for skipped ones; {@code message} holds the skip reason or the error.
+ */
+public record CameraTrainingView(
+    Long cameraId,
+    String cameraName,
+    TrainingState state,
+    PerspectiveTrainingCandidate.Reason reason,
+    long newSamples,
+    Integer samplesUsed,
+    Integer samplesAvailable,
+    String message,
+    LocalDateTime queuedAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt
+) {
+}
@@ -0,0 +1,14 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import java.util.List;
+
+public record CaptureScheduleStatusPayload(
+    String cadencePolicy,
+    int concurrencyLimit,
+    int inFlightRequests,
+    double smoothedLatencyMillis,
+    double baselineLatencyMillis,
+    long maxBehindMillis,
+    List<CameraScheduleView> cameras
+) {
+}
@@ -0,0 +1,10 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import java.util.List;
+
+public record CircuitBreakerStatusPayload(
+    List<CircuitBreakerView> servers,
+    List<Long> skippedCameraIds,
+    List<CircuitBreakerView> cameras
+) {
+}
@@ -0,0 +1,17 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import com.github.jorepong.safetycctv.capture.CircuitBreakerState;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Current state of a circuit breaker and how often it entered each state.
+ */
+public record CircuitBreakerView(
+    String name,
+    CircuitBreakerState state,
+    int consecutiveFailures,
+    LocalDateTime openUntil,
+    Map<CircuitBreakerState, Long> transitionCounts
+) {
+}
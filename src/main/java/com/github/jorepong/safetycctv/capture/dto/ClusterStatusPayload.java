@@ -0,0 +1,19 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This node's view of cluster-aware capture scheduling. With clustering disabled the node owns every shard and is
+ * always the leader.
+ */
+public record ClusterStatusPayload(
+    boolean enabled,
+    String nodeId,
+    boolean leader,
+    List<String> liveNodes,
+    int shardCount,
+    List<Integer> ownedShards,
+    LocalDateTime leasesValidUntil
+) {
+}
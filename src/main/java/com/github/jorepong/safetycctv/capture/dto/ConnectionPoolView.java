@@ -0,0 +1,16 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+/**
+ * Connection pool state towards one AI server address.
+ */
+public record ConnectionPoolView(
+    String poolName,
+    String remoteAddress,
+    int acquiredConnections,
+    int idleConnections,
+    int allocatedConnections,
+    int pendingAcquires,
+    int maxConnections,
+    int maxPendingAcquires
+) {
+}
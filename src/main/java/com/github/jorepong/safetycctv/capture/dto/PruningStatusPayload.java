@@ -0,0 +1,18 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import java.util.List;
+
+/**
+ * State of the background pruning of perspective training data. Chunks are only deleted on the leader and inside
+ * the off-peak window; {@code deletedObjects} counts every camera over all passes.
+ */
+public record PruningStatusPayload(
+    boolean active,
+    int offPeakStartHour,
+    int offPeakEndHour,
+    int maxDataPointsPerCamera,
+    int chunkSize,
+    long deletedObjects,
+    List<CameraPruningView> cameras
+) {
+}
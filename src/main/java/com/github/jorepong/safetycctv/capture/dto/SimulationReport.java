@@ -0,0 +1,28 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+/**
+ * Outcome of a capture simulation. The achievable refresh interval is what an even share of the observed throughput
+ * gives every camera (never below the target); the percentiles are the observed gaps between two successful analyses
+ * of the same camera. Worst-case staleness also counts cameras still waiting at the end of the run. The initial sweep
+ * is null if not every camera was analyzed at least once.
+ */
+public record SimulationReport(
+    int cameraCount,
+    long simulatedSeconds,
+    long targetIntervalMillis,
+    double requiredAnalysesPerSecond,
+    double analysesPerSecond,
+    long achievableRefreshIntervalMillis,
+    long p50RefreshIntervalMillis,
+    long p95RefreshIntervalMillis,
+    long p99RefreshIntervalMillis,
+    long worstStalenessMillis,
+    Long initialSweepMillis,
+    long requests,
+    long timedOutRequests,
+    long cameraErrors,
+    long serverErrors,
+    double averageConcurrencyLimit,
+    long wallClockMillis
+) {
+}
@@ -0,0 +1,14 @@
+package com.github.jorepong.safetycctv.capture.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record TrainingStatusPayload(
+    LocalDateTime nextTrainingTime,
+    LocalDateTime lastRunStartedAt,
+    int maxConcurrency,
+    long queuedCameras,
+    long runningCameras,
+    List<CameraTrainingView> cameras
+) {
+}
@@ -0,0 +1,70 @@
+package com.github.jorepong.safetycctv.config;
+
+import com.github.jorepong.safetycctv.capture.AiConnectionPoolMetrics;
+import com.github.jorepong.safetycctv.capture.DensityAdaptiveCadencePolicy;
+import com.github.jorepong.safetycctv.capture.FixedCadencePolicy;
+import com.github.jorepong.safetycctv.capture.SamplingCadencePolicy;
+import com.github.jorepong.safetycctv.repository.AnalysisLogRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+public class CaptureConfig {
+
+    /**
+     * The cadence policy selected by {@code camera.scheduler.cadence.policy}; that property is the only way to swap it.
+     */
+    @Bean
+    public SamplingCadencePolicy samplingCadencePolicy(
+            AnalysisLogRepository analysisLogRepository,
+            @Value("${camera.scheduler.cadence.policy:density-adaptive}") String policy,
+            @Value("${camera.scheduler.target-interval-seconds:5}") long targetIntervalSeconds,
+            @Value("${camera.scheduler.cadence.fast-interval-seconds:1}") long fastIntervalSeconds,
+            @Value("${camera.scheduler.cadence.quiet-interval-seconds:30}") long quietIntervalSeconds,
+            @Value("${camera.scheduler.cadence.rising-velocity-per-minute:0.01}") double risingVelocityPerMinute) {
+        Duration targetInterval = Duration.ofSeconds(targetIntervalSeconds);
+        if ("fixed".equalsIgnoreCase(policy)) {
+            return new FixedCadencePolicy(targetInterval);
+        }
+        if (!"density-adaptive".equalsIgnoreCase(policy)) {
+            throw new IllegalArgumentException("Unknown camera.scheduler.cadence.policy: " + policy);
+        }
+        Duration quietInterval = Duration.ofSeconds(quietIntervalSeconds);
+        Clock clock = Clock.systemDefaultZone();
+        // The policy ignores readings older than two quiet intervals, so only the newest partitions are searched.
+        return new DensityAdaptiveCadencePolicy(
+                Duration.ofSeconds(fastIntervalSeconds),
+                targetInterval,
+                quietInterval,
+                risingVelocityPerMinute,
+                cameraId -> analysisLogRepository.findFirstByCameraIdAndTimestampAfterOrderByTimestampDesc(
+                        cameraId, LocalDateTime.now(clock).minus(quietInterval.multipliedBy(2))),
+                clock);
+    }
+
+    /**
+     * Dedicated connection pool for the AI servers, so that analysis traffic has its own limits and keep-alive
+     * settings and its pool metrics can be inspected.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider aiConnectionProvider(
+            AiConnectionPoolMetrics poolMetrics,
+            @Value("${ai.server.http.max-connections:64}") int maxConnections,
+            @Value("${ai.server.http.pending-acquire-timeout-millis:2000}") long pendingAcquireTimeoutMillis,
+            @Value("${ai.server.http.max-idle-seconds:30}") long maxIdleSeconds,
+            @Value("${ai.server.http.max-life-seconds:300}") long maxLifeSeconds) {
+        return ConnectionProvider.builder("ai-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeSeconds))
+                .evictInBackground(Duration.ofSeconds(maxIdleSeconds))
+                .metrics(true, () -> poolMetrics)
+                .build();
+    }
+}
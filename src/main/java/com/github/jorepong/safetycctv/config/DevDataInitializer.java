@@ -1,10 +1,12 @@
 package com.github.jorepong.safetycctv.config;
 
+import com.github.jorepong.safetycctv.camera.CameraChangedEvent;
 import com.github.jorepong.safetycctv.camera.CameraRepository;
 import com.github.jorepong.safetycctv.camera.CameraStatus;
 import com.github.jorepong.safetycctv.camera.StreamType;
 import com.github.jorepong.safetycctv.entity.Camera;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -16,7 +18,7 @@ import java.time.LocalDateTime;
 public class DevDataInitializer {
 
     @Bean
-    public CommandLineRunner initDevData(CameraRepository cameraRepository) {
+    public CommandLineRunner initDevData(CameraRepository cameraRepository, ApplicationEventPublisher eventPublisher) {
         return args -> {
             // Insert data only if the table is empty
             if (cameraRepository.count() == 0) {
@@ -31,7 +33,7 @@ public class DevDataInitializer {
                 camera.setLatitude(37.56714);
                 camera.setLongitude(126.981165);
 
-                cameraRepository.save(camera);
+                eventPublisher.publishEvent(CameraChangedEvent.saved(cameraRepository.save(camera)));
                 System.out.println("Development camera data inserted.");
             } else {
                 System.out.println("Development camera data already exists.");
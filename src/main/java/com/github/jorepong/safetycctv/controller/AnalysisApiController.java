@@ -1,10 +1,13 @@
 package com.github.jorepong.safetycctv.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.jorepong.safetycctv.alert.AlertService;
 import com.github.jorepong.safetycctv.alert.AlertTrend;
 import com.github.jorepong.safetycctv.alert.dto.AlertHistoryQuery;
 import com.github.jorepong.safetycctv.alert.dto.AlertHistoryResponse;
 import com.github.jorepong.safetycctv.alert.dto.RecentAlertPayload;
+import com.github.jorepong.safetycctv.analysis.AnalysisIngestService;
 import com.github.jorepong.safetycctv.analysis.AnalysisInsightsService;
 import com.github.jorepong.safetycctv.analysis.CameraAnalyticsSummary;
 import com.github.jorepong.safetycctv.analysis.StageAlertView;
@@ -16,28 +19,41 @@ import com.github.jorepong.safetycctv.dashboard.DashboardSummary;
 import com.github.jorepong.safetycctv.entity.AnalysisLog;
 import com.github.jorepong.safetycctv.entity.Camera;
 import com.github.jorepong.safetycctv.repository.AnalysisLogRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
 public class AnalysisApiController {
 
+    private static final int DENSITY_HISTORY_FLUSH_POINTS = 1000;
+
     private final AnalysisLogRepository analysisLogRepository;
     private final AnalysisInsightsService analysisInsightsService;
     private final CameraService cameraService;
     private final AlertService alertService;
+    private final AnalysisIngestService analysisIngestService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/cameras/statistics")
     public ResponseEntity<List<CameraStatisticsPayload>> getCameraStatistics(
@@ -58,13 +74,33 @@ public class AnalysisApiController {
         return ResponseEntity.ok(heatmapData);
     }
 
+    /**
+     * Writes the density history as a JSON array while it is read, so the heap use does not grow with the range and
+     * the first points reach the browser before the last ones are loaded.
+     */
     @GetMapping("/cameras/{cameraId}/density-history")
-    public ResponseEntity<List<DensityPointPayload>> getDensityHistory(
+    public ResponseEntity<StreamingResponseBody> getDensityHistory(
             @PathVariable Long cameraId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
-        List<DensityPointPayload> history = analysisInsightsService.getDensityHistory(cameraId, start, end);
-        return ResponseEntity.ok(history);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                int[] written = {0};
+                analysisInsightsService.streamDensityHistory(cameraId, start, end, point -> {
+                    try {
+                        generator.writeObject(point);
+                        if (++written[0] % DENSITY_HISTORY_FLUSH_POINTS == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/cameras/analytics-summary")
@@ -123,6 +159,23 @@ public class AnalysisApiController {
         return ResponseEntity.ok(payload);
     }
 
+    /**
+     * Accepts a batch of analysis results from the AI server. Retrying with the same {@code Idempotency-Key} is safe:
+     * the batch is stored once and later attempts are answered with {@code duplicate=true}.
+     */
+    @PostMapping("/analysis-logs/batch")
+    public ResponseEntity<AnalysisIngestResponse> ingestAnalysisLogs(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestBody List<AnalysisResultPayload> results) {
+        AnalysisIngestResponse response;
+        try {
+            response = analysisIngestService.ingest(idempotencyKey, results);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return ResponseEntity.status(response.duplicate() ? HttpStatus.OK : HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/analysis-logs/{logId}/details")
     public ResponseEntity<AnalysisLogDetailPayload> getAnalysisLogDetails(@PathVariable Long logId) {
         return analysisInsightsService.getLogDetails(logId)
@@ -164,10 +217,7 @@ public class AnalysisApiController {
     @GetMapping("/dashboard/summary")
     public ResponseEntity<DashboardSummary> getDashboardSummary() {
         List<Camera> allCameras = cameraService.fetchAll();
-        List<DashboardCameraView> streamingCameras = allCameras.stream()
-                .map(DashboardCameraView::from)
-                .flatMap(Optional::stream)
-                .toList();
+        List<DashboardCameraView> streamingCameras = cameraService.fetchYoutubeCameras();
         Map<Long, CameraAnalyticsSummary> summaries = analysisInsightsService.summarizeCameras(allCameras);
         DashboardSummary baseSummary = analysisInsightsService.buildDashboardSummary(allCameras, streamingCameras,
                 summaries);
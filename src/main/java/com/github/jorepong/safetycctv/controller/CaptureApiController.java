@@ -0,0 +1,126 @@
+package com.github.jorepong.safetycctv.controller;
+
+import com.github.jorepong.safetycctv.capture.AiConnectionPoolMetrics;
+import com.github.jorepong.safetycctv.capture.CaptureScheduler;
+import com.github.jorepong.safetycctv.capture.CaptureSimulator;
+import com.github.jorepong.safetycctv.capture.ClusterCoordinator;
+import com.github.jorepong.safetycctv.capture.LatencyHistogram;
+import com.github.jorepong.safetycctv.capture.PerspectiveTrainingDataPruner;
+import com.github.jorepong.safetycctv.capture.PerspectiveTrainingOrchestrator;
+import com.github.jorepong.safetycctv.capture.SimulationScenario;
+import com.github.jorepong.safetycctv.capture.dto.AiEndpointView;
+import com.github.jorepong.safetycctv.capture.dto.CaptureScheduleStatusPayload;
+import com.github.jorepong.safetycctv.capture.dto.CircuitBreakerStatusPayload;
+import com.github.jorepong.safetycctv.capture.dto.ClusterStatusPayload;
+import com.github.jorepong.safetycctv.capture.dto.ConnectionPoolView;
+import com.github.jorepong.safetycctv.capture.dto.PruningStatusPayload;
+import com.github.jorepong.safetycctv.capture.dto.SimulationReport;
+import com.github.jorepong.safetycctv.capture.dto.TrainingStatusPayload;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/capture")
+@RequiredArgsConstructor
+public class CaptureApiController {
+
+    // Keeps one simulation to a few seconds of CPU: events grow with cameras x minutes, dispatch ticks with minutes.
+    private static final int MAX_SIMULATED_CAMERAS = 10_000;
+    private static final long MAX_SIMULATED_MINUTES = 8 * 60;
+    private static final long MAX_SIMULATED_CAMERA_MINUTES = 120_000;
+    private static final int MAX_SIMULATED_SERVERS = 64;
+    private static final int MAX_SIMULATED_PARALLELISM = 64;
+
+    private final CaptureScheduler captureScheduler;
+    private final AiConnectionPoolMetrics connectionPoolMetrics;
+    private final PerspectiveTrainingOrchestrator trainingOrchestrator;
+    private final PerspectiveTrainingDataPruner trainingDataPruner;
+    private final ClusterCoordinator clusterCoordinator;
+    private final CaptureSimulator captureSimulator;
+    private final Semaphore simulationPermit = new Semaphore(1);
+
+    @GetMapping("/schedule")
+    public ResponseEntity<CaptureScheduleStatusPayload> getSchedule() {
+        return ResponseEntity.ok(captureScheduler.scheduleStatus());
+    }
+
+    @GetMapping("/breakers")
+    public ResponseEntity<CircuitBreakerStatusPayload> getCircuitBreakers() {
+        return ResponseEntity.ok(captureScheduler.circuitBreakerStatus());
+    }
+
+    @GetMapping("/endpoints")
+    public ResponseEntity<List<AiEndpointView>> getEndpoints() {
+        return ResponseEntity.ok(captureScheduler.endpointStatus());
+    }
+
+    @GetMapping("/connection-pools")
+    public ResponseEntity<List<ConnectionPoolView>> getConnectionPools() {
+        return ResponseEntity.ok(connectionPoolMetrics.snapshot());
+    }
+
+    @GetMapping("/training")
+    public ResponseEntity<TrainingStatusPayload> getTraining() {
+        return ResponseEntity.ok(trainingOrchestrator.status());
+    }
+
+    @GetMapping("/pruning")
+    public ResponseEntity<PruningStatusPayload> getPruning() {
+        return ResponseEntity.ok(trainingDataPruner.status());
+    }
+
+    @GetMapping("/cluster")
+    public ResponseEntity<ClusterStatusPayload> getCluster() {
+        return ResponseEntity.ok(clusterCoordinator.status());
+    }
+
+    /**
+     * Simulates the capture scheduler with the configured settings on a virtual clock. {@code latency} is the
+     * per-camera latency histogram in milliseconds, e.g. {@code 20:0.2,50:0.6,200:0.2}. Runs on the request thread, one
+     * simulation at a time; a request arriving while another one runs is answered with 429.
+     */
+    @GetMapping("/simulation")
+    public ResponseEntity<SimulationReport> simulate(
+            @RequestParam(value = "cameras", defaultValue = "100") int cameras,
+            @RequestParam(value = "minutes", defaultValue = "60") long minutes,
+            @RequestParam(value = "servers", defaultValue = "1") int servers,
+            @RequestParam(value = "parallelism", defaultValue = "1") int parallelism,
+            @RequestParam(value = "overheadMillis", defaultValue = "50") long overheadMillis,
+            @RequestParam(value = "latency", defaultValue = "100:1") String latency,
+            @RequestParam(value = "requestErrorRate", defaultValue = "0") double requestErrorRate,
+            @RequestParam(value = "cameraErrorRate", defaultValue = "0") double cameraErrorRate,
+            @RequestParam(value = "seed", defaultValue = "1") long seed) {
+        if (cameras > MAX_SIMULATED_CAMERAS
+                || minutes > MAX_SIMULATED_MINUTES
+                || (long) cameras * minutes > MAX_SIMULATED_CAMERA_MINUTES
+                || servers > MAX_SIMULATED_SERVERS
+                || parallelism > MAX_SIMULATED_PARALLELISM
+                || overheadMillis < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        SimulationScenario scenario;
+        try {
+            scenario = new SimulationScenario(cameras, Duration.ofMinutes(minutes), servers, parallelism,
+                    Duration.ofMillis(overheadMillis), LatencyHistogram.parse(latency), requestErrorRate,
+                    cameraErrorRate, seed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!simulationPermit.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        try {
+            return ResponseEntity.ok(captureSimulator.run(scenario));
+        } finally {
+            simulationPermit.release();
+        }
+    }
+}
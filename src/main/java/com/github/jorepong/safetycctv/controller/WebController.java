@@ -7,8 +7,9 @@ import com.github.jorepong.safetycctv.analysis.CameraAnalyticsSummary;
 import com.github.jorepong.safetycctv.analysis.CongestionLevel;
 import com.github.jorepong.safetycctv.analysis.dto.AnalysisCameraPayload;
 import com.github.jorepong.safetycctv.camera.CameraListView;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
 import com.github.jorepong.safetycctv.camera.CameraService;
-import com.github.jorepong.safetycctv.capture.CaptureScheduler;
+import com.github.jorepong.safetycctv.capture.PerspectiveTrainingOrchestrator;
 import com.github.jorepong.safetycctv.capture.TrainingScheduleTracker;
 import com.github.jorepong.safetycctv.dashboard.DashboardCameraView;
 import com.github.jorepong.safetycctv.dashboard.DashboardSidebarCamera;
@@ -39,11 +40,12 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class WebController {
 
     private final CameraService cameraService;
+    private final CameraRegistry cameraRegistry;
     private final AnalysisLogRepository analysisLogRepository;
     private final AnalysisInsightsService analysisInsightsService;
     private final AlertService alertService;
     private final TrainingScheduleTracker trainingScheduleTracker;
-    private final CaptureScheduler captureScheduler;
+    private final PerspectiveTrainingOrchestrator trainingOrchestrator;
 
     @Value("${naver.map.client-id:}")
     private String naverMapClientId;
@@ -56,11 +58,8 @@ public class WebController {
         // 1. Fetch all cameras once
         List<Camera> allCameras = cameraService.fetchAll();
 
-        // 2. Derive streaming cameras from the main list
-        List<DashboardCameraView> streamingCameras = allCameras.stream()
-            .map(DashboardCameraView::from)
-            .flatMap(Optional::stream)
-            .toList();
+        // 2. Streaming cameras with their embed URLs, resolved once by the registry
+        List<DashboardCameraView> streamingCameras = cameraService.fetchYoutubeCameras();
 
         // 3. Find the primary camera to display
         DashboardCameraView primaryCamera = streamingCameras.stream()
@@ -93,16 +92,14 @@ public class WebController {
         );
 
         // 7. Create sidebar camera list with analytics data
-        List<DashboardSidebarCamera> sidebarCameras = allCameras.stream()
-            .map(camera -> {
+        List<DashboardSidebarCamera> sidebarCameras = cameraRegistry.entries().stream()
+            .map(entry -> {
+                Camera camera = entry.camera();
                 CameraAnalyticsSummary summary = analyticsSummaryMap.get(camera.getId());
-                String location = camera.getAddress() != null && !camera.getAddress().isBlank()
-                    ? camera.getAddress()
-                    : camera.getLocationZone();
                 return new DashboardSidebarCamera(
                     camera.getId(),
                     camera.getName(),
-                    location,
+                    entry.location(),
                     summary != null ? summary.level() : CongestionLevel.NO_DATA,
                     camera.getTrainingStatus()
                 );
@@ -222,8 +219,10 @@ public class WebController {
 
     @GetMapping("/debug/train-perspective-map")
     public String triggerTrainingManually(RedirectAttributes redirectAttributes) {
-        captureScheduler.triggerPerspectiveMapTraining();
-        redirectAttributes.addFlashAttribute("toastMessage", "원근 맵 학습을 시작했습니다. 결과는 잠시 후 로그를 확인하세요.");
+        int queuedCameras = trainingOrchestrator.startRun();
+        redirectAttributes.addFlashAttribute("toastMessage", queuedCameras > 0
+            ? "카메라 " + queuedCameras + "대의 원근 맵 학습을 시작했습니다. 진행 상황은 /api/v1/capture/training에서 확인하세요."
+            : "새로 학습할 카메라가 없습니다.");
         return "redirect:/";
     }
 }
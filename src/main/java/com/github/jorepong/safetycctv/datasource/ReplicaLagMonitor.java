@@ -0,0 +1,104 @@
+package com.github.jorepong.safetycctv.datasource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Measures how far the read replica is behind the primary with this node's {@code replication_heartbeat} row. Each
+ * beat first reads the row from the replica: if it still holds an older time than the one this node wrote at the
+ * previous beat, the replica is behind by at least the age of what it holds, otherwise it has caught up. Then the
+ * current time is written to the primary. Rows are keyed by node id so that a node never mistakes another node's
+ * newer beat for its own. The replica is usable while its lag is known and within {@code maxLag}; an unreachable
+ * replica, or one that has not received this node's row yet, has no known lag.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String READ_BEAT = "SELECT beat_at FROM replication_heartbeat WHERE node_id = ?";
+    private static final String WRITE_BEAT = """
+            INSERT INTO replication_heartbeat (node_id, beat_at) VALUES (?, ?)
+            ON DUPLICATE KEY UPDATE beat_at = VALUES(beat_at)""";
+    private static final String DELETE_STALE_BEATS = "DELETE FROM replication_heartbeat WHERE beat_at < ?";
+    private static final Duration STALE_BEAT_AGE = Duration.ofDays(1);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final String nodeId;
+
+    private LocalDateTime lastBeat;
+    private volatile Duration lag;
+
+    /**
+     * @param nodeId this node's heartbeat row; a blank id gets a random one, like the cluster coordinator's
+     */
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, String nodeId) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.heartbeat-millis:1000}")
+    public synchronized void beat() {
+        // DATETIME(6) keeps microseconds; a finer beat would never compare equal to what the replica returns.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        boolean wasUsable = isReplicaUsable();
+        lag = measureLag(now);
+        if (wasUsable != isReplicaUsable()) {
+            if (isReplicaUsable()) {
+                log.info("[Replica] 읽기 전용 트랜잭션을 다시 복제본으로 보냅니다 (지연 {}ms).", lag.toMillis());
+            } else {
+                log.warn("[Replica] 복제본 지연이 {}를 넘었거나 복제본에 연결할 수 없어 읽기를 주 DB로 보냅니다 (지연 {}).",
+                        maxLag, lag != null ? lag.toMillis() + "ms" : "알 수 없음");
+            }
+        }
+        try {
+            if (lastBeat == null) {
+                // Nodes that went away leave their rows behind; the first beat of every node clears them.
+                primary.update(DELETE_STALE_BEATS, now.minus(STALE_BEAT_AGE));
+            }
+            primary.update(WRITE_BEAT, nodeId, now);
+            lastBeat = now;
+        } catch (DataAccessException e) {
+            log.warn("[Replica] 주 DB에 하트비트를 기록하지 못했습니다: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        Duration current = lag;
+        return current != null && current.compareTo(maxLag) <= 0;
+    }
+
+    /**
+     * Replication lag measured at the last beat, empty while it is unknown.
+     */
+    public Optional<Duration> lag() {
+        return Optional.ofNullable(lag);
+    }
+
+    private Duration measureLag(LocalDateTime now) {
+        LocalDateTime seen;
+        try {
+            seen = replica.queryForObject(READ_BEAT, LocalDateTime.class, nodeId);
+        } catch (DataAccessException e) {
+            return null;
+        }
+        if (seen == null) {
+            return null;
+        }
+        if (lastBeat != null && !seen.isBefore(lastBeat)) {
+            return Duration.ZERO;
+        }
+        Duration behind = Duration.between(seen, now);
+        return behind.isNegative() ? Duration.ZERO : behind;
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.jorepong.safetycctv.entity;
+
+import com.github.jorepong.safetycctv.capture.CircuitBreakerState;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Last persisted dispatch state of a camera: when it was analyzed, when it is due next, and its circuit breaker.
+ * Restored on startup so a deploy does not reset the schedule.
+ */
+@Entity
+@Table(name = "camera_schedule_states")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CameraScheduleState {
+
+    @Id
+    private Long cameraId;
+
+    private Instant lastAnalyzedAt;
+
+    private Instant nextDueAt;
+
+    @Column(nullable = false)
+    private Long intervalMillis;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private CircuitBreakerState breakerState;
+
+    @Column(nullable = false)
+    private Integer breakerConsecutiveFailures;
+
+    @Column(nullable = false)
+    private Integer breakerConsecutiveOpens;
+
+    private Instant breakerOpenUntil;
+
+    @Column(nullable = false)
+    private Instant savedAt;
+}
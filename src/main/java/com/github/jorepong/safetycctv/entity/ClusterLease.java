@@ -0,0 +1,34 @@
+package com.github.jorepong.safetycctv.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A renewable, time-bound claim of one node on a named resource, such as a camera shard or the leader role.
+ * A lease is free once it expired or was released ({@code owner} is null).
+ */
+@Entity
+@Table(name = "cluster_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterLease {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(length = 64)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,35 @@
+package com.github.jorepong.safetycctv.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One accepted batch of ingested analysis results, keyed by the sender's idempotency key so that a retried batch is
+ * not stored twice. Rows are written with plain JDBC in the same transaction as the batch itself.
+ */
+@Entity
+@Table(name = "ingest_batches")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestBatch {
+
+    @Id
+    @Column(length = 128)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(nullable = false)
+    private Integer analysisLogCount;
+
+    @Column(nullable = false)
+    private Integer detectedObjectCount;
+}
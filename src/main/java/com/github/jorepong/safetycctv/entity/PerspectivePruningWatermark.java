@@ -0,0 +1,54 @@
+package com.github.jorepong.safetycctv.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of pruning a camera's perspective training data. The cutoff is the oldest detected object the camera keeps
+ * (by log timestamp, then id); everything before it is deleted chunk by chunk, and {@link #prunedThrough} records how
+ * far the chunks got. A pass is complete once nothing before the cutoff is left; the next pass moves the cutoff to
+ * the camera's newest objects again.
+ */
+@Entity
+@Table(name = "perspective_pruning_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PerspectivePruningWatermark {
+
+    @Id
+    private Long cameraId;
+
+    @Column(nullable = false)
+    private LocalDateTime cutoffTimestamp;
+
+    @Column(nullable = false)
+    private Long cutoffObjectId;
+
+    /**
+     * Log timestamp of the last pruned object, or null if the current pass has not deleted anything yet.
+     */
+    private LocalDateTime prunedThrough;
+
+    @Column(nullable = false)
+    private boolean passComplete;
+
+    /**
+     * Detected objects deleted for the camera so far, over all passes.
+     */
+    @Column(nullable = false)
+    private Long deletedObjects;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
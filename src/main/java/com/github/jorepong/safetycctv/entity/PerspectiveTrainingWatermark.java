@@ -0,0 +1,69 @@
+package com.github.jorepong.safetycctv.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Records what a camera's perspective map was last trained on, so that only cameras with meaningful new data are
+ * retrained. Detected objects with an id above {@link #lastDetectedObjectId} are new since that training; they belong to
+ * logs from about {@link #lastLogTimestamp} on, which is where the planner starts reading the camera's logs.
+ * <p>
+ * The box distribution is a summary of the training samples. It holds the mean and variance of the box centre
+ * coordinates and of the box height. A shift of these moments indicates that people now appear in other parts of the
+ * frame or at other distances.
+ */
+@Entity
+@Table(name = "perspective_training_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PerspectiveTrainingWatermark {
+
+    @Id
+    private Long cameraId;
+
+    @Column(nullable = false)
+    private LocalDateTime trainedAt;
+
+    @Column(nullable = false)
+    private Long lastDetectedObjectId;
+
+    /**
+     * Timestamp of the newest log the camera was trained on, null if unknown.
+     */
+    private LocalDateTime lastLogTimestamp;
+
+    /**
+     * Number of samples retained for the camera when it was trained.
+     */
+    @Column(nullable = false)
+    private Long sampleCount;
+
+    @Column(nullable = false)
+    private Double meanCenterX;
+
+    @Column(nullable = false)
+    private Double meanCenterY;
+
+    @Column(nullable = false)
+    private Double meanBoxHeight;
+
+    @Column(nullable = false)
+    private Double varianceCenterX;
+
+    @Column(nullable = false)
+    private Double varianceCenterY;
+
+    @Column(nullable = false)
+    private Double varianceBoxHeight;
+}
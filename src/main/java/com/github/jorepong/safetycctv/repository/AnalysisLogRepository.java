@@ -3,12 +3,17 @@ package com.github.jorepong.safetycctv.repository;
 import com.github.jorepong.safetycctv.camera.TrainingStatus;
 import com.github.jorepong.safetycctv.entity.AnalysisLog;
 import com.github.jorepong.safetycctv.entity.AnalysisStatus;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +33,13 @@ public interface AnalysisLogRepository extends JpaRepository<AnalysisLog, Long>
      */
     Optional<AnalysisLog> findFirstByCameraIdOrderByTimestampDesc(Long cameraId);
 
+    /**
+     * Like {@link #findFirstByCameraIdOrderByTimestampDesc} but only looks after {@code since}, so that on the
+     * partitioned MySQL table only the partitions from {@code since} on are read.
+     */
+    Optional<AnalysisLog> findFirstByCameraIdAndTimestampAfterOrderByTimestampDesc(Long cameraId,
+            LocalDateTime since);
+
     /**
      * Returns the latest analysis logs (up to 60 entries) for the given camera.
      *
@@ -47,9 +59,6 @@ public interface AnalysisLogRepository extends JpaRepository<AnalysisLog, Long>
     @Transactional
     void deleteByCameraId(Long cameraId);
 
-    Optional<AnalysisLog> findFirstByCameraIdAndAnalysisStatusOrderByTimestampDesc(Long cameraId,
-            AnalysisStatus status);
-
     @Query(value = """
             SELECT al.density FROM analysis_logs al
             WHERE al.camera_id = :cameraId
@@ -66,37 +75,46 @@ public interface AnalysisLogRepository extends JpaRepository<AnalysisLog, Long>
             @Param("endHour") int endHour);
 
     // =================================================================================================================
-    // New methods for refactoring to use analysisStatus
+    // Sample read path for the analytics (no managed entities)
     // =================================================================================================================
 
-    List<AnalysisLog> findByCameraIdAndAnalysisStatusAndTimestampBetweenOrderByTimestampAsc(
-            Long cameraId,
-            AnalysisStatus analysisStatus,
-            LocalDateTime start,
-            LocalDateTime end);
-
-    List<AnalysisLog> findByCameraIdAndAnalysisStatusAndTimestampAfterOrderByTimestampAsc(
-            Long cameraId,
-            AnalysisStatus analysisStatus,
-            LocalDateTime start);
+    @Query(AnalysisLogSample.SELECT + """
+            WHERE al.camera.id = :cameraId AND al.analysisStatus = :status
+            ORDER BY al.timestamp DESC
+            """)
+    List<AnalysisLogSample> findLatestSamples(
+            @Param("cameraId") Long cameraId,
+            @Param("status") AnalysisStatus status,
+            Pageable pageable);
 
-    List<AnalysisLog> findTop60ByCameraIdAndAnalysisStatusOrderByTimestampDesc(Long cameraId,
-            AnalysisStatus analysisStatus);
+    @Query(AnalysisLogSample.SELECT + """
+            WHERE al.camera.id = :cameraId AND al.analysisStatus = :status AND al.timestamp >= :since
+            ORDER BY al.timestamp DESC
+            """)
+    List<AnalysisLogSample> findLatestSamplesSince(
+            @Param("cameraId") Long cameraId,
+            @Param("status") AnalysisStatus status,
+            @Param("since") LocalDateTime since,
+            Pageable pageable);
 
-    List<AnalysisLog> findByCameraIdAndAnalysisStatusAndTimestampGreaterThanEqualOrderByTimestampDesc(
-            Long cameraId,
-            AnalysisStatus analysisStatus,
-            LocalDateTime timestamp);
+    /**
+     * Samples of a camera between {@code start} and {@code end}, oldest first, read through a database cursor
+     * {@value AnalysisLogSample#FETCH_SIZE} rows at a time (MySQL needs {@code useCursorFetch=true} on the URL). The
+     * stream must be consumed and closed inside a transaction.
+     */
+    @Query(AnalysisLogSample.SELECT + """
+            WHERE al.camera.id = :cameraId AND al.analysisStatus = :status AND al.timestamp BETWEEN :start AND :end
+            ORDER BY al.timestamp
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AnalysisLogSample.FETCH_SIZE))
+    Stream<AnalysisLogSample> streamSamplesBetween(
+            @Param("cameraId") Long cameraId,
+            @Param("status") AnalysisStatus status,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
 
     @Query("SELECT COUNT(al) FROM AnalysisLog al WHERE al.timestamp >= :timestamp AND al.analysisStatus = :status")
     long countLogsWithStatusSince(@Param("timestamp") LocalDateTime timestamp, @Param("status") AnalysisStatus status);
 
     Optional<AnalysisLog> findByIdAndAnalysisStatus(Long id, AnalysisStatus status);
-
-    @Query("SELECT AVG(al.density) FROM AnalysisLog al WHERE al.camera.id = :cameraId AND al.analysisStatus = :status AND al.timestamp BETWEEN :start AND :end")
-    Double findAverageDensityByCameraIdAndAnalysisStatusAndTimestampBetween(
-            @Param("cameraId") Long cameraId,
-            @Param("status") AnalysisStatus status,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end);
 }
@@ -0,0 +1,31 @@
+package com.github.jorepong.safetycctv.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of an analysis log for the density time series: the columns the analytics use, selected with a JPQL
+ * constructor expression so that no managed {@code AnalysisLog} entity, camera proxy or persistence-context snapshot
+ * is created per row.
+ */
+public record AnalysisLogSample(
+    Long id,
+    LocalDateTime timestamp,
+    Double density,
+    Integer personCount,
+    Double densityVelocity,
+    Double densityAcceleration,
+    String annotatedImagePath
+) {
+
+    /**
+     * Rows per round trip when a range of samples is streamed.
+     */
+    static final String FETCH_SIZE = "1000";
+
+    static final String SELECT = """
+            SELECT new com.github.jorepong.safetycctv.repository.AnalysisLogSample(
+                al.id, al.timestamp, al.density, al.personCount, al.densityVelocity, al.densityAcceleration,
+                al.annotatedImagePath)
+            FROM AnalysisLog al
+            """;
+}
@@ -0,0 +1,15 @@
+package com.github.jorepong.safetycctv.repository;
+
+import com.github.jorepong.safetycctv.entity.CameraScheduleState;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CameraScheduleStateRepository extends JpaRepository<CameraScheduleState, Long> {
+
+    @Modifying
+    @Query("DELETE FROM CameraScheduleState s WHERE s.cameraId NOT IN :cameraIds")
+    int deleteByCameraIdNotIn(@Param("cameraIds") Collection<Long> cameraIds);
+}
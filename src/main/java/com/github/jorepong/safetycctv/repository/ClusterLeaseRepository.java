@@ -0,0 +1,34 @@
+package com.github.jorepong.safetycctv.repository;
+
+import com.github.jorepong.safetycctv.entity.ClusterLease;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ClusterLeaseRepository extends JpaRepository<ClusterLease, String> {
+
+    /**
+     * Claims or renews the lease in a single conditional update, so two nodes can never both succeed.
+     *
+     * @return 1 if {@code owner} holds the lease until {@code expiresAt}, 0 if another node holds it
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE ClusterLease l SET l.owner = :owner, l.expiresAt = :expiresAt
+            WHERE l.name = :name AND (l.owner = :owner OR l.owner IS NULL OR l.expiresAt < :now)
+            """)
+    int tryAcquire(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("now") Instant now,
+            @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ClusterLease l SET l.owner = NULL, l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
@@ -0,0 +1,17 @@
+package com.github.jorepong.safetycctv.repository;
+
+import com.github.jorepong.safetycctv.entity.ClusterNode;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ClusterNodeRepository extends JpaRepository<ClusterNode, String> {
+
+    List<ClusterNode> findByHeartbeatAtAfterOrderByNodeIdAsc(Instant since);
+
+    @Modifying
+    @Transactional
+    int deleteByHeartbeatAtBefore(Instant before);
+}
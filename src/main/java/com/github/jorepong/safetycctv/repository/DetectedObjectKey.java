@@ -0,0 +1,14 @@
+package com.github.jorepong.safetycctv.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a detected object in a camera's history: its log's timestamp, then its id. Perspective training data is
+ * pruned in this order.
+ */
+public interface DetectedObjectKey {
+
+    Long getId();
+
+    LocalDateTime getTimestamp();
+}
@@ -1,6 +1,9 @@
 package com.github.jorepong.safetycctv.repository;
 
 import com.github.jorepong.safetycctv.entity.DetectedObject;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,26 +18,109 @@ public interface DetectedObjectRepository extends JpaRepository<DetectedObject,
     @Transactional
     void deleteByAnalysisLogCameraId(Long cameraId);
 
-    @Modifying(clearAutomatically = true)
+    /**
+     * Counts the camera's detected objects at or after the key ({@code fromTimestamp}, {@code fromObjectId}), in log
+     * timestamp and then id order. Reads the camera's logs through the (camera_id, timestamp) index from
+     * {@code fromTimestamp}, so the cost follows the objects counted.
+     */
+    @Query(
+        value = """
+            SELECT COUNT(*)
+            FROM analysis_logs log
+            JOIN detected_objects obj ON obj.analysis_log_id = log.id
+            WHERE log.camera_id = :cameraId
+              AND log.timestamp >= :fromTimestamp
+              AND (log.timestamp > :fromTimestamp OR obj.id >= :fromObjectId)
+            """,
+        nativeQuery = true
+    )
+    long countKeysFrom(
+        @Param("cameraId") Long cameraId,
+        @Param("fromTimestamp") LocalDateTime fromTimestamp,
+        @Param("fromObjectId") long fromObjectId
+    );
+
+    /**
+     * Finds up to {@code limit} of the camera's detected objects at or after the key ({@code fromTimestamp},
+     * {@code fromObjectId}), oldest first. Callers page through a camera's history by passing the last key of the
+     * previous page with its id incremented.
+     */
+    @Query(
+        value = """
+            SELECT obj.id AS id, log.timestamp AS timestamp
+            FROM analysis_logs log
+            JOIN detected_objects obj ON obj.analysis_log_id = log.id
+            WHERE log.camera_id = :cameraId
+              AND log.timestamp >= :fromTimestamp
+              AND (log.timestamp > :fromTimestamp OR obj.id >= :fromObjectId)
+            ORDER BY log.timestamp, obj.id
+            LIMIT :limit
+            """,
+        nativeQuery = true
+    )
+    List<DetectedObjectKey> findKeysFrom(
+        @Param("cameraId") Long cameraId,
+        @Param("fromTimestamp") LocalDateTime fromTimestamp,
+        @Param("fromObjectId") long fromObjectId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Finds up to {@code limit} of the camera's oldest detected objects that are ordered before the cutoff, starting
+     * at the log timestamp {@code from}.
+     */
+    @Query(
+        value = """
+            SELECT obj.id AS id, log.timestamp AS timestamp
+            FROM analysis_logs log
+            JOIN detected_objects obj ON obj.analysis_log_id = log.id
+            WHERE log.camera_id = :cameraId
+              AND log.timestamp >= :from
+              AND (log.timestamp < :cutoffTimestamp
+                   OR (log.timestamp = :cutoffTimestamp AND obj.id < :cutoffObjectId))
+            ORDER BY log.timestamp, obj.id
+            LIMIT :limit
+            """,
+        nativeQuery = true
+    )
+    List<DetectedObjectKey> findKeysBeforeCutoff(
+        @Param("cameraId") Long cameraId,
+        @Param("from") LocalDateTime from,
+        @Param("cutoffTimestamp") LocalDateTime cutoffTimestamp,
+        @Param("cutoffObjectId") long cutoffObjectId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Summarizes the camera's detected objects newer than its training watermark. The camera's logs are read through
+     * the (camera_id, timestamp) index from {@code fromTimestamp}, so the cost follows the camera's own new data rather
+     * than the size of detected_objects; {@code afterObjectId} then drops the objects it was already trained on.
+     * Returns nothing when the camera has no such objects.
+     */
     @Query(
         value = """
-            DELETE FROM detected_objects
-            WHERE analysis_log_id IN (SELECT id FROM analysis_logs WHERE camera_id = :cameraId)
-              AND id NOT IN (
-                  SELECT id FROM (
-                      SELECT obj.id
-                      FROM detected_objects obj
-                      JOIN analysis_logs log ON log.id = obj.analysis_log_id
-                      WHERE log.camera_id = :cameraId
-                      ORDER BY log.timestamp DESC, obj.id DESC
-                      LIMIT :maxPoints
-                  ) AS latest
-              )
+            SELECT log.camera_id AS cameraId,
+                   COUNT(*) AS sampleCount,
+                   MAX(obj.id) AS maxObjectId,
+                   MAX(log.timestamp) AS maxLogTimestamp,
+                   AVG(obj.boxx + obj.box_width / 2.0) AS meanCenterX,
+                   AVG(obj.boxy + obj.box_height / 2.0) AS meanCenterY,
+                   AVG(obj.box_height * 1.0) AS meanBoxHeight,
+                   AVG((obj.boxx + obj.box_width / 2.0) * (obj.boxx + obj.box_width / 2.0)) AS meanSquareCenterX,
+                   AVG((obj.boxy + obj.box_height / 2.0) * (obj.boxy + obj.box_height / 2.0)) AS meanSquareCenterY,
+                   AVG(obj.box_height * 1.0 * obj.box_height) AS meanSquareBoxHeight
+            FROM analysis_logs log
+            JOIN detected_objects obj ON obj.analysis_log_id = log.id
+            WHERE log.camera_id = :cameraId
+              AND log.timestamp >= :fromTimestamp
+              AND obj.id > :afterObjectId
+            GROUP BY log.camera_id
             """,
         nativeQuery = true
     )
-    int deleteOlderThanLimit(
+    Optional<NewDetectionSummary> summarizeDetectionsAfterWatermark(
         @Param("cameraId") Long cameraId,
-        @Param("maxPoints") int maxPoints
+        @Param("fromTimestamp") LocalDateTime fromTimestamp,
+        @Param("afterObjectId") long afterObjectId
     );
 }
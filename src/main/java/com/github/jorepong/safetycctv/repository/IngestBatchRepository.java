@@ -0,0 +1,7 @@
+package com.github.jorepong.safetycctv.repository;
+
+import com.github.jorepong.safetycctv.entity.IngestBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IngestBatchRepository extends JpaRepository<IngestBatch, String> {
+}
@@ -0,0 +1,31 @@
+package com.github.jorepong.safetycctv.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate of one camera's detected objects recorded since its last perspective-map training.
+ * The {@code mean*} values are averages of the box centre and box height; the {@code meanSquare*} values are
+ * averages of their squares, so variances can be derived without a second pass.
+ */
+public interface NewDetectionSummary {
+
+    Long getCameraId();
+
+    Long getSampleCount();
+
+    Long getMaxObjectId();
+
+    LocalDateTime getMaxLogTimestamp();
+
+    Double getMeanCenterX();
+
+    Double getMeanCenterY();
+
+    Double getMeanBoxHeight();
+
+    Double getMeanSquareCenterX();
+
+    Double getMeanSquareCenterY();
+
+    Double getMeanSquareBoxHeight();
+}
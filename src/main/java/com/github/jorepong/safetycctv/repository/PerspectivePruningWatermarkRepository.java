@@ -0,0 +1,7 @@
+package com.github.jorepong.safetycctv.repository;
+
+import com.github.jorepong.safetycctv.entity.PerspectivePruningWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PerspectivePruningWatermarkRepository extends JpaRepository<PerspectivePruningWatermark, Long> {
+}
@@ -0,0 +1,7 @@
+package com.github.jorepong.safetycctv.repository;
+
+import com.github.jorepong.safetycctv.entity.PerspectiveTrainingWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PerspectiveTrainingWatermarkRepository extends JpaRepository<PerspectiveTrainingWatermark, Long> {
+}
@@ -2,7 +2,9 @@ package com.github.jorepong.safetycctv.repository;
 
 import com.github.jorepong.safetycctv.entity.SafetyAlert;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -38,8 +40,29 @@ public interface SafetyAlertRepository extends JpaRepository<SafetyAlert, Long>,
         @Transactional
         void deleteByCameraId(Long cameraId);
 
-        List<SafetyAlert> findTop10ByCameraIdOrderByTimestampDesc(Long cameraId);
+        long countByTimestampGreaterThanEqual(LocalDateTime timestamp);
 
-        List<SafetyAlert> findByCameraIdAndTimestampGreaterThanEqualOrderByTimestampDesc(Long cameraId,
-                        LocalDateTime timestamp);
+        // =============================================================================================================
+        // Stage alerts with their log density, one statement per call
+        // =============================================================================================================
+
+        @Query(StageAlertRow.SELECT + """
+                        WHERE s.camera.id = :cameraId
+                        ORDER BY s.timestamp DESC
+                        """)
+        List<StageAlertRow> findLatestStageAlerts(@Param("cameraId") Long cameraId, Pageable pageable);
+
+        @Query(StageAlertRow.SELECT + """
+                        WHERE s.camera.id IN :cameraIds
+                        ORDER BY s.timestamp DESC
+                        """)
+        List<StageAlertRow> findLatestStageAlerts(@Param("cameraIds") Collection<Long> cameraIds, Pageable pageable);
+
+        @Query(StageAlertRow.SELECT + """
+                        WHERE s.camera.id IN :cameraIds AND s.timestamp >= :since
+                        ORDER BY s.timestamp DESC
+                        """)
+        List<StageAlertRow> findStageAlertsSince(
+                        @Param("cameraIds") Collection<Long> cameraIds,
+                        @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,7 @@
+package com.github.jorepong.safetycctv.repository;
+
+import com.github.jorepong.safetycctv.entity.SchedulerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SchedulerCheckpointRepository extends JpaRepository<SchedulerCheckpoint, String> {
+}
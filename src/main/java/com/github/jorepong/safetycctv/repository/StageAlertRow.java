@@ -0,0 +1,27 @@
+package com.github.jorepong.safetycctv.repository;
+
+import com.github.jorepong.safetycctv.alert.AlertLevel;
+import com.github.jorepong.safetycctv.alert.AlertType;
+import java.time.LocalDateTime;
+
+/**
+ * A safety alert with the density of the analysis log that raised it, read in the same statement through a left join
+ * instead of a lazy load of the log per alert. {@code density} is {@code null} for alerts without a log.
+ */
+public record StageAlertRow(
+    Long cameraId,
+    Long analysisLogId,
+    AlertType alertType,
+    AlertLevel alertLevel,
+    String message,
+    LocalDateTime timestamp,
+    Double density
+) {
+
+    static final String SELECT = """
+            SELECT new com.github.jorepong.safetycctv.repository.StageAlertRow(
+                s.camera.id, s.analysisLogId, s.alertType, s.alertLevel, s.message, s.timestamp, al.density)
+            FROM SafetyAlert s
+            LEFT JOIN s.analysisLog al
+            """;
+}
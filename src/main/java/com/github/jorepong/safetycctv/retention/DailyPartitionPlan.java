@@ -0,0 +1,62 @@
+package com.github.jorepong.safetycctv.retention;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * What {@link TimePartitionManager} has to change on one table: the daily partitions to split off the catch-all
+ * partition so that there is one partition per day up to {@code daysAhead} days from today, and the partitions whose
+ * rows are all older than the retention cutoff.
+ *
+ * @param daysToAdd        days that need their own partition, in order
+ * @param partitionsToDrop names of the expired partitions
+ */
+public record DailyPartitionPlan(List<LocalDate> daysToAdd, List<String> partitionsToDrop) {
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    /**
+     * A partition of a table range-partitioned on a DATETIME column.
+     *
+     * @param upperBound exclusive upper bound of the partition, or {@code null} for the {@code MAXVALUE} partition
+     */
+    public record Partition(String name, LocalDateTime upperBound) {
+    }
+
+    /**
+     * @param dropBefore partitions that only hold rows before this day are dropped; {@code null} keeps everything
+     */
+    public static DailyPartitionPlan compute(List<Partition> partitions, LocalDate today, int daysAhead,
+            LocalDate dropBefore) {
+        List<Partition> bounded = partitions.stream()
+                .filter(partition -> partition.upperBound() != null)
+                .sorted(Comparator.comparing(Partition::upperBound))
+                .toList();
+
+        List<LocalDate> daysToAdd = new ArrayList<>();
+        // The partition of a day ends at the next midnight, so the first new one is for the day of the last bound.
+        LocalDate next = bounded.isEmpty() ? today : bounded.get(bounded.size() - 1).upperBound().toLocalDate();
+        for (LocalDate day = next; !day.isAfter(today.plusDays(daysAhead)); day = day.plusDays(1)) {
+            daysToAdd.add(day);
+        }
+
+        List<String> partitionsToDrop = dropBefore == null ? List.of() : bounded.stream()
+                .filter(partition -> !partition.upperBound().isAfter(dropBefore.atStartOfDay()))
+                .map(Partition::name)
+                .toList();
+        return new DailyPartitionPlan(List.copyOf(daysToAdd), partitionsToDrop);
+    }
+
+    public static String partitionName(LocalDate day) {
+        return day.format(NAME_FORMAT);
+    }
+
+    public boolean isEmpty() {
+        return daysToAdd.isEmpty() && partitionsToDrop.isEmpty();
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.github.jorepong.safetycctv.retention;
+
+import com.github.jorepong.safetycctv.analysis.dto.DensityPointPayload;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * Cold storage of the density history: one {@link DensitySegmentCodec segment file} per camera and day under
+ * {@code analysis.archive.location}, laid out as {@code <camera id>/<yyyy-MM-dd>.dseg}. Segments are written once by
+ * {@link DensityArchiver} and read through memory-mapped files, so a long-range chart only touches the pages of the
+ * days it covers. The last archived day is kept in {@code rollup_watermarks}; a day up to it without a segment had no
+ * READY logs for that camera.
+ */
+@Component
+public class DensityArchive {
+
+    static final String WATERMARK = "density_archive";
+    private static final String SEGMENT_SUFFIX = ".dseg";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path root;
+
+    public DensityArchive(
+            JdbcTemplate jdbcTemplate,
+            @Value("${analysis.archive.location:${app.storage.resource-locations:file:C:/SharedStorage/captures/}../density-archive/}")
+            String location) {
+        this.jdbcTemplate = jdbcTemplate;
+        try {
+            this.root = ResourceUtils.getFile(location).toPath().normalize();
+        } catch (FileNotFoundException e) {
+            throw new IllegalStateException("Invalid density archive location: " + location, e);
+        }
+    }
+
+    /**
+     * Last day whose logs are all archived, or {@code null} if nothing is archived yet.
+     */
+    public LocalDate archivedThrough() {
+        Long epochDay = jdbcTemplate.queryForObject(
+                "SELECT last_id FROM rollup_watermarks WHERE name = ?", Long.class, WATERMARK);
+        return epochDay == null || epochDay == 0 ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    void markArchivedThrough(LocalDate day) {
+        jdbcTemplate.update("UPDATE rollup_watermarks SET last_id = ?, updated_at = ? WHERE name = ?",
+                day.toEpochDay(), LocalDateTime.now(), WATERMARK);
+    }
+
+    /**
+     * Writes the segment of a camera and day, replacing an earlier one. The file is written next to its final name
+     * and moved into place, so readers never see a partial segment.
+     */
+    void write(long cameraId, LocalDate day, List<DensityPointPayload> points) {
+        Path segment = segmentPath(cameraId, day);
+        try {
+            Files.createDirectories(segment.getParent());
+            Path temporary = Files.createTempFile(segment.getParent(), day.toString(), ".tmp");
+            try {
+                Files.write(temporary, DensitySegmentCodec.encode(cameraId, day, points));
+                Files.move(temporary, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write density segment " + segment, e);
+        }
+    }
+
+    /**
+     * Reads the archived READY samples of a camera between {@code from} and {@code to} (both inclusive), oldest
+     * first.
+     */
+    public List<DensityPointPayload> read(long cameraId, LocalDateTime from, LocalDateTime to) {
+        List<DensityPointPayload> points = new ArrayList<>();
+        for (LocalDate day = from.toLocalDate(); !day.isAfter(to.toLocalDate()); day = day.plusDays(1)) {
+            Path segment = segmentPath(cameraId, day);
+            if (!Files.isRegularFile(segment)) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                points.addAll(DensitySegmentCodec.decode(mapped, from, to));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read density segment " + segment, e);
+            }
+        }
+        return points;
+    }
+
+    private Path segmentPath(long cameraId, LocalDate day) {
+        return root.resolve(Long.toString(cameraId)).resolve(day + SEGMENT_SUFFIX);
+    }
+}
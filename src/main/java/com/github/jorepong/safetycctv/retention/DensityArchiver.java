@@ -0,0 +1,111 @@
+package com.github.jorepong.safetycctv.retention;
+
+import com.github.jorepong.safetycctv.analysis.dto.DensityPointPayload;
+import com.github.jorepong.safetycctv.capture.ClusterCoordinator;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies the READY analysis logs of every day older than {@code after-days} into the {@link DensityArchive}, one
+ * segment per camera, oldest day first and at most {@code max-days-per-run} days per run. The rows leave MySQL when
+ * {@link TimePartitionManager} drops their partition, which waits for the archive, so the density history stays
+ * complete after the retention period. Runs on the cluster leader.
+ */
+@Slf4j
+@Component
+public class DensityArchiver {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DensityArchive archive;
+    private final ClusterCoordinator clusterCoordinator;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int maxDaysPerRun;
+
+    public DensityArchiver(
+            JdbcTemplate jdbcTemplate,
+            DensityArchive archive,
+            ClusterCoordinator clusterCoordinator,
+            @Value("${analysis.archive.enabled:true}") boolean enabled,
+            @Value("${analysis.archive.after-days:30}") int afterDays,
+            @Value("${analysis.archive.max-days-per-run:3}") int maxDaysPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archive = archive;
+        this.clusterCoordinator = clusterCoordinator;
+        this.enabled = enabled;
+        this.afterDays = Math.max(1, afterDays);
+        this.maxDaysPerRun = Math.max(1, maxDaysPerRun);
+    }
+
+    @Scheduled(
+            initialDelay = 5,
+            fixedDelayString = "${analysis.archive.check-minutes:60}",
+            timeUnit = TimeUnit.MINUTES)
+    public void run() {
+        if (!enabled || !clusterCoordinator.isLeader()) {
+            return;
+        }
+        try {
+            archiveThrough(LocalDate.now().minusDays(afterDays));
+        } catch (RuntimeException e) {
+            log.warn("밀집도 이력을 보관하지 못했습니다. 다음 주기에 이어서 진행합니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archives the days after the last archived one up to and including {@code lastDay}.
+     *
+     * @return the number of days archived
+     */
+    public int archiveThrough(LocalDate lastDay) {
+        LocalDate day = nextDay();
+        int archived = 0;
+        while (day != null && archived < maxDaysPerRun && !day.isAfter(lastDay)) {
+            int samples = archiveDay(day);
+            archive.markArchivedThrough(day);
+            log.info("{}의 밀집도 이력 {}건을 보관 파일로 옮겼습니다.", day, samples);
+            archived++;
+            day = day.plusDays(1);
+        }
+        return archived;
+    }
+
+    private LocalDate nextDay() {
+        LocalDate archivedThrough = archive.archivedThrough();
+        if (archivedThrough != null) {
+            return archivedThrough.plusDays(1);
+        }
+        LocalDateTime first = jdbcTemplate.queryForObject(
+                "SELECT MIN(timestamp) FROM analysis_logs WHERE analysis_status = 'READY'", LocalDateTime.class);
+        return first != null ? first.toLocalDate() : null;
+    }
+
+    private int archiveDay(LocalDate day) {
+        int samples = 0;
+        for (Long cameraId : jdbcTemplate.queryForList("SELECT id FROM cameras ORDER BY id", Long.class)) {
+            List<DensityPointPayload> points = jdbcTemplate.query("""
+                    SELECT timestamp, density, person_count
+                    FROM analysis_logs
+                    WHERE camera_id = ? AND analysis_status = 'READY' AND timestamp >= ? AND timestamp < ?
+                    ORDER BY timestamp""",
+                    (rs, rowNum) -> new DensityPointPayload(
+                            rs.getObject("timestamp", LocalDateTime.class),
+                            rs.getDouble("density"),
+                            rs.getObject("person_count", Integer.class),
+                            null),
+                    cameraId, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            if (!points.isEmpty()) {
+                archive.write(cameraId, day, points);
+                samples += points.size();
+            }
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.jorepong.safetycctv.retention;
+
+import com.github.jorepong.safetycctv.analysis.dto.DensityPointPayload;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary format of a density segment: the READY analysis logs of one camera on one day.
+ * <p>
+ * A fixed header (magic, version, camera id, epoch day, sample count, raw and compressed payload length) is followed
+ * by the deflated payload, which stores the samples column by column: timestamps as microsecond deltas from the
+ * previous sample (the first from midnight), densities as zig-zag deltas of fixed-point values with
+ * {@value #DENSITY_SCALE} steps per unit, and person counts shifted by one so that 0 can stand for a missing count.
+ * All values are unsigned LEB128 varints, so a typical sample takes three to five bytes before compression.
+ */
+final class DensitySegmentCodec {
+
+    static final int MAGIC = 0x44534731; // "DSG1"
+    static final byte VERSION = 1;
+    static final int DENSITY_SCALE = 10_000;
+
+    private static final int HEADER_LENGTH = 4 + 1 + 8 + 4 + 4 + 4 + 4;
+
+    private DensitySegmentCodec() {
+    }
+
+    static byte[] encode(long cameraId, LocalDate day, List<DensityPointPayload> points) {
+        List<DensityPointPayload> samples = points.stream()
+                .sorted(Comparator.comparing(DensityPointPayload::timestamp))
+                .toList();
+        LocalDateTime midnight = day.atStartOfDay();
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(samples.size() * 6);
+
+        long previousMicros = 0;
+        for (DensityPointPayload sample : samples) {
+            if (!sample.timestamp().toLocalDate().equals(day)) {
+                throw new IllegalArgumentException("Sample " + sample.timestamp() + " is not on " + day);
+            }
+            long micros = ChronoUnit.MICROS.between(midnight, sample.timestamp());
+            writeVarint(raw, micros - previousMicros);
+            previousMicros = micros;
+        }
+        long previousDensity = 0;
+        for (DensityPointPayload sample : samples) {
+            long density = Math.round(sample.density() * DENSITY_SCALE);
+            writeVarint(raw, zigZag(density - previousDensity));
+            previousDensity = density;
+        }
+        for (DensityPointPayload sample : samples) {
+            writeVarint(raw, sample.personCount() == null ? 0 : sample.personCount() + 1L);
+        }
+
+        byte[] payload = raw.toByteArray();
+        byte[] compressed = deflate(payload);
+        return ByteBuffer.allocate(HEADER_LENGTH + compressed.length)
+                .order(ByteOrder.BIG_ENDIAN)
+                .putInt(MAGIC)
+                .put(VERSION)
+                .putLong(cameraId)
+                .putInt(Math.toIntExact(day.toEpochDay()))
+                .putInt(samples.size())
+                .putInt(payload.length)
+                .putInt(compressed.length)
+                .put(compressed)
+                .array();
+    }
+
+    /**
+     * Decodes the samples of a segment between {@code from} and {@code to} (both inclusive). The buffer is only read,
+     * so it can be a memory-mapped file.
+     */
+    static List<DensityPointPayload> decode(ByteBuffer segment, LocalDateTime from, LocalDateTime to) {
+        ByteBuffer buffer = segment.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a density segment");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported density segment version " + version);
+        }
+        buffer.getLong(); // camera id, kept for inspecting the files by hand
+        LocalDateTime midnight = LocalDate.ofEpochDay(buffer.getInt()).atStartOfDay();
+        int count = buffer.getInt();
+        int rawLength = buffer.getInt();
+        int compressedLength = buffer.getInt();
+        ByteBuffer payload = ByteBuffer.wrap(inflate(buffer.slice(buffer.position(), compressedLength), rawLength));
+
+        long[] micros = new long[count];
+        long timestamp = 0;
+        for (int i = 0; i < count; i++) {
+            timestamp += readVarint(payload);
+            micros[i] = timestamp;
+        }
+        long[] densities = new long[count];
+        long density = 0;
+        for (int i = 0; i < count; i++) {
+            density += unZigZag(readVarint(payload));
+            densities[i] = density;
+        }
+
+        List<DensityPointPayload> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long personCount = readVarint(payload);
+            LocalDateTime sampledAt = midnight.plus(micros[i], ChronoUnit.MICROS);
+            if (sampledAt.isBefore(from) || sampledAt.isAfter(to)) {
+                continue;
+            }
+            points.add(new DensityPointPayload(
+                    sampledAt,
+                    (double) densities[i] / DENSITY_SCALE,
+                    personCount == 0 ? null : (int) (personCount - 1),
+                    null));
+        }
+        return points;
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, payload.length / 2));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer compressed, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength) {
+                throw new IllegalStateException("Truncated density segment");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt density segment", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.write((int) remaining);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in density segment");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.jorepong.safetycctv.retention;
+
+import com.github.jorepong.safetycctv.analysis.DensityRollupStore;
+import com.github.jorepong.safetycctv.capture.ClusterCoordinator;
+import com.github.jorepong.safetycctv.retention.DailyPartitionPlan.Partition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the daily partitions of {@code analysis_logs} and {@code safety_alerts} created by the MySQL migration
+ * V4. Every run splits the partitions for the next {@code days-ahead} days off the empty catch-all partition
+ * {@code pmax}, so inserts never land in it, and drops the partitions older than {@code retention-days}: a metadata
+ * change instead of a delete that scans and logs every expired row.
+ * <p>
+ * Alerts are dropped one day before the logs they reference. A log partition is only dropped once the density rollup
+ * watermark has passed all of its ids, so the statistics keep counting the expired logs, and once
+ * {@link DensityArchiver} has copied its days to the {@link DensityArchive}; the detected objects of its logs are
+ * deleted first. Runs on the cluster leader and only against MySQL.
+ */
+@Slf4j
+@Component
+public class TimePartitionManager {
+
+    static final String CATCH_ALL_PARTITION = "pmax";
+
+    private static final List<String> PARTITIONED_TABLES = List.of("safety_alerts", "analysis_logs");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int DETECTED_OBJECT_DELETE_CHUNK = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterCoordinator clusterCoordinator;
+    private final DensityRollupStore densityRollupStore;
+    private final DensityArchive densityArchive;
+    private final boolean enabled;
+    private final boolean archiveEnabled;
+    private final int daysAhead;
+    private final int retentionDays;
+
+    private Boolean supported;
+
+    public TimePartitionManager(
+            JdbcTemplate jdbcTemplate,
+            ClusterCoordinator clusterCoordinator,
+            DensityRollupStore densityRollupStore,
+            DensityArchive densityArchive,
+            @Value("${analysis.partitions.enabled:true}") boolean enabled,
+            @Value("${analysis.archive.enabled:true}") boolean archiveEnabled,
+            @Value("${analysis.partitions.days-ahead:7}") int daysAhead,
+            @Value("${analysis.partitions.retention-days:90}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterCoordinator = clusterCoordinator;
+        this.densityRollupStore = densityRollupStore;
+        this.densityArchive = densityArchive;
+        this.enabled = enabled;
+        this.archiveEnabled = archiveEnabled;
+        this.daysAhead = Math.max(1, daysAhead);
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(
+            initialDelay = 1,
+            fixedDelayString = "${analysis.partitions.check-minutes:60}",
+            timeUnit = TimeUnit.MINUTES)
+    public void run() {
+        if (!enabled || !clusterCoordinator.isLeader() || !isSupported()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                maintain(table, today);
+            } catch (RuntimeException e) {
+                log.warn("{} 테이블의 파티션을 정리하지 못했습니다. 다음 주기에 다시 시도합니다: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    private void maintain(String table, LocalDate today) {
+        List<Partition> partitions = readPartitions(table);
+        if (partitions.isEmpty()) {
+            log.debug("{} 테이블이 파티션되어 있지 않아 파티션 관리를 건너뜁니다.", table);
+            return;
+        }
+        DailyPartitionPlan plan = DailyPartitionPlan.compute(partitions, today, daysAhead, dropBefore(table, today));
+        if (!plan.daysToAdd().isEmpty()) {
+            addPartitions(table, plan.daysToAdd());
+        }
+        List<String> droppable = plan.partitionsToDrop().stream()
+                .filter(partition -> prepareDrop(table, partition))
+                .toList();
+        if (!droppable.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + String.join(", ", droppable));
+            log.info("{} 테이블에서 보존 기간이 지난 파티션 {}을(를) 삭제했습니다.", table, droppable);
+        }
+    }
+
+    private LocalDate dropBefore(String table, LocalDate today) {
+        if (retentionDays <= 0) {
+            return null;
+        }
+        LocalDate cutoff = today.minusDays(retentionDays);
+        if (!"analysis_logs".equals(table)) {
+            return cutoff;
+        }
+        // Logs outlive their alerts by a day, so an alert never points at a dropped log.
+        LocalDate logCutoff = cutoff.minusDays(1);
+        if (!archiveEnabled) {
+            return logCutoff;
+        }
+        // ...and stay until the density archive holds their day.
+        LocalDate archivedThrough = densityArchive.archivedThrough();
+        if (archivedThrough == null) {
+            return null;
+        }
+        LocalDate firstUnarchived = archivedThrough.plusDays(1);
+        return firstUnarchived.isBefore(logCutoff) ? firstUnarchived : logCutoff;
+    }
+
+    private List<Partition> readPartitions(String table) {
+        return jdbcTemplate.query("""
+                SELECT partition_name, partition_description
+                FROM information_schema.partitions
+                WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL
+                ORDER BY partition_ordinal_position""",
+                (rs, rowNum) -> new Partition(
+                        rs.getString("partition_name"),
+                        parseBound(rs.getString("partition_description"))),
+                table);
+    }
+
+    private static LocalDateTime parseBound(String description) {
+        String bound = description.replace("'", "").trim();
+        return "MAXVALUE".equalsIgnoreCase(bound) ? null : LocalDateTime.parse(bound, BOUND_FORMAT);
+    }
+
+    private void addPartitions(String table, List<LocalDate> days) {
+        String partitions = days.stream()
+                .map(day -> "PARTITION %s VALUES LESS THAN ('%s')".formatted(
+                        DailyPartitionPlan.partitionName(day), day.plusDays(1).atStartOfDay().format(BOUND_FORMAT)))
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE %s REORGANIZE PARTITION %s INTO (%s, PARTITION %s VALUES LESS THAN (MAXVALUE))"
+                .formatted(table, CATCH_ALL_PARTITION, partitions, CATCH_ALL_PARTITION));
+        log.info("{} 테이블에 일 단위 파티션 {}개를 추가했습니다. ({} ~ {})", table, days.size(), days.get(0),
+                days.get(days.size() - 1));
+    }
+
+    /**
+     * Gets the partition ready to be dropped.
+     *
+     * @return {@code false} if the partition has to stay for now
+     */
+    private boolean prepareDrop(String table, String partition) {
+        if (!"analysis_logs".equals(table)) {
+            return true;
+        }
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM analysis_logs PARTITION (" + partition + ")", Long.class);
+        if (maxId != null && maxId > densityRollupStore.watermark()) {
+            log.info("파티션 {}의 분석 로그가 아직 밀집도 집계에 반영되지 않아 삭제를 미룹니다.", partition);
+            return false;
+        }
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("""
+                    DELETE FROM detected_objects
+                    WHERE analysis_log_id IN (SELECT id FROM analysis_logs PARTITION (%s))
+                    LIMIT ?""".formatted(partition), DETECTED_OBJECT_DELETE_CHUNK);
+        } while (deleted == DETECTED_OBJECT_DELETE_CHUNK);
+        return true;
+    }
+
+    private boolean isSupported() {
+        if (supported == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            supported = "MySQL".equalsIgnoreCase(product);
+            if (!supported) {
+                log.info("{} 데이터베이스에서는 시간 파티션 관리를 사용하지 않습니다.", product);
+            }
+        }
+        return supported;
+    }
+}
@@ -0,0 +1,10 @@
+-- Every node used to write its beat into the single heartbeat row, so a node could take another node's newer beat on
+-- the replica for its own and report a lagging replica as caught up. Each node now keeps its own row, keyed by
+-- camera.scheduler.cluster.node-id. The old row carries no information once the nodes restart, so it is dropped.
+DROP TABLE replication_heartbeat;
+
+CREATE TABLE replication_heartbeat (
+    node_id VARCHAR(64) NOT NULL,
+    beat_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (node_id)
+);
@@ -0,0 +1,65 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and only receive the later migrations.
+-- Column names follow Spring's naming strategy exactly (boxX -> boxx, meanCenterX -> mean_centerx), so native SQL
+-- must use them as written here. Keep the DDL portable: the tests run it on H2 in MySQL mode.
+
+CREATE TABLE cameras (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    name             VARCHAR(120) NOT NULL,
+    stream_url       VARCHAR(255) NOT NULL,
+    stream_type      VARCHAR(16)  NOT NULL,
+    location_zone    VARCHAR(120),
+    status           VARCHAR(16)  NOT NULL,
+    description      VARCHAR(255),
+    address          VARCHAR(255),
+    latitude         DOUBLE,
+    longitude        DOUBLE,
+    training_status  VARCHAR(16)  NOT NULL,
+    created_at       DATETIME(6)  NOT NULL,
+    updated_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE analysis_logs (
+    id                    BIGINT       NOT NULL AUTO_INCREMENT,
+    camera_id             BIGINT       NOT NULL,
+    timestamp             DATETIME(6)  NOT NULL,
+    analysis_status       VARCHAR(16)  NOT NULL,
+    density               DOUBLE       NOT NULL,
+    person_count          INT          NOT NULL,
+    density_velocity      DOUBLE,
+    density_acceleration  DOUBLE,
+    eta                   DOUBLE,
+    raw_image_path        VARCHAR(512),
+    annotated_image_path  VARCHAR(512),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_analysis_logs_camera FOREIGN KEY (camera_id) REFERENCES cameras (id)
+);
+
+CREATE TABLE detected_objects (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    analysis_log_id  BIGINT NOT NULL,
+    tracking_id      BIGINT,
+    boxx             INT    NOT NULL,
+    boxy             INT    NOT NULL,
+    box_width        INT    NOT NULL,
+    box_height       INT    NOT NULL,
+    confidence       DOUBLE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_detected_objects_analysis_log FOREIGN KEY (analysis_log_id) REFERENCES analysis_logs (id)
+);
+
+CREATE TABLE safety_alerts (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    camera_id        BIGINT       NOT NULL,
+    timestamp        DATETIME(6)  NOT NULL,
+    alert_type       VARCHAR(32)  NOT NULL,
+    alert_level      VARCHAR(16)  NOT NULL,
+    message          VARCHAR(512) NOT NULL,
+    analysis_log_id  BIGINT,
+    resolved         BOOLEAN      NOT NULL,
+    resolved_at      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_safety_alerts_camera FOREIGN KEY (camera_id) REFERENCES cameras (id),
+    CONSTRAINT fk_safety_alerts_analysis_log FOREIGN KEY (analysis_log_id) REFERENCES analysis_logs (id)
+);
@@ -0,0 +1,21 @@
+-- Indexes for the repository queries (QueryPlanTest runs EXPLAIN on each of them and fails on a full scan).
+-- MySQL builds secondary indexes online, and drops the implicit foreign key indexes these make redundant.
+
+-- Per-camera history filtered by status (findTop60..., ...AndAnalysisStatusAndTimestamp...). density is included so
+-- the density statistics (findHistoricalDensities, findAverageDensity...) are answered from the index alone.
+CREATE INDEX idx_analysis_logs_camera_status_ts ON analysis_logs (camera_id, analysis_status, timestamp, density);
+
+-- Per-camera history regardless of status (findFirstByCameraIdOrderByTimestampDesc, ...CameraIdAndTimestamp...).
+CREATE INDEX idx_analysis_logs_camera_ts ON analysis_logs (camera_id, timestamp);
+
+-- Dashboard counts across all cameras (countLogsWithStatusSince).
+CREATE INDEX idx_analysis_logs_status_ts ON analysis_logs (analysis_status, timestamp);
+
+-- Latest alerts per camera (findTop10ByCameraIdOrderByTimestampDesc, ...CameraIdAndTimestampGreaterThanEqual...).
+CREATE INDEX idx_safety_alerts_camera_ts ON safety_alerts (camera_id, timestamp);
+
+-- Alert statistics across all cameras (findAlertTimestampsSince); analysis_log_id makes the index covering.
+CREATE INDEX idx_safety_alerts_ts ON safety_alerts (timestamp, analysis_log_id);
+
+-- Detections of a log (cascades, per-camera counts and trimming joined through analysis_logs).
+CREATE INDEX idx_detected_objects_analysis_log ON detected_objects (analysis_log_id);
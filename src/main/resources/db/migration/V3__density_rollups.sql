@@ -0,0 +1,42 @@
+-- Per-camera density rollups of READY analysis logs, maintained by DensityRollupUpdater. Buckets are keyed by the
+-- start of the minute or hour the logs' timestamps fall into; every column is additive (or min/max), so rows can be
+-- merged with any number of new logs and with each other.
+
+CREATE TABLE density_rollups_minute (
+    camera_id              BIGINT      NOT NULL,
+    bucket_start           DATETIME(6) NOT NULL,
+    sample_count           BIGINT      NOT NULL,
+    density_sum            DOUBLE      NOT NULL,
+    density_sum_of_squares DOUBLE      NOT NULL,
+    density_min            DOUBLE      NOT NULL,
+    density_max            DOUBLE      NOT NULL,
+    person_count_sum       BIGINT      NOT NULL,
+    PRIMARY KEY (camera_id, bucket_start)
+);
+
+CREATE INDEX idx_density_rollups_minute_bucket ON density_rollups_minute (bucket_start);
+
+CREATE TABLE density_rollups_hour (
+    camera_id              BIGINT      NOT NULL,
+    bucket_start           DATETIME(6) NOT NULL,
+    sample_count           BIGINT      NOT NULL,
+    density_sum            DOUBLE      NOT NULL,
+    density_sum_of_squares DOUBLE      NOT NULL,
+    density_min            DOUBLE      NOT NULL,
+    density_max            DOUBLE      NOT NULL,
+    person_count_sum       BIGINT      NOT NULL,
+    PRIMARY KEY (camera_id, bucket_start)
+);
+
+CREATE INDEX idx_density_rollups_hour_bucket ON density_rollups_hour (bucket_start);
+
+-- Highest analysis_logs.id already folded into the rollups. Starting at 0 makes the updater backfill all existing
+-- logs, a chunk per transaction, so the backfill resumes where it stopped after a restart.
+CREATE TABLE rollup_watermarks (
+    name       VARCHAR(64) NOT NULL,
+    last_id    BIGINT      NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO rollup_watermarks (name, last_id, updated_at) VALUES ('density', 0, CURRENT_TIMESTAMP);
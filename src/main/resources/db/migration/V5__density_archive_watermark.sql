@@ -0,0 +1,3 @@
+-- Progress of the cold density archive: last_id holds the epoch day of the last day whose READY analysis logs are
+-- in the segment files. 0 (1970-01-01) means nothing is archived yet.
+INSERT INTO rollup_watermarks (name, last_id, updated_at) VALUES ('density_archive', 0, CURRENT_TIMESTAMP);
@@ -0,0 +1,13 @@
+-- Per-camera progress of the background pruning of perspective training data. Detected objects ordered before the
+-- cutoff (log timestamp, object id), the oldest object a camera keeps, are deleted in chunks; pruned_through is the
+-- log timestamp the last chunk reached, so the next chunk starts there instead of at the camera's oldest log.
+CREATE TABLE perspective_pruning_watermarks (
+    camera_id        BIGINT      NOT NULL,
+    cutoff_timestamp DATETIME(6) NOT NULL,
+    cutoff_object_id BIGINT      NOT NULL,
+    pruned_through   DATETIME(6),
+    pass_complete    BOOLEAN     NOT NULL,
+    deleted_objects  BIGINT      NOT NULL,
+    updated_at       DATETIME(6) NOT NULL,
+    PRIMARY KEY (camera_id)
+);
@@ -0,0 +1,8 @@
+-- Heartbeat for the read-replica lag check: every node writes the current time into this single row on the primary
+-- and reads it back from the replica. How far the replica's copy is behind is the replication lag.
+CREATE TABLE replication_heartbeat (
+    id      INT         NOT NULL,
+    beat_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP);
@@ -0,0 +1,57 @@
+-- Tables of the scheduler, training, cluster and ingestion state that were added while Hibernate still managed the
+-- schema. Databases baselined at V1 predate them and get them here; databases that ran one of those builds already
+-- have the ones Hibernate created, hence IF NOT EXISTS.
+
+CREATE TABLE IF NOT EXISTS perspective_training_watermarks (
+    camera_id               BIGINT      NOT NULL,
+    trained_at              DATETIME(6) NOT NULL,
+    last_detected_object_id BIGINT      NOT NULL,
+    sample_count            BIGINT      NOT NULL,
+    mean_centerx            DOUBLE      NOT NULL,
+    mean_centery            DOUBLE      NOT NULL,
+    mean_box_height         DOUBLE      NOT NULL,
+    variance_centerx        DOUBLE      NOT NULL,
+    variance_centery        DOUBLE      NOT NULL,
+    variance_box_height     DOUBLE      NOT NULL,
+    PRIMARY KEY (camera_id)
+);
+
+CREATE TABLE IF NOT EXISTS camera_schedule_states (
+    camera_id                    BIGINT      NOT NULL,
+    last_analyzed_at             DATETIME(6),
+    next_due_at                  DATETIME(6),
+    interval_millis              BIGINT      NOT NULL,
+    breaker_state                VARCHAR(16) NOT NULL,
+    breaker_consecutive_failures INT         NOT NULL,
+    breaker_consecutive_opens    INT         NOT NULL,
+    breaker_open_until           DATETIME(6),
+    saved_at                     DATETIME(6) NOT NULL,
+    PRIMARY KEY (camera_id)
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_checkpoints (
+    name        VARCHAR(64) NOT NULL,
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS cluster_nodes (
+    node_id      VARCHAR(64) NOT NULL,
+    heartbeat_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (node_id)
+);
+
+CREATE TABLE IF NOT EXISTS cluster_leases (
+    name       VARCHAR(64) NOT NULL,
+    owner      VARCHAR(64),
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS ingest_batches (
+    idempotency_key       VARCHAR(128) NOT NULL,
+    received_at           DATETIME(6)  NOT NULL,
+    analysis_log_count    INT          NOT NULL,
+    detected_object_count INT          NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
@@ -0,0 +1,12 @@
+-- The perspective training planner reads each camera's new detections through its logs from the newest log timestamp
+-- it was trained on, instead of scanning detected_objects from the lowest watermark of all cameras. Existing
+-- watermarks take the timestamp of the log their last object belongs to; NULL (the object was pruned) makes the next
+-- plan read the camera's whole history once.
+ALTER TABLE perspective_training_watermarks ADD COLUMN last_log_timestamp DATETIME(6);
+
+UPDATE perspective_training_watermarks
+SET last_log_timestamp = (
+    SELECT log.timestamp
+    FROM detected_objects obj
+    JOIN analysis_logs log ON log.id = obj.analysis_log_id
+    WHERE obj.id = perspective_training_watermarks.last_detected_object_id);
@@ -2,8 +2,10 @@ package com.github.jorepong.safetycctv;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class SafetyCctvApplicationTests {
 
     @Test
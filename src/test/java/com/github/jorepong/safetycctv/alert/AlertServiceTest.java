@@ -0,0 +1,96 @@
+package com.github.jorepong.safetycctv.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.github.jorepong.safetycctv.alert.dto.AlertHistoryQuery;
+import com.github.jorepong.safetycctv.alert.dto.AlertHistoryResponse;
+import com.github.jorepong.safetycctv.analysis.AnalysisInsightsService;
+import com.github.jorepong.safetycctv.analysis.DensityRollupStore;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.camera.CameraService;
+import com.github.jorepong.safetycctv.repository.RecordingStatementInspector;
+import com.github.jorepong.safetycctv.retention.DensityArchive;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The alert views read every alert with its log density in one statement, however many cameras and alerts there are.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.github.jorepong.safetycctv.repository.RecordingStatementInspector")
+@ActiveProfiles("test")
+@Import({AlertService.class, AnalysisInsightsService.class, CameraService.class, CameraRegistry.class,
+        DensityRollupStore.class, DensityArchive.class})
+class AlertServiceTest {
+
+    private static final int CAMERAS = 6;
+    private static final int ALERTS_PER_CAMERA = 15;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CameraRegistry cameraRegistry;
+
+    @Autowired
+    private AlertService alertService;
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    @BeforeEach
+    void insertAlerts() {
+        for (int camera = 0; camera < CAMERAS; camera++) {
+            jdbcTemplate.update("""
+                    INSERT INTO cameras (name, stream_url, stream_type, status, training_status, created_at, updated_at)
+                    VALUES (?, 'rtsp://example.com', 'RTSP', 'HEALTHY', 'READY', ?, ?)""",
+                    "camera-" + camera, now, now);
+            long cameraId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cameras", Long.class);
+            for (int i = 0; i < ALERTS_PER_CAMERA; i++) {
+                LocalDateTime timestamp = now.minusMinutes(camera + (long) CAMERAS * i);
+                jdbcTemplate.update("""
+                        INSERT INTO analysis_logs (camera_id, timestamp, analysis_status, density, person_count)
+                        VALUES (?, ?, 'READY', ?, 3)""", cameraId, timestamp, 1.0 + i / 10.0);
+                jdbcTemplate.update("""
+                        INSERT INTO safety_alerts (camera_id, timestamp, alert_type, alert_level, message,
+                            analysis_log_id, resolved)
+                        VALUES (?, ?, 'CONGESTION_ENTERED', 'WARNING', 'test', (SELECT MAX(id) FROM analysis_logs),
+                            FALSE)""", cameraId, timestamp);
+            }
+        }
+        cameraRegistry.reload();
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    @DisplayName("최근 알림, 알림 수, 알림 이력은 카메라 수와 관계없이 SQL 한 번으로 조회한다")
+    void readsAlertsOfAllCamerasInOneStatement() {
+        List<RecentAlertView> recent = alertService.getRecentAlerts(20);
+        assertThat(recent).extracting(RecentAlertView::timestamp)
+                .containsExactlyElementsOf(IntStream.range(0, 20).mapToObj(now::minusMinutes).toList());
+        assertStatements(1);
+
+        assertThat(alertService.countRecentAlertsSince(now.minusMinutes(30))).isEqualTo(31);
+        assertStatements(1);
+
+        AlertHistoryResponse history = alertService.getAlertHistory(AlertHistoryQuery.of(
+                0, 50, "density,desc", null, null, null, null, null, 1.5, null));
+        assertThat(history.totalElements()).isEqualTo(CAMERAS * 10);
+        assertThat(history.content().get(0).density()).isCloseTo(2.4, within(1e-9));
+        assertStatements(1);
+    }
+
+    private void assertStatements(int expected) {
+        assertThat(RecordingStatementInspector.statements()).hasSize(expected);
+        RecordingStatementInspector.clear();
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.analysis.dto.AnalysisResultPayload;
+import com.github.jorepong.safetycctv.analysis.dto.DetectedObjectPayload;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.entity.AnalysisLog;
+import com.github.jorepong.safetycctv.entity.AnalysisStatus;
+import com.github.jorepong.safetycctv.entity.Camera;
+import com.github.jorepong.safetycctv.entity.DetectedObject;
+import com.github.jorepong.safetycctv.repository.IngestBatchRepository;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Compares {@link AnalysisIngestService} with saving the same results as entities one by one, for requests of
+ * {@code benchmark.results} results with {@code benchmark.objects} detected objects each. Reports the median latency
+ * per request and the rows stored per second. Excluded from {@code test}; run it with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CameraRegistry.class)
+class AnalysisIngestBenchmark {
+
+    private static final int RESULTS = Integer.getInteger("benchmark.results", 500);
+    private static final int OBJECTS = Integer.getInteger("benchmark.objects", 8);
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IngestBatchRepository ingestBatchRepository;
+
+    @Autowired
+    private CameraRegistry cameraRegistry;
+
+    private AnalysisIngestService ingestService;
+    private List<AnalysisResultPayload> results;
+    private Camera camera;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO cameras (name, stream_url, stream_type, status, training_status, created_at, updated_at)
+                VALUES ('benchmark', 'rtsp://example.com', 'RTSP', 'HEALTHY', 'READY', ?, ?)""", START, START);
+        camera = entityManager.createQuery("SELECT c FROM Camera c", Camera.class).getSingleResult();
+        cameraRegistry.reload();
+        ingestService = new AnalysisIngestService(jdbcTemplate, transactionManager, ingestBatchRepository,
+                cameraRegistry, event -> { }, 500, RESULTS);
+        results = IntStream.range(0, RESULTS)
+                .mapToObj(i -> new AnalysisResultPayload(camera.getId(), START.plusSeconds(i), AnalysisStatus.READY,
+                        0.5, OBJECTS, 0.001, 0.0, null, null, "annotated/" + i + ".jpg",
+                        IntStream.range(0, OBJECTS)
+                                .mapToObj(j -> new DetectedObjectPayload((long) j, 10 * j, 20, 30, 60, 0.9))
+                                .toList()))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("JDBC 배치 저장과 엔티티 단건 저장의 처리량을 비교한다")
+    void compareIngestPaths() {
+        double entityMillis = measure(this::saveEntities);
+        double batchMillis = measure(iteration -> ingestService.ingest("benchmark-" + iteration, results));
+
+        long rows = (long) RESULTS * (1 + OBJECTS);
+        System.out.printf("[ingest-benchmark] results=%d objects/result=%d rows/request=%d%n", RESULTS, OBJECTS,
+                rows);
+        print("entities (persist per row)", entityMillis, rows);
+        print("AnalysisIngestService (JDBC batches)", batchMillis, rows);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM analysis_logs", Long.class))
+                .isEqualTo(2L * (WARMUP + ITERATIONS) * RESULTS);
+    }
+
+    private void saveEntities(int iteration) {
+        for (AnalysisResultPayload result : results) {
+            AnalysisLog log = AnalysisLog.builder()
+                    .camera(camera)
+                    .timestamp(result.timestamp())
+                    .analysisStatus(result.analysisStatus())
+                    .density(result.density())
+                    .personCount(result.personCount())
+                    .densityVelocity(result.densityVelocity())
+                    .densityAcceleration(result.densityAcceleration())
+                    .annotatedImagePath(result.annotatedImagePath())
+                    .build();
+            result.detectedObjectsOrEmpty().forEach(object -> log.getDetectedObjects().add(DetectedObject.builder()
+                    .analysisLog(log)
+                    .trackingId(object.trackingId())
+                    .boxX(object.boxX())
+                    .boxY(object.boxY())
+                    .boxWidth(object.boxWidth())
+                    .boxHeight(object.boxHeight())
+                    .confidence(object.confidence())
+                    .build()));
+            entityManager.persist(log);
+        }
+        entityManager.flush();
+    }
+
+    private double measure(IngestCall call) {
+        long[] nanos = new long[ITERATIONS];
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            long startedAt = System.nanoTime();
+            call.run(i + WARMUP);
+            long elapsed = System.nanoTime() - startedAt;
+            entityManager.clear();
+            if (i >= 0) {
+                nanos[i] = elapsed;
+            }
+        }
+        Arrays.sort(nanos);
+        return nanos[ITERATIONS / 2] / 1_000_000.0;
+    }
+
+    private static void print(String name, double medianMillis, long rows) {
+        System.out.printf("[ingest-benchmark] %-40s p50=%.1fms rows/s=%.0f%n", name, medianMillis,
+                rows / (medianMillis / 1000.0));
+    }
+
+    @FunctionalInterface
+    private interface IngestCall {
+
+        void run(int iteration);
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.github.jorepong.safetycctv.analysis.dto.AnalysisIngestResponse;
+import com.github.jorepong.safetycctv.analysis.dto.AnalysisResultPayload;
+import com.github.jorepong.safetycctv.analysis.dto.DetectedObjectPayload;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.entity.AnalysisStatus;
+import com.github.jorepong.safetycctv.repository.IngestBatchRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the ingest SQL against the migrated schema. Runs without a surrounding test transaction so that each ingest
+ * commits or rolls back on its own, as it does behind the controller.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CameraRegistry.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnalysisIngestServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IngestBatchRepository ingestBatchRepository;
+
+    @Autowired
+    private CameraRegistry cameraRegistry;
+
+    private final List<AnalysisLogIngestedEvent> events = new ArrayList<>();
+    private int failOnEvent;
+    private long cameraId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO cameras (name, stream_url, stream_type, status, training_status, created_at, updated_at)
+                VALUES ('camera-1', 'rtsp://example.com', 'RTSP', 'HEALTHY', 'READY', ?, ?)""", START, START);
+        cameraId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cameras", Long.class);
+        cameraRegistry.reload();
+    }
+
+    @AfterEach
+    void deleteRows() {
+        // The cached context shares the in-memory database with the other tests.
+        jdbcTemplate.update("DELETE FROM detected_objects");
+        jdbcTemplate.update("DELETE FROM analysis_logs");
+        jdbcTemplate.update("DELETE FROM ingest_batches");
+        jdbcTemplate.update("DELETE FROM cameras");
+        cameraRegistry.reload();
+    }
+
+    @Test
+    @DisplayName("로그를 입력 순서대로 저장하고 감지 객체를 각자의 로그에 연결한다")
+    void storesLogsInInputOrderWithTheirObjects() {
+        List<AnalysisResultPayload> results = List.of(
+                result(START, 2, 100),
+                result(START.plusSeconds(5), 0, 200),
+                result(START.plusSeconds(10), 3, 300));
+
+        AnalysisIngestResponse response = service(2).ingest("batch-1", results);
+
+        assertThat(response.duplicate()).isFalse();
+        assertThat(response.analysisLogs()).isEqualTo(3);
+        assertThat(response.detectedObjects()).isEqualTo(5);
+        List<Long> logIds = jdbcTemplate.queryForList("SELECT id FROM analysis_logs ORDER BY id", Long.class);
+        assertThat(jdbcTemplate.queryForList("SELECT person_count FROM analysis_logs ORDER BY id", Integer.class))
+                .containsExactly(2, 0, 3);
+        assertThat(jdbcTemplate.query("""
+                        SELECT l.person_count, o.boxx, o.boxy, o.tracking_id FROM detected_objects o
+                        JOIN analysis_logs l ON l.id = o.analysis_log_id ORDER BY o.id""",
+                (rs, rowNum) -> tuple(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getLong(4))))
+                .containsExactly(
+                        tuple(2, 100, 10, 0L), tuple(2, 101, 11, 1L),
+                        tuple(3, 300, 10, 0L), tuple(3, 301, 11, 1L), tuple(3, 302, 12, 2L));
+        assertThat(events).extracting(AnalysisLogIngestedEvent::analysisLogId).containsExactlyElementsOf(logIds);
+        assertThat(events).extracting(AnalysisLogIngestedEvent::detectedObjectCount).containsExactly(2, 0, 3);
+    }
+
+    @Test
+    @DisplayName("같은 멱등성 키로 다시 보낸 배치는 저장하지 않고 처음 저장한 건수를 돌려준다")
+    void acknowledgesARetriedBatchWithoutStoringItAgain() {
+        AnalysisIngestService service = service(500);
+        service.ingest("batch-1", List.of(result(START, 2, 100), result(START.plusSeconds(5), 1, 200)));
+        events.clear();
+
+        AnalysisIngestResponse retry = service.ingest("batch-1", List.of(result(START.plusSeconds(10), 4, 300)));
+
+        assertThat(retry.duplicate()).isTrue();
+        assertThat(retry.analysisLogs()).isEqualTo(2);
+        assertThat(retry.detectedObjects()).isEqualTo(3);
+        assertThat(count("analysis_logs")).isEqualTo(2);
+        assertThat(count("detected_objects")).isEqualTo(3);
+        assertThat(count("ingest_batches")).isEqualTo(1);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("저장 도중 실패하면 키와 로그, 감지 객체를 모두 되돌려 같은 키로 다시 보낼 수 있다")
+    void rollsBackEverythingWhenStoringFailsPartway() {
+        List<AnalysisResultPayload> results = List.of(
+                result(START, 2, 100), result(START.plusSeconds(5), 1, 200), result(START.plusSeconds(10), 3, 300));
+        failOnEvent = 2;
+
+        assertThatThrownBy(() -> service(500).ingest("batch-1", results)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(count("ingest_batches")).isZero();
+        assertThat(count("analysis_logs")).isZero();
+        assertThat(count("detected_objects")).isZero();
+
+        failOnEvent = 0;
+        events.clear();
+        AnalysisIngestResponse retry = service(500).ingest("batch-1", results);
+        assertThat(retry.duplicate()).isFalse();
+        assertThat(count("analysis_logs")).isEqualTo(3);
+        assertThat(count("detected_objects")).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("알 수 없는 카메라가 섞인 배치는 아무것도 저장하지 않고 거부한다")
+    void rejectsABatchWithAnUnknownCamera() {
+        List<AnalysisResultPayload> results = List.of(
+                result(START, 2, 100),
+                new AnalysisResultPayload(cameraId + 1, START, AnalysisStatus.READY, 0.5, 1, null, null, null, null,
+                        null, List.of()));
+
+        assertThatThrownBy(() -> service(500).ingest("batch-1", results)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(count("ingest_batches")).isZero();
+        assertThat(count("analysis_logs")).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 크기의 배치를 여러 JDBC 배치로 나눠 한 번에 저장한다")
+    void storesAFullRequestAcrossSeveralJdbcBatches() {
+        List<AnalysisResultPayload> results = IntStream.range(0, 1000)
+                .mapToObj(i -> result(START.plusSeconds(i), 4, i * 10))
+                .toList();
+
+        long startedAt = System.nanoTime();
+        AnalysisIngestResponse response = service(128).ingest("batch-1", results);
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(response.analysisLogs()).isEqualTo(1000);
+        assertThat(response.detectedObjects()).isEqualTo(4000);
+        assertThat(count("analysis_logs")).isEqualTo(1000);
+        assertThat(count("detected_objects")).isEqualTo(4000);
+        // Result i carries the boxes i * 10 to i * 10 + 3; every box must sit on the i-th log.
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM detected_objects o JOIN analysis_logs l ON l.id = o.analysis_log_id
+                WHERE o.boxx / 10 <> l.id - (SELECT MIN(id) FROM analysis_logs)""",
+                Long.class)).isZero();
+        // Generous bound: 5,000 rows in batches take well under a second on H2; row-by-row JPA saves take several.
+        assertThat(elapsedMillis).as("milliseconds to ingest 5,000 rows").isLessThan(5_000);
+    }
+
+    private AnalysisIngestService service(int jdbcBatchSize) {
+        return new AnalysisIngestService(jdbcTemplate, transactionManager, ingestBatchRepository, cameraRegistry,
+                event -> {
+                    if (failOnEvent > 0 && events.size() + 1 == failOnEvent) {
+                        throw new IllegalStateException("listener failed");
+                    }
+                    events.add((AnalysisLogIngestedEvent) event);
+                },
+                jdbcBatchSize, 1000);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private AnalysisResultPayload result(LocalDateTime timestamp, int objects, int firstBoxX) {
+        List<DetectedObjectPayload> detectedObjects = IntStream.range(0, objects)
+                .mapToObj(i -> new DetectedObjectPayload((long) i, firstBoxX + i, 10 + i, 30, 60, 0.9))
+                .toList();
+        return new AnalysisResultPayload(cameraId, timestamp, AnalysisStatus.READY, 0.5, objects, null, null, null,
+                null, null, detectedObjects);
+    }
+}
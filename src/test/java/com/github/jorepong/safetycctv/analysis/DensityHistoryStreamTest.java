@@ -0,0 +1,75 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.github.jorepong.safetycctv.analysis.dto.DensityPointPayload;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.capture.ClusterCoordinator;
+import com.github.jorepong.safetycctv.repository.AnalysisLogRepository;
+import com.github.jorepong.safetycctv.repository.SafetyAlertRepository;
+import com.github.jorepong.safetycctv.retention.DensityArchive;
+import com.github.jorepong.safetycctv.retention.DensityArchiver;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class DensityHistoryStreamTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @TempDir
+    Path archiveRoot;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AnalysisLogRepository analysisLogRepository;
+
+    @Test
+    @DisplayName("보관된 날과 DB에 남은 날에 걸친 밀집도 이력을 시간 순서대로 흘려보낸다")
+    void streamsArchivedAndLiveDaysInOrder() {
+        jdbcTemplate.update("""
+                INSERT INTO cameras (name, stream_url, stream_type, status, training_status, created_at, updated_at)
+                VALUES ('camera-1', 'rtsp://example.com', 'RTSP', 'HEALTHY', 'READY', ?, ?)""",
+                DAY.atStartOfDay(), DAY.atStartOfDay());
+        long cameraId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cameras", Long.class);
+        List<LocalDateTime> timestamps = new ArrayList<>();
+        for (LocalDateTime timestamp = DAY.atStartOfDay(); timestamp.isBefore(DAY.plusDays(3).atStartOfDay());
+                timestamp = timestamp.plusHours(6)) {
+            timestamps.add(timestamp);
+            jdbcTemplate.update("""
+                    INSERT INTO analysis_logs (camera_id, timestamp, analysis_status, density, person_count)
+                    VALUES (?, ?, 'READY', 0.5, 3)""", cameraId, timestamp);
+        }
+        DensityArchive archive = new DensityArchive(jdbcTemplate, archiveRoot.toUri().toString());
+        jdbcTemplate.update("UPDATE rollup_watermarks SET last_id = ? WHERE name = 'density_archive'",
+                DAY.minusDays(1).toEpochDay());
+        new DensityArchiver(jdbcTemplate, archive, mock(ClusterCoordinator.class), true, 30, 5)
+                .archiveThrough(DAY);
+        // The first day is only in the archive from now on.
+        jdbcTemplate.update("DELETE FROM analysis_logs WHERE timestamp < ?", DAY.plusDays(1).atStartOfDay());
+        AnalysisInsightsService service = new AnalysisInsightsService(analysisLogRepository,
+                mock(CameraRegistry.class), mock(SafetyAlertRepository.class), mock(DensityRollupStore.class), archive);
+
+        List<DensityPointPayload> streamed = new ArrayList<>();
+        service.streamDensityHistory(cameraId, DAY.atTime(6, 0), DAY.plusDays(2).atTime(6, 0), streamed::add);
+
+        assertThat(streamed).extracting(DensityPointPayload::timestamp)
+                .containsExactlyElementsOf(timestamps.subList(1, 10));
+        assertThat(service.getDensityHistory(cameraId, DAY.atTime(6, 0), DAY.plusDays(2).atTime(6, 0)))
+                .isEqualTo(streamed);
+    }
+}
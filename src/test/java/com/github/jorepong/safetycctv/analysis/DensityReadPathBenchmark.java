@@ -0,0 +1,176 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.analysis.dto.DensityPointPayload;
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.entity.AnalysisLog;
+import com.github.jorepong.safetycctv.entity.AnalysisStatus;
+import com.github.jorepong.safetycctv.entity.Camera;
+import com.github.jorepong.safetycctv.retention.DensityArchive;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Compares the entity read path of the density time series with the {@code AnalysisLogSample} projections that
+ * {@link AnalysisInsightsService} uses, over {@code benchmark.days} days of logs every
+ * {@code benchmark.interval-seconds} seconds for {@code benchmark.cameras} cameras. Reports the median latency and the
+ * bytes allocated per call of {@code getDensityHistory} and {@code summarizeCameras}. Excluded from {@code test}; run
+ * it with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AnalysisInsightsService.class, CameraRegistry.class, DensityRollupStore.class, DensityArchive.class})
+class DensityReadPathBenchmark {
+
+    private static final int CAMERAS = Integer.getInteger("benchmark.cameras", 2);
+    private static final int DAYS = Integer.getInteger("benchmark.days", 7);
+    private static final int INTERVAL_SECONDS = Integer.getInteger("benchmark.interval-seconds", 5);
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 3, 9, 0, 0);
+    private static final LocalDateTime START = END.minusDays(DAYS);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AnalysisInsightsService analysisInsightsService;
+
+    private List<Camera> cameras;
+
+    @BeforeEach
+    void insertLogs() {
+        for (int camera = 0; camera < CAMERAS; camera++) {
+            jdbcTemplate.update("""
+                    INSERT INTO cameras (name, stream_url, stream_type, status, training_status, created_at, updated_at)
+                    VALUES (?, 'rtsp://example.com', 'RTSP', 'HEALTHY', 'READY', ?, ?)""",
+                    "benchmark-" + camera, START, START);
+        }
+        List<Long> cameraIds = jdbcTemplate.queryForList("SELECT id FROM cameras ORDER BY id", Long.class);
+        for (Long cameraId : cameraIds) {
+            List<Object[]> batch = new ArrayList<>();
+            int sample = 0;
+            for (LocalDateTime timestamp = START; timestamp.isBefore(END);
+                    timestamp = timestamp.plusSeconds(INTERVAL_SECONDS)) {
+                double density = 0.8 + 0.6 * Math.sin(sample++ / 900.0);
+                batch.add(new Object[]{cameraId, timestamp, density, (int) (density * 20), 0.0001, 0.0,
+                        "annotated/" + cameraId + "/" + timestamp + ".jpg"});
+                if (batch.size() == 5_000) {
+                    insert(batch);
+                }
+            }
+            insert(batch);
+        }
+        cameras = entityManager.createQuery("SELECT c FROM Camera c ORDER BY c.id", Camera.class).getResultList();
+    }
+
+    @Test
+    @DisplayName("엔티티 조회와 프로젝션 조회의 지연과 할당량을 비교한다")
+    void compareReadPaths() {
+        Long cameraId = cameras.get(0).getId();
+
+        Result entityHistory = measure(() -> entityHistory(cameraId).size());
+        Result sampleHistory = measure(() -> analysisInsightsService.getDensityHistory(cameraId, START, END).size());
+        Result entitySummaries = measure(() -> cameras.stream().mapToInt(camera -> entityRecentLogs(camera).size())
+                .sum());
+        Result sampleSummaries = measure(() -> analysisInsightsService.summarizeCameras(cameras).size());
+
+        System.out.printf("[density-read-benchmark] cameras=%d days=%d interval=%ds%n", CAMERAS, DAYS,
+                INTERVAL_SECONDS);
+        print("getDensityHistory (entities)", entityHistory);
+        print("getDensityHistory (samples)", sampleHistory);
+        print("summarizeCameras (entities, query only)", entitySummaries);
+        print("summarizeCameras (samples)", sampleSummaries);
+        assertThat(sampleHistory.rows()).isEqualTo(entityHistory.rows()).isPositive();
+        assertThat(sampleSummaries.rows()).isEqualTo(CAMERAS);
+    }
+
+    /**
+     * The history as it was read before the projections: managed entities, mapped to payloads afterwards.
+     */
+    private List<DensityPointPayload> entityHistory(Long cameraId) {
+        return entityManager.createQuery("""
+                        SELECT al FROM AnalysisLog al
+                        WHERE al.camera.id = :cameraId AND al.analysisStatus = :status
+                          AND al.timestamp BETWEEN :start AND :end
+                        ORDER BY al.timestamp""", AnalysisLog.class)
+                .setParameter("cameraId", cameraId)
+                .setParameter("status", AnalysisStatus.READY)
+                .setParameter("start", START)
+                .setParameter("end", END)
+                .getResultStream()
+                .map(log -> new DensityPointPayload(log.getTimestamp(), log.getDensity(), log.getPersonCount(),
+                        log.getAnnotatedImagePath()))
+                .toList();
+    }
+
+    private List<AnalysisLog> entityRecentLogs(Camera camera) {
+        return entityManager.createQuery("""
+                        SELECT al FROM AnalysisLog al
+                        WHERE al.camera.id = :cameraId AND al.analysisStatus = :status
+                        ORDER BY al.timestamp DESC""", AnalysisLog.class)
+                .setParameter("cameraId", camera.getId())
+                .setParameter("status", AnalysisStatus.READY)
+                .setMaxResults(60)
+                .getResultList();
+    }
+
+    private Result measure(Supplier<Integer> call) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long[] nanos = new long[ITERATIONS];
+        long allocated = 0;
+        int rows = 0;
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            // Every call starts from an empty persistence context, as a request would.
+            entityManager.clear();
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long startedAt = System.nanoTime();
+            rows = call.get();
+            long elapsed = System.nanoTime() - startedAt;
+            long allocatedAfter = threads.getThreadAllocatedBytes(threadId);
+            if (i >= 0) {
+                nanos[i] = elapsed;
+                allocated += allocatedAfter - allocatedBefore;
+            }
+        }
+        Arrays.sort(nanos);
+        return new Result(rows, nanos[ITERATIONS / 2] / 1_000_000.0, allocated / ITERATIONS);
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("[density-read-benchmark] %-40s rows=%d p50=%.1fms allocated=%.1fMB/call%n", name,
+                result.rows(), result.medianMillis(), result.allocatedBytes() / (1024.0 * 1024.0));
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO analysis_logs (camera_id, timestamp, analysis_status, density, person_count,
+                    density_velocity, density_acceleration, annotated_image_path)
+                VALUES (?, ?, 'READY', ?, ?, ?, ?, ?)""", batch);
+        batch.clear();
+    }
+
+    private record Result(int rows, double medianMillis, long allocatedBytes) {
+    }
+}
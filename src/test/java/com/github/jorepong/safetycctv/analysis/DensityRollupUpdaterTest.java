@@ -0,0 +1,125 @@
+package com.github.jorepong.safetycctv.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+import com.github.jorepong.safetycctv.capture.AnalysisDataFixture;
+import com.github.jorepong.safetycctv.capture.ClusterCoordinator;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(DensityRollupStore.class)
+class DensityRollupUpdaterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DensityRollupStore store;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AnalysisDataFixture fixture;
+    private DensityRollupUpdater updater;
+    private long cameraId;
+    private long otherCameraId;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new AnalysisDataFixture(jdbcTemplate);
+        updater = new DensityRollupUpdater(store, transactionManager, mock(ClusterCoordinator.class), 7, 2, 8);
+        cameraId = fixture.insertCamera("camera-1");
+        otherCameraId = fixture.insertCamera("camera-2");
+        // Fold whatever earlier tests committed, so that only this test's logs are new.
+        catchUp();
+    }
+
+    @Test
+    @DisplayName("분·시간 단위 집계를 합치면 원본 로그를 직접 집계한 값과 같다")
+    void rollupsMatchRawAggregates() {
+        // Every 7 minutes for 5 hours; every fourth log is PENDING and must not be counted.
+        for (int i = 0; i < 43; i++) {
+            String status = i % 4 == 3 ? "PENDING" : "READY";
+            fixture.insertLog(cameraId, START.plusMinutes(7L * i), status, 0.05 * (i % 17), i);
+            fixture.insertLog(otherCameraId, START.plusMinutes(7L * i), "READY", 2.0, 1);
+        }
+        catchUp();
+
+        LocalDateTime from = START.plusMinutes(17);
+        LocalDateTime to = START.plusHours(3).plusMinutes(42);
+        DensityRollup rollup = store.summarize(cameraId, from, to).get(cameraId);
+        Map<String, Object> raw = jdbcTemplate.queryForMap("""
+                SELECT COUNT(*) AS samples, AVG(density) AS average, MIN(density) AS minimum, MAX(density) AS maximum,
+                       SUM(person_count) AS persons
+                FROM analysis_logs
+                WHERE camera_id = ? AND analysis_status = 'READY' AND timestamp >= ? AND timestamp < ?""",
+                cameraId, from, to.plusMinutes(1));
+
+        assertThat(rollup.sampleCount()).isEqualTo(((Number) raw.get("samples")).longValue());
+        assertThat(rollup.averageDensity()).isCloseTo(((Number) raw.get("average")).doubleValue(), within(1e-9));
+        assertThat(rollup.densityMin()).isEqualTo(((Number) raw.get("minimum")).doubleValue());
+        assertThat(rollup.densityMax()).isEqualTo(((Number) raw.get("maximum")).doubleValue());
+        assertThat(rollup.personCountSum()).isEqualTo(((Number) raw.get("persons")).longValue());
+
+        List<DensityRollup> buckets = store.findBuckets(cameraId, from, to);
+        assertThat(buckets).extracting(DensityRollup::bucketStart)
+                .contains(START.plusHours(1), START.plusHours(2))
+                .allSatisfy(bucketStart -> assertThat(bucketStart).isBetween(from.withSecond(0), to));
+        assertThat(buckets.stream().mapToLong(DensityRollup::sampleCount).sum()).isEqualTo(rollup.sampleCount());
+        assertThat(store.summarize(null, from, to)).containsKeys(cameraId, otherCameraId);
+    }
+
+    @Test
+    @DisplayName("청크 단위로 나누어 이어서 집계해도 각 로그는 한 번만 반영된다")
+    void resumesInChunksWithoutCountingTwice() {
+        for (int i = 0; i < 40; i++) {
+            fixture.insertLog(cameraId, START.plusSeconds(20L * i), "READY", 1.0, 2);
+        }
+        long latest = store.latestAnalysisLogId();
+
+        // Two chunks of seven logs per call, like a backfill interrupted after every run.
+        assertThat(updater.rollUpTo(latest)).isEqualTo(14);
+        assertThat(updater.rollUpTo(latest)).isEqualTo(14);
+        assertThat(updater.rollUpTo(latest)).isEqualTo(12);
+        assertThat(updater.rollUpTo(latest)).isZero();
+
+        fixture.insertLog(cameraId, START.plusMinutes(30), "READY", 3.0, 4);
+        catchUp();
+
+        DensityRollup rollup = store.summarize(cameraId, START, START.plusHours(1)).get(cameraId);
+        assertThat(rollup.sampleCount()).isEqualTo(41);
+        assertThat(rollup.densityMax()).isEqualTo(3.0);
+        assertThat(rollup.personCountSum()).isEqualTo(40 * 2 + 4);
+        // A whole hour is answered by its hour bucket, anything shorter by minute buckets.
+        assertThat(store.findBuckets(cameraId, START, START.plusMinutes(59)))
+                .extracting(DensityRollup::bucketStart, DensityRollup::sampleCount)
+                .containsExactly(tuple(START, 41L));
+        assertThat(store.findBuckets(cameraId, START.plusMinutes(12), START.plusMinutes(45)))
+                .extracting(DensityRollup::bucketStart)
+                .containsExactly(START.plusMinutes(12), START.plusMinutes(13), START.plusMinutes(30));
+    }
+
+    private void catchUp() {
+        long latest = store.latestAnalysisLogId();
+        while (updater.rollUpTo(latest) > 0) {
+            // Keep going until the watermark reaches the latest log.
+        }
+    }
+}
@@ -2,14 +2,24 @@ package com.github.jorepong.safetycctv.camera;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.github.jorepong.safetycctv.analysis.DensityRollupStore;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Runs without a surrounding test transaction: the {@link CameraRegistry} only applies changes after they commit.
+ */
 @DataJpaTest
-@Import(CameraService.class)
+@ActiveProfiles("test")
+@Import({CameraService.class, CameraRegistry.class, DensityRollupStore.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
 class CameraServiceTest {
 
     @Autowired
@@ -18,6 +28,12 @@ class CameraServiceTest {
     @Autowired
     private CameraRepository cameraRepository;
 
+    @AfterEach
+    void deleteCameras() {
+        // Through the service, so the cached context's registry forgets them as well.
+        cameraRepository.findAll().forEach(camera -> cameraService.delete(camera.getId()));
+    }
+
     @Test
     @DisplayName("카메라를 등록하면 요약 정보에 반영된다")
     void createCameraUpdatesSummary() {
@@ -63,4 +79,20 @@ class CameraServiceTest {
         assertThat(summary.healthy()).isZero();
         assertThat(summary.warning()).isEqualTo(1);
     }
+
+    @Test
+    @DisplayName("학습 상태가 바뀌면 다시 조회하지 않아도 카메라 목록에 반영된다")
+    void trainingStatusChangeReachesRegistry() {
+        CameraForm form = new CameraForm();
+        form.setName("정문 1번");
+        form.setStreamUrl("rtsp://example.com/stream1");
+        form.setStatus(CameraStatus.HEALTHY);
+        Long id = cameraService.create(form).getId();
+
+        cameraService.updateTrainingStatus(id, TrainingStatus.READY);
+
+        assertThat(cameraService.findById(id))
+            .hasValueSatisfying(camera -> assertThat(camera.getTrainingStatus()).isEqualTo(TrainingStatus.READY));
+        assertThat(cameraService.fetchAll()).extracting(camera -> camera.getId()).containsExactly(id);
+    }
 }
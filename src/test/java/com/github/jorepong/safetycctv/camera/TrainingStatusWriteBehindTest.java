@@ -0,0 +1,81 @@
+package com.github.jorepong.safetycctv.camera;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TrainingStatusWriteBehindTest {
+
+    private final CameraService cameraService = mock(CameraService.class);
+    private final CameraRegistry cameraRegistry = mock(CameraRegistry.class);
+    private final TrainingStatusWriteBehind writeBehind = new TrainingStatusWriteBehind(cameraService, cameraRegistry);
+
+    @BeforeEach
+    void registerCameras() {
+        register(1L, TrainingStatus.PENDING);
+        register(2L, TrainingStatus.READY);
+        register(3L, TrainingStatus.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("여러 번 보고된 학습 상태는 바뀐 카메라의 마지막 상태만 한 번에 저장한다")
+    void flushesOnlyTheLatestChangedStatuses() {
+        writeBehind.record(1L, TrainingStatus.PENDING);
+        writeBehind.record(2L, TrainingStatus.READY);
+        writeBehind.record(3L, TrainingStatus.PENDING);
+        writeBehind.record(3L, TrainingStatus.READY);
+        writeBehind.record(1L, TrainingStatus.READY);
+
+        writeBehind.flush();
+
+        verify(cameraService).updateTrainingStatuses(Map.of(1L, TrainingStatus.READY, 3L, TrainingStatus.READY));
+        assertThat(writeBehind.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("분석 중 삭제된 카메라의 학습 상태는 저장하지 않는다")
+    void dropsStatusesOfDeletedCameras() {
+        writeBehind.record(3L, TrainingStatus.READY);
+        when(cameraRegistry.find(3L)).thenReturn(Optional.empty());
+
+        writeBehind.flush();
+
+        verify(cameraService, never()).updateTrainingStatuses(anyMap());
+        assertThat(writeBehind.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("저장 중에 들어온 이전 상태 보고도 버리지 않고 다음 저장에 반영한다")
+    void keepsReportsThatArriveWhileFlushing() {
+        writeBehind.record(1L, TrainingStatus.READY);
+        // The camera flips back while the flush of READY runs; the registry still holds PENDING at that moment.
+        when(cameraService.updateTrainingStatuses(Map.of(1L, TrainingStatus.READY))).thenAnswer(invocation -> {
+            writeBehind.record(1L, TrainingStatus.PENDING);
+            writeBehind.record(2L, TrainingStatus.READY);
+            return 1;
+        });
+
+        writeBehind.flush();
+        register(1L, TrainingStatus.READY);
+        assertThat(writeBehind.pendingCount()).isOne();
+        writeBehind.flush();
+
+        verify(cameraService).updateTrainingStatuses(Map.of(1L, TrainingStatus.PENDING));
+        assertThat(writeBehind.pendingCount()).isZero();
+    }
+
+    private void register(Long id, TrainingStatus status) {
+        Camera camera = Camera.builder().id(id).name("camera-" + id).trainingStatus(status).build();
+        when(cameraRegistry.find(id)).thenReturn(Optional.of(new RegisteredCamera(camera, null, null, null)));
+    }
+}
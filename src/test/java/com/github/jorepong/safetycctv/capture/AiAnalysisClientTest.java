@@ -0,0 +1,153 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.capture.dto.CameraAnalysisResult;
+import com.github.jorepong.safetycctv.entity.Camera;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+class AiAnalysisClientTest {
+
+    private static final Duration REQUEST_OVERHEAD = Duration.ofMillis(40);
+    private static final Duration PER_CAMERA = Duration.ofMillis(2);
+    private static final int CAMERA_COUNT = 64;
+    private static final int CONCURRENCY = 4;
+    private static final int BATCH_SIZE = 8;
+
+    private final AiConnectionPoolMetrics poolMetrics = new AiConnectionPoolMetrics(new SimpleMeterRegistry());
+    private final ConnectionProvider connectionProvider = ConnectionProvider.builder("ai-server-test")
+            .maxConnections(64)
+            .metrics(true, () -> poolMetrics)
+            .build();
+
+    @AfterEach
+    void disposeConnections() {
+        connectionProvider.disposeLater().block();
+    }
+
+    @Test
+    @DisplayName("일괄 요청은 카메라별 요청보다 적은 요청으로 더 빨리 모든 카메라를 분석한다")
+    void batchRequestsBeatPerCameraRequests() {
+        List<Camera> cameras = cameras(CAMERA_COUNT);
+
+        try (StubAiServer server = StubAiServer.start(REQUEST_OVERHEAD, PER_CAMERA, true)) {
+            AiEndpointPool pool = newPool(server.baseUrl());
+            AiAnalysisClient client = newClient(pool, 15_000, false);
+            AiEndpoint endpoint = pool.endpoints().get(0);
+
+            long singleStartedAt = System.nanoTime();
+            List<CameraAnalysisResult> single = Flux.fromIterable(cameras)
+                    .flatMap(camera -> client.analyze(endpoint, camera), CONCURRENCY)
+                    .collectList()
+                    .block();
+            long singleElapsed = System.nanoTime() - singleStartedAt;
+            int singleRequests = server.requestCount();
+
+            long batchStartedAt = System.nanoTime();
+            List<CameraAnalysisResult> batched = Flux.fromIterable(cameras)
+                    .buffer(client.batchSize(endpoint))
+                    .flatMap(batch -> client.analyzeBatch(endpoint, batch), CONCURRENCY)
+                    .collectList()
+                    .block();
+            long batchElapsed = System.nanoTime() - batchStartedAt;
+            int batchRequests = server.requestCount() - singleRequests;
+
+            assertThat(single).hasSize(CAMERA_COUNT)
+                    .allMatch(result -> result.outcome() == AnalysisOutcome.SUCCESS);
+            assertThat(batched).hasSize(CAMERA_COUNT)
+                    .allMatch(result -> result.outcome() == AnalysisOutcome.SUCCESS)
+                    .extracting(result -> result.camera().getId())
+                    .doesNotHaveDuplicates();
+            assertThat(singleRequests).isEqualTo(CAMERA_COUNT);
+            assertThat(batchRequests).isEqualTo(CAMERA_COUNT / BATCH_SIZE);
+            assertThat(batchElapsed).isLessThan(singleElapsed / 2);
+            assertThat(poolMetrics.snapshot()).singleElement()
+                    .satisfies(view -> assertThat(view.allocatedConnections()).isBetween(1, 2 * CONCURRENCY));
+        }
+    }
+
+    @Test
+    @DisplayName("일괄 엔드포인트가 없으면 카메라별 요청으로 전환해 결과를 빠짐없이 돌려준다")
+    void fallsBackToSingleCameraEndpoint() {
+        List<Camera> cameras = cameras(BATCH_SIZE);
+
+        try (StubAiServer server = StubAiServer.start(Duration.ZERO, Duration.ZERO, false)) {
+            AiEndpointPool pool = newPool(server.baseUrl());
+            AiAnalysisClient client = newClient(pool, 15_000, false);
+            AiEndpoint endpoint = pool.endpoints().get(0);
+
+            List<CameraAnalysisResult> results = client.analyzeBatch(endpoint, cameras).collectList().block();
+
+            assertThat(results).hasSize(BATCH_SIZE)
+                    .allMatch(result -> result.outcome() == AnalysisOutcome.SUCCESS);
+            assertThat(client.batchSize(endpoint)).isEqualTo(1);
+            assertThat(server.requestCount()).isEqualTo(BATCH_SIZE);
+        }
+    }
+
+    @Test
+    @DisplayName("제한 시간 안에 응답하지 않은 요청은 서버 오류로 끝낸다")
+    void failsRequestsPastTheirDeadline() {
+        try (StubAiServer server = StubAiServer.start(Duration.ofSeconds(5), Duration.ZERO, true)) {
+            AiEndpointPool pool = newPool(server.baseUrl());
+            AiAnalysisClient client = newClient(pool, 200, false);
+
+            long startedAt = System.nanoTime();
+            List<CameraAnalysisResult> results = client.analyzeBatch(pool.endpoints().get(0), cameras(3))
+                    .collectList()
+                    .block();
+
+            assertThat(results).hasSize(3)
+                    .allMatch(result -> result.outcome() == AnalysisOutcome.SERVER_ERROR);
+            assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+        }
+    }
+
+    @Test
+    @DisplayName("p95 지연을 넘긴 요청은 다른 AI 서버에 중복 요청해 먼저 온 응답을 쓴다")
+    void hedgesSlowRequestsToAnotherEndpoint() {
+        try (StubAiServer slow = StubAiServer.start(Duration.ofSeconds(3), Duration.ZERO, true);
+                StubAiServer fast = StubAiServer.start(Duration.ZERO, Duration.ZERO, true)) {
+            AiEndpointPool pool = newPool(slow.baseUrl(), fast.baseUrl());
+            AiAnalysisClient client = newClient(pool, 15_000, true);
+            AiEndpoint primary = pool.endpoints().get(0);
+            Instant now = Instant.now();
+            for (int i = 0; i < 20; i++) {
+                primary.onRequestStarted();
+                primary.onRequestFinished(AnalysisOutcome.SUCCESS, Duration.ofMillis(50), 1, now);
+            }
+
+            long startedAt = System.nanoTime();
+            CameraAnalysisResult result = client.analyze(primary, cameras(1).get(0)).block();
+
+            assertThat(result.outcome()).isEqualTo(AnalysisOutcome.SUCCESS);
+            assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+            assertThat(fast.requestCount()).isEqualTo(1);
+        }
+    }
+
+    private AiEndpointPool newPool(String... baseUrls) {
+        return new AiEndpointPool(WebClient.builder(), connectionProvider, List.of(baseUrls), "/", 2_000,
+                new CaptureCircuitBreakers(3, 30, 600, 5, 10, 120));
+    }
+
+    private static AiAnalysisClient newClient(AiEndpointPool pool, long timeoutMillis, boolean hedging) {
+        return new AiAnalysisClient(pool, true, BATCH_SIZE, 10, timeoutMillis, 0, 60_000, hedging, 100, 1.0);
+    }
+
+    private static List<Camera> cameras(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> Camera.builder().id(id).name("camera-" + id).build())
+                .toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+class AiEndpointPoolTest {
+
+    private static final Duration LATENCY = Duration.ofMillis(100);
+
+    private final CaptureCircuitBreakers breakers = new CaptureCircuitBreakers(3, 30, 600, 2, 10, 120);
+    private final ConnectionProvider connectionProvider = ConnectionProvider.create("ai-server-test", 16);
+
+    @AfterEach
+    void disposeConnections() {
+        connectionProvider.disposeLater().block();
+    }
+
+    @Test
+    @DisplayName("카메라는 처음 배정된 AI 서버에 고정되고 새 카메라는 여유 있는 서버로 배정된다")
+    void keepsCamerasOnTheirOwner() {
+        AiEndpointPool pool = newPool("http://node-a:8000", "http://node-b:8000");
+        AiEndpoint first = pool.route(camera(1));
+        first.onRequestStarted();
+
+        AiEndpoint second = pool.route(camera(2));
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(pool.route(camera(1))).isSameAs(first);
+        assertThat(pool.groupByOwner(List.of(camera(1), camera(2))))
+                .containsOnlyKeys(first, second);
+    }
+
+    @Test
+    @DisplayName("연결 오류가 반복된 서버는 제외하고 상태 확인에 응답하면 다시 투입한다")
+    void ejectsFailingEndpointAndReadmitsAfterProbe() throws InterruptedException {
+        try (StubAiServer server = StubAiServer.start(Duration.ZERO, Duration.ZERO, false)) {
+            AiEndpointPool pool = newPool(server.baseUrl(), "http://node-b:8000");
+            AiEndpoint owner = pool.route(camera(1));
+            assertThat(owner.baseUrl()).isEqualTo(server.baseUrl());
+
+            Instant now = Instant.now();
+            for (int i = 0; i < 2; i++) {
+                owner.onRequestStarted();
+                owner.onRequestFinished(AnalysisOutcome.SERVER_UNAVAILABLE, LATENCY, 1, now);
+            }
+            assertThat(owner.isAvailable()).isFalse();
+            assertThat(pool.route(camera(1)).baseUrl()).isEqualTo("http://node-b:8000");
+
+            pool.probeEjectedEndpoints(now.plusSeconds(11));
+            for (int i = 0; i < 50 && !owner.isAvailable(); i++) {
+                Thread.sleep(100);
+            }
+            assertThat(owner.isAvailable()).isTrue();
+            assertThat(pool.route(camera(2))).isSameAs(owner);
+        }
+    }
+
+    @Test
+    @DisplayName("제외됐던 서버가 다시 투입되면 옮겨 갔던 카메라만 원래 서버로 돌아온다")
+    void movesDisplacedCamerasBackOnReadmit() throws InterruptedException {
+        try (StubAiServer server = StubAiServer.start(Duration.ZERO, Duration.ZERO, false)) {
+            AiEndpointPool pool = newPool(server.baseUrl(), "http://node-b:8000");
+            AiEndpoint home = pool.route(camera(1));
+            AiEndpoint other = pool.route(camera(2));
+            assertThat(home.baseUrl()).isEqualTo(server.baseUrl());
+            assertThat(other).isNotSameAs(home);
+
+            Instant now = Instant.now();
+            for (int i = 0; i < 2; i++) {
+                home.onRequestStarted();
+                home.onRequestFinished(AnalysisOutcome.SERVER_UNAVAILABLE, LATENCY, 1, now);
+            }
+            assertThat(pool.route(camera(1))).isSameAs(other);
+
+            pool.probeEjectedEndpoints(now.plusSeconds(11));
+            for (int i = 0; i < 50 && !home.isAvailable(); i++) {
+                Thread.sleep(100);
+            }
+            assertThat(home.isAvailable()).isTrue();
+            assertThat(pool.route(camera(1))).isSameAs(home);
+            assertThat(pool.route(camera(2))).isSameAs(other);
+            assertThat(pool.snapshot(now)).allSatisfy(view -> assertThat(view.assignedCameras()).isEqualTo(1));
+        }
+    }
+
+    private AiEndpointPool newPool(String... baseUrls) {
+        return new AiEndpointPool(WebClient.builder(), connectionProvider, List.of(baseUrls), "/", 2_000, breakers);
+    }
+
+    private static Camera camera(long id) {
+        return Camera.builder().id(id).name("camera-" + id).build();
+    }
+}
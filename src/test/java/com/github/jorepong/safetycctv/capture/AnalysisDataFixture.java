@@ -0,0 +1,45 @@
+package com.github.jorepong.safetycctv.capture;
+
+import java.time.LocalDateTime;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserts cameras, analysis logs and detected objects with plain JDBC, for tests that need rows the entities would
+ * not let them write directly, such as logs with a chosen timestamp.
+ */
+public final class AnalysisDataFixture {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalysisDataFixture(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long insertCamera(String name) {
+        jdbcTemplate.update("""
+                INSERT INTO cameras (name, stream_url, stream_type, status, training_status, created_at, updated_at)
+                VALUES (?, 'rtsp://example.com', 'RTSP', 'HEALTHY', 'READY', ?, ?)""", name, CREATED_AT, CREATED_AT);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM cameras", Long.class);
+    }
+
+    public long insertLog(long cameraId, LocalDateTime timestamp) {
+        return insertLog(cameraId, timestamp, "READY", 0.5, 3);
+    }
+
+    public long insertLog(long cameraId, LocalDateTime timestamp, String status, double density, int personCount) {
+        jdbcTemplate.update("""
+                INSERT INTO analysis_logs (camera_id, timestamp, analysis_status, density, person_count)
+                VALUES (?, ?, ?, ?, ?)""", cameraId, timestamp, status, density, personCount);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM analysis_logs", Long.class);
+    }
+
+    public void insertObjects(long analysisLogId, int count) {
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO detected_objects (analysis_log_id, boxx, boxy, box_width, box_height)
+                    VALUES (?, 10, 20, 30, 40)""", analysisLogId);
+        }
+    }
+}
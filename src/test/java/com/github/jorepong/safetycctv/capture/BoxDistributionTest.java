@@ -0,0 +1,35 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BoxDistributionTest {
+
+    @Test
+    @DisplayName("두 분포를 합치면 모든 샘플을 한 번에 요약한 것과 같다")
+    void mergeMatchesSummarizingAllSamplesTogether() {
+        // {0, 2} and {4, 6, 8}: together mean 4, variance 8
+        BoxDistribution left = new BoxDistribution(2, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0);
+        BoxDistribution right = new BoxDistribution(3, 6.0, 6.0, 6.0, 8.0 / 3, 8.0 / 3, 8.0 / 3);
+
+        BoxDistribution merged = left.merge(right);
+
+        assertThat(merged.count()).isEqualTo(5);
+        assertThat(merged.meanCenterX()).isCloseTo(4.0, within(1e-9));
+        assertThat(merged.varianceBoxHeight()).isCloseTo(8.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("평균 이동을 기준 분포의 표준편차 단위로 잰다")
+    void driftIsMeasuredInBaselineDeviations() {
+        BoxDistribution baseline = new BoxDistribution(1_000, 320.0, 240.0, 80.0, 100.0, 400.0, 25.0);
+        BoxDistribution sameArea = new BoxDistribution(200, 322.0, 236.0, 81.0, 90.0, 380.0, 30.0);
+        BoxDistribution closerToCamera = new BoxDistribution(200, 320.0, 240.0, 95.0, 100.0, 400.0, 25.0);
+
+        assertThat(sameArea.driftFrom(baseline)).isCloseTo(0.2, within(1e-9));
+        assertThat(closerToCamera.driftFrom(baseline)).isCloseTo(3.0, within(1e-9));
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.capture.dto.CameraScheduleView;
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CaptureDispatchEngineTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration INTERVAL = Duration.ofSeconds(5);
+    private static final Duration LATENCY = Duration.ofMillis(200);
+
+    @Test
+    @DisplayName("동시 요청 한도까지만 마감 시각이 이른 카메라부터 배정한다")
+    void dispatchesEarliestDueCamerasUpToLimit() {
+        CaptureDispatchEngine engine = newEngine(2);
+        engine.syncCameras(cameras(1, 2, 3), T0);
+
+        List<Camera> first = engine.pollDue(T0);
+        assertThat(first).extracting(Camera::getId).containsExactly(1L, 2L);
+        assertThat(engine.pollDue(T0)).isEmpty();
+
+        engine.complete(1L, AnalysisOutcome.SUCCESS, LATENCY, INTERVAL, T0.plusMillis(200));
+        assertThat(engine.pollDue(T0.plusMillis(200))).extracting(Camera::getId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("분석 중인 카메라는 다시 배정하지 않고 다음 주기에 맞춰 예약한다")
+    void neverOverlapsRequestsForSameCamera() {
+        CaptureDispatchEngine engine = newEngine(4);
+        engine.syncCameras(cameras(1), T0);
+
+        assertThat(engine.pollDue(T0)).hasSize(1);
+        assertThat(engine.pollDue(T0.plusSeconds(10))).isEmpty();
+
+        engine.complete(1L, AnalysisOutcome.SUCCESS, LATENCY, INTERVAL, T0.plusSeconds(1));
+        assertThat(engine.nextDueAt()).contains(T0.plus(INTERVAL));
+        assertThat(engine.pollDue(T0.plusSeconds(4))).isEmpty();
+        assertThat(engine.pollDue(T0.plus(INTERVAL))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("목표 주기보다 뒤처진 카메라의 지연 시간을 보고한다")
+    void reportsHowFarCamerasAreBehind() {
+        CaptureDispatchEngine engine = newEngine(1);
+        engine.syncCameras(cameras(1, 2), T0);
+        engine.pollDue(T0);
+
+        Instant later = T0.plusSeconds(3);
+        List<CameraScheduleView> views = engine.snapshot(later).cameras();
+
+        CameraScheduleView waiting = views.stream().filter(v -> v.cameraId() == 2L).findFirst().orElseThrow();
+        assertThat(waiting.inFlight()).isFalse();
+        assertThat(waiting.behindMillis()).isEqualTo(3_000L);
+        assertThat(engine.snapshot(later).maxBehindMillis()).isEqualTo(3_000L);
+    }
+
+    @Test
+    @DisplayName("ERROR가 반복된 카메라만 차단하고 나머지는 계속 분석한다")
+    void opensBreakerOnlyForFailingCamera() {
+        CaptureDispatchEngine engine = newEngine(2);
+        engine.syncCameras(cameras(1, 2), T0);
+
+        Instant now = T0;
+        for (int i = 0; i < 3; i++) {
+            assertThat(engine.pollDue(now)).hasSize(2);
+            now = now.plusSeconds(1);
+            engine.complete(1L, AnalysisOutcome.CAMERA_ERROR, LATENCY, INTERVAL, now);
+            engine.complete(2L, AnalysisOutcome.SUCCESS, LATENCY, INTERVAL, now);
+            now = now.plus(INTERVAL);
+        }
+
+        assertThat(breakers.forCamera(1L).state()).isEqualTo(CircuitBreakerState.OPEN);
+        assertThat(engine.pollDue(now)).extracting(Camera::getId).containsExactly(2L);
+        assertThat(breakers.snapshot().skippedCameraIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("AI 서버 장애가 이어져도 분배를 멈추지 않고 카메라 차단기도 열지 않는다")
+    void keepsDispatchingThroughServerFailures() {
+        CaptureDispatchEngine engine = newEngine(1);
+        engine.syncCameras(cameras(1, 2), T0);
+
+        // Ejecting a failing server is up to the AiEndpointPool; the engine keeps handing out due cameras.
+        Instant now = T0;
+        for (int i = 0; i < 10; i++) {
+            List<Camera> due = engine.pollDue(now);
+            assertThat(due).hasSize(1);
+            // 5xx and unreachable alike, so each camera sees both.
+            AnalysisOutcome outcome = i % 4 < 2 ? AnalysisOutcome.SERVER_ERROR : AnalysisOutcome.SERVER_UNAVAILABLE;
+            engine.complete(due.get(0).getId(), outcome, LATENCY, INTERVAL, now);
+            now = now.plus(INTERVAL);
+        }
+
+        assertThat(breakers.forCamera(1L).state()).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(breakers.forCamera(2L).state()).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(breakers.snapshot().servers()).isEmpty();
+        assertThat(engine.pollDue(now)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("일괄 요청 하나는 동시 요청 한도를 하나만 차지한다")
+    void batchTakesSingleConcurrencySlot() {
+        CaptureDispatchEngine engine = newEngine(1);
+        engine.syncCameras(cameras(1, 2, 3), T0);
+
+        List<List<Camera>> batches = engine.pollDueBatches(T0, 8);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(Camera::getId).containsExactly(1L, 2L, 3L);
+        assertThat(engine.inFlightRequests()).isEqualTo(1);
+
+        Instant done = T0.plusMillis(300);
+        engine.completeCamera(1L, AnalysisOutcome.SUCCESS, INTERVAL, done);
+        engine.completeCamera(2L, AnalysisOutcome.SUCCESS, INTERVAL, done);
+        engine.completeCamera(3L, AnalysisOutcome.SUCCESS, INTERVAL, done);
+        engine.completeRequest(AnalysisOutcome.SUCCESS, LATENCY, done);
+
+        assertThat(engine.inFlightRequests()).isZero();
+        assertThat(engine.nextDueAt()).contains(T0.plus(INTERVAL));
+    }
+
+    @Test
+    @DisplayName("재시작 후에는 저장된 마감 시각과 주기로 이어서 배정한다")
+    void resumesFromRestoredCheckpoints() {
+        CaptureDispatchEngine before = newEngine(1);
+        before.syncCameras(cameras(1, 2), T0);
+        before.pollDue(T0);
+        before.complete(1L, AnalysisOutcome.SUCCESS, LATENCY, Duration.ofSeconds(30), T0.plusSeconds(1));
+        List<CameraCheckpoint> checkpoints = before.checkpoints();
+
+        CaptureDispatchEngine after = newEngine(2);
+        after.restore(checkpoints);
+        after.syncCameras(cameras(1, 2, 3), T0.plusSeconds(10));
+
+        // Camera 2 has been overdue since T0 and goes first; camera 1 is not due until T0 + 30s.
+        assertThat(after.pollDue(T0.plusSeconds(10))).extracting(Camera::getId).containsExactly(2L, 3L);
+        assertThat(after.staleness(1L, T0.plusSeconds(10))).contains(Duration.ofSeconds(9));
+        assertThat(after.pollDue(T0.plusSeconds(30))).isEmpty();
+    }
+
+    private final CaptureCircuitBreakers breakers = new CaptureCircuitBreakers(3, 30, 600, 5, 10, 120);
+
+    private CaptureDispatchEngine newEngine(int concurrency) {
+        return new CaptureDispatchEngine(
+                INTERVAL,
+                breakers,
+                new AdaptiveConcurrencyLimit(concurrency, concurrency, concurrency, 2.0),
+                "fixed");
+    }
+
+    private static List<Camera> cameras(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> Camera.builder().id(id).name("camera-" + id).build())
+                .toList();
+    }
+}
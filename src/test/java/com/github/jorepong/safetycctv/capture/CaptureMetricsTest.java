@@ -0,0 +1,64 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.capture.dto.AiAnalysisResponse;
+import com.github.jorepong.safetycctv.capture.dto.CameraAnalysisResult;
+import com.github.jorepong.safetycctv.entity.Camera;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CaptureMetricsTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration LATENCY = Duration.ofMillis(100);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CaptureMetrics metrics = new CaptureMetrics(registry);
+    private final AiEndpoint endpoint = new AiEndpoint("http://node-a:8000", null,
+            new CircuitBreaker("http://node-a:8000", 5, Duration.ofSeconds(10), Duration.ofSeconds(120)));
+
+    @Test
+    @DisplayName("등록된 모든 카메라가 한 번씩 분석되면 한 바퀴 소요 시간을 기록한다")
+    void recordsSweepOnceEveryCameraWasAnalyzed() {
+        metrics.onCamerasSynced(List.of(1L, 2L), T0);
+
+        metrics.recordCameraResult(endpoint, success(1L), LATENCY, T0.plusSeconds(1));
+        metrics.recordCameraResult(endpoint, success(1L), LATENCY, T0.plusSeconds(2));
+        assertThat(registry.get("safetycctv.capture.sweep").timer().count()).isZero();
+
+        metrics.recordCameraResult(endpoint, success(2L), LATENCY, T0.plusSeconds(3));
+        assertThat(registry.get("safetycctv.capture.sweep").timer().count()).isEqualTo(1);
+        assertThat(registry.get("safetycctv.capture.sweep").timer().totalTime(TimeUnit.SECONDS)).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("실패한 분석은 엔드포인트와 오류 종류별로 집계한다")
+    void countsErrorsByKind() {
+        metrics.recordCameraResult(endpoint, CameraAnalysisResult.failed(camera(1L), AnalysisOutcome.SERVER_UNAVAILABLE,
+                AnalysisErrorKind.CONNECTION_ERROR), LATENCY, T0);
+        metrics.recordCameraResult(endpoint, CameraAnalysisResult.failed(camera(2L), AnalysisOutcome.CAMERA_ERROR,
+                AnalysisErrorKind.EXPLICIT_ERROR), LATENCY, T0);
+        metrics.recordCameraResult(endpoint, CameraAnalysisResult.failed(camera(3L), AnalysisOutcome.CAMERA_ERROR,
+                AnalysisErrorKind.EXPLICIT_ERROR), LATENCY, T0);
+
+        assertThat(registry.get("safetycctv.ai.errors").tag("kind", "explicit_error").counter().count())
+                .isEqualTo(2.0);
+        assertThat(registry.get("safetycctv.ai.errors").tag("kind", "connection_error").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("safetycctv.ai.camera.latency").tag("camera", "2").timer().count()).isEqualTo(1);
+    }
+
+    private static CameraAnalysisResult success(long cameraId) {
+        return new CameraAnalysisResult(camera(cameraId), AnalysisOutcome.SUCCESS, new AiAnalysisResponse(), null);
+    }
+
+    private static Camera camera(long id) {
+        return Camera.builder().id(id).name("camera-" + id).build();
+    }
+}
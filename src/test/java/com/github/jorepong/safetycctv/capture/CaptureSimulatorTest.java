@@ -0,0 +1,48 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.capture.dto.SimulationReport;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CaptureSimulatorTest {
+
+    private static final LatencyHistogram LATENCY = LatencyHistogram.parse("20:0.3,40:0.5,120:0.2");
+
+    private final CaptureSimulator simulator =
+            new CaptureSimulator(5, 1, 8, 2.0, 100, true, 8, 15_000, 2_000, 3, 30, 600, 5, 10, 120);
+
+    @Test
+    @DisplayName("용량이 충분하면 몇 시간 분량을 돌려도 모든 카메라가 목표 주기로 분석된다")
+    void keepsTargetIntervalWithSpareCapacity() {
+        SimulationReport report = simulator.run(scenario(100, 2, 0.01, 0.01));
+
+        assertThat(report.simulatedSeconds()).isEqualTo(Duration.ofHours(4).toSeconds());
+        assertThat(report.initialSweepMillis()).isNotNull().isLessThan(3 * 5_000L);
+        assertThat(report.achievableRefreshIntervalMillis()).isBetween(5_000L, 5_250L);
+        assertThat(report.p50RefreshIntervalMillis()).isBetween(5_000L, 5_200L);
+        assertThat(report.worstStalenessMillis()).isLessThan(5 * 60_000L);
+        assertThat(report.cameraErrors()).isPositive();
+        assertThat(report.wallClockMillis()).isLessThan(report.simulatedSeconds() * 1_000 / 100);
+    }
+
+    @Test
+    @DisplayName("AI 서버가 포화되면 분석 주기가 목표보다 길어지고, 서버를 늘리면 줄어든다")
+    void refreshIntervalScalesWithServers() {
+        SimulationReport oneServer = simulator.run(scenario(1_000, 1, 0.0, 0.0));
+        SimulationReport twoServers = simulator.run(scenario(1_000, 2, 0.0, 0.0));
+
+        assertThat(oneServer.achievableRefreshIntervalMillis()).isGreaterThan(2 * 5_000L);
+        assertThat(oneServer.p95RefreshIntervalMillis()).isGreaterThan(2 * 5_000L);
+        assertThat(oneServer.worstStalenessMillis()).isGreaterThanOrEqualTo(oneServer.p99RefreshIntervalMillis());
+        assertThat(twoServers.achievableRefreshIntervalMillis())
+                .isLessThan(oneServer.achievableRefreshIntervalMillis());
+    }
+
+    private static SimulationScenario scenario(int cameras, int servers, double requestErrors, double cameraErrors) {
+        return new SimulationScenario(cameras, Duration.ofHours(4), servers, 1, Duration.ofMillis(30), LATENCY,
+                requestErrors, cameraErrors, 7);
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.jorepong.safetycctv.camera.CameraService;
+import com.github.jorepong.safetycctv.camera.TrainingStatus;
+import com.github.jorepong.safetycctv.camera.TrainingStatusWriteBehind;
+import com.github.jorepong.safetycctv.capture.dto.CameraScheduleView;
+import com.github.jorepong.safetycctv.entity.Camera;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Drives the real {@link CaptureScheduler} against two misbehaving {@link StubAiServer}s and reports throughput,
+ * per-camera staleness percentiles and thread/heap usage. Excluded from {@code test}; run it with
+ * {@code gradle benchmark} and pass {@code -Dbenchmark.seconds=N} to change how long each scale runs.
+ */
+@Tag("benchmark")
+class CaptureThroughputBenchmark {
+
+    private static final long TARGET_INTERVAL_SECONDS = 5;
+    private static final Duration RUN_TIME = Duration.ofSeconds(Long.getLong("benchmark.seconds", 30));
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(250);
+
+    @ParameterizedTest(name = "카메라 {0}대")
+    @ValueSource(ints = {10, 100, 1_000})
+    @DisplayName("스텁 AI 서버를 상대로 분석 처리량과 카메라별 지연을 측정한다")
+    void measureThroughput(int cameraCount) throws InterruptedException {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("ai-server-benchmark")
+                .maxConnections(64)
+                .build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        int baselineThreads = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        try (StubAiServer first = newServer(1); StubAiServer second = newServer(2)) {
+            CaptureCircuitBreakers breakers = new CaptureCircuitBreakers(3, 30, 600, 5, 10, 120);
+            AiEndpointPool pool = new AiEndpointPool(WebClient.builder(), connectionProvider,
+                    List.of(first.baseUrl(), second.baseUrl()), "/", 2_000, breakers);
+            AiAnalysisClient client = new AiAnalysisClient(pool, true, 8, 10, 3_000, 200, 60_000, false, 200, 0.1);
+            CameraService cameraService = mock(CameraService.class);
+            when(cameraService.fetchAll()).thenReturn(cameras(cameraCount));
+            CaptureScheduler scheduler = new CaptureScheduler(
+                    cameraService,
+                    mock(TrainingStatusWriteBehind.class),
+                    client,
+                    pool,
+                    new TrainingScheduleTracker(),
+                    mock(PerspectiveTrainingOrchestrator.class),
+                    new FixedCadencePolicy(Duration.ofSeconds(TARGET_INTERVAL_SECONDS)),
+                    breakers,
+                    new CaptureMetrics(meterRegistry),
+                    mock(SchedulerStateStore.class),
+                    new ClusterCoordinator(null, null, null, false, "benchmark", 1, 30, 10),
+                    TARGET_INTERVAL_SECONDS, 1, 16, 2.0, 50, 10, 60);
+
+            StalenessSampler sampler = new StalenessSampler();
+            ScheduledExecutorService sampling = Executors.newSingleThreadScheduledExecutor();
+            long startedAt = System.nanoTime();
+            scheduler.initialize();
+            try {
+                // Staleness is only meaningful once every camera had a chance to be analyzed once.
+                sampling.scheduleAtFixedRate(() -> sampler.sample(scheduler, memory),
+                        TARGET_INTERVAL_SECONDS * 1000, SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                Thread.sleep(RUN_TIME.toMillis());
+            } finally {
+                sampling.shutdownNow();
+                scheduler.shutdown();
+            }
+            double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+            long analyzed = successfulAnalyses(meterRegistry);
+
+            System.out.printf(
+                    "[capture-benchmark] cameras=%d run=%.1fs analyzed=%d (%.1f/s, target %.1f/s) "
+                            + "staleness p50=%dms p95=%dms p99=%dms max=%dms "
+                            + "threads=%d (baseline %d, peak %d) heap peak=%dMB%n",
+                    cameraCount, elapsedSeconds, analyzed, analyzed / elapsedSeconds,
+                    (double) cameraCount / TARGET_INTERVAL_SECONDS,
+                    sampler.percentile(0.50), sampler.percentile(0.95), sampler.percentile(0.99),
+                    sampler.percentile(1.0),
+                    threads.getThreadCount(), baselineThreads, threads.getPeakThreadCount(),
+                    sampler.peakHeapBytes / (1024 * 1024));
+            assertThat(analyzed).isPositive();
+        } finally {
+            connectionProvider.disposeLater().block();
+        }
+    }
+
+    private static StubAiServer newServer(long seed) {
+        return StubAiServer.builder()
+                .requestOverhead(Duration.ofMillis(20))
+                .perCameraLatency(StubAiServer.Latency.logNormal(Duration.ofMillis(30), 0.5))
+                .errorRate(0.01)
+                .cameraErrorRate(0.02)
+                .slowResponses(0.02, Duration.ofMillis(1_500))
+                .hangRate(0.002)
+                .seed(seed)
+                .start();
+    }
+
+    private static long successfulAnalyses(SimpleMeterRegistry registry) {
+        return registry.find("safetycctv.ai.camera.latency").tag("outcome", "success").timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private static List<Camera> cameras(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> Camera.builder()
+                        .id(id)
+                        .name("camera-" + id)
+                        .streamUrl("rtsp://camera-" + id)
+                        .trainingStatus(TrainingStatus.READY)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Collects every camera's staleness and the heap usage at each sampling tick.
+     */
+    private static final class StalenessSampler {
+
+        private long[] samples = new long[1024];
+        private int size;
+        private long peakHeapBytes;
+
+        synchronized void sample(CaptureScheduler scheduler, MemoryMXBean memory) {
+            for (CameraScheduleView camera : scheduler.scheduleStatus().cameras()) {
+                if (camera.stalenessMillis() != null) {
+                    if (size == samples.length) {
+                        samples = Arrays.copyOf(samples, size * 2);
+                    }
+                    samples[size++] = camera.stalenessMillis();
+                }
+            }
+            peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        synchronized long percentile(double percentile) {
+            if (size == 0) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(size - 1, Math.ceil(percentile * size) - 1);
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.repository.ClusterLeaseRepository;
+import com.github.jorepong.safetycctv.repository.ClusterNodeRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Two coordinators share one database as two nodes would; the test advances their common clock instead of waiting
+ * for leases to expire.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CameraRegistry.class)
+class ClusterCoordinatorTest {
+
+    private static final int SHARDS = 4;
+    private static final List<Long> CAMERA_IDS = LongStream.rangeClosed(1, 12).boxed().toList();
+
+    @Autowired
+    private ClusterNodeRepository nodeRepository;
+
+    @Autowired
+    private ClusterLeaseRepository leaseRepository;
+
+    @Autowired
+    private CameraRegistry cameraRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T10:00:00Z"));
+
+    @Test
+    @DisplayName("두 노드는 샤드를 나누어 각 카메라를 정확히 한 노드만 담당하고 리더는 하나다")
+    void splitsCamerasBetweenNodesAndElectsOneLeader() {
+        ClusterCoordinator first = coordinator("node-a");
+        ClusterCoordinator second = coordinator("node-b");
+
+        first.heartbeat();
+        assertThat(CAMERA_IDS).allMatch(first::ownsCamera);
+        assertThat(first.isLeader()).isTrue();
+
+        // node-b joins; its shards only change hands once node-a released them on its next heartbeat.
+        second.heartbeat();
+        assertThat(CAMERA_IDS).noneMatch(second::ownsCamera);
+        first.heartbeat();
+        second.heartbeat();
+
+        assertThat(first.status().ownedShards()).containsExactly(0, 2);
+        assertThat(second.status().ownedShards()).containsExactly(1, 3);
+        assertThat(CAMERA_IDS).allMatch(cameraId -> first.ownsCamera(cameraId) != second.ownsCamera(cameraId));
+        assertThat(first.isLeader()).isTrue();
+        assertThat(second.isLeader()).isFalse();
+    }
+
+    @Test
+    @DisplayName("하트비트가 멈춘 노드의 샤드와 리더 임대는 만료 후 다른 노드가 넘겨받는다")
+    void takesOverTheLeasesOfAStoppedNode() {
+        ClusterCoordinator first = coordinator("node-a");
+        ClusterCoordinator second = coordinator("node-b");
+        first.heartbeat();
+        second.heartbeat();
+        first.heartbeat();
+        second.heartbeat();
+
+        // node-a stops. Before its leases expire node-b may not take them, and node-a stops using them early.
+        clock.advance(Duration.ofSeconds(25));
+        second.heartbeat();
+        assertThat(second.status().ownedShards()).containsExactly(1, 3);
+        assertThat(CAMERA_IDS).noneMatch(first::ownsCamera);
+        assertThat(first.isLeader()).isFalse();
+
+        clock.advance(Duration.ofSeconds(10));
+        second.heartbeat();
+        assertThat(second.status().liveNodes()).containsExactly("node-b");
+        assertThat(CAMERA_IDS).allMatch(second::ownsCamera);
+        assertThat(second.isLeader()).isTrue();
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 추가하거나 삭제한 카메라도 하트비트마다 카메라 목록에 반영한다")
+    void picksUpCamerasChangedThroughAnotherNode() {
+        cameraRegistry.reload();
+        ClusterCoordinator coordinator = coordinator("node-a");
+        jdbcTemplate.update("""
+                INSERT INTO cameras (name, stream_url, stream_type, status, training_status, created_at, updated_at)
+                VALUES ('added-elsewhere', 'rtsp://example.com', 'RTSP', 'HEALTHY', 'READY', ?, ?)""",
+                LocalDateTime.now(), LocalDateTime.now());
+        long cameraId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cameras", Long.class);
+        assertThat(cameraRegistry.find(cameraId)).isEmpty();
+
+        coordinator.heartbeat();
+        assertThat(cameraRegistry.find(cameraId)).isPresent();
+
+        jdbcTemplate.update("DELETE FROM cameras WHERE id = ?", cameraId);
+        coordinator.heartbeat();
+        assertThat(cameraRegistry.find(cameraId)).isEmpty();
+    }
+
+    private ClusterCoordinator coordinator(String nodeId) {
+        return new ClusterCoordinator(nodeRepository, leaseRepository, cameraRegistry, true, nodeId, SHARDS, 30, 10,
+                clock);
+    }
+}
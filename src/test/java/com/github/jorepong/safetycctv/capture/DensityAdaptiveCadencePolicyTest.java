@@ -0,0 +1,72 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.entity.AnalysisLog;
+import com.github.jorepong.safetycctv.entity.Camera;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DensityAdaptiveCadencePolicyTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T03:00:00Z"), ZoneId.of("UTC"));
+    private static final Duration FAST = Duration.ofSeconds(1);
+    private static final Duration NORMAL = Duration.ofSeconds(5);
+    private static final Duration QUIET = Duration.ofSeconds(30);
+
+    private final Map<Long, AnalysisLog> latestLogs = new HashMap<>();
+    private final DensityAdaptiveCadencePolicy policy = new DensityAdaptiveCadencePolicy(
+            FAST, NORMAL, QUIET, 0.01, id -> Optional.ofNullable(latestLogs.get(id)), CLOCK);
+
+    @Test
+    @DisplayName("위험 단계이거나 주의 단계에서 상승 중인 카메라는 가장 자주 분석한다")
+    void samplesDangerAndRisingCautionFast() {
+        latestLogs.put(1L, log(0.65, 0.0));
+        latestLogs.put(2L, log(0.40, 0.001));
+
+        assertThat(policy.nextInterval(camera(1L))).isEqualTo(FAST);
+        assertThat(policy.nextInterval(camera(2L))).isEqualTo(FAST);
+    }
+
+    @Test
+    @DisplayName("한산하고 변화가 없는 카메라는 최저 주기로 물러난다")
+    void backsOffQuietCameras() {
+        latestLogs.put(1L, log(0.0, 0.0));
+        latestLogs.put(2L, log(0.15, -0.001));
+
+        assertThat(policy.nextInterval(camera(1L))).isEqualTo(QUIET);
+        assertThat(policy.nextInterval(camera(2L))).isBetween(NORMAL, QUIET);
+    }
+
+    @Test
+    @DisplayName("최근 분석 기록이 없으면 기본 주기를 사용한다")
+    void usesNormalIntervalWithoutRecentData() {
+        latestLogs.put(2L, AnalysisLog.builder()
+                .timestamp(LocalDateTime.now(CLOCK).minusHours(1))
+                .density(0.0)
+                .build());
+
+        assertThat(policy.nextInterval(camera(1L))).isEqualTo(NORMAL);
+        assertThat(policy.nextInterval(camera(2L))).isEqualTo(NORMAL);
+    }
+
+    private static AnalysisLog log(double density, double velocityPerSecond) {
+        return AnalysisLog.builder()
+                .timestamp(LocalDateTime.now(CLOCK).minusSeconds(2))
+                .density(density)
+                .densityVelocity(velocityPerSecond)
+                .build();
+    }
+
+    private static Camera camera(Long id) {
+        return Camera.builder().id(id).name("camera-" + id).build();
+    }
+}
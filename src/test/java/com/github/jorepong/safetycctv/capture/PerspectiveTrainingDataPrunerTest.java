@@ -0,0 +1,201 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.entity.PerspectivePruningWatermark;
+import com.github.jorepong.safetycctv.repository.DetectedObjectRepository;
+import com.github.jorepong.safetycctv.repository.PerspectivePruningWatermarkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CameraRegistry.class)
+class PerspectiveTrainingDataPrunerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DetectedObjectRepository detectedObjectRepository;
+
+    @Autowired
+    private PerspectivePruningWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private CameraRegistry cameraRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T02:00:00Z"));
+    private AnalysisDataFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new AnalysisDataFixture(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("카메라마다 최신 객체만 남기고 오래된 객체를 작은 청크로 나누어 삭제한다")
+    void keepsTheNewestObjectsAndDeletesTheRestInChunks() {
+        long cameraId = fixture.insertCamera("camera-1");
+        long quietCameraId = fixture.insertCamera("camera-2");
+        // Logs are inserted newest first, so id order and time order disagree.
+        for (int i = 11; i >= 0; i--) {
+            fixture.insertObjects(fixture.insertLog(cameraId, START.plusMinutes(i)), 3);
+        }
+        fixture.insertObjects(fixture.insertLog(quietCameraId, START), 5);
+        cameraRegistry.reload();
+        PerspectiveTrainingDataPruner pruner = pruner(10, 4);
+
+        int deleted = pruneUntilIdle(pruner);
+
+        assertThat(deleted).isEqualTo(26);
+        assertThat(objectTimestamps(cameraId)).hasSize(10)
+                .allSatisfy(timestamp -> assertThat(timestamp).isAfterOrEqualTo(START.plusMinutes(8)));
+        assertThat(objectTimestamps(quietCameraId)).hasSize(5);
+        PerspectivePruningWatermark watermark = watermarkRepository.findById(cameraId).orElseThrow();
+        assertThat(watermark.isPassComplete()).isTrue();
+        assertThat(watermark.getDeletedObjects()).isEqualTo(26);
+        assertThat(watermarkRepository.findById(quietCameraId)).isEmpty();
+        assertThat(meterRegistry.counter("safetycctv.perspective.pruning.deleted").count()).isEqualTo(26);
+        assertThat(meterRegistry.counter("safetycctv.perspective.pruning.chunks").count()).isEqualTo(7);
+
+        // New detections move the cutoff once the camera is due again; the next pass continues from where the last
+        // one stopped.
+        fixture.insertObjects(fixture.insertLog(cameraId, START.plusMinutes(20)), 6);
+        assertThat(pruneUntilIdle(pruner)).isZero();
+        clock.advance(Duration.ofMinutes(10));
+        assertThat(pruneUntilIdle(pruner)).isEqualTo(6);
+        assertThat(objectTimestamps(cameraId)).hasSize(10)
+                .allSatisfy(timestamp -> assertThat(timestamp).isAfterOrEqualTo(START.plusMinutes(10)));
+        assertThat(pruner.status().deletedObjects()).isEqualTo(32);
+    }
+
+    @Test
+    @DisplayName("정리할 것이 없는 카메라는 다시 확인할 때까지 조회하지 않고, 새 기준점은 이전 기준점부터 찾는다")
+    void restsCamerasWithNothingToPruneAndMovesTheCutoffFromTheWatermark() {
+        long cameraId = fixture.insertCamera("camera-1");
+        for (int i = 0; i < 12; i++) {
+            fixture.insertObjects(fixture.insertLog(cameraId, START.plusMinutes(i)), 1);
+        }
+        cameraRegistry.reload();
+        DetectedObjectRepository repository = mock(DetectedObjectRepository.class,
+                withSettings().defaultAnswer(AdditionalAnswers.delegatesTo(detectedObjectRepository)));
+        PerspectiveTrainingDataPruner pruner = pruner(repository, 10, 4);
+        assertThat(pruneUntilIdle(pruner)).isEqualTo(2);
+        PerspectivePruningWatermark watermark = watermarkRepository.findById(cameraId).orElseThrow();
+        LocalDateTime cutoffTimestamp = watermark.getCutoffTimestamp();
+        long cutoffObjectId = watermark.getCutoffObjectId();
+        assertThat(cutoffTimestamp).isEqualTo(START.plusMinutes(2));
+
+        clearInvocations(repository);
+        fixture.insertObjects(fixture.insertLog(cameraId, START.plusMinutes(20)), 3);
+        assertThat(pruneUntilIdle(pruner)).isZero();
+        verifyNoInteractions(repository);
+
+        clock.advance(Duration.ofMinutes(10));
+        assertThat(pruneUntilIdle(pruner)).isEqualTo(3);
+        verify(repository).countKeysFrom(cameraId, cutoffTimestamp, cutoffObjectId);
+        verify(repository, never()).countKeysFrom(eq(cameraId), eq(LocalDateTime.of(1970, 1, 1, 0, 0)), anyLong());
+        assertThat(objectTimestamps(cameraId)).hasSize(10)
+                .allSatisfy(timestamp -> assertThat(timestamp).isAfterOrEqualTo(START.plusMinutes(5)));
+
+        // Within the limit: the camera is checked with a single count and rests again.
+        clock.advance(Duration.ofMinutes(10));
+        clearInvocations(repository);
+        assertThat(pruneUntilIdle(pruner)).isZero();
+        verify(repository).countKeysFrom(eq(cameraId), any(), anyLong());
+        verify(repository, never()).findKeysFrom(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("비혼잡 시간대는 자정을 넘겨 지정할 수 있고 시작과 끝이 같으면 항상 정리한다")
+    void offPeakWindowMayWrapAroundMidnight() {
+        assertThat(List.of(21, 22, 23, 0, 4, 5)).map(offPeak(22, 5)::isOffPeak)
+                .containsExactly(false, true, true, true, true, false);
+        assertThat(List.of(0, 1, 5, 6)).map(offPeak(1, 6)::isOffPeak)
+                .containsExactly(false, true, true, false);
+        assertThat(offPeak(3, 3).isOffPeak(15)).isTrue();
+    }
+
+    @Test
+    @DisplayName("비혼잡 시간대인지는 시계의 현지 시각으로 판단한다")
+    void offPeakWindowFollowsTheClock() {
+        ClusterCoordinator leader = mock(ClusterCoordinator.class);
+        when(leader.isLeader()).thenReturn(true);
+        PerspectiveTrainingDataPruner pruner = new PerspectiveTrainingDataPruner(detectedObjectRepository,
+                watermarkRepository, cameraRegistry, leader, new CaptureMetrics(meterRegistry), transactionManager,
+                10, 4, 1, 6, 10, clock);
+
+        assertThat(pruner.status().active()).isTrue();
+        clock.advance(Duration.ofHours(5));
+        assertThat(pruner.status().active()).isFalse();
+    }
+
+    private PerspectiveTrainingDataPruner pruner(int maxDataPoints, int chunkSize) {
+        return pruner(detectedObjectRepository, maxDataPoints, chunkSize);
+    }
+
+    private PerspectiveTrainingDataPruner pruner(DetectedObjectRepository repository, int maxDataPoints,
+            int chunkSize) {
+        return pruner(repository, maxDataPoints, chunkSize, 0, 0);
+    }
+
+    private PerspectiveTrainingDataPruner offPeak(int startHour, int endHour) {
+        return pruner(detectedObjectRepository, 10, 4, startHour, endHour);
+    }
+
+    private PerspectiveTrainingDataPruner pruner(DetectedObjectRepository repository, int maxDataPoints,
+            int chunkSize, int startHour, int endHour) {
+        return new PerspectiveTrainingDataPruner(repository, watermarkRepository, cameraRegistry,
+                mock(ClusterCoordinator.class), new CaptureMetrics(meterRegistry), transactionManager, maxDataPoints,
+                chunkSize, startHour, endHour, 10, clock);
+    }
+
+    private int pruneUntilIdle(PerspectiveTrainingDataPruner pruner) {
+        int total = 0;
+        for (int i = 0; i < 100; i++) {
+            int deleted = pruner.pruneNextChunk();
+            assertThat(deleted).isLessThanOrEqualTo(4);
+            total += deleted;
+        }
+        return total;
+    }
+
+    private List<LocalDateTime> objectTimestamps(long cameraId) {
+        return jdbcTemplate.queryForList("""
+                SELECT log.timestamp FROM detected_objects obj
+                JOIN analysis_logs log ON log.id = obj.analysis_log_id
+                WHERE log.camera_id = ?""", LocalDateTime.class, cameraId);
+    }
+}
@@ -0,0 +1,201 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.jorepong.safetycctv.capture.PerspectiveTrainingCandidate.Reason;
+import com.github.jorepong.safetycctv.capture.dto.CameraTrainingView;
+import com.github.jorepong.safetycctv.capture.dto.PerspectiveMapTrainingResponse;
+import com.github.jorepong.safetycctv.capture.dto.SkippedCameraInfo;
+import com.github.jorepong.safetycctv.capture.dto.TrainedCameraInfo;
+import com.github.jorepong.safetycctv.capture.dto.TrainingStatusPayload;
+import com.github.jorepong.safetycctv.entity.Camera;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Sinks;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Drives the orchestrator with a stubbed training client whose responses the test releases one at a time, and against
+ * a {@link StubAiServer} that never answers.
+ */
+class PerspectiveTrainingOrchestratorTest {
+
+    private final PerspectiveTrainingPlanner planner = mock(PerspectiveTrainingPlanner.class);
+    private final PerspectiveTrainingDataPruner pruner = mock(PerspectiveTrainingDataPruner.class);
+    private final AiAnalysisClient aiAnalysisClient = mock(AiAnalysisClient.class);
+    private final AiEndpointPool endpointPool = mock(AiEndpointPool.class);
+    private final AiEndpoint endpoint = mock(AiEndpoint.class);
+    private final Map<Long, Sinks.One<PerspectiveMapTrainingResponse>> responses = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(endpoint.baseUrl()).thenReturn("http://ai-1");
+        when(endpointPool.route(any())).thenReturn(endpoint);
+        when(pruner.retainedSamples(anyLong())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(aiAnalysisClient.trainPerspectiveMaps(eq(endpoint), any())).thenAnswer(invocation -> {
+            Map<String, List<Long>> body = invocation.getArgument(1);
+            Sinks.One<PerspectiveMapTrainingResponse> response = Sinks.one();
+            responses.put(body.get("cameraIds").get(0), response);
+            return response.asMono();
+        });
+    }
+
+    @Test
+    @DisplayName("학습 중인 카메라는 다음 실행에서 다시 학습하지 않고 끝난 뒤에야 다시 대상이 된다")
+    void neverTrainsACameraTwiceAtOnce() {
+        PerspectiveTrainingCandidate candidate = candidate(1L);
+        when(planner.findCamerasToRetrain()).thenReturn(List.of(candidate));
+        PerspectiveTrainingOrchestrator orchestrator = orchestrator(2);
+
+        assertThat(orchestrator.startRun()).isEqualTo(1);
+        verify(aiAnalysisClient, timeout(2000)).trainPerspectiveMaps(eq(endpoint), any());
+        assertThat(view(orchestrator, 1L).state()).isEqualTo(TrainingState.RUNNING);
+
+        assertThat(orchestrator.startRun()).isZero();
+        verify(aiAnalysisClient, times(1)).trainPerspectiveMaps(eq(endpoint), any());
+
+        response(1L).tryEmitValue(trained(1L, 580));
+        CameraTrainingView done = awaitState(orchestrator, 1L, TrainingState.DONE);
+        assertThat(done.samplesUsed()).isEqualTo(580);
+        assertThat(done.finishedAt()).isNotNull();
+        verify(planner).markTrained(eq(candidate), eq(candidate.estimatedSamples()), any());
+
+        assertThat(orchestrator.startRun()).isEqualTo(1);
+        verify(aiAnalysisClient, timeout(2000).times(2)).trainPerspectiveMaps(eq(endpoint), any());
+    }
+
+    @Test
+    @DisplayName("동시 학습 수를 넘는 카메라는 대기하고, 건너뜀과 실패는 사유와 함께 기록한다")
+    void tracksQueuedRunningSkippedAndFailedCameras() {
+        when(planner.findCamerasToRetrain()).thenReturn(List.of(candidate(1L), candidate(2L)));
+        PerspectiveTrainingOrchestrator orchestrator = orchestrator(1);
+
+        assertThat(orchestrator.startRun()).isEqualTo(2);
+        awaitState(orchestrator, 1L, TrainingState.RUNNING);
+        TrainingStatusPayload status = orchestrator.status();
+        assertThat(status.queuedCameras()).isEqualTo(1);
+        assertThat(status.runningCameras()).isEqualTo(1);
+        assertThat(view(orchestrator, 2L).state()).isEqualTo(TrainingState.QUEUED);
+
+        response(1L).tryEmitValue(skipped(1L, "not enough samples", 12));
+        CameraTrainingView skipped = awaitState(orchestrator, 1L, TrainingState.SKIPPED);
+        assertThat(skipped.message()).isEqualTo("not enough samples");
+        assertThat(skipped.samplesAvailable()).isEqualTo(12);
+        awaitState(orchestrator, 2L, TrainingState.RUNNING);
+
+        response(2L).tryEmitError(
+                WebClientResponseException.create(503, "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null));
+        assertThat(awaitState(orchestrator, 2L, TrainingState.FAILED).message()).isEqualTo("HTTP 503");
+        verify(planner, never()).markTrained(any(), anyLong(), any());
+
+        assertThat(orchestrator.startRun()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("AI 서버가 학습 요청에 응답하지 않으면 제한 시간에 실패로 기록하고 다음 실행에서 다시 학습한다")
+    void failsATrainingRequestThatHangsAtItsDeadline() {
+        ConnectionProvider connectionProvider = ConnectionProvider.create("training-test", 4);
+        try (StubAiServer server = StubAiServer.builder().hangRate(1.0).start()) {
+            AiEndpointPool pool = new AiEndpointPool(WebClient.builder(), connectionProvider,
+                    List.of(server.baseUrl()), "/", 2_000, new CaptureCircuitBreakers(3, 30, 600, 5, 10, 120));
+            AiAnalysisClient client = new AiAnalysisClient(pool, true, 8, 10, 15_000, 0, 300, false, 100, 0.1);
+            when(planner.findCamerasToRetrain()).thenReturn(List.of(candidate(1L)));
+            PerspectiveTrainingOrchestrator orchestrator = new PerspectiveTrainingOrchestrator(planner, pruner, client,
+                    pool, new TrainingScheduleTracker(), new CaptureMetrics(new SimpleMeterRegistry()), 1);
+
+            assertThat(orchestrator.startRun()).isEqualTo(1);
+            CameraTrainingView failed = awaitState(orchestrator, 1L, TrainingState.FAILED);
+            assertThat(failed.message()).isEqualTo("제한 시간 안에 응답이 없습니다");
+            assertThat(server.trainingRequestCount()).isEqualTo(1);
+            verify(planner, never()).markTrained(any(), anyLong(), any());
+
+            assertThat(orchestrator.startRun()).isEqualTo(1);
+            awaitState(orchestrator, 1L, TrainingState.FAILED);
+            assertThat(server.trainingRequestCount()).isEqualTo(2);
+        } finally {
+            connectionProvider.disposeLater().block();
+        }
+    }
+
+    private PerspectiveTrainingOrchestrator orchestrator(int maxConcurrency) {
+        return new PerspectiveTrainingOrchestrator(planner, pruner, aiAnalysisClient, endpointPool,
+                new TrainingScheduleTracker(), new CaptureMetrics(new SimpleMeterRegistry()), maxConcurrency);
+    }
+
+    /**
+     * The pending response of the camera's training request, once the request has been sent.
+     */
+    private Sinks.One<PerspectiveMapTrainingResponse> response(Long cameraId) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!responses.containsKey(cameraId) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(responses).as("training requests").containsKey(cameraId);
+        return responses.get(cameraId);
+    }
+
+    private static CameraTrainingView view(PerspectiveTrainingOrchestrator orchestrator, Long cameraId) {
+        return orchestrator.status().cameras().stream()
+                .filter(view -> view.cameraId().equals(cameraId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static CameraTrainingView awaitState(
+            PerspectiveTrainingOrchestrator orchestrator, Long cameraId, TrainingState state) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        CameraTrainingView view = view(orchestrator, cameraId);
+        while (view.state() != state && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            view = view(orchestrator, cameraId);
+        }
+        assertThat(view.state()).as("state of camera %d", cameraId).isEqualTo(state);
+        return view;
+    }
+
+    private static PerspectiveTrainingCandidate candidate(Long cameraId) {
+        Camera camera = Camera.builder().id(cameraId).name("camera-" + cameraId).build();
+        return new PerspectiveTrainingCandidate(camera, 0, 600, 1000L, LocalDateTime.of(2026, 3, 2, 10, 0),
+                new BoxDistribution(600, 320, 240, 80, 100, 100, 25), null, 0.0, Reason.FIRST_TRAINING);
+    }
+
+    private static PerspectiveMapTrainingResponse trained(Long cameraId, int samplesUsed) {
+        TrainedCameraInfo info = new TrainedCameraInfo();
+        info.setCameraId(cameraId);
+        info.setCameraName("camera-" + cameraId);
+        info.setSamplesUsed(samplesUsed);
+        PerspectiveMapTrainingResponse response = new PerspectiveMapTrainingResponse();
+        response.setStatus("SUCCESS");
+        response.setTrainedCameras(List.of(info));
+        return response;
+    }
+
+    private static PerspectiveMapTrainingResponse skipped(Long cameraId, String reason, int samplesAvailable) {
+        SkippedCameraInfo info = new SkippedCameraInfo();
+        info.setCameraId(cameraId);
+        info.setReason(reason);
+        info.setSamplesAvailable(samplesAvailable);
+        PerspectiveMapTrainingResponse response = new PerspectiveMapTrainingResponse();
+        response.setStatus("SUCCESS");
+        response.setSkippedCameras(List.of(info));
+        return response;
+    }
+}
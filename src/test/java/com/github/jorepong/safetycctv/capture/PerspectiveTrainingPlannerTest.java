@@ -0,0 +1,91 @@
+package com.github.jorepong.safetycctv.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.github.jorepong.safetycctv.camera.CameraRegistry;
+import com.github.jorepong.safetycctv.capture.PerspectiveTrainingCandidate.Reason;
+import com.github.jorepong.safetycctv.entity.PerspectiveTrainingWatermark;
+import com.github.jorepong.safetycctv.repository.DetectedObjectRepository;
+import com.github.jorepong.safetycctv.repository.PerspectiveTrainingWatermarkRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CameraRegistry.class)
+class PerspectiveTrainingPlannerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DetectedObjectRepository detectedObjectRepository;
+
+    @Autowired
+    private PerspectiveTrainingWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private CameraRegistry cameraRegistry;
+
+    private AnalysisDataFixture fixture;
+    private PerspectiveTrainingPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new AnalysisDataFixture(jdbcTemplate);
+        planner = new PerspectiveTrainingPlanner(cameraRegistry, detectedObjectRepository, watermarkRepository,
+                4, 0.2, 0.5);
+    }
+
+    @Test
+    @DisplayName("카메라마다 자신의 워터마크 이후에 기록된 객체만 세어 재학습 대상을 고른다")
+    void countsEachCameraFromItsOwnWatermark() {
+        long trainedCameraId = fixture.insertCamera("camera-1");
+        long newCameraId = fixture.insertCamera("camera-2");
+        for (int i = 0; i < 5; i++) {
+            fixture.insertObjects(fixture.insertLog(trainedCameraId, START.plusMinutes(i)), 2);
+        }
+        fixture.insertObjects(fixture.insertLog(newCameraId, START), 2);
+        cameraRegistry.reload();
+
+        PerspectiveTrainingCandidate first = onlyCandidate();
+        assertThat(first.camera().getId()).isEqualTo(trainedCameraId);
+        assertThat(first.reason()).isEqualTo(Reason.FIRST_TRAINING);
+        assertThat(first.newSamples()).isEqualTo(10);
+        planner.markTrained(first, 10, START.plusMinutes(5));
+        PerspectiveTrainingWatermark watermark = watermarkRepository.findById(trainedCameraId).orElseThrow();
+        assertThat(watermark.getLastLogTimestamp()).isEqualTo(START.plusMinutes(4));
+        assertThat(planner.findCamerasToRetrain()).isEmpty();
+
+        // A log committed late with an earlier timestamp still counts as new.
+        fixture.insertObjects(fixture.insertLog(trainedCameraId, START.plusMinutes(3)), 1);
+        fixture.insertObjects(fixture.insertLog(trainedCameraId, START.plusMinutes(6)), 2);
+        assertThat(planner.findCamerasToRetrain()).isEmpty();
+        fixture.insertObjects(fixture.insertLog(newCameraId, START.plusMinutes(6)), 2);
+        fixture.insertObjects(fixture.insertLog(trainedCameraId, START.plusMinutes(7)), 1);
+
+        List<PerspectiveTrainingCandidate> candidates = planner.findCamerasToRetrain();
+        assertThat(candidates).extracting(candidate -> candidate.camera().getId(), PerspectiveTrainingCandidate::reason,
+                        PerspectiveTrainingCandidate::newSamples)
+                .containsExactlyInAnyOrder(
+                        tuple(trainedCameraId, Reason.NEW_SAMPLES, 4L),
+                        tuple(newCameraId, Reason.FIRST_TRAINING, 4L));
+    }
+
+    private PerspectiveTrainingCandidate onlyCandidate() {
+        List<PerspectiveTrainingCandidate> candidates = planner.findCamerasToRetrain();
+        assertThat(candidates).hasSize(1);
+        return candidates.get(0);
+    }
+}
@@ -0,0 +1,292 @@
+package com.github.jorepong.safetycctv.capture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * Minimal stand-in for the Django AI server. Every request pays a fixed overhead and every camera in it a processing
+ * time drawn from a {@link Latency} distribution; batch responses are streamed as NDJSON, one line per camera as soon
+ * as it is processed. A fraction of requests can fail with HTTP 500, be delayed or hang until the server closes, and a
+ * fraction of cameras can answer with an {@code ERROR} status, so clients can be exercised against a misbehaving
+ * server. Random decisions use a fixed seed unless configured otherwise.
+ */
+final class StubAiServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Builder options;
+    private final Random random;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger trainingRequestCount = new AtomicInteger();
+    private final Sinks.Empty<Void> closing = Sinks.empty();
+    private final DisposableServer server;
+
+    private StubAiServer(Builder options) {
+        this.options = options;
+        this.random = new Random(options.seed);
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> {
+                    routes.post(AiAnalysisClient.PROCESS_CAMERA_URI, (request, response) -> request.receive()
+                            .aggregate()
+                            .asString()
+                            .flatMap(body -> {
+                                long cameraId = readRequest(body).path("cameraId").asLong();
+                                return respond(response, "application/json", processCamera(cameraId).flux());
+                            }));
+                    if (options.batchSupported) {
+                        routes.post(AiAnalysisClient.PROCESS_CAMERAS_URI, (request, response) -> request.receive()
+                                .aggregate()
+                                .asString()
+                                .flatMap(body -> {
+                                    List<Long> cameraIds = cameraIds(readRequest(body));
+                                    return respond(response, "application/x-ndjson", Flux.fromIterable(cameraIds)
+                                            .concatMap(this::processCamera)
+                                            .map(json -> json + "\n"));
+                                }));
+                    }
+                    routes.post(AiAnalysisClient.TRAIN_PERSPECTIVE_MAP_URI, (request, response) -> request.receive()
+                            .aggregate()
+                            .asString()
+                            .defaultIfEmpty("{}")
+                            .flatMap(body -> {
+                                trainingRequestCount.incrementAndGet();
+                                List<Long> cameraIds = cameraIds(readRequest(body));
+                                return respond(response, "application/json", train(cameraIds));
+                            }));
+                })
+                .bindNow();
+    }
+
+    /**
+     * Starts a well-behaved server with fixed latencies.
+     */
+    static StubAiServer start(Duration requestOverhead, Duration perCameraLatency, boolean batchSupported) {
+        return builder()
+                .requestOverhead(requestOverhead)
+                .perCameraLatency(Latency.fixed(perCameraLatency))
+                .batchSupported(batchSupported)
+                .start();
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    /**
+     * Number of analysis and training requests received so far.
+     */
+    int requestCount() {
+        return requestCount.get();
+    }
+
+    int trainingRequestCount() {
+        return trainingRequestCount.get();
+    }
+
+    @Override
+    public void close() {
+        closing.tryEmitEmpty();
+        server.disposeNow();
+    }
+
+    /**
+     * Sends {@code body} after the request overhead, unless the request is picked to fail, to be slow or to hang.
+     */
+    private Mono<Void> respond(HttpServerResponse response, String contentType, Flux<String> body) {
+        double roll = random.nextDouble();
+        if (roll < options.errorRate) {
+            return response.status(500)
+                    .header("Content-Type", "application/json")
+                    .sendString(Mono.just("{\"status\":\"ERROR\",\"message\":\"stub failure\"}")
+                            .delaySubscription(options.requestOverhead))
+                    .then();
+        }
+        roll -= options.errorRate;
+        if (roll < options.hangRate) {
+            return Mono.<Void>never().takeUntilOther(closing.asMono());
+        }
+        roll -= options.hangRate;
+        Duration delay = roll < options.slowRate
+                ? options.requestOverhead.plus(options.slowDelay)
+                : options.requestOverhead;
+        return response.header("Content-Type", contentType)
+                .sendString(body.delaySubscription(delay))
+                .then();
+    }
+
+    private Mono<String> processCamera(long cameraId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("cameraId", cameraId);
+        body.put("cameraName", "camera-" + cameraId);
+        if (random.nextDouble() < options.cameraErrorRate) {
+            body.put("status", "ERROR");
+            body.put("message", "Failed to capture frame");
+        } else {
+            body.put("status", "SUCCESS");
+            body.put("personCount", 3);
+            body.put("density", 0.1);
+            body.put("trainingStatus", "READY");
+        }
+        return Mono.fromCallable(() -> MAPPER.writeValueAsString(body))
+                .delaySubscription(options.perCameraLatency.sample(random));
+    }
+
+    private Flux<String> train(List<Long> cameraIds) {
+        List<Map<String, Object>> trained = cameraIds.stream()
+                .<Map<String, Object>>map(id -> Map.of(
+                        "cameraId", id,
+                        "cameraName", "camera-" + id,
+                        "samplesUsed", 100,
+                        "trainingTime", "0.1s"))
+                .toList();
+        return Mono.fromCallable(() -> MAPPER.writeValueAsString(Map.of(
+                        "status", "SUCCESS",
+                        "trainedCameras", trained,
+                        "skippedCameras", List.of(),
+                        "message", "Trained " + trained.size() + " cameras")))
+                .delaySubscription(options.trainingLatency)
+                .flux();
+    }
+
+    /**
+     * Parses a request body and counts the request.
+     */
+    private JsonNode readRequest(String body) {
+        requestCount.incrementAndGet();
+        try {
+            return MAPPER.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Malformed request body: " + body, e);
+        }
+    }
+
+    private static List<Long> cameraIds(JsonNode body) {
+        List<Long> ids = new ArrayList<>();
+        body.path("cameraIds").forEach(id -> ids.add(id.asLong()));
+        return ids;
+    }
+
+    /**
+     * Distribution of a simulated processing time.
+     */
+    @FunctionalInterface
+    interface Latency {
+
+        Duration sample(Random random);
+
+        static Latency fixed(Duration latency) {
+            return random -> latency;
+        }
+
+        static Latency uniform(Duration min, Duration max) {
+            long span = max.toNanos() - min.toNanos();
+            return random -> min.plusNanos(span <= 0 ? 0 : (long) (random.nextDouble() * span));
+        }
+
+        /**
+         * Log-normal latency around {@code median}; {@code sigma} controls the length of the tail (0.5 puts p99 at
+         * about 3.2 times the median).
+         */
+        static Latency logNormal(Duration median, double sigma) {
+            return random -> Duration.ofNanos((long) (median.toNanos() * Math.exp(sigma * random.nextGaussian())));
+        }
+    }
+
+    static final class Builder {
+
+        private Duration requestOverhead = Duration.ZERO;
+        private Latency perCameraLatency = Latency.fixed(Duration.ZERO);
+        private Duration trainingLatency = Duration.ZERO;
+        private boolean batchSupported = true;
+        private double errorRate;
+        private double cameraErrorRate;
+        private double slowRate;
+        private Duration slowDelay = Duration.ZERO;
+        private double hangRate;
+        private long seed = 42;
+
+        private Builder() {
+        }
+
+        Builder requestOverhead(Duration requestOverhead) {
+            this.requestOverhead = requestOverhead;
+            return this;
+        }
+
+        Builder perCameraLatency(Latency perCameraLatency) {
+            this.perCameraLatency = perCameraLatency;
+            return this;
+        }
+
+        Builder trainingLatency(Duration trainingLatency) {
+            this.trainingLatency = trainingLatency;
+            return this;
+        }
+
+        Builder batchSupported(boolean batchSupported) {
+            this.batchSupported = batchSupported;
+            return this;
+        }
+
+        /**
+         * Fraction of requests answered with HTTP 500.
+         */
+        Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Fraction of cameras answered with an {@code ERROR} status inside an otherwise successful response.
+         */
+        Builder cameraErrorRate(double cameraErrorRate) {
+            this.cameraErrorRate = cameraErrorRate;
+            return this;
+        }
+
+        /**
+         * Fraction of requests delayed by an extra {@code delay} before the response starts.
+         */
+        Builder slowResponses(double rate, Duration delay) {
+            this.slowRate = rate;
+            this.slowDelay = delay;
+            return this;
+        }
+
+        /**
+         * Fraction of requests that never receive a response until the server is closed.
+         */
+        Builder hangRate(double hangRate) {
+            this.hangRate = hangRate;
+            return this;
+        }
+
+        Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        StubAiServer start() {
+            return new StubAiServer(this);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.jorepong.safetycctv.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; the test copies the heartbeat rows over itself
+ * where MySQL replication would.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String NODE_ID = "node-a";
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary", "primary-" + UUID.randomUUID());
+        replica = database("replica", "replica-" + UUID.randomUUID());
+        lagMonitor = new ReplicaLagMonitor(primary, replica, Duration.ofSeconds(5), NODE_ID);
+        routeThrough(replica);
+    }
+
+    @Test
+    @DisplayName("복제본이 따라잡은 동안에는 읽기 전용 트랜잭션만 복제본에서 읽는다")
+    void sendsReadOnlyTransactionsToACaughtUpReplica() {
+        assertThat(readOnlyCameraName()).isEqualTo("primary");
+
+        lagMonitor.beat();
+        replicateHeartbeat(NODE_ID);
+        lagMonitor.beat();
+
+        assertThat(lagMonitor.lag()).contains(Duration.ZERO);
+        assertThat(readOnlyCameraName()).isEqualTo("replica");
+        assertThat(readWriteCameraName()).isEqualTo("primary");
+        assertThat(cameraName()).isEqualTo("primary");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE cameras SET stream_url = 'rtsp://new'"));
+        assertThat(new JdbcTemplate(primary).queryForObject("SELECT stream_url FROM cameras", String.class))
+                .isEqualTo("rtsp://new");
+    }
+
+    @Test
+    @DisplayName("복제본이 허용 지연보다 뒤처지거나 연결할 수 없으면 주 DB에서 읽는다")
+    void fallsBackToThePrimaryWhenTheReplicaLagsOrIsDown() {
+        lagMonitor.beat();
+        replicateHeartbeat(NODE_ID);
+        lagMonitor.beat();
+        assertThat(readOnlyCameraName()).isEqualTo("replica");
+
+        // Replication stops: the replica keeps the heartbeat of a minute ago.
+        new JdbcTemplate(replica).update("UPDATE replication_heartbeat SET beat_at = ?",
+                LocalDateTime.now().minusMinutes(1));
+        lagMonitor.beat();
+        assertThat(lagMonitor.lag()).hasValueSatisfying(lag -> assertThat(lag).isGreaterThan(Duration.ofSeconds(50)));
+        assertThat(readOnlyCameraName()).isEqualTo("primary");
+
+        replicateHeartbeat(NODE_ID);
+        lagMonitor.beat();
+        assertThat(readOnlyCameraName()).isEqualTo("replica");
+
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        ReplicaLagMonitor downMonitor = new ReplicaLagMonitor(primary, unreachable, Duration.ofSeconds(5), NODE_ID);
+        downMonitor.beat();
+        assertThat(downMonitor.lag()).isEmpty();
+        lagMonitor = downMonitor;
+        routeThrough(unreachable);
+        assertThat(readOnlyCameraName()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("다른 노드의 더 새로운 하트비트가 복제되어도 자신의 하트비트가 복제되기 전에는 따라잡았다고 보지 않는다")
+    void ignoresOtherNodesHeartbeats() throws InterruptedException {
+        ReplicaLagMonitor otherMonitor = new ReplicaLagMonitor(primary, replica, Duration.ofSeconds(5), "node-b");
+        lagMonitor.beat();
+        replicateHeartbeat(NODE_ID);
+        lagMonitor.beat();
+        assertThat(lagMonitor.lag()).contains(Duration.ZERO);
+
+        // Replication stalls right after this node's beat; the other node beats later and only its row arrives.
+        Thread.sleep(5);
+        otherMonitor.beat();
+        replicateHeartbeat("node-b");
+        lagMonitor.beat();
+
+        assertThat(lagMonitor.lag()).hasValueSatisfying(lag -> assertThat(lag).isPositive());
+        assertThat(readOnlyCameraName()).isEqualTo("replica");
+    }
+
+    private void routeThrough(DataSource replicaDataSource) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicaDataSource, lagMonitor));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    private String readOnlyCameraName() {
+        return readOnly.execute(status -> cameraName());
+    }
+
+    private String readWriteCameraName() {
+        return readWrite.execute(status -> cameraName());
+    }
+
+    private String cameraName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM cameras", String.class);
+    }
+
+    private void replicateHeartbeat(String nodeId) {
+        LocalDateTime beatAt = new JdbcTemplate(primary).queryForObject(
+                "SELECT beat_at FROM replication_heartbeat WHERE node_id = ?", LocalDateTime.class, nodeId);
+        new JdbcTemplate(replica).update("""
+                INSERT INTO replication_heartbeat (node_id, beat_at) VALUES (?, ?)
+                ON DUPLICATE KEY UPDATE beat_at = VALUES(beat_at)""", nodeId, beatAt);
+    }
+
+    private static DataSource database(String cameraName, String databaseName) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        new JdbcTemplate(dataSource).update("""
+                INSERT INTO cameras (name, stream_url, stream_type, status, training_status, created_at, updated_at)
+                VALUES (?, 'rtsp://example.com', 'RTSP', 'HEALTHY', 'READY', ?, ?)""",
+                cameraName, LocalDateTime.now(), LocalDateTime.now());
+        return dataSource;
+    }
+}
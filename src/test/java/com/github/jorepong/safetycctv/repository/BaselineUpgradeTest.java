@@ -0,0 +1,53 @@
+package com.github.jorepong.safetycctv.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * V1 is the schema the former {@code ddl-auto=update} generated. A database created that way has the V1 tables and no
+ * Flyway history; it is baselined at V1 as configured in application.properties and must end up with the same tables
+ * as a fresh one.
+ */
+class BaselineUpgradeTest {
+
+    @Test
+    @DisplayName("V1로 기준선을 잡은 기존 DB도 이후 마이그레이션의 테이블을 모두 갖는다")
+    void baselinedDatabaseReceivesEveryLaterTable() {
+        DataSource upgraded = database();
+        flyway(upgraded).target("1").load().migrate();
+        new JdbcTemplate(upgraded).execute("DROP TABLE flyway_schema_history");
+        assertThat(tables(upgraded)).as("tables of the schema ddl-auto=update generated")
+                .containsExactlyInAnyOrder("cameras", "analysis_logs", "detected_objects", "safety_alerts");
+
+        flyway(upgraded).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        DataSource fresh = database();
+        flyway(fresh).load().migrate();
+        assertThat(tables(upgraded))
+                .contains("camera_schedule_states", "cluster_leases", "ingest_batches")
+                .containsExactlyInAnyOrderElementsOf(tables(fresh));
+    }
+
+    private static FluentConfiguration flyway(DataSource dataSource) {
+        return Flyway.configure().dataSource(dataSource).locations("classpath:db/migration");
+    }
+
+    private static List<String> tables(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'", String.class);
+    }
+
+    private static DataSource database() {
+        return new DriverManagerDataSource("jdbc:h2:mem:upgrade-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.jorepong.safetycctv.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.entity.AnalysisStatus;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs every hot repository query, captures the SQL Hibernate sends and asks the database for its plan. A query that
+ * reads a whole table instead of one of the indexes from the Flyway migrations fails the test.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.github.jorepong.safetycctv.repository.RecordingStatementInspector")
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    private static final int CAMERAS = 20;
+    private static final int LOGS_PER_CAMERA = 50;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 5, 12, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AnalysisLogRepository analysisLogRepository;
+
+    @Autowired
+    private SafetyAlertRepository safetyAlertRepository;
+
+    @Autowired
+    private DetectedObjectRepository detectedObjectRepository;
+
+    private long cameraId;
+
+    @BeforeEach
+    void insertRows() {
+        // Enough rows per camera for the planner to tell an index lookup from a scan.
+        for (int camera = 0; camera < CAMERAS; camera++) {
+            jdbcTemplate.update("""
+                    INSERT INTO cameras (name, stream_url, stream_type, status, training_status, created_at, updated_at)
+                    VALUES (?, 'rtsp://example.com', 'RTSP', 'HEALTHY', 'READY', ?, ?)""",
+                    "camera-" + camera, NOW, NOW);
+        }
+        List<Long> cameraIds = jdbcTemplate.queryForList("SELECT id FROM cameras ORDER BY id", Long.class);
+        cameraId = cameraIds.get(0);
+        List<Object[]> logs = new ArrayList<>();
+        for (Long id : cameraIds) {
+            for (int i = 0; i < LOGS_PER_CAMERA; i++) {
+                logs.add(new Object[]{id, NOW.minusMinutes(i), i % 5 == 0 ? "PENDING" : "READY", 0.1 * (i % 10), i});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO analysis_logs (camera_id, timestamp, analysis_status, density, person_count)
+                VALUES (?, ?, ?, ?, ?)""", logs);
+        jdbcTemplate.update("""
+                INSERT INTO detected_objects (analysis_log_id, boxx, boxy, box_width, box_height)
+                SELECT id, 10, 20, 30, 40 FROM analysis_logs""");
+        jdbcTemplate.update("""
+                INSERT INTO safety_alerts (camera_id, timestamp, alert_type, alert_level, message, analysis_log_id,
+                    resolved)
+                SELECT camera_id, timestamp, 'CONGESTION_ENTERED', 'WARNING', 'test', id, FALSE
+                FROM analysis_logs WHERE MOD(person_count, 10) = 0""");
+        RecordingStatementInspector.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    @DisplayName("저장소 쿼리는 테이블 전체를 읽지 않고 인덱스로 조회한다")
+    void usesIndexes(String name, Consumer<QueryPlanTest> query) {
+        query.accept(this);
+
+        List<String> statements = RecordingStatementInspector.statements();
+        assertThat(statements).as("SQL sent by %s", name).isNotEmpty();
+        for (String sql : statements) {
+            assertThat(explain(sql)).as("plan of %s", sql).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    static Stream<Arguments> queries() {
+        LocalDateTime since = NOW.minusMinutes(30);
+        return Stream.of(
+                query("findByCameraIdAndTimestampBetweenOrderByTimestampAsc", test -> test.analysisLogRepository
+                        .findByCameraIdAndTimestampBetweenOrderByTimestampAsc(test.cameraId, since, NOW)),
+                query("findByCameraIdAndTimestampAfterOrderByTimestampAsc", test -> test.analysisLogRepository
+                        .findByCameraIdAndTimestampAfterOrderByTimestampAsc(test.cameraId, since)),
+                query("findFirstByCameraIdOrderByTimestampDesc", test -> test.analysisLogRepository
+                        .findFirstByCameraIdOrderByTimestampDesc(test.cameraId)),
+                query("findFirstByCameraIdAndTimestampAfterOrderByTimestampDesc", test -> test.analysisLogRepository
+                        .findFirstByCameraIdAndTimestampAfterOrderByTimestampDesc(test.cameraId, since)),
+                query("findTop60ByCameraIdOrderByTimestampDesc", test -> test.analysisLogRepository
+                        .findTop60ByCameraIdOrderByTimestampDesc(test.cameraId)),
+                query("findTop60ByCameraIdAndTimestampGreaterThanEqualOrderByTimestampDesc",
+                        test -> test.analysisLogRepository
+                                .findTop60ByCameraIdAndTimestampGreaterThanEqualOrderByTimestampDesc(test.cameraId,
+                                        since)),
+                query("findByCameraIdAndTimestampGreaterThanEqualOrderByTimestampDesc",
+                        test -> test.analysisLogRepository
+                                .findByCameraIdAndTimestampGreaterThanEqualOrderByTimestampDesc(test.cameraId, since)),
+                query("findHistoricalDensities", test -> test.analysisLogRepository
+                        .findHistoricalDensities(test.cameraId, NOW.minusWeeks(4), 2, 11, 13)),
+                query("streamSamplesBetween", test -> {
+                    try (Stream<AnalysisLogSample> samples = test.analysisLogRepository
+                            .streamSamplesBetween(test.cameraId, AnalysisStatus.READY, since, NOW)) {
+                        samples.forEach(sample -> { });
+                    }
+                }),
+                query("findLatestSamples", test -> test.analysisLogRepository
+                        .findLatestSamples(test.cameraId, AnalysisStatus.READY, PageRequest.ofSize(60))),
+                query("findLatestSamplesSince", test -> test.analysisLogRepository
+                        .findLatestSamplesSince(test.cameraId, AnalysisStatus.READY, since, PageRequest.ofSize(60))),
+                query("countLogsWithStatusSince", test -> test.analysisLogRepository
+                        .countLogsWithStatusSince(since, AnalysisStatus.READY)),
+                query("findAlertTimestampsSince", test -> test.safetyAlertRepository
+                        .findAlertTimestampsSince(since)),
+                query("findLatestStageAlerts", test -> test.safetyAlertRepository
+                        .findLatestStageAlerts(test.cameraId, PageRequest.ofSize(10))),
+                query("findLatestStageAlerts (cameras)", test -> test.safetyAlertRepository
+                        .findLatestStageAlerts(List.of(test.cameraId, test.cameraId + 1), PageRequest.ofSize(10))),
+                query("findStageAlertsSince", test -> test.safetyAlertRepository
+                        .findStageAlertsSince(List.of(test.cameraId, test.cameraId + 1), since)),
+                query("countByTimestampGreaterThanEqual", test -> test.safetyAlertRepository
+                        .countByTimestampGreaterThanEqual(since)),
+                query("countByAnalysisLogCameraId", test -> test.detectedObjectRepository
+                        .countByAnalysisLogCameraId(test.cameraId)),
+                query("countKeysFrom", test -> test.detectedObjectRepository
+                        .countKeysFrom(test.cameraId, since, 100L)),
+                query("findKeysFrom", test -> test.detectedObjectRepository
+                        .findKeysFrom(test.cameraId, since, 100L, 50)),
+                query("summarizeDetectionsAfterWatermark", test -> test.detectedObjectRepository
+                        .summarizeDetectionsAfterWatermark(test.cameraId, since, 100L)),
+                query("findKeysBeforeCutoff", test -> test.detectedObjectRepository
+                        .findKeysBeforeCutoff(test.cameraId, since, NOW, 100L, 50)));
+    }
+
+    private static Arguments query(String name, Consumer<QueryPlanTest> query) {
+        return Arguments.of(name, query);
+    }
+
+    /**
+     * Returns the plan of {@code sql}; parameters stay unbound, so the plan cannot depend on particular values.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                    ResultSet plan = statement.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString();
+            }
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.jorepong.safetycctv.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.jorepong.safetycctv.retention.DailyPartitionPlan.Partition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DailyPartitionPlanTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Test
+    @DisplayName("마지막 파티션 다음 날부터 미리 만들 날짜까지 일 단위 파티션을 추가한다")
+    void addsDailyPartitionsAfterTheLastBound() {
+        List<Partition> partitions = List.of(
+                new Partition("p_history", LocalDateTime.of(2026, 3, 9, 0, 0)),
+                new Partition("p20260309", LocalDateTime.of(2026, 3, 10, 0, 0)),
+                new Partition("pmax", null));
+
+        DailyPartitionPlan plan = DailyPartitionPlan.compute(partitions, TODAY, 3, null);
+
+        assertThat(plan.daysToAdd()).containsExactly(
+                TODAY, TODAY.plusDays(1), TODAY.plusDays(2), TODAY.plusDays(3));
+        assertThat(plan.partitionsToDrop()).isEmpty();
+        assertThat(DailyPartitionPlan.partitionName(TODAY)).isEqualTo("p20260310");
+
+        List<Partition> upToDate = List.of(
+                new Partition("p20260313", LocalDateTime.of(2026, 3, 14, 0, 0)),
+                new Partition("pmax", null));
+        assertThat(DailyPartitionPlan.compute(upToDate, TODAY, 3, null).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("보존 기준일 이전의 행만 담은 파티션을 삭제 대상으로 고르고 MAXVALUE 파티션은 남긴다")
+    void dropsOnlyExpiredPartitions() {
+        List<Partition> partitions = List.of(
+                new Partition("p_history", LocalDateTime.of(2026, 3, 5, 12, 0)),
+                new Partition("p20260305", LocalDateTime.of(2026, 3, 6, 0, 0)),
+                new Partition("p20260306", LocalDateTime.of(2026, 3, 7, 0, 0)),
+                new Partition("p20260317", LocalDateTime.of(2026, 3, 18, 0, 0)),
+                new Partition("pmax", null));
+
+        DailyPartitionPlan plan = DailyPartitionPlan.compute(partitions, TODAY, 7, LocalDate.of(2026, 3, 6));
+
+        assertThat(plan.partitionsToDrop()).containsExactly("p_history", "p20260305");
+        assertThat(plan.daysToAdd()).isEmpty();
+    }
+}
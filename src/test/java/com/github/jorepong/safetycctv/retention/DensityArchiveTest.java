@@ -0,0 +1,82 @@
+package com.github.jorepong.safetycctv.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+import com.github.jorepong.safetycctv.analysis.dto.DensityPointPayload;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class DensityArchiveTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @TempDir
+    Path root;
+
+    private DensityArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = new DensityArchive(mock(JdbcTemplate.class), root.toUri().toString());
+    }
+
+    @Test
+    @DisplayName("보관 파일에서 읽은 밀집도 이력은 요청 구간의 원본 값과 같다")
+    void readsBackTheArchivedRange() {
+        List<DensityPointPayload> first = List.of(
+                new DensityPointPayload(DAY.atTime(23, 59, 50, 123_456_000), 0.4567, 12, "a.jpg"),
+                new DensityPointPayload(DAY.atTime(0, 0, 1), 1.25, null, null),
+                new DensityPointPayload(DAY.atTime(12, 0), 0.0, 0, null));
+        List<DensityPointPayload> second = List.of(
+                new DensityPointPayload(DAY.plusDays(1).atTime(0, 0, 5), 0.5, 3, null),
+                new DensityPointPayload(DAY.plusDays(1).atTime(8, 0), 0.75, 4, null));
+        archive.write(1L, DAY, first);
+        archive.write(1L, DAY.plusDays(1), second);
+
+        List<DensityPointPayload> points = archive.read(1L, DAY.atTime(6, 0), DAY.plusDays(1).atTime(0, 0, 5));
+
+        assertThat(points).extracting(DensityPointPayload::timestamp).containsExactly(
+                DAY.atTime(12, 0), DAY.atTime(23, 59, 50, 123_456_000), DAY.plusDays(1).atTime(0, 0, 5));
+        assertThat(points).extracting(DensityPointPayload::personCount).containsExactly(0, 12, 3);
+        assertThat(points.get(1).density()).isEqualTo(0.4567);
+        assertThat(archive.read(1L, DAY.atStartOfDay(), DAY.atTime(0, 0, 1)))
+                .singleElement()
+                .satisfies(point -> assertThat(point.personCount()).isNull());
+        assertThat(archive.read(2L, DAY.atStartOfDay(), DAY.plusDays(1).atTime(23, 59))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("5초 간격의 하루치 이력이 한 샘플당 몇 바이트로 압축된다")
+    void storesADayCompactly() throws Exception {
+        List<DensityPointPayload> points = new ArrayList<>();
+        LocalDateTime timestamp = DAY.atStartOfDay();
+        for (int i = 0; i < 17_280; i++) {
+            double density = 0.8 + 0.6 * Math.sin(i / 900.0) + (i % 7) * 0.0013;
+            points.add(new DensityPointPayload(timestamp.plusNanos((i % 5) * 1_000_000L), density, 20 + i % 11, null));
+            timestamp = timestamp.plusSeconds(5);
+        }
+        archive.write(7L, DAY, points);
+
+        long size = Files.size(root.resolve("7").resolve(DAY + ".dseg"));
+        assertThat(size).isLessThan(17_280L * 4);
+
+        List<DensityPointPayload> restored = archive.read(7L, DAY.atStartOfDay(), DAY.atTime(23, 59, 59));
+        assertThat(restored).hasSize(points.size());
+        for (int i = 0; i < points.size(); i += 997) {
+            assertThat(restored.get(i).timestamp()).isEqualTo(points.get(i).timestamp());
+            assertThat(restored.get(i).density()).isCloseTo(points.get(i).density(), within(0.5 / 10_000));
+            assertThat(restored.get(i).personCount()).isEqualTo(points.get(i).personCount());
+        }
+    }
+}